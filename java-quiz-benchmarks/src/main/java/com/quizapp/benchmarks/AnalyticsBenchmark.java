@@ -0,0 +1,79 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.analytics.ItemAnalytics;
+import com.quizapp.analytics.ItemSummary;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.QuizCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Updating the item analytics with a submitted attempt and reading them back, with many questions answered
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsBenchmark {
+    
+    private static final int QUESTIONS = 20;
+    
+    @Param({"100", "10000"})
+    public int questionCount;
+    
+    private ItemAnalytics analytics;
+    private SplittableRandom random;
+    
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        analytics = new ItemAnalytics();
+        for (int i = 0; i < 10_000; i++) {
+            analytics.record(randomAttempt());
+        }
+    }
+    
+    private QuizAttempt randomAttempt() {
+        long[] questionIds = new long[QUESTIONS];
+        byte[] selectedResponses = new byte[QUESTIONS];
+        int score = 0;
+        for (int i = 0; i < QUESTIONS; i++) {
+            questionIds[i] = 1 + random.nextInt(questionCount);
+            selectedResponses[i] = (byte) random.nextInt(-1, 4);
+            if (selectedResponses[i] == 0) {
+                score++;
+            }
+        }
+        return new QuizAttempt("player", QuizCategory.JAVA_BASIC, 0, 60_000, 60_000, score, false,
+                               questionIds, selectedResponses, new int[QUESTIONS]);
+    }
+    
+    @Benchmark
+    public void recordAttempt() {
+        analytics.record(randomAttempt());
+    }
+    
+    @Benchmark
+    public ItemSummary questionSummary() {
+        return analytics.getItem(QuizCategory.JAVA_BASIC, 1 + random.nextInt(questionCount));
+    }
+    
+    @Benchmark
+    public double categoryCorrectRate() {
+        return analytics.getCorrectRate(QuizCategory.JAVA_BASIC);
+    }
+}
@@ -0,0 +1,145 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.QuizCategory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.SplittableRandom;
+
+/**
+ * Creates throw-away question banks for benchmarks.
+ * Must run before anything touches {@link DatabaseConnection}, because the database URL is read once.
+ */
+final class BenchmarkDatabase {
+    
+    private BenchmarkDatabase() {
+    }
+    
+    /**
+     * Points the application at a new temporary database holding generated questions
+     * @param rowsPerCategory Number of questions generated for each category
+     * @param categories Categories to fill
+     * @return The database file, deleted when the JVM exits
+     */
+    static Path create(int rowsPerCategory, QuizCategory... categories) throws IOException, SQLException {
+        Path file = temporaryFile();
+        createAt(file, rowsPerCategory, categories);
+        return file;
+    }
+    
+    /**
+     * Points the application at a new database holding generated questions, kept after the JVM exits
+     * @param file Where the database is created; must not exist yet
+     * @param rowsPerCategory Number of questions generated for each category
+     * @param categories Categories to fill
+     */
+    static void createAt(Path file, int rowsPerCategory, QuizCategory... categories) throws SQLException {
+        bootstrap(file);
+        
+        String sql = "INSERT INTO questions (type, question, response1, response2, response3, response4, rand_key) "
+            + "VALUES (?, ?, ?, ?, ?, ?, random())";
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (QuizCategory category : categories) {
+                for (int i = 0; i < rowsPerCategory; i++) {
+                    statement.setInt(1, category.getId());
+                    statement.setString(2, "Generated question " + i + " about " + category.getDisplayName()
+                        + ": which statement about the Java language is correct?");
+                    statement.setString(3, "Correct answer number " + i);
+                    statement.setString(4, "First distractor " + i);
+                    statement.setString(5, "Second distractor " + i);
+                    statement.setString(6, "Third distractor " + i);
+                    statement.addBatch();
+                    if (i % 10_000 == 9_999) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+        }
+    }
+    
+    /**
+     * Points the application at a new temporary database holding questions made of words from a
+     * generated vocabulary. Word frequencies are skewed like natural text: low word numbers are common,
+     * high ones rare, so searches for {@code word(i)} match fewer rows as i grows.
+     * @param rows Number of questions, spread over all categories
+     * @param vocabularySize Number of distinct words
+     * @return The database file, deleted when the JVM exits
+     */
+    static Path createSearchable(int rows, int vocabularySize) throws IOException, SQLException {
+        Path file = temporaryFile();
+        bootstrap(file);
+        SplittableRandom random = new SplittableRandom(42);
+        QuizCategory[] categories = QuizCategory.values();
+        
+        String sql = "INSERT INTO questions (type, question, response1, response2, response3, response4, rand_key) "
+            + "VALUES (?, ?, ?, ?, ?, ?, random())";
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < rows; i++) {
+                statement.setInt(1, categories[i % categories.length].getId());
+                statement.setString(2, sentence(random, vocabularySize, 12) + "?");
+                for (int column = 3; column <= 6; column++) {
+                    statement.setString(column, sentence(random, vocabularySize, 4));
+                }
+                statement.addBatch();
+                if (i % 10_000 == 9_999) {
+                    statement.executeBatch();
+                }
+            }
+            statement.executeBatch();
+            connection.commit();
+        }
+        return file;
+    }
+    
+    /**
+     * @param index Word number, 0 being the most frequent
+     * @return The word of the generated vocabulary with that number
+     */
+    static String word(int index) {
+        String[] syllables = {"ka", "lo", "mi", "ne", "ru", "ta", "vo", "zi", "pe", "su", "do", "gi"};
+        StringBuilder word = new StringBuilder();
+        int value = index;
+        do {
+            word.append(syllables[value % syllables.length]);
+            value /= syllables.length;
+        } while (value > 0);
+        return word.append(index % 7 == 0 ? "x" : "n").toString();
+    }
+    
+    private static String sentence(SplittableRandom random, int vocabularySize, int words) {
+        StringBuilder sentence = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sentence.append(' ');
+            }
+            double u = random.nextDouble();
+            sentence.append(word((int) (vocabularySize * u * u * u)));
+        }
+        return sentence.toString();
+    }
+    
+    private static Path temporaryFile() throws IOException {
+        Path file = Files.createTempFile("quiz-bench-", ".db");
+        file.toFile().deleteOnExit();
+        return file;
+    }
+    
+    private static void bootstrap(Path file) throws SQLException {
+        System.setProperty("quiz.db.url", "jdbc:sqlite:" + file.toAbsolutePath());
+        
+        if (DatabaseConnection.initialize() == null) {
+            throw new SQLException("Unable to bootstrap benchmark database " + file);
+        }
+    }
+}
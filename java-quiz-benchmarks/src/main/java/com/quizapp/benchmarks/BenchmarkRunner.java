@@ -0,0 +1,137 @@
+package com.quizapp.benchmarks;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the benchmarks and stores machine-readable results for comparison between runs.
+ * <pre>
+ * java -jar target/benchmarks.jar [--out dir] [benchmark regex...]
+ * java -jar target/benchmarks.jar --compare baseline.csv candidate.csv
+ * </pre>
+ * Each run writes the full JMH JSON report plus a flat CSV summary used by --compare.
+ */
+public class BenchmarkRunner {
+    
+    private static final String CSV_HEADER = "benchmark,params,mode,unit,score,error";
+    
+    public static void main(String[] args) throws IOException, RunnerException {
+        if (args.length > 0 && args[0].equals("--compare")) {
+            if (args.length != 3) {
+                System.err.println("Usage: --compare <baseline.csv> <candidate.csv>");
+                System.exit(2);
+            }
+            compare(Paths.get(args[1]), Paths.get(args[2]));
+            return;
+        }
+        
+        Path outputDirectory = Paths.get("benchmark-results");
+        List<String> includes = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--out") && i + 1 < args.length) {
+                outputDirectory = Paths.get(args[++i]);
+            } else {
+                includes.add(args[i]);
+            }
+        }
+        Files.createDirectories(outputDirectory);
+        
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path jsonFile = outputDirectory.resolve("jmh-" + stamp + ".json");
+        Path csvFile = outputDirectory.resolve("jmh-" + stamp + ".csv");
+        
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .resultFormat(ResultFormatType.JSON)
+            .result(jsonFile.toString());
+        if (includes.isEmpty()) {
+            options.include("com\\.quizapp\\.benchmarks\\..*");
+        }
+        for (String include : includes) {
+            options.include(include);
+        }
+        
+        Collection<RunResult> results = new Runner(options.build()).run();
+        writeCsv(results, csvFile);
+        System.out.println("Results written to " + jsonFile + " and " + csvFile);
+    }
+    
+    private static void writeCsv(Collection<RunResult> results, Path csvFile) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(csvFile, StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (RunResult result : results) {
+                var params = result.getParams();
+                StringBuilder paramText = new StringBuilder();
+                for (String key : params.getParamsKeys()) {
+                    if (paramText.length() > 0) {
+                        paramText.append(';');
+                    }
+                    paramText.append(key).append('=').append(params.getParam(key));
+                }
+                var primary = result.getPrimaryResult();
+                writer.write(String.join(",",
+                    params.getBenchmark(),
+                    paramText.toString(),
+                    params.getMode().shortLabel(),
+                    primary.getScoreUnit(),
+                    String.valueOf(primary.getScore()),
+                    String.valueOf(primary.getScoreError())));
+                writer.newLine();
+            }
+        }
+    }
+    
+    private static void compare(Path baselineFile, Path candidateFile) throws IOException {
+        Map<String, String[]> baseline = readCsv(baselineFile);
+        Map<String, String[]> candidate = readCsv(candidateFile);
+        
+        System.out.printf("%-70s %14s %14s %9s%n", "benchmark", "baseline", "candidate", "change");
+        for (Map.Entry<String, String[]> entry : new TreeMap<>(candidate).entrySet()) {
+            String[] newRow = entry.getValue();
+            String[] oldRow = baseline.get(entry.getKey());
+            double newScore = Double.parseDouble(newRow[4]);
+            if (oldRow == null) {
+                System.out.printf("%-70s %14s %14.3f %9s%n", entry.getKey(), "-", newScore, "new");
+                continue;
+            }
+            double oldScore = Double.parseDouble(oldRow[4]);
+            double change = oldScore == 0 ? 0 : (newScore - oldScore) / oldScore * 100;
+            // Throughput modes improve upwards, time modes downwards
+            boolean higherIsBetter = newRow[2].equals("thrpt");
+            String verdict = Math.abs(change) < 5 ? "" : (change > 0) == higherIsBetter ? " better" : " worse";
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), oldScore, newScore, change, verdict);
+        }
+    }
+    
+    private static Map<String, String[]> readCsv(Path file) throws IOException {
+        Map<String, String[]> rows = new LinkedHashMap<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(",", -1);
+            if (columns.length == 6) {
+                String key = columns[0] + (columns[1].isEmpty() ? "" : " [" + columns[1] + "]");
+                rows.put(key, columns);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,70 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.Question;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connection acquisition and per-category question loading against banks of different sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dquiz.cache.maxRows=1000000")
+public class DatabaseBenchmark {
+    
+    @Param({"10", "1000", "100000"})
+    public int rowsPerCategory;
+    
+    private final QuizCategory category = QuizCategory.JAVA_BASIC;
+    private QuestionDAO questionDAO;
+    
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkDatabase.create(rowsPerCategory, category);
+        questionDAO = new QuestionDAO();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        DatabaseConnection.shutdown();
+    }
+    
+    @Benchmark
+    public boolean acquireConnection() throws Exception {
+        try (Connection connection = DatabaseConnection.getPool().borrow()) {
+            return connection.getAutoCommit();
+        }
+    }
+    
+    @Benchmark
+    public List<QuestionRow> queryCategoryUncached() {
+        QuestionDAO.invalidateCache(category);
+        return questionDAO.getQuestionRows(category);
+    }
+    
+    @Benchmark
+    public List<Question> loadQuizCached() {
+        return questionDAO.createQuestions(questionDAO.getQuestionRows(category));
+    }
+}
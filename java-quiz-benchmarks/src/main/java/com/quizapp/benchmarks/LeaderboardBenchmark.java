@@ -0,0 +1,73 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.leaderboard.Leaderboard;
+import com.quizapp.model.LeaderboardEntry;
+import com.quizapp.model.QuizCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaderboard queries and updates with many ranked players
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+    
+    private static final int QUESTIONS = 20;
+    
+    @Param({"1000", "1000000"})
+    public int playerCount;
+    
+    private Leaderboard leaderboard;
+    private String[] players;
+    private SplittableRandom random;
+    private long submittedAt;
+    
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        leaderboard = new Leaderboard(100);
+        players = new String[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            players[i] = "player-" + i;
+            leaderboard.offer(randomEntry(players[i]));
+        }
+    }
+    
+    private LeaderboardEntry randomEntry(String player) {
+        return new LeaderboardEntry(player, QuizCategory.JAVA_BASIC, random.nextInt(QUESTIONS + 1), QUESTIONS,
+                                    random.nextInt(600_000), submittedAt++);
+    }
+    
+    @Benchmark
+    public List<LeaderboardEntry> top10() {
+        return leaderboard.getTop(10);
+    }
+    
+    @Benchmark
+    public int rankOfPlayer() {
+        return leaderboard.getStanding(players[random.nextInt(playerCount)]).getRank();
+    }
+    
+    @Benchmark
+    public boolean offerAttempt() {
+        return leaderboard.offer(randomEntry(players[random.nextInt(playerCount)]));
+    }
+}
@@ -0,0 +1,101 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.gui.panels.QuizPanel;
+import com.quizapp.metrics.MetricsRegistry;
+import com.quizapp.model.Question;
+import com.quizapp.model.QuizCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.SwingUtilities;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of moving to the next question, from the click to the painted panel, headless.
+ * Runs on the EDT like real navigation, so the figures include one invokeAndWait hop.
+ * Events queued by a click, such as preparing the following question, run before the next click.
+ * The EDT hop is noisy on small machines; the gui.question.clickToPaint histogram printed at the end
+ * covers only the work on the EDT.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class QuizPanelBenchmark {
+    
+    /** Characters of question text, covering one-liners up to code-snippet sized questions */
+    @Param({"40", "2000"})
+    public int questionLength;
+    
+    private static final int QUESTION_COUNT = 200;
+    
+    private QuizPanel quizPanel;
+    private BufferedImage screen;
+    private int index;
+    
+    @Setup
+    public void setUp() throws Exception {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < questionLength) {
+            text.append("What does this Java snippet print? ");
+        }
+        text.setLength(questionLength);
+        
+        List<Question> questions = new ArrayList<>(QUESTION_COUNT);
+        for (int i = 0; i < QUESTION_COUNT; i++) {
+            String[] options = {"Answer " + i, "Wrong " + i + "a", "Wrong " + i + "b", "Wrong " + i + "c"};
+            questions.add(new Question(text + " #" + i, options, options[0]));
+        }
+        
+        screen = new BufferedImage(800, 600, BufferedImage.TYPE_INT_RGB);
+        SwingUtilities.invokeAndWait(() -> {
+            quizPanel = new QuizPanel();
+            // A lightweight peer, as in a window; without one validate() lays nothing out
+            quizPanel.addNotify();
+            quizPanel.setSize(800, 600);
+            quizPanel.showQuestions(QuizCategory.JAVA_BASIC, questions);
+        });
+    }
+    
+    @Setup(Level.Invocation)
+    public void readQuestion() throws Exception {
+        // A player reads each question for seconds, so the EDT is idle before the next click
+        SwingUtilities.invokeAndWait(() -> { });
+    }
+    
+    @Benchmark
+    public void updateDisplay() throws Exception {
+        index = (index + 1) % QUESTION_COUNT;
+        int target = index;
+        SwingUtilities.invokeAndWait(() -> {
+            quizPanel.showQuestion(target);
+            // Force the layout and painting a real repaint would trigger
+            quizPanel.validate();
+            Graphics2D graphics = screen.createGraphics();
+            quizPanel.paint(graphics);
+            graphics.dispose();
+        });
+    }
+    
+    @TearDown
+    public void tearDown() {
+        System.out.println(MetricsRegistry.getDefault().latency("gui.question.clickToPaint"));
+    }
+}
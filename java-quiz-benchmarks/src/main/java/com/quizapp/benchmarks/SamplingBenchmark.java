@@ -0,0 +1,91 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drawing a fixed-length quiz from categories of growing size: index seeks on the random key compared
+ * with ORDER BY RANDOM() and with reading the whole category as quizzes used to
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dquiz.cache.maxRows=0")
+public class SamplingBenchmark {
+    
+    @Param({"1000", "100000", "1000000"})
+    public int rowsPerCategory;
+    
+    @Param({"10", "50"})
+    public int quizLength;
+    
+    private final QuizCategory category = QuizCategory.JAVA_BASIC;
+    private QuestionDAO questionDAO;
+    
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkDatabase.create(rowsPerCategory, category);
+        questionDAO = new QuestionDAO();
+    }
+    
+    @TearDown
+    public void tearDown() {
+        DatabaseConnection.shutdown();
+    }
+    
+    @Benchmark
+    public List<QuestionRow> randomKeySample() {
+        return questionDAO.sampleQuestionRows(category, quizLength);
+    }
+    
+    @Benchmark
+    public List<QuestionRow> orderByRandom() throws SQLException {
+        String sql = "SELECT id, question, response1, response2, response3, response4 FROM questions "
+            + "WHERE type = ? ORDER BY RANDOM() LIMIT ?";
+        List<QuestionRow> rows = new ArrayList<>(quizLength);
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, category.getId());
+            statement.setInt(2, quizLength);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String[] responses = {
+                        resultSet.getString(3), resultSet.getString(4), resultSet.getString(5), resultSet.getString(6)
+                    };
+                    rows.add(new QuestionRow(resultSet.getLong(1), category, resultSet.getString(2), responses));
+                }
+            }
+        }
+        return rows;
+    }
+    
+    @Benchmark
+    public List<QuestionRow> wholeCategory() {
+        // Caching is disabled for this fork, so every call reads the category
+        return questionDAO.getQuestionRows(category);
+    }
+}
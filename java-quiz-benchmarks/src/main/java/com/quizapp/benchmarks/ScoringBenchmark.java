@@ -0,0 +1,76 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.model.Question;
+import com.quizapp.session.AnswerSheet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring of a fully answered quiz: the byte-per-question {@link AnswerSheet} against matching the
+ * text of each selected option with the correct answer, as sessions did before answer sheets
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+    
+    @Param({"10", "100", "1000"})
+    public int questionCount;
+    
+    private List<Question> questions;
+    private String[] answers;
+    private AnswerSheet sheet;
+    
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        questions = new ArrayList<>(questionCount);
+        answers = new String[questionCount];
+        // The correct answer is option 0 of every question, so the key is all zeros
+        byte[] key = new byte[questionCount];
+        byte[] selected = new byte[questionCount];
+        for (int i = 0; i < questionCount; i++) {
+            String[] options = {"Answer " + i, "Wrong " + i + "a", "Wrong " + i + "b", "Wrong " + i + "c"};
+            questions.add(new Question("Question " + i, options, options[0]));
+            int option = random.nextInt(options.length);
+            // Copy the text so equals() cannot short-circuit on identity
+            answers[i] = new String(options[option]);
+            selected[i] = (byte) option;
+        }
+        sheet = new AnswerSheet(key, selected);
+    }
+    
+    @Benchmark
+    public int answerSheet() {
+        return sheet.score();
+    }
+    
+    @Benchmark
+    public int textMatching() {
+        int score = 0;
+        for (int i = 0; i < questions.size(); i++) {
+            String userAnswer = answers[i];
+            if (userAnswer != null && questions.get(i).isCorrectAnswer(userAnswer)) {
+                score++;
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,116 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.dao.SearchPage;
+import com.quizapp.database.DatabaseConnection;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First page of a text search through the FTS5 index compared with a LIKE scan of the same columns
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+    
+    private static final int VOCABULARY_SIZE = 20_000;
+    private static final int PAGE_SIZE = 20;
+    
+    @Param({"500000"})
+    public int rows;
+    
+    /** common: matches ~7% of rows, rare: a few hundred rows, twoTerms: both words, prefix: the start of the rare word */
+    @Param({"common", "rare", "twoTerms", "prefix"})
+    public String query;
+    
+    private QuestionDAO questionDAO;
+    private String searchText;
+    private List<String> likeTerms;
+    
+    @Setup
+    public void setUp() throws Exception {
+        BenchmarkDatabase.createSearchable(rows, VOCABULARY_SIZE);
+        questionDAO = new QuestionDAO();
+        
+        String common = BenchmarkDatabase.word(10);
+        String rare = BenchmarkDatabase.word(12_000);
+        switch (query) {
+            case "common":
+                searchText = common;
+                break;
+            case "rare":
+                searchText = rare;
+                break;
+            case "twoTerms":
+                searchText = common + " " + BenchmarkDatabase.word(500);
+                break;
+            case "prefix":
+                searchText = rare.substring(0, rare.length() - 2) + "*";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown query " + query);
+        }
+        likeTerms = List.of(searchText.replace("*", "").split(" "));
+    }
+    
+    @TearDown
+    public void tearDown() {
+        DatabaseConnection.shutdown();
+    }
+    
+    @Benchmark
+    public SearchPage fullTextSearch() {
+        return questionDAO.searchQuestions(searchText, null, 0, PAGE_SIZE);
+    }
+    
+    /**
+     * What the search would cost without an index: every word must appear in one of the text columns
+     */
+    @Benchmark
+    public List<Long> likeScan() throws SQLException {
+        StringBuilder sql = new StringBuilder("SELECT id FROM questions WHERE 1 = 1");
+        for (int i = 0; i < likeTerms.size(); i++) {
+            sql.append(" AND (question LIKE ? OR response1 LIKE ? OR response2 LIKE ? OR response3 LIKE ? OR response4 LIKE ?)");
+        }
+        sql.append(" ORDER BY id LIMIT ").append(PAGE_SIZE);
+        
+        List<Long> ids = new ArrayList<>(PAGE_SIZE);
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement statement = connection.prepareStatement(sql.toString())) {
+            int parameter = 1;
+            for (String term : likeTerms) {
+                for (int column = 0; column < 5; column++) {
+                    statement.setString(parameter++, "%" + term + "%");
+                }
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getLong(1));
+                }
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,95 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.model.Question;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+import com.quizapp.util.ShuffleEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Laying out the questions of a session from cached rows: one seed with option order derived when
+ * read, against drawing a permutation and copying the options of every question, as sessions did
+ * before seeds. The present benchmarks also read every option once, as showing the quiz does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionLayoutBenchmark {
+
+    @Param({"10", "100"})
+    public int questionCount;
+
+    private List<QuestionRow> rows;
+    private QuestionDAO questionDAO;
+    private ShuffleEngine engine;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(questionCount);
+        for (int i = 0; i < questionCount; i++) {
+            String[] responses = {"Answer " + i, "Wrong " + i + "a", "Wrong " + i + "b", "Wrong " + i + "c"};
+            rows.add(new QuestionRow(i + 1, QuizCategory.values()[0], "Question " + i, responses));
+        }
+        questionDAO = new QuestionDAO();
+        engine = ShuffleEngine.getDefault();
+    }
+
+    @Benchmark
+    public List<Question> seeded() {
+        return questionDAO.createQuestions(rows, engine.newSeed(), false);
+    }
+
+    @Benchmark
+    public List<Question> eagerCopy() {
+        List<Question> questions = new ArrayList<>(rows.size());
+        for (QuestionRow row : rows) {
+            int[] responseOrder = engine.permutation(QuestionRow.RESPONSE_COUNT);
+            String[] options = new String[responseOrder.length];
+            for (int i = 0; i < options.length; i++) {
+                options[i] = row.getResponse(responseOrder[i]);
+            }
+            Question question = new Question(row.getQuestionText(), options, row.getCorrectAnswer());
+            question.setId(row.getId());
+            questions.add(question);
+        }
+        return questions;
+    }
+
+    @Benchmark
+    public int presentSeeded() {
+        return present(seeded());
+    }
+
+    @Benchmark
+    public int presentEagerCopy() {
+        return present(eagerCopy());
+    }
+
+    private static int present(List<Question> questions) {
+        int length = 0;
+        for (Question question : questions) {
+            for (int i = 0; i < question.getOptionCount(); i++) {
+                length += question.getOption(i).length();
+            }
+        }
+        return length;
+    }
+}
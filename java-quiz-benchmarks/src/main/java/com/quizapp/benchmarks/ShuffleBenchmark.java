@@ -0,0 +1,76 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.util.ArrayShuffler;
+import com.quizapp.util.RandomSource;
+import com.quizapp.util.ShuffleEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shuffle throughput per random source and array size, single-threaded and contended
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuffleBenchmark {
+    
+    @Param({"SECURE", "SPLITTABLE", "THREAD_LOCAL"})
+    public RandomSource randomSource;
+    
+    @Param({"4", "64", "4096"})
+    public int size;
+    
+    private ShuffleEngine engine;
+    private int[] indices;
+    private String[] options;
+    
+    @Setup
+    public void setUp() {
+        engine = new ShuffleEngine(randomSource);
+        indices = new int[size];
+        options = new String[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i;
+            options[i] = "Option " + i;
+        }
+    }
+    
+    @Benchmark
+    public int[] shuffleInPlace() {
+        engine.shuffle(indices);
+        return indices;
+    }
+    
+    @Benchmark
+    public int[] permutation() {
+        return engine.permutation(size);
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public int[] shuffleInPlaceContended() {
+        engine.shuffle(indices);
+        return indices;
+    }
+    
+    /** The copying ArrayShuffler API, always backed by the default engine */
+    @Benchmark
+    public String[] arrayShufflerCopy() {
+        return ArrayShuffler.shuffleArray(options);
+    }
+}
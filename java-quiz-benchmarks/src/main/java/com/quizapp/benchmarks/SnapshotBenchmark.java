@@ -0,0 +1,81 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.Question;
+import com.quizapp.model.QuizCategory;
+import com.quizapp.snapshot.QuestionSnapshot;
+import com.quizapp.snapshot.SnapshotExporter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to the first quiz in a fresh JVM: mapping the question snapshot compared with opening and
+ * migrating the database. Each fork measures one cold call. The bank and its snapshot are created by
+ * the first (warmup) fork and kept in the temporary directory, so the measured forks find them on disk
+ * and have loaded neither SQLite nor the snapshot classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(value = 5, warmups = 1)
+public class SnapshotBenchmark {
+    
+    @Param({"1000", "100000"})
+    public int rowsPerCategory;
+    
+    private final QuizCategory category = QuizCategory.JAVA_BASIC;
+    private Path snapshotFile;
+    
+    @Setup
+    public void setUp() throws Exception {
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"));
+        Path databaseFile = directory.resolve("quiz-snapshot-bench-" + rowsPerCategory + ".db");
+        snapshotFile = directory.resolve("quiz-snapshot-bench-" + rowsPerCategory + ".snapshot");
+        
+        if (!Files.exists(snapshotFile)) {
+            // A bank without a snapshot is left over from an interrupted run
+            Files.deleteIfExists(databaseFile);
+            BenchmarkDatabase.createAt(databaseFile, rowsPerCategory, category);
+            new SnapshotExporter().export(snapshotFile);
+            DatabaseConnection.shutdown();
+        } else {
+            System.setProperty("quiz.db.url", "jdbc:sqlite:" + databaseFile.toAbsolutePath());
+        }
+    }
+    
+    @TearDown
+    public void tearDown() {
+        DatabaseConnection.shutdown();
+    }
+    
+    @Benchmark
+    public List<Question> firstQuizFromSnapshot() {
+        QuestionSnapshot snapshot = QuestionSnapshot.open(snapshotFile);
+        return new QuestionDAO().createQuestions(snapshot.sampleQuestionRows(category, QuestionDAO.getQuizLength()));
+    }
+    
+    @Benchmark
+    public List<Question> firstQuizFromDatabase() {
+        DatabaseConnection.initialize();
+        return new QuestionDAO().getQuestionsByCategory(category);
+    }
+}
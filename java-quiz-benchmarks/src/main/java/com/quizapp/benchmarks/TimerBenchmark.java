@@ -0,0 +1,76 @@
+package com.quizapp.benchmarks;
+
+import com.quizapp.util.HashedWheelTimer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Re-arming one session's countdown while many other sessions have deadlines pending, as every
+ * session timer does once a second: the hashed wheel against a ScheduledThreadPoolExecutor's heap
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerBenchmark {
+
+    private static final Runnable NOTHING = () -> { };
+
+    @Param({"1000", "100000"})
+    public int pendingSessions;
+
+    private HashedWheelTimer wheel;
+    private ScheduledThreadPoolExecutor scheduler;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        wheel = new HashedWheelTimer("benchmark-wheel", 10, 512);
+        scheduler = new ScheduledThreadPoolExecutor(1);
+        // Otherwise cancelled tasks stay in the heap until their deadline
+        scheduler.setRemoveOnCancelPolicy(true);
+        random = new SplittableRandom(42);
+
+        // Deadlines of quizzes in progress, far enough out not to fire during the run
+        for (int i = 0; i < pendingSessions; i++) {
+            long delayMillis = 600_000 + random.nextLong(600_000);
+            wheel.schedule(NOTHING, delayMillis, TimeUnit.MILLISECONDS);
+            scheduler.schedule(NOTHING, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        wheel.stop();
+        scheduler.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean hashedWheel() {
+        HashedWheelTimer.Timeout timeout = wheel.schedule(NOTHING, 1 + random.nextLong(300_000), TimeUnit.MILLISECONDS);
+        return timeout.cancel();
+    }
+
+    @Benchmark
+    public boolean scheduledExecutor() {
+        ScheduledFuture<?> future = scheduler.schedule(NOTHING, 1 + random.nextLong(300_000), TimeUnit.MILLISECONDS);
+        return future.cancel(false);
+    }
+}
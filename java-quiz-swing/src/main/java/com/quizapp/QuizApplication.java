@@ -1,26 +1,172 @@
 package com.quizapp;
 
 import com.formdev.flatlaf.FlatLightLaf;
+import com.quizapp.analytics.ItemAnalytics;
+import com.quizapp.dao.AttemptRecorder;
+import com.quizapp.dao.QuestionLoader;
+import com.quizapp.database.DatabaseConnection;
 import com.quizapp.gui.MainFrame;
+import com.quizapp.gui.panels.AdminPanel;
+import com.quizapp.gui.panels.HomePanel;
+import com.quizapp.gui.panels.QuizPanel;
+import com.quizapp.gui.panels.ResultPanel;
+import com.quizapp.journal.SessionJournal;
+import com.quizapp.leaderboard.Leaderboards;
+import com.quizapp.metrics.MetricsRegistry;
+import com.quizapp.model.QuizCategory;
+import com.quizapp.server.QuizServer;
+import com.quizapp.snapshot.QuestionSnapshot;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
 
 /**
- * Main application entry point for the Java Quiz Application
+ * Main application entry point for the Java Quiz Application.
+ * Run with {@code --server [port]} to serve quizzes over HTTP instead of opening the window, or with
+ * {@code --warm-up} to go through a start without a window and exit, as the training run of the
+ * class-data-sharing archive built by the appcds profile.
  */
 public class QuizApplication {
     
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--server")) {
+            startServer(args.length > 1 ? Integer.parseInt(args[1]) : 8080);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--warm-up")) {
+            warmUp();
+            return;
+        }
+        
+        startBootstrap();
+        CompletableFuture<Void> lookAndFeel = installLookAndFeel();
+        // Load and link the window classes, and AWT's native libraries with them, while the look and feel loads
+        loadClass("com.quizapp.gui.MainFrame");
+        loadClass("com.quizapp.gui.panels.HomePanel");
+        
         SwingUtilities.invokeLater(() -> {
+            // Components pick up the look and feel when they are created, so the window waits for it
+            lookAndFeel.join();
+            
+            // Create and show the main application window
+            MainFrame frame = new MainFrame();
+            frame.addWindowListener(new WindowAdapter() {
+                @Override
+                public void windowOpened(WindowEvent e) {
+                    System.out.printf("Window shown %d ms after launch%n", ManagementFactory.getRuntimeMXBean().getUptime());
+                }
+            });
+            frame.setVisible(true);
+        });
+    }
+    
+    /**
+     * Migrates the schema, ranks and analyses stored attempts, maps the question snapshot, reads the session
+     * journal and publishes the metrics over JMX on a background thread; DAO calls wait for it if needed
+     * @return The started thread
+     */
+    private static Thread startBootstrap() {
+        Thread bootstrap = new Thread(() -> {
+            QuestionSnapshot.getDefault();
+            SessionJournal.getDefault();
+            MetricsRegistry.getDefault().registerMBeans();
+            if (DatabaseConnection.initialize() != null) {
+                Leaderboards.getDefault().rebuild();
+                ItemAnalytics.getDefault().rebuild();
+            }
+        }, "database-bootstrap");
+        bootstrap.setDaemon(true);
+        bootstrap.start();
+        return bootstrap;
+    }
+    
+    /**
+     * Loads FlatLaf and its defaults on a background thread. No Swing component may be created before it completes.
+     * @return Completes when the look and feel is installed, or failed to install
+     */
+    private static CompletableFuture<Void> installLookAndFeel() {
+        CompletableFuture<Void> installed = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
             try {
                 // Set modern look and feel
                 UIManager.setLookAndFeel(new FlatLightLaf());
             } catch (Exception e) {
                 System.err.println("Failed to initialize Look and Feel: " + e.getMessage());
             }
-            
-            // Create and show the main application window
-            new MainFrame().setVisible(true);
-        });
+            installed.complete(null);
+        }, "look-and-feel");
+        thread.setDaemon(true);
+        thread.start();
+        return installed;
+    }
+    
+    private static void loadClass(String name) {
+        try {
+            Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            System.err.println("Failed to preload " + name + ": " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Runs the work of a start and a first quiz without opening a window: installs the look and feel, builds
+     * every panel, bootstraps the database and loads a quiz. Works headless.
+     */
+    private static void warmUp() {
+        Thread bootstrap = startBootstrap();
+        CompletableFuture<Void> lookAndFeel = installLookAndFeel();
+        loadClass("com.quizapp.gui.MainFrame");
+        lookAndFeel.join();
+        
+        try {
+            SwingUtilities.invokeAndWait(() -> {
+                new HomePanel();
+                new QuizPanel();
+                new ResultPanel();
+                new AdminPanel();
+            });
+        } catch (Exception e) {
+            System.err.println("Warm-up failed to build the panels: " + e.getMessage());
+        }
+        if (QuestionLoader.loadQuestions(QuizCategory.values()[0]).join() == null) {
+            System.err.println("Warm-up failed to load a quiz");
+        }
+        // The rebuilds may still be running; the pool must not close under them, and the archive should
+        // hold the same classes on every run
+        try {
+            bootstrap.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.printf("Warm-up finished %d ms after launch%n", ManagementFactory.getRuntimeMXBean().getUptime());
+        
+        DatabaseConnection.shutdown();
+        System.exit(0);
+    }
+    
+    private static void startServer(int port) {
+        if (DatabaseConnection.initialize() == null) {
+            System.err.println("Cannot start server without a database");
+            System.exit(1);
+        }
+        Leaderboards.getDefault().rebuild();
+        ItemAnalytics.getDefault().rebuild();
+        MetricsRegistry.getDefault().registerMBeans();
+        try {
+            QuizServer server = new QuizServer(port);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop(2);
+                AttemptRecorder.getDefault().shutdown(5_000);
+                DatabaseConnection.shutdown();
+            }, "quiz-server-shutdown"));
+            server.start();
+        } catch (IOException e) {
+            System.err.println("Failed to start quiz server: " + e.getMessage());
+            System.exit(1);
+        }
     }
 }
\ No newline at end of file
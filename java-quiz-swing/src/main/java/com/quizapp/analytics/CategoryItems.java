@@ -0,0 +1,49 @@
+package com.quizapp.analytics;
+
+import com.quizapp.model.QuizAttempt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Item aggregates of the questions answered in one category, plus totals for the category
+ */
+class CategoryItems {
+    
+    final Map<Long, ItemStatistics> items = new ConcurrentHashMap<>();
+    final LongAdder attempts = new LongAdder();
+    final LongAdder answers = new LongAdder();
+    final LongAdder correct = new LongAdder();
+    
+    void record(QuizAttempt attempt) {
+        int total = attempt.getTotalQuestions();
+        int correctCount = 0;
+        for (int i = 0; i < total; i++) {
+            if (attempt.isCorrect(i)) {
+                correctCount++;
+            }
+        }
+        for (int i = 0; i < total; i++) {
+            // The question's own answer is left out, so it does not correlate with itself
+            double restScore = total > 1 ? (double) (correctCount - (attempt.isCorrect(i) ? 1 : 0)) / (total - 1) : Double.NaN;
+            items.computeIfAbsent(attempt.getQuestionId(i), ItemStatistics::new)
+                .add(attempt.getSelectedResponse(i), restScore);
+        }
+        attempts.increment();
+        answers.add(total);
+        correct.add(correctCount);
+    }
+    
+    /**
+     * @param other Aggregates that are no longer being updated
+     */
+    void merge(CategoryItems other) {
+        for (Map.Entry<Long, ItemStatistics> entry : other.items.entrySet()) {
+            items.computeIfAbsent(entry.getKey(), ItemStatistics::new).merge(entry.getValue());
+        }
+        attempts.add(other.attempts.sum());
+        answers.add(other.answers.sum());
+        correct.add(other.correct.sum());
+    }
+}
@@ -0,0 +1,227 @@
+package com.quizapp.analytics;
+
+import com.quizapp.dao.AttemptDAO;
+import com.quizapp.dao.AttemptRecorder;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.QuizCategory;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Item analysis of every question that has been answered: how often each response column is chosen,
+ * the correct rate and the point-biserial discrimination, see {@link ItemSummary}.
+ * <p>
+ * Aggregates are updated as each attempt is recorded, in time proportional to the attempt's questions,
+ * and kept per category, so reading a question or a category's totals never scans attempts. The shared
+ * instance follows every attempt stored by {@link AttemptRecorder#getDefault()} and is filled from the
+ * stored attempts by {@link #rebuild()} at startup.
+ */
+public class ItemAnalytics {
+    
+    private static final int REBUILD_THREADS = Integer.getInteger("quiz.analytics.rebuildThreads",
+                                                                  Runtime.getRuntime().availableProcessors());
+    private static final int REBUILD_CHUNK = 1024;
+    // Marks the end of the attempts for the rebuild workers
+    private static final List<QuizAttempt> END = new ArrayList<>();
+    
+    private volatile Map<QuizCategory, CategoryItems> categories = newCategories();
+    // Attempts submitted before this are read back by the running or last rebuild instead of recorded live
+    private volatile long recordedFromMillis = Long.MIN_VALUE;
+    
+    /**
+     * @return The process-wide analytics, subscribed to the shared attempt recorder
+     */
+    public static ItemAnalytics getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    private static final class DefaultHolder {
+        static final ItemAnalytics INSTANCE = createDefault();
+        
+        private static ItemAnalytics createDefault() {
+            ItemAnalytics analytics = new ItemAnalytics();
+            AttemptRecorder.getDefault().addStoreListener(analytics::record);
+            return analytics;
+        }
+    }
+    
+    private static Map<QuizCategory, CategoryItems> newCategories() {
+        Map<QuizCategory, CategoryItems> map = new EnumMap<>(QuizCategory.class);
+        for (QuizCategory category : QuizCategory.values()) {
+            map.put(category, new CategoryItems());
+        }
+        return map;
+    }
+    
+    /**
+     * Adds the answers of an attempt to the aggregates of its questions
+     * @param attempt A finished attempt
+     */
+    public void record(QuizAttempt attempt) {
+        // Read before the cutoff, which a rebuild sets before it swaps the aggregates
+        Map<QuizCategory, CategoryItems> current = categories;
+        if (attempt.getSubmittedAtMillis() >= recordedFromMillis) {
+            current.get(attempt.getCategory()).record(attempt);
+        }
+    }
+    
+    /**
+     * Replaces the aggregates with ones computed from every stored attempt. The attempts are read on the
+     * calling thread and aggregated in chunks by quiz.analytics.rebuildThreads workers (default: one per
+     * processor), whose partial aggregates are merged at the end. Attempts submitted before it starts are
+     * read back and ignored when they are recorded, so none is counted twice; one stored only after its
+     * read has begun is not counted.
+     * @return Number of attempts read, or -1 if the database cannot be read
+     */
+    public long rebuild() {
+        long start = System.nanoTime();
+        // Attempts submitted from now on are recorded into the new aggregates; earlier ones are read back
+        Map<QuizCategory, CategoryItems> rebuilt = newCategories();
+        long cutoff = System.currentTimeMillis();
+        recordedFromMillis = cutoff;
+        categories = rebuilt;
+        
+        int threads = Math.max(1, REBUILD_THREADS);
+        BlockingQueue<List<QuizAttempt>> chunks = new ArrayBlockingQueue<>(threads * 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "analytics-rebuild-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<Map<QuizCategory, CategoryItems>>> partials = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            partials.add(workers.submit(() -> aggregate(chunks)));
+        }
+        
+        long count;
+        try {
+            Chunker chunker = new Chunker(chunks);
+            count = new AttemptDAO().forEachAttempt(cutoff, chunker);
+            chunker.flush();
+            for (int i = 0; i < threads; i++) {
+                put(chunks, END);
+            }
+            for (Future<Map<QuizCategory, CategoryItems>> partial : partials) {
+                for (Map.Entry<QuizCategory, CategoryItems> entry : partial.get().entrySet()) {
+                    rebuilt.get(entry.getKey()).merge(entry.getValue());
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Error rebuilding item analytics: " + e);
+            return -1;
+        } finally {
+            workers.shutdownNow();
+        }
+        
+        if (count >= 0) {
+            System.out.printf("Item analytics rebuilt from %d attempts in %d ms%n",
+                              count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return count;
+    }
+    
+    private static Map<QuizCategory, CategoryItems> aggregate(BlockingQueue<List<QuizAttempt>> chunks) throws InterruptedException {
+        Map<QuizCategory, CategoryItems> partial = newCategories();
+        for (List<QuizAttempt> chunk = chunks.take(); chunk != END; chunk = chunks.take()) {
+            for (QuizAttempt attempt : chunk) {
+                partial.get(attempt.getCategory()).record(attempt);
+            }
+        }
+        return partial;
+    }
+    
+    private static void put(BlockingQueue<List<QuizAttempt>> chunks, List<QuizAttempt> chunk) {
+        try {
+            chunks.put(chunk);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding item analytics", e);
+        }
+    }
+    
+    /**
+     * Groups the attempts read into chunks for the rebuild workers, so they take the queue's lock once per chunk
+     */
+    private static final class Chunker implements Consumer<QuizAttempt> {
+        private final BlockingQueue<List<QuizAttempt>> chunks;
+        private List<QuizAttempt> chunk = new ArrayList<>(REBUILD_CHUNK);
+        
+        Chunker(BlockingQueue<List<QuizAttempt>> chunks) {
+            this.chunks = chunks;
+        }
+        
+        @Override
+        public void accept(QuizAttempt attempt) {
+            chunk.add(attempt);
+            if (chunk.size() == REBUILD_CHUNK) {
+                flush();
+            }
+        }
+        
+        void flush() {
+            if (!chunk.isEmpty()) {
+                put(chunks, chunk);
+                chunk = new ArrayList<>(REBUILD_CHUNK);
+            }
+        }
+    }
+    
+    /**
+     * @param category The category the question was answered in
+     * @param questionId Id of the question
+     * @return The question's analysis, or null if it has not been answered in that category
+     */
+    public ItemSummary getItem(QuizCategory category, long questionId) {
+        ItemStatistics statistics = categories.get(category).items.get(questionId);
+        return statistics == null ? null : statistics.summarize(category);
+    }
+    
+    /**
+     * @param category A category
+     * @return Analysis of every question answered in the category, by question id
+     */
+    public List<ItemSummary> getItems(QuizCategory category) {
+        List<ItemSummary> summaries = new ArrayList<>();
+        for (ItemStatistics statistics : categories.get(category).items.values()) {
+            summaries.add(statistics.summarize(category));
+        }
+        summaries.sort(Comparator.comparingLong(ItemSummary::getQuestionId));
+        return summaries;
+    }
+    
+    /**
+     * @return Number of attempts recorded in the category
+     */
+    public long getAttemptCount(QuizCategory category) {
+        return categories.get(category).attempts.sum();
+    }
+    
+    /**
+     * @return Number of distinct questions answered in the category
+     */
+    public int getQuestionCount(QuizCategory category) {
+        return categories.get(category).items.size();
+    }
+    
+    /**
+     * @return Share of all answers in the category that were correct, 0 if there are none
+     */
+    public double getCorrectRate(QuizCategory category) {
+        CategoryItems items = categories.get(category);
+        long answers = items.answers.sum();
+        return answers == 0 ? 0 : (double) items.correct.sum() / answers;
+    }
+}
@@ -0,0 +1,93 @@
+package com.quizapp.analytics;
+
+import com.quizapp.model.QuizCategory;
+
+/**
+ * Running aggregates of the answers to one question, updated in constant time per answer.
+ * <p>
+ * Besides the count per response column, it keeps the means, the sums of squared deviations and the
+ * co-moment of correctness and rest score with Welford's online method, which gives the point-biserial
+ * correlation without storing answers. Two partial aggregates combine with the pairwise formulas of
+ * Chan, Golub and LeVeque, so a rebuild can be split across threads.
+ */
+class ItemStatistics {
+    
+    /** Number of response columns; column 0 holds the correct answer */
+    static final int RESPONSES = 4;
+    
+    private final long questionId;
+    private long answers;
+    private long unanswered;
+    private final long[] responseCounts = new long[RESPONSES];
+    // Pairs of correctness (0 or 1) and rest score (share of the attempt's other questions answered correctly)
+    private long pairs;
+    private double meanCorrect;
+    private double meanRest;
+    private double squaredCorrect;
+    private double squaredRest;
+    private double coMoment;
+    
+    ItemStatistics(long questionId) {
+        this.questionId = questionId;
+    }
+    
+    /**
+     * @param response Selected response column, or a negative value if unanswered
+     * @param restScore Share of the attempt's other questions answered correctly, NaN if there were none
+     */
+    synchronized void add(int response, double restScore) {
+        answers++;
+        if (response >= 0 && response < RESPONSES) {
+            responseCounts[response]++;
+        } else {
+            unanswered++;
+        }
+        if (Double.isNaN(restScore)) {
+            return;
+        }
+        double correct = response == 0 ? 1 : 0;
+        pairs++;
+        double deltaCorrect = correct - meanCorrect;
+        meanCorrect += deltaCorrect / pairs;
+        double deltaRest = restScore - meanRest;
+        meanRest += deltaRest / pairs;
+        squaredCorrect += deltaCorrect * (correct - meanCorrect);
+        squaredRest += deltaRest * (restScore - meanRest);
+        coMoment += deltaCorrect * (restScore - meanRest);
+    }
+    
+    /**
+     * Adds the answers aggregated by another instance for the same question
+     * @param other Aggregates that are no longer being updated
+     */
+    synchronized void merge(ItemStatistics other) {
+        answers += other.answers;
+        unanswered += other.unanswered;
+        for (int i = 0; i < RESPONSES; i++) {
+            responseCounts[i] += other.responseCounts[i];
+        }
+        if (other.pairs == 0) {
+            return;
+        }
+        long total = pairs + other.pairs;
+        double deltaCorrect = other.meanCorrect - meanCorrect;
+        double deltaRest = other.meanRest - meanRest;
+        double weight = (double) pairs * other.pairs / total;
+        squaredCorrect += other.squaredCorrect + deltaCorrect * deltaCorrect * weight;
+        squaredRest += other.squaredRest + deltaRest * deltaRest * weight;
+        coMoment += other.coMoment + deltaCorrect * deltaRest * weight;
+        meanCorrect += deltaCorrect * other.pairs / total;
+        meanRest += deltaRest * other.pairs / total;
+        pairs = total;
+    }
+    
+    /**
+     * @param category The category the question was answered in
+     * @return A consistent copy of the aggregates
+     */
+    synchronized ItemSummary summarize(QuizCategory category) {
+        double denominator = Math.sqrt(squaredCorrect * squaredRest);
+        double discrimination = denominator > 0 ? coMoment / denominator : Double.NaN;
+        return new ItemSummary(questionId, category, answers, unanswered, responseCounts.clone(), discrimination);
+    }
+}
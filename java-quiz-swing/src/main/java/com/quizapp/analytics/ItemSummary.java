@@ -0,0 +1,92 @@
+package com.quizapp.analytics;
+
+import com.quizapp.model.QuizCategory;
+
+/**
+ * Item analysis of one question at one point in time.
+ * <p>
+ * The correct rate is the classical difficulty index: close to 1 for questions nearly everyone gets
+ * right. Discrimination is the point-biserial correlation between answering this question correctly and
+ * the share of the attempt's other questions answered correctly; good questions score above 0.3, and
+ * negative values suggest a wrong answer key. A distractor that almost nobody picks does not help to
+ * tell players apart.
+ */
+public class ItemSummary {
+    
+    private final long questionId;
+    private final QuizCategory category;
+    private final long answers;
+    private final long unanswered;
+    private final long[] responseCounts;
+    private final double discrimination;
+    
+    ItemSummary(long questionId, QuizCategory category, long answers, long unanswered, long[] responseCounts,
+                double discrimination) {
+        this.questionId = questionId;
+        this.category = category;
+        this.answers = answers;
+        this.unanswered = unanswered;
+        this.responseCounts = responseCounts;
+        this.discrimination = discrimination;
+    }
+    
+    public long getQuestionId() {
+        return questionId;
+    }
+    
+    public QuizCategory getCategory() {
+        return category;
+    }
+    
+    /**
+     * @return Number of attempts that included the question
+     */
+    public long getAnswers() {
+        return answers;
+    }
+    
+    public long getUnanswered() {
+        return unanswered;
+    }
+    
+    /**
+     * @return Number of response columns, the correct answer first and then the distractors
+     */
+    public int getResponseColumns() {
+        return responseCounts.length;
+    }
+    
+    /**
+     * @param column Response column, 0 for the correct answer
+     * @return Number of attempts that selected it
+     */
+    public long getResponseCount(int column) {
+        return responseCounts[column];
+    }
+    
+    /**
+     * @param column Response column, 0 for the correct answer
+     * @return Share of attempts that selected it, 0 if there are none
+     */
+    public double getResponseRate(int column) {
+        return answers == 0 ? 0 : (double) responseCounts[column] / answers;
+    }
+    
+    /**
+     * @return Share of attempts that answered correctly, 0 if there are none
+     */
+    public double getCorrectRate() {
+        return getResponseRate(0);
+    }
+    
+    public double getUnansweredRate() {
+        return answers == 0 ? 0 : (double) unanswered / answers;
+    }
+    
+    /**
+     * @return Point-biserial correlation between -1 and 1, or NaN while everyone answered alike
+     */
+    public double getDiscrimination() {
+        return discrimination;
+    }
+}
@@ -0,0 +1,64 @@
+package com.quizapp.dao;
+
+import com.quizapp.model.QuizCategory;
+
+import java.util.Arrays;
+
+/**
+ * Answer key of the whole question bank, for grading answers given outside a quiz session.
+ * <p>
+ * The bank stores the correct answer of every question as response1, so a question's key is response
+ * column 0; the key records which questions exist and their category. Questions are numbered densely in
+ * id order, so per-question results can be kept in arrays. Ids and categories are held in primitive
+ * arrays, 9 bytes per question, and the key is immutable and safe to share between threads.
+ */
+public class AnswerKey {
+    
+    /** Response column of the correct answer */
+    public static final int CORRECT_RESPONSE = 0;
+    
+    private final long[] questionIds;
+    private final byte[] categoryIds;
+    
+    /**
+     * @param questionIds Question ids in ascending order
+     * @param categoryIds Category id of each question
+     */
+    public AnswerKey(long[] questionIds, byte[] categoryIds) {
+        if (questionIds.length != categoryIds.length) {
+            throw new IllegalArgumentException("Got " + questionIds.length + " ids and " + categoryIds.length + " categories");
+        }
+        this.questionIds = questionIds;
+        this.categoryIds = categoryIds;
+    }
+    
+    /**
+     * @return Number of questions in the key
+     */
+    public int size() {
+        return questionIds.length;
+    }
+    
+    /**
+     * @param questionId Id of a question
+     * @return Dense index of the question, or -1 if it is not in the bank
+     */
+    public int indexOf(long questionId) {
+        int index = Arrays.binarySearch(questionIds, questionId);
+        return index >= 0 ? index : -1;
+    }
+    
+    /**
+     * @param index Dense index from {@link #indexOf(long)}
+     */
+    public long getQuestionId(int index) {
+        return questionIds[index];
+    }
+    
+    /**
+     * @param index Dense index from {@link #indexOf(long)}
+     */
+    public QuizCategory getCategory(int index) {
+        return QuizCategory.fromId(categoryIds[index]);
+    }
+}
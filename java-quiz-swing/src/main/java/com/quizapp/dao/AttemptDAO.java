@@ -0,0 +1,286 @@
+package com.quizapp.dao;
+
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.LeaderboardEntry;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.QuizCategory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Data Access Object for persisted quiz attempts
+ */
+public class AttemptDAO extends DatabaseConnection {
+    
+    private static final String INSERT_ATTEMPT =
+        "INSERT INTO attempts (player, category, score, total_questions, timed_out, started_at, submitted_at, duration_ms, seed) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ANSWER =
+        "INSERT INTO attempt_answers (attempt_id, position, question_id, selected_response, is_correct, time_spent_ms) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+    // Attempts joined with their answers; callers add the WHERE and ORDER BY clauses
+    private static final String SELECT_ATTEMPTS =
+        "SELECT a.id, a.player, a.category, a.score, a.total_questions, a.timed_out, a.started_at, "
+            + "a.submitted_at, a.duration_ms, a.seed, aa.position, aa.question_id, aa.selected_response, aa.time_spent_ms "
+            + "FROM attempts a JOIN attempt_answers aa ON aa.attempt_id = a.id ";
+    
+    /**
+     * Inserts attempts with their answers in a single transaction, so a batch costs one commit
+     * @param attempts Attempts to store
+     * @return true if all attempts were stored, false if none were
+     */
+    public boolean insertAttempts(List<QuizAttempt> attempts) {
+        if (attempts.isEmpty()) {
+            return true;
+        }
+        Connection connection = getConnection();
+        if (connection == null) {
+            return false;
+        }
+        
+        try (PreparedStatement attemptStatement = connection.prepareStatement(INSERT_ATTEMPT, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement answerStatement = connection.prepareStatement(INSERT_ANSWER)) {
+            connection.setAutoCommit(false);
+            
+            for (QuizAttempt attempt : attempts) {
+                attemptStatement.setString(1, attempt.getPlayer());
+                attemptStatement.setInt(2, attempt.getCategory().getId());
+                attemptStatement.setInt(3, attempt.getScore());
+                attemptStatement.setInt(4, attempt.getTotalQuestions());
+                attemptStatement.setInt(5, attempt.isTimedOut() ? 1 : 0);
+                attemptStatement.setLong(6, attempt.getStartedAtMillis());
+                attemptStatement.setLong(7, attempt.getSubmittedAtMillis());
+                attemptStatement.setLong(8, attempt.getDurationMillis());
+                attemptStatement.setLong(9, attempt.getSeed());
+                attemptStatement.executeUpdate();
+                
+                long attemptId;
+                try (ResultSet keys = attemptStatement.getGeneratedKeys()) {
+                    if (!keys.next()) {
+                        throw new SQLException("No id generated for attempt");
+                    }
+                    attemptId = keys.getLong(1);
+                }
+                
+                for (int i = 0; i < attempt.getTotalQuestions(); i++) {
+                    answerStatement.setLong(1, attemptId);
+                    answerStatement.setInt(2, i);
+                    answerStatement.setLong(3, attempt.getQuestionId(i));
+                    if (attempt.getSelectedResponse(i) == QuizAttempt.NO_RESPONSE) {
+                        answerStatement.setNull(4, Types.INTEGER);
+                    } else {
+                        answerStatement.setInt(4, attempt.getSelectedResponse(i));
+                    }
+                    answerStatement.setInt(5, attempt.isCorrect(i) ? 1 : 0);
+                    answerStatement.setInt(6, attempt.getTimeSpentMillis(i));
+                    answerStatement.addBatch();
+                }
+            }
+            answerStatement.executeBatch();
+            connection.commit();
+            return true;
+        
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error storing quiz attempts: " + e.getMessage());
+            return false;
+        } finally {
+            try {
+                // Returning the connection rolls back anything left uncommitted
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Streams the score summary of every stored attempt, e.g. to rebuild leaderboards
+     * @param consumer Receives one entry per attempt, on the calling thread
+     * @return Number of attempts read, or -1 if the database cannot be read
+     */
+    public long forEachLeaderboardEntry(Consumer<LeaderboardEntry> consumer) {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return -1;
+        }
+        
+        String sql = "SELECT player, category, score, total_questions, duration_ms, submitted_at FROM attempts";
+        long count = 0;
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                QuizCategory category;
+                try {
+                    category = QuizCategory.fromId(resultSet.getInt("category"));
+                } catch (IllegalArgumentException e) {
+                    continue; // Category no longer offered
+                }
+                consumer.accept(new LeaderboardEntry(
+                    resultSet.getString("player"),
+                    category,
+                    resultSet.getInt("score"),
+                    resultSet.getInt("total_questions"),
+                    resultSet.getLong("duration_ms"),
+                    resultSet.getLong("submitted_at")
+                ));
+                count++;
+            }
+            return count;
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error reading quiz attempts: " + e.getMessage());
+            return -1;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Streams every stored attempt with its answers, in the order they were stored
+     * @param submittedBefore Only attempts submitted before this epoch millisecond are read
+     * @param consumer Receives one attempt at a time, on the calling thread
+     * @return Number of attempts read, or -1 if the database cannot be read
+     */
+    public long forEachAttempt(long submittedBefore, Consumer<QuizAttempt> consumer) {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return -1;
+        }
+        
+        String sql = SELECT_ATTEMPTS + "WHERE a.submitted_at < ? ORDER BY a.id, aa.position";
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, submittedBefore);
+            return readAttempts(statement, consumer);
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error reading quiz attempts: " + e.getMessage());
+            return -1;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Retrieves one stored attempt with its answers
+     * @param attemptId Id of the attempt
+     * @return The attempt, or null if there is none with that id or the database cannot be read
+     */
+    public QuizAttempt getAttempt(long attemptId) {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return null;
+        }
+        
+        String sql = SELECT_ATTEMPTS + "WHERE a.id = ? ORDER BY aa.position";
+        QuizAttempt[] found = new QuizAttempt[1];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, attemptId);
+            readAttempts(statement, attempt -> found[0] = attempt);
+            return found[0];
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error reading quiz attempt: " + e.getMessage());
+            return null;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Runs a query of {@link #SELECT_ATTEMPTS} ordered by attempt and regroups its rows into attempts
+     * @return Number of attempts passed to the consumer
+     */
+    private static long readAttempts(PreparedStatement statement, Consumer<QuizAttempt> consumer) throws SQLException {
+        long count = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            boolean more = resultSet.next();
+            while (more) {
+                // Rows of one attempt are adjacent; read them all, then pass the attempt on
+                long attemptId = resultSet.getLong("id");
+                String player = resultSet.getString("player");
+                int categoryId = resultSet.getInt("category");
+                int score = resultSet.getInt("score");
+                int totalQuestions = resultSet.getInt("total_questions");
+                boolean timedOut = resultSet.getInt("timed_out") != 0;
+                long startedAt = resultSet.getLong("started_at");
+                long submittedAt = resultSet.getLong("submitted_at");
+                long durationMillis = resultSet.getLong("duration_ms");
+                long seed = resultSet.getLong("seed");
+                
+                long[] questionIds = new long[totalQuestions];
+                byte[] selectedResponses = new byte[totalQuestions];
+                int[] timeSpentMillis = new int[totalQuestions];
+                Arrays.fill(selectedResponses, (byte) QuizAttempt.NO_RESPONSE);
+                do {
+                    int position = resultSet.getInt("position");
+                    if (position >= 0 && position < totalQuestions) {
+                        questionIds[position] = resultSet.getLong("question_id");
+                        int response = resultSet.getInt("selected_response");
+                        if (!resultSet.wasNull()) {
+                            selectedResponses[position] = (byte) response;
+                        }
+                        timeSpentMillis[position] = resultSet.getInt("time_spent_ms");
+                    }
+                    more = resultSet.next();
+                } while (more && resultSet.getLong("id") == attemptId);
+                
+                QuizCategory category;
+                try {
+                    category = QuizCategory.fromId(categoryId);
+                } catch (IllegalArgumentException e) {
+                    continue; // Category no longer offered
+                }
+                consumer.accept(new QuizAttempt(player, category, startedAt, submittedAt, durationMillis, score,
+                                                timedOut, questionIds, selectedResponses, timeSpentMillis, seed));
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    /**
+     * @return Number of stored attempts, or -1 if the database cannot be read
+     */
+    public long countAttempts() {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return -1;
+        }
+        
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM attempts")) {
+            return resultSet.next() ? resultSet.getLong(1) : 0;
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error counting quiz attempts: " + e.getMessage());
+            return -1;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.quizapp.dao;
+
+import com.quizapp.model.QuizAttempt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind store for finished quiz attempts.
+ * {@link #record} only enqueues, so submitting a quiz never waits on the database; a single writer
+ * thread drains the queue and stores everything waiting in one transaction per batch. Store listeners
+ * hear of an attempt only once its batch is committed, so views built from them, like the leaderboards,
+ * hold the same attempts as the database and come out the same when rebuilt from it.
+ */
+public class AttemptRecorder {
+    
+    /**
+     * What {@link #record} does when the queue is full
+     */
+    public enum BackpressurePolicy {
+        /** Wait up to the offer timeout for space, then drop the new attempt */
+        BLOCK,
+        /** Drop the new attempt immediately */
+        DROP_NEWEST,
+        /** Drop the oldest queued attempt to make room */
+        DROP_OLDEST;
+        
+        static BackpressurePolicy fromName(String name, BackpressurePolicy fallback) {
+            if (name == null) {
+                return fallback;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Unknown attempt backpressure policy '" + name + "', using " + fallback);
+                return fallback;
+            }
+        }
+    }
+    
+    private static final int WRITE_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 200;
+    private static final long POLL_MILLIS = 250;
+    
+    private final AttemptDAO attemptDAO;
+    private final BlockingQueue<QuizAttempt> queue;
+    private final int capacity;
+    private final int maxBatchSize;
+    private final BackpressurePolicy policy;
+    private final long offerTimeoutMillis;
+    private final Thread writer;
+    private final List<Consumer<QuizAttempt>> storeListeners = new CopyOnWriteArrayList<>();
+    private volatile boolean closed;
+    
+    // Statistics
+    private final LongAdder recordedCount = new LongAdder();
+    private final LongAdder writtenCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder failedCount = new LongAdder();
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder totalWriteNanos = new LongAdder();
+    
+    /**
+     * Creates a recorder and starts its writer thread
+     * @param attemptDAO DAO used by the writer thread
+     * @param capacity Maximum number of attempts waiting to be written
+     * @param maxBatchSize Maximum number of attempts stored per transaction
+     * @param policy What to do when the queue is full
+     * @param offerTimeoutMillis How long {@link BackpressurePolicy#BLOCK} waits for space
+     */
+    public AttemptRecorder(AttemptDAO attemptDAO, int capacity, int maxBatchSize, BackpressurePolicy policy,
+                           long offerTimeoutMillis) {
+        if (capacity < 1 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Capacity and batch size must be at least 1");
+        }
+        this.attemptDAO = attemptDAO;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.maxBatchSize = maxBatchSize;
+        this.policy = policy;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        
+        writer = new Thread(this::writeLoop, "attempt-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    /**
+     * Returns the process-wide recorder, configured with -Dquiz.attempts.* system properties
+     * @return The shared recorder
+     */
+    public static AttemptRecorder getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    private static final class DefaultHolder {
+        static final AttemptRecorder INSTANCE = new AttemptRecorder(
+            new AttemptDAO(),
+            Integer.getInteger("quiz.attempts.queueCapacity", 10_000),
+            Integer.getInteger("quiz.attempts.batchSize", 500),
+            BackpressurePolicy.fromName(System.getProperty("quiz.attempts.backpressure"), BackpressurePolicy.BLOCK),
+            Long.getLong("quiz.attempts.offerTimeoutMillis", 100L)
+        );
+    }
+    
+    /**
+     * Queues an attempt for writing
+     * @param attempt The finished attempt
+     * @return false if the attempt was dropped because the queue is full or the recorder is shut down
+     */
+    public boolean record(QuizAttempt attempt) {
+        if (closed) {
+            droppedCount.increment();
+            return false;
+        }
+        recordedCount.increment();
+        
+        boolean queued;
+        switch (policy) {
+            case BLOCK:
+                try {
+                    queued = queue.offer(attempt, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    queued = false;
+                }
+                break;
+            case DROP_OLDEST:
+                queued = queue.offer(attempt);
+                while (!queued) {
+                    if (queue.poll() != null) {
+                        droppedCount.increment();
+                    }
+                    queued = queue.offer(attempt);
+                }
+                break;
+            default:
+                queued = queue.offer(attempt);
+                break;
+        }
+        
+        if (!queued) {
+            droppedCount.increment();
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Adds a listener told about every attempt once it is stored. Attempts that are dropped from the queue
+     * or cannot be stored are never reported.
+     * @param listener Called on the writer thread, in the order the attempts were stored; must be quick
+     */
+    public void addStoreListener(Consumer<QuizAttempt> listener) {
+        storeListeners.add(listener);
+    }
+    
+    private void writeLoop() {
+        List<QuizAttempt> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            QuizAttempt first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            if (first == null) {
+                if (closed && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+            
+            // Everything that queued up while the previous batch was written goes into one commit
+            batch.add(first);
+            queue.drainTo(batch, maxBatchSize - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+    
+    private void writeBatch(List<QuizAttempt> batch) {
+        long start = System.nanoTime();
+        for (int attempt = 1; attempt <= WRITE_ATTEMPTS; attempt++) {
+            if (attemptDAO.insertAttempts(batch)) {
+                writtenCount.add(batch.size());
+                batchCount.increment();
+                totalWriteNanos.add(System.nanoTime() - start);
+                notifyStored(batch);
+                return;
+            }
+            if (attempt < WRITE_ATTEMPTS && !closed) {
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS * attempt);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+        failedCount.add(batch.size());
+        System.err.println("Discarding " + batch.size() + " quiz attempts that could not be stored");
+    }
+    
+    private void notifyStored(List<QuizAttempt> batch) {
+        for (Consumer<QuizAttempt> listener : storeListeners) {
+            for (QuizAttempt attempt : batch) {
+                try {
+                    listener.accept(attempt);
+                } catch (RuntimeException e) {
+                    // A failing listener must not stop the writer
+                    System.err.println("Error in attempt store listener: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    /**
+     * Stops accepting attempts and waits for the queued ones to be written
+     * @param timeoutMillis Maximum time to wait for the writer
+     * @return true if everything queued was written or given up on within the timeout
+     */
+    public boolean shutdown(long timeoutMillis) {
+        closed = true;
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            System.err.println("Timed out with " + queue.size() + " quiz attempts still queued");
+            return false;
+        }
+        return true;
+    }
+    
+    public BackpressurePolicy getPolicy() {
+        return policy;
+    }
+    
+    /**
+     * @return A point-in-time snapshot of the recorder counters
+     */
+    public RecorderStatistics getStatistics() {
+        return new RecorderStatistics(
+            recordedCount.sum(),
+            writtenCount.sum(),
+            droppedCount.sum(),
+            failedCount.sum(),
+            batchCount.sum(),
+            totalWriteNanos.sum(),
+            queue.size(),
+            capacity
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.quizapp.dao;
+
+/**
+ * Immutable snapshot of question cache counters
+ */
+public class CacheStatistics {
+    
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final int cachedCategories;
+    private final int cachedRows;
+    private final int maxRows;
+    
+    public CacheStatistics(long hits, long misses, long evictions, long invalidations,
+                           int cachedCategories, int cachedRows, int maxRows) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.invalidations = invalidations;
+        this.cachedCategories = cachedCategories;
+        this.cachedRows = cachedRows;
+        this.maxRows = maxRows;
+    }
+    
+    public long getHits() {
+        return hits;
+    }
+    
+    public long getMisses() {
+        return misses;
+    }
+    
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    public long getInvalidations() {
+        return invalidations;
+    }
+    
+    public int getCachedCategories() {
+        return cachedCategories;
+    }
+    
+    public int getCachedRows() {
+        return cachedRows;
+    }
+    
+    public int getMaxRows() {
+        return maxRows;
+    }
+    
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("CacheStatistics[hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, invalidations=%d, "
+            + "categories=%d, rows=%d/%d]", hits, misses, getHitRate() * 100, evictions, invalidations,
+            cachedCategories, cachedRows, maxRows);
+    }
+}
@@ -0,0 +1,118 @@
+package com.quizapp.dao;
+
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache of question rows per category.
+ * The cache is bounded by the total number of rows it holds across all categories.
+ */
+public class QuestionCache {
+    
+    private final int maxRows;
+    private final LinkedHashMap<QuizCategory, List<QuestionRow>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Bumped on every invalidation so loads that started earlier cannot store stale rows
+    private final Map<QuizCategory, Long> generations = new EnumMap<>(QuizCategory.class);
+    private int cachedRows;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+    
+    /**
+     * @param maxRows Maximum number of rows held in total; 0 disables caching
+     */
+    public QuestionCache(int maxRows) {
+        this.maxRows = maxRows;
+    }
+    
+    /**
+     * @param category Category to look up
+     * @return The cached rows, or null on a miss
+     */
+    public synchronized List<QuestionRow> get(QuizCategory category) {
+        List<QuestionRow> rows = entries.get(category);
+        if (rows != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return rows;
+    }
+    
+    /**
+     * @param category Category about to be loaded
+     * @return Token to pass to {@link #put} once the rows have been read
+     */
+    public synchronized long beginLoad(QuizCategory category) {
+        return generations.getOrDefault(category, 0L);
+    }
+    
+    /**
+     * Stores rows loaded for a category unless it was invalidated since {@link #beginLoad}
+     * @param category Category the rows belong to
+     * @param rows Rows in bank order
+     * @param loadToken Value returned by {@link #beginLoad} before the rows were read
+     * @return Unmodifiable view of the rows
+     */
+    public synchronized List<QuestionRow> put(QuizCategory category, List<QuestionRow> rows, long loadToken) {
+        List<QuestionRow> immutable = Collections.unmodifiableList(rows);
+        if (rows.size() > maxRows || generations.getOrDefault(category, 0L) != loadToken) {
+            return immutable;
+        }
+        
+        List<QuestionRow> previous = entries.put(category, immutable);
+        if (previous != null) {
+            cachedRows -= previous.size();
+        }
+        cachedRows += rows.size();
+        evictToFit();
+        return immutable;
+    }
+    
+    private void evictToFit() {
+        Iterator<List<QuestionRow>> eldest = entries.values().iterator();
+        while (cachedRows > maxRows && eldest.hasNext()) {
+            cachedRows -= eldest.next().size();
+            eldest.remove();
+            evictions++;
+        }
+    }
+    
+    /**
+     * Drops the cached rows of a category; call after writing questions of that category
+     * @param category Category whose questions changed
+     */
+    public synchronized void invalidate(QuizCategory category) {
+        generations.merge(category, 1L, Long::sum);
+        List<QuestionRow> removed = entries.remove(category);
+        if (removed != null) {
+            cachedRows -= removed.size();
+        }
+        invalidations++;
+    }
+    
+    /**
+     * Drops every cached category
+     */
+    public synchronized void invalidateAll() {
+        for (QuizCategory category : QuizCategory.values()) {
+            generations.merge(category, 1L, Long::sum);
+        }
+        entries.clear();
+        cachedRows = 0;
+        invalidations++;
+    }
+    
+    public synchronized CacheStatistics getStatistics() {
+        return new CacheStatistics(hits, misses, evictions, invalidations, entries.size(), cachedRows, maxRows);
+    }
+}
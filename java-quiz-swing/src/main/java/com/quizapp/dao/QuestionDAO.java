@@ -1,62 +1,559 @@
 package com.quizapp.dao;
 
 import com.quizapp.database.DatabaseConnection;
+import com.quizapp.metrics.Counter;
+import com.quizapp.metrics.LatencyHistogram;
+import com.quizapp.metrics.MetricsRegistry;
+import com.quizapp.metrics.QuestionLoadEvent;
+import com.quizapp.metrics.ShuffleEvent;
 import com.quizapp.model.Question;
+import com.quizapp.model.QuestionMatch;
+import com.quizapp.model.QuestionRow;
 import com.quizapp.model.QuizCategory;
-import com.quizapp.util.ArrayShuffler;
+import com.quizapp.util.SeededPermutations;
+import com.quizapp.util.ShuffleEngine;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Data Access Object for managing quiz questions
  */
 public class QuestionDAO extends DatabaseConnection {
+
+    private static final QuestionCache CACHE = new QuestionCache(Integer.getInteger("quiz.cache.maxRows", 50_000));
+    private static final boolean SHUFFLE_QUESTION_ORDER = Boolean.getBoolean("quiz.shuffle.questions");
+    private static final int QUIZ_LENGTH = Integer.getInteger("quiz.length", 10);
+    
+    private static final LatencyHistogram LOAD_LATENCY = MetricsRegistry.getDefault().latency("questions.load");
+    private static final LatencyHistogram SHUFFLE_LATENCY = MetricsRegistry.getDefault().latency("questions.shuffle");
+    private static final Counter LOAD_ERRORS = MetricsRegistry.getDefault().counter("questions.load.errors");
+    
+    // Rows of categories no longer offered stay in the table, but pages and searches of all categories leave them out
+    private static final String OFFERED_TYPES = offeredTypes();
+    private static final String INSERT_SQL =
+        "INSERT INTO questions (type, question, response1, response2, response3, response4, rand_key) "
+            + "VALUES (?, ?, ?, ?, ?, ?, random())";
+    private static final String UPDATE_SQL =
+        "UPDATE questions SET type = ?, question = ?, response1 = ?, response2 = ?, response3 = ?, response4 = ? WHERE id = ?";
     
+    // Search terms are runs of letters and digits, optionally ending in * for a prefix match;
+    // everything else, including other FTS5 syntax, is dropped
+    private static final Pattern SEARCH_TERM = Pattern.compile("([\\p{L}\\p{N}]+)(\\*?)");
+    private static final int MAX_SEARCH_TERMS = 16;
+    
+    // FTS5 sorts by rank (weighted BM25, see the V6 migration) itself, so snippets are only built for
+    // the returned page and the questions table is only read for those rows
+    private static final String SEARCH_SQL =
+        "SELECT q.id, q.type, q.question, q.response1, q.response2, q.response3, q.response4, m.score, m.snippet "
+            + "FROM (SELECT rowid, rank AS score, snippet(questions_fts, -1, '[', ']', '...', 12) AS snippet "
+            + "      FROM questions_fts WHERE questions_fts MATCH ? %s"
+            + "      ORDER BY rank LIMIT ? OFFSET ?) m "
+            + "JOIN questions q ON q.id = m.rowid "
+            + "ORDER BY m.score";
+
     /**
-     * Retrieves questions for a specific quiz category
+     * Retrieves the questions of one quiz in a category: -Dquiz.length questions (default 10) drawn at
+     * random, or every question of the category if quiz.length is 0
      * @param category The quiz category to retrieve questions for
      * @return List of questions, or null if database connection fails
      */
     public List<Question> getQuestionsByCategory(QuizCategory category) {
+        QuestionLoadEvent event = new QuestionLoadEvent();
+        event.begin();
+        long start = System.nanoTime();
+        
+        List<QuestionRow> rows = QUIZ_LENGTH > 0 ? sampleQuestionRows(category, QUIZ_LENGTH) : getQuestionRows(category);
+        List<Question> questions = rows != null ? createQuestions(rows) : null;
+        
+        LOAD_LATENCY.recordSince(start);
+        if (questions == null) {
+            LOAD_ERRORS.increment();
+        }
+        event.category = category.name();
+        event.questions = questions != null ? questions.size() : 0;
+        event.commit();
+        return questions;
+    }
+
+    /**
+     * Builds the questions of one quiz session from stored rows with a new seed, shuffling question
+     * order only if -Dquiz.shuffle.questions=true
+     * @param rows Rows in bank order
+     * @return Questions with their options in an order derived from the session's seed
+     */
+    public List<Question> createQuestions(List<QuestionRow> rows) {
+        return createQuestions(rows, ShuffleEngine.getDefault().newSeed(), SHUFFLE_QUESTION_ORDER);
+    }
+
+    /**
+     * Builds the questions of one quiz session from stored rows. The questions share the rows and only
+     * keep the seed; the same rows and seed always give the same question and option order.
+     * @param rows Rows in bank order
+     * @param seed Seed of the session, see {@link ShuffleEngine#newSeed()}
+     * @param shuffleQuestionOrder Whether to present the questions in an order derived from the seed as well
+     * @return Questions with their options in an order derived from the seed
+     */
+    public List<Question> createQuestions(List<QuestionRow> rows, long seed, boolean shuffleQuestionOrder) {
+        ShuffleEvent event = new ShuffleEvent();
+        event.begin();
+        long start = System.nanoTime();
+
+        int[] order = shuffleQuestionOrder ? SeededPermutations.permutation(seed, rows.size()) : null;
+        List<Question> questions = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            questions.add(new Question(rows.get(order != null ? order[i] : i), seed));
+        }
+
+        SHUFFLE_LATENCY.recordSince(start);
+        event.questions = questions.size();
+        event.questionOrderShuffled = shuffleQuestionOrder;
+        event.commit();
+        return questions;
+    }
+
+    /**
+     * Retrieves the stored rows of a category, from the cache when possible
+     * @param category The quiz category to retrieve rows for
+     * @return Unmodifiable list of rows in bank order, or null if the database cannot be read
+     */
+    public List<QuestionRow> getQuestionRows(QuizCategory category) {
+        List<QuestionRow> cached = CACHE.get(category);
+        if (cached != null) {
+            return cached;
+        }
+
+        long loadToken = CACHE.beginLoad(category);
+        List<QuestionRow> rows = loadQuestionRows(category);
+        if (rows == null) {
+            return null;
+        }
+        return CACHE.put(category, rows, loadToken);
+    }
+
+    private List<QuestionRow> loadQuestionRows(QuizCategory category) {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return null;
+        }
+
+        List<QuestionRow> rows = new ArrayList<>();
+        String sql = "SELECT id, question, response1, response2, response3, response4 FROM questions WHERE type = ? ORDER BY id";
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setInt(1, category.getId());
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            while (resultSet.next()) {
+                // Responses in stored order; response1 is the correct answer
+                String[] responses = {
+                    resultSet.getString("response1"),
+                    resultSet.getString("response2"),
+                    resultSet.getString("response3"),
+                    resultSet.getString("response4")
+                };
+                rows.add(new QuestionRow(resultSet.getLong("id"), category, resultSet.getString("question"), responses));
+            }
+
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error retrieving questions: " + e.getMessage());
+            return null;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Draws distinct questions of a category at random without reading the whole category.
+     * <p>
+     * Each draw picks a random 64-bit pivot and seeks the (type, rand_key) index to the first question
+     * at or after it, wrapping around to the smallest key, and skipping questions already drawn. A draw
+     * reads only ids from the index, so its cost depends on the quiz length, not the category size.
+     * A question's chance per draw is proportional to the gap between its key and the next smaller one, so
+     * with fixed keys the question after the largest gap would be drawn about ln(n) times as often as the
+     * average one, for good. The drawn questions are therefore given new random keys afterwards, in the
+     * background by {@link RandomKeyRefresher}, so over many quizzes each question of a category is drawn
+     * equally often while a draw itself only reads.
+     * @param category The category to draw from
+     * @param count Number of questions wanted
+     * @return Up to count rows in bank order, fewer if the category is smaller, or null if the database cannot be read
+     */
+    public List<QuestionRow> sampleQuestionRows(QuizCategory category, int count) {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return null;
+        }
+
+        String seekSql = "SELECT id FROM questions WHERE type = ? AND rand_key >= ? ORDER BY rand_key LIMIT ?";
+        String wrapSql = "SELECT id FROM questions WHERE type = ? ORDER BY rand_key LIMIT ?";
+        Set<Long> drawn = new LinkedHashSet<>();
+
+        try (PreparedStatement seekStatement = connection.prepareStatement(seekSql);
+             PreparedStatement wrapStatement = connection.prepareStatement(wrapSql)) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            seekStatement.setInt(1, category.getId());
+            wrapStatement.setInt(1, category.getId());
+
+            while (drawn.size() < count) {
+                // One more row than already drawn always contains an undrawn one, unless the keys run out
+                int limit = drawn.size() + 1;
+                seekStatement.setLong(2, random.nextLong());
+                seekStatement.setInt(3, limit);
+                if (!drawNext(seekStatement, drawn)) {
+                    wrapStatement.setInt(2, limit);
+                    if (!drawNext(wrapStatement, drawn)) {
+                        break; // Every question of the category has been drawn
+                    }
+                }
+            }
+
+            if (drawn.isEmpty()) {
+                return new ArrayList<>();
+            }
+            List<QuestionRow> rows = loadRowsById(connection, drawn);
+            RandomKeyRefresher.getDefault().drawn(drawn);
+            return rows;
+
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error sampling questions: " + e.getMessage());
+            return null;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return true if the query returned an id not drawn yet, which is then added
+     */
+    private static boolean drawNext(PreparedStatement statement, Set<Long> drawn) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                if (drawn.add(resultSet.getLong(1))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static List<QuestionRow> loadRowsById(Connection connection, Set<Long> ids) throws SQLException {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        String sql = "SELECT id, type, question, response1, response2, response3, response4 FROM questions "
+            + "WHERE id IN (" + placeholders + ") ORDER BY id";
+        List<QuestionRow> rows = new ArrayList<>(ids.size());
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            int parameter = 1;
+            for (long id : ids) {
+                preparedStatement.setLong(parameter++, id);
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            while (resultSet.next()) {
+                String[] responses = {
+                    resultSet.getString("response1"),
+                    resultSet.getString("response2"),
+                    resultSet.getString("response3"),
+                    resultSet.getString("response4")
+                };
+                QuizCategory rowCategory = toCategory(resultSet.getInt("type"));
+                if (rowCategory != null) {
+                    rows.add(new QuestionRow(resultSet.getLong("id"), rowCategory, resultSet.getString("question"), responses));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Retrieves stored rows by id, e.g. to lay out the questions of a stored attempt again
+     * @param ids Ids of the questions wanted
+     * @return Rows in id order, without ids that no longer exist or whose category is no longer offered,
+     *     or null if the database cannot be read
+     */
+    public List<QuestionRow> getQuestionRowsById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Connection connection = getConnection();
+        if (connection == null) {
+            return null;
+        }
+
+        try {
+            return loadRowsById(connection, new LinkedHashSet<>(ids));
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error retrieving questions: " + e.getMessage());
+            return null;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Records where each page of the bank starts, reading only ids from the primary key or type index
+     * @param category Category to index, or null for every category still offered
+     * @param pageSize Number of questions per page
+     * @return The page index, or null if the database cannot be read
+     */
+    public QuestionPageIndex buildPageIndex(QuizCategory category, int pageSize) {
         Connection connection = getConnection();
         if (connection == null) {
             return null;
         }
+
+        String sql = "SELECT id FROM questions WHERE " + (category != null ? "type = ? " : OFFERED_TYPES) + "ORDER BY id";
+        long[] pageStartIds = new long[16];
+        int pageCount = 0;
+        long rowCount = 0;
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            if (category != null) {
+                preparedStatement.setInt(1, category.getId());
+            }
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            while (resultSet.next()) {
+                if (rowCount % pageSize == 0) {
+                    if (pageCount == pageStartIds.length) {
+                        pageStartIds = Arrays.copyOf(pageStartIds, pageCount * 2);
+                    }
+                    pageStartIds[pageCount++] = resultSet.getLong(1);
+                }
+                rowCount++;
+            }
+
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error indexing questions: " + e.getMessage());
+            return null;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+
+        return new QuestionPageIndex(category, pageSize, rowCount, Arrays.copyOf(pageStartIds, pageCount));
+    }
+
+    /**
+     * Reads questions in id order starting at a known id. Seeking by id costs the same on the
+     * last page as on the first, unlike OFFSET.
+     * @param category Category to read, or null for every category still offered
+     * @param fromId Smallest id to return, e.g. from {@link QuestionPageIndex#getPageStartId(int)}
+     * @param limit Maximum number of questions to return
+     * @return Rows in id order, or null if the database cannot be read
+     */
+    public List<QuestionRow> getQuestionPage(QuizCategory category, long fromId, int limit) {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return null;
+        }
+
+        String sql = "SELECT id, type, question, response1, response2, response3, response4 FROM questions "
+            + "WHERE id >= ? AND " + (category != null ? "type = ? " : OFFERED_TYPES) + "ORDER BY id LIMIT ?";
+        List<QuestionRow> rows = new ArrayList<>(limit);
+
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            int parameter = 1;
+            preparedStatement.setLong(parameter++, fromId);
+            if (category != null) {
+                preparedStatement.setInt(parameter++, category.getId());
+            }
+            preparedStatement.setInt(parameter, limit);
+            ResultSet resultSet = preparedStatement.executeQuery();
+
+            while (resultSet.next()) {
+                String[] responses = {
+                    resultSet.getString("response1"),
+                    resultSet.getString("response2"),
+                    resultSet.getString("response3"),
+                    resultSet.getString("response4")
+                };
+                QuizCategory rowCategory = toCategory(resultSet.getInt("type"));
+                if (rowCategory != null) {
+                    rows.add(new QuestionRow(resultSet.getLong("id"), rowCategory, resultSet.getString("question"), responses));
+                }
+            }
+
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error retrieving questions: " + e.getMessage());
+            return null;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Writes a set of edits in a single transaction, so either all of them are stored or none are.
+     * The full-text index follows through its triggers; cached questions are dropped afterwards.
+     * @param inserted New questions; their ids are ignored and assigned by the database
+     * @param updated Changed questions, matched by id
+     * @param deletedIds Ids of questions to remove
+     * @return true if all edits were stored, false if none were
+     */
+    public boolean saveQuestions(List<QuestionRow> inserted, List<QuestionRow> updated, Collection<Long> deletedIds) {
+        if (inserted.isEmpty() && updated.isEmpty() && deletedIds.isEmpty()) {
+            return true;
+        }
+        Connection connection = getConnection();
+        if (connection == null) {
+            return false;
+        }
+
+        try (PreparedStatement insertStatement = connection.prepareStatement(INSERT_SQL);
+             PreparedStatement updateStatement = connection.prepareStatement(UPDATE_SQL);
+             PreparedStatement deleteStatement = connection.prepareStatement("DELETE FROM questions WHERE id = ?")) {
+            connection.setAutoCommit(false);
+
+            for (QuestionRow row : inserted) {
+                bindQuestion(insertStatement, row);
+                insertStatement.addBatch();
+            }
+            for (QuestionRow row : updated) {
+                bindQuestion(updateStatement, row);
+                updateStatement.setLong(7, row.getId());
+                updateStatement.addBatch();
+            }
+            for (long id : deletedIds) {
+                deleteStatement.setLong(1, id);
+                deleteStatement.addBatch();
+            }
+            insertStatement.executeBatch();
+            updateStatement.executeBatch();
+            deleteStatement.executeBatch();
+            connection.commit();
+
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error saving questions: " + e.getMessage());
+            return false;
+        } finally {
+            try {
+                // Returning the connection rolls back anything left uncommitted
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+
+        if (updated.isEmpty() && deletedIds.isEmpty()) {
+            for (QuestionRow row : inserted) {
+                invalidateCache(row.getCategory());
+            }
+        } else {
+            // An update may move a question out of its old category and a delete does not say which
+            // category it touched
+            invalidateCache();
+        }
+        return true;
+    }
+
+    private static void bindQuestion(PreparedStatement statement, QuestionRow row) throws SQLException {
+        statement.setInt(1, row.getCategory().getId());
+        statement.setString(2, row.getQuestionText());
+        for (int i = 0; i < QuestionRow.RESPONSE_COUNT; i++) {
+            statement.setString(3 + i, row.getResponse(i));
+        }
+    }
+
+    /**
+     * Finds questions whose text or responses contain all words of the search text, most relevant first.
+     * A word ending in * matches every word starting with it.
+     * @param text Search text as entered; other operators and punctuation are ignored
+     * @param category Category to search in, or null for all categories
+     * @param offset Number of matches to skip
+     * @param limit Maximum number of matches to return
+     * @return The page of matches, empty if the text has no words, or null if the database cannot be read
+     */
+    public SearchPage searchQuestions(String text, QuizCategory category, int offset, int limit) {
+        String matchExpression = toMatchExpression(text);
+        if (matchExpression == null) {
+            return new SearchPage(text, List.of(), offset, false);
+        }
         
-        List<Question> questions = new ArrayList<>();
-        String sql = "SELECT question, response1, response2, response3, response4 FROM questions WHERE type = ?";
+        Connection connection = getConnection();
+        if (connection == null) {
+            return null;
+        }
+        
+        String sql = String.format(SEARCH_SQL, "AND " + (category != null ? "type = ? " : OFFERED_TYPES));
+        List<QuestionMatch> matches = new ArrayList<>(Math.min(limit, 1000));
+        boolean hasMore = false;
         
         try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
-            preparedStatement.setInt(1, category.getId());
+            int parameter = 1;
+            preparedStatement.setString(parameter++, matchExpression);
+            if (category != null) {
+                preparedStatement.setInt(parameter++, category.getId());
+            }
+            // One extra row tells whether another page follows
+            preparedStatement.setInt(parameter++, limit + 1);
+            preparedStatement.setInt(parameter, offset);
             ResultSet resultSet = preparedStatement.executeQuery();
             
             while (resultSet.next()) {
-                Question question = new Question();
-                question.setQuestionText(resultSet.getString("question"));
-                
-                // Get original responses in order
-                String[] originalResponses = {
+                if (matches.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                String[] responses = {
                     resultSet.getString("response1"),
-                    resultSet.getString("response2"), 
+                    resultSet.getString("response2"),
                     resultSet.getString("response3"),
                     resultSet.getString("response4")
                 };
-                
-                // Shuffle the responses and set them
-                question.setOptions(ArrayShuffler.shuffleArray(originalResponses));
-                // The correct answer is always the first response from database
-                question.setCorrectAnswer(resultSet.getString("response1"));
-                
-                questions.add(question);
+                QuizCategory rowCategory = toCategory(resultSet.getInt("type"));
+                if (rowCategory == null) {
+                    continue;
+                }
+                QuestionRow row = new QuestionRow(resultSet.getLong("id"), rowCategory, resultSet.getString("question"), responses);
+                matches.add(new QuestionMatch(row, resultSet.getDouble("score"), resultSet.getString("snippet")));
             }
             
         } catch (SQLException e) {
-            System.err.println("Error retrieving questions: " + e.getMessage());
+            countError(e);
+            System.err.println("Error searching questions: " + e.getMessage());
+            return null;
         } finally {
             try {
                 connection.close();
@@ -65,6 +562,141 @@ public class QuestionDAO extends DatabaseConnection {
             }
         }
         
-        return questions;
+        return new SearchPage(text, matches, offset, hasMore);
+    }
+    
+    /**
+     * Turns free text into an FTS5 query that requires every word, quoting each one so user
+     * input can never be parsed as query syntax
+     * @param text Search text as entered
+     * @return The MATCH expression, or null if the text contains no words
+     */
+    static String toMatchExpression(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = SEARCH_TERM.matcher(text);
+        StringBuilder expression = new StringBuilder();
+        int terms = 0;
+        while (terms < MAX_SEARCH_TERMS && matcher.find()) {
+            if (terms > 0) {
+                expression.append(' ');
+            }
+            expression.append('"').append(matcher.group(1)).append('"').append(matcher.group(2));
+            terms++;
+        }
+        return terms > 0 ? expression.toString() : null;
+    }
+    
+    /**
+     * @return Revision of the question bank, changed by every insert, update or delete of a question,
+     *         or -1 if the database cannot be read
+     */
+    public long getBankRevision() {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return -1;
+        }
+        
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT revision FROM bank_revision WHERE id = 1");
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            return resultSet.next() ? resultSet.getLong(1) : -1;
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error reading bank revision: " + e.getMessage());
+            return -1;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Reads the id and category of every question, without the question text. Questions of categories
+     * no longer offered are left out, so answers to them are graded as unknown questions.
+     * @return The key, or null if the database cannot be read
+     */
+    public AnswerKey loadAnswerKey() {
+        Connection connection = getConnection();
+        if (connection == null) {
+            return null;
+        }
+        
+        long[] questionIds = new long[1024];
+        byte[] categoryIds = new byte[1024];
+        int count = 0;
+        try (PreparedStatement preparedStatement = connection.prepareStatement("SELECT id, type FROM questions ORDER BY id");
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                QuizCategory category = toCategory(resultSet.getInt(2));
+                if (category == null) {
+                    continue;
+                }
+                if (count == questionIds.length) {
+                    questionIds = Arrays.copyOf(questionIds, count * 2);
+                    categoryIds = Arrays.copyOf(categoryIds, count * 2);
+                }
+                questionIds[count] = resultSet.getLong(1);
+                categoryIds[count] = (byte) category.getId();
+                count++;
+            }
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error reading answer key: " + e.getMessage());
+            return null;
+        } finally {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+        
+        return new AnswerKey(Arrays.copyOf(questionIds, count), Arrays.copyOf(categoryIds, count));
+    }
+    
+    private static String offeredTypes() {
+        StringJoiner ids = new StringJoiner(", ", "type IN (", ") ");
+        for (QuizCategory category : QuizCategory.values()) {
+            ids.add(String.valueOf(category.getId()));
+        }
+        return ids.toString();
+    }
+    
+    private static QuizCategory toCategory(int id) {
+        try {
+            return QuizCategory.fromId(id);
+        } catch (IllegalArgumentException e) {
+            return null; // Category no longer offered
+        }
+    }
+
+    /**
+     * @return Number of questions per quiz from -Dquiz.length, or 0 if quizzes use every question of the category
+     */
+    public static int getQuizLength() {
+        return QUIZ_LENGTH;
+    }
+    
+    /**
+     * Drops cached questions of a category; call after writing questions of that category
+     * @param category The category whose questions changed
+     */
+    public static void invalidateCache(QuizCategory category) {
+        CACHE.invalidate(category);
+    }
+
+    /**
+     * Drops all cached questions, e.g. after a bulk change touching several categories
+     */
+    public static void invalidateCache() {
+        CACHE.invalidateAll();
+    }
+
+    public static CacheStatistics getCacheStatistics() {
+        return CACHE.getStatistics();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+package com.quizapp.dao;
+
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.journal.InFlightSession;
+import com.quizapp.model.Question;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+import com.quizapp.session.QuizSession;
+import com.quizapp.snapshot.QuestionSnapshot;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads questions on background threads so callers such as the Swing EDT never wait on the database.
+ * A quiz can be prepared before it is started, so it is ready by the time it is asked for. Questions come
+ * from the question snapshot when there is a current one, otherwise from the database.
+ */
+public class QuestionLoader {
+    
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+        Integer.getInteger("quiz.loader.threads", 2),
+        runnable -> {
+            Thread thread = new Thread(runnable, "question-loader-" + THREAD_COUNTER.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    );
+    
+    // Quizzes drawn ahead of time; each is handed to a single caller because every quiz is a fresh draw
+    private static final Map<QuizCategory, CompletableFuture<List<Question>>> PREPARED = new ConcurrentHashMap<>();
+    
+    private static final AtomicBoolean FIRST_QUIZ_REPORTED = new AtomicBoolean();
+    private static final AtomicBoolean STALE_SNAPSHOT_REPORTED = new AtomicBoolean();
+    
+    private QuestionLoader() {
+    }
+    
+    /**
+     * Starts preparing the next quiz of a category unless one is already prepared.
+     * Used speculatively, e.g. when a category is highlighted before the quiz is started.
+     * @param category The category that is likely to be requested next
+     * @return Future completing with the prepared questions, or null if the database cannot be read
+     */
+    public static CompletableFuture<List<Question>> prefetch(QuizCategory category) {
+        return PREPARED.computeIfAbsent(category, QuestionLoader::startLoad);
+    }
+    
+    /**
+     * Loads the questions of one quiz session in the background, taking the prepared quiz if there is one
+     * @param category The category to load
+     * @return Future completing with shuffled questions, or null if the database cannot be read.
+     *         Cancelling it discards the result without affecting other callers.
+     */
+    public static CompletableFuture<List<Question>> loadQuestions(QuizCategory category) {
+        CompletableFuture<List<Question>> prepared = PREPARED.remove(category);
+        return prepared != null ? prepared : startLoad(category);
+    }
+    
+    /**
+     * Reads the questions of a session found in the session journal in the background and continues it
+     * @param inFlight The unfinished session
+     * @return Future completing with the session in progress, or null if a question of the session is no
+     *         longer in the bank; completes exceptionally if the database cannot be read
+     */
+    public static CompletableFuture<QuizSession> restoreSession(InFlightSession inFlight) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<QuestionRow> rows = new QuestionDAO().getQuestionRowsById(inFlight.getQuestionIds());
+            if (rows == null) {
+                throw new IllegalStateException("Cannot read the questions of " + inFlight);
+            }
+            return inFlight.restore(rows);
+        }, EXECUTOR);
+    }
+    
+    private static CompletableFuture<List<Question>> startLoad(QuizCategory category) {
+        return CompletableFuture.supplyAsync(() -> load(category), EXECUTOR);
+    }
+    
+    private static List<Question> load(QuizCategory category) {
+        long start = System.nanoTime();
+        QuestionDAO questionDAO = new QuestionDAO();
+        QuestionSnapshot snapshot = getUsableSnapshot(questionDAO);
+        
+        List<Question> questions;
+        if (snapshot != null) {
+            int length = QuestionDAO.getQuizLength();
+            questions = questionDAO.createQuestions(length > 0 ? snapshot.sampleQuestionRows(category, length)
+                                                              : snapshot.getQuestionRows(category));
+        } else {
+            questions = questionDAO.getQuestionsByCategory(category);
+        }
+        
+        if (questions != null && FIRST_QUIZ_REPORTED.compareAndSet(false, true)) {
+            System.out.printf("First quiz ready %d ms after launch: %.1f ms from the %s%n",
+                              ManagementFactory.getRuntimeMXBean().getUptime(), (System.nanoTime() - start) / 1_000_000.0,
+                              snapshot != null ? "snapshot" : "database");
+        }
+        return questions;
+    }
+    
+    /**
+     * The snapshot is trusted while the database is still starting, so an early quiz never waits for it.
+     * Once the database is up, the snapshot is only used if it was taken at the current bank revision.
+     * @return The snapshot to read from, or null to read from the database
+     */
+    private static QuestionSnapshot getUsableSnapshot(QuestionDAO questionDAO) {
+        QuestionSnapshot snapshot = QuestionSnapshot.getDefault();
+        if (snapshot == null || DatabaseConnection.getBootstrapReport() == null) {
+            return snapshot;
+        }
+        long revision = questionDAO.getBankRevision();
+        if (revision == snapshot.getRevision()) {
+            return snapshot;
+        }
+        if (STALE_SNAPSHOT_REPORTED.compareAndSet(false, true)) {
+            System.err.printf("Question snapshot %s is stale (revision %d, bank at %d); loading questions from the database%n",
+                              snapshot.getFile(), snapshot.getRevision(), revision);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.quizapp.dao;
+
+import com.quizapp.model.QuizCategory;
+
+/**
+ * Where each fixed-size page of the question bank starts, so any page can be read with a keyset
+ * query ({@code id >= start ORDER BY id LIMIT size}) instead of an OFFSET that scans all rows before it.
+ * Only the first id of every page is kept, so a 1M-row bank at 200 rows per page takes 40 KB.
+ */
+public class QuestionPageIndex {
+    
+    private final QuizCategory category;
+    private final int pageSize;
+    private final long rowCount;
+    private final long[] pageStartIds;
+    
+    public QuestionPageIndex(QuizCategory category, int pageSize, long rowCount, long[] pageStartIds) {
+        this.category = category;
+        this.pageSize = pageSize;
+        this.rowCount = rowCount;
+        this.pageStartIds = pageStartIds;
+    }
+    
+    /**
+     * @return The category indexed, or null for the whole bank
+     */
+    public QuizCategory getCategory() {
+        return category;
+    }
+    
+    public int getPageSize() {
+        return pageSize;
+    }
+    
+    public long getRowCount() {
+        return rowCount;
+    }
+    
+    public int getPageCount() {
+        return pageStartIds.length;
+    }
+    
+    /**
+     * @param page Zero-based page number
+     * @return Id of the first question on the page
+     */
+    public long getPageStartId(int page) {
+        return pageStartIds[page];
+    }
+}
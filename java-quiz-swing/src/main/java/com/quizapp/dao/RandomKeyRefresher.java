@@ -0,0 +1,138 @@
+package com.quizapp.dao;
+
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.metrics.Counter;
+import com.quizapp.metrics.MetricsRegistry;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives questions drawn by {@link QuestionDAO#sampleQuestionRows} new random keys in the background.
+ * <p>
+ * A question's chance per draw is proportional to the gap below its rand_key, so with fixed keys some
+ * questions would be favoured for the life of the bank. Re-keying drawn questions reshuffles the gaps
+ * around them, and over many quizzes every question of a category is drawn equally often. Drawing only
+ * notes the ids; a housekeeping thread writes the new keys every quiz.sampling.rekeyMillis (default 10 s)
+ * in one transaction, so quiz draws never write and never wait on the database write lock.
+ */
+public class RandomKeyRefresher extends DatabaseConnection {
+    
+    private static final int BATCH_SIZE = 500;
+    private static final Counter REKEYED = MetricsRegistry.getDefault().counter("questions.rekeyed");
+    private static final Counter DROPPED = MetricsRegistry.getDefault().counter("questions.rekey.dropped");
+    
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final int capacity;
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    
+    /**
+     * @param capacity Most drawn ids waiting to be re-keyed; further ones are not re-keyed
+     */
+    public RandomKeyRefresher(int capacity) {
+        this.capacity = capacity;
+    }
+    
+    /**
+     * @return The process-wide refresher, re-keying every -Dquiz.sampling.rekeyMillis on a daemon thread
+     */
+    public static RandomKeyRefresher getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    private static final class DefaultHolder {
+        static final RandomKeyRefresher INSTANCE = createDefault();
+        
+        private static RandomKeyRefresher createDefault() {
+            RandomKeyRefresher refresher = new RandomKeyRefresher(Integer.getInteger("quiz.sampling.rekeyCapacity", 100_000));
+            long intervalMillis = Long.getLong("quiz.sampling.rekeyMillis", 10_000L);
+            ScheduledExecutorService housekeeping = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "question-rekey");
+                thread.setDaemon(true);
+                return thread;
+            });
+            housekeeping.scheduleWithFixedDelay(refresher::refresh, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+            return refresher;
+        }
+    }
+    
+    /**
+     * Notes drawn questions for re-keying; never touches the database
+     * @param ids Ids of the questions drawn
+     */
+    public void drawn(Iterable<Long> ids) {
+        for (long id : ids) {
+            if (pendingCount.get() >= capacity) {
+                DROPPED.increment();
+            } else if (pending.add(id)) {
+                pendingCount.incrementAndGet();
+            }
+        }
+    }
+    
+    /**
+     * Gives every question noted so far a new random key. Ids whose update fails stay noted for the next run.
+     * @return Number of questions re-keyed, or -1 if the database could not be written
+     */
+    public int refresh() {
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> iterator = pending.iterator(); iterator.hasNext(); ) {
+            ids.add(iterator.next());
+            iterator.remove();
+            pendingCount.decrementAndGet();
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Connection connection = getConnection();
+        if (connection == null) {
+            drawn(ids);
+            return -1;
+        }
+        
+        try (PreparedStatement preparedStatement =
+                 connection.prepareStatement("UPDATE questions SET rand_key = random() WHERE id = ?")) {
+            connection.setAutoCommit(false);
+            for (int i = 0; i < ids.size(); i++) {
+                preparedStatement.setLong(1, ids.get(i));
+                preparedStatement.addBatch();
+                if ((i + 1) % BATCH_SIZE == 0) {
+                    preparedStatement.executeBatch();
+                }
+            }
+            preparedStatement.executeBatch();
+            connection.commit();
+            REKEYED.add(ids.size());
+            return ids.size();
+        } catch (SQLException e) {
+            countError(e);
+            System.err.println("Error re-keying drawn questions: " + e.getMessage());
+            drawn(ids);
+            return -1;
+        } finally {
+            try {
+                // Returning the connection rolls back anything left uncommitted
+                connection.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing connection: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * @return Number of drawn questions waiting to be re-keyed
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+}
@@ -0,0 +1,80 @@
+package com.quizapp.dao;
+
+/**
+ * Immutable snapshot of attempt recorder counters
+ */
+public class RecorderStatistics {
+    
+    private final long recorded;
+    private final long written;
+    private final long dropped;
+    private final long failed;
+    private final long batches;
+    private final long totalWriteNanos;
+    private final int queueDepth;
+    private final int queueCapacity;
+    
+    public RecorderStatistics(long recorded, long written, long dropped, long failed, long batches,
+                              long totalWriteNanos, int queueDepth, int queueCapacity) {
+        this.recorded = recorded;
+        this.written = written;
+        this.dropped = dropped;
+        this.failed = failed;
+        this.batches = batches;
+        this.totalWriteNanos = totalWriteNanos;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+    }
+    
+    public long getRecorded() {
+        return recorded;
+    }
+    
+    public long getWritten() {
+        return written;
+    }
+    
+    /**
+     * @return Attempts rejected or evicted because the queue was full or the recorder was shut down
+     */
+    public long getDropped() {
+        return dropped;
+    }
+    
+    /**
+     * @return Attempts given up on after repeated database errors
+     */
+    public long getFailed() {
+        return failed;
+    }
+    
+    public long getBatches() {
+        return batches;
+    }
+    
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+    
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+    
+    public double getAverageBatchSize() {
+        return batches == 0 ? 0 : (double) written / batches;
+    }
+    
+    public double getAverageWriteMillis() {
+        return batches == 0 ? 0 : totalWriteNanos / 1_000_000.0 / batches;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format(
+            "RecorderStatistics[recorded=%d, written=%d, dropped=%d, failed=%d, batches=%d, avgBatch=%.1f, "
+                + "avgWrite=%.3fms, queued=%d/%d]",
+            recorded, written, dropped, failed, batches, getAverageBatchSize(), getAverageWriteMillis(),
+            queueDepth, queueCapacity
+        );
+    }
+}
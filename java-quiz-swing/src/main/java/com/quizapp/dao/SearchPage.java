@@ -0,0 +1,48 @@
+package com.quizapp.dao;
+
+import com.quizapp.model.QuestionMatch;
+
+import java.util.List;
+
+/**
+ * One page of full-text search results, most relevant first
+ */
+public class SearchPage {
+    
+    private final String query;
+    private final List<QuestionMatch> matches;
+    private final int offset;
+    private final boolean hasMore;
+    
+    public SearchPage(String query, List<QuestionMatch> matches, int offset, boolean hasMore) {
+        this.query = query;
+        this.matches = List.copyOf(matches);
+        this.offset = offset;
+        this.hasMore = hasMore;
+    }
+    
+    /**
+     * @return The text that was searched for, as entered
+     */
+    public String getQuery() {
+        return query;
+    }
+    
+    public List<QuestionMatch> getMatches() {
+        return matches;
+    }
+    
+    /**
+     * @return Position of the first match of this page among all matches
+     */
+    public int getOffset() {
+        return offset;
+    }
+    
+    /**
+     * @return true if another page follows
+     */
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,77 @@
+package com.quizapp.database;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Timings collected while bootstrapping the database at startup
+ */
+public class BootstrapReport {
+    
+    private final List<String> appliedMigrations = new ArrayList<>();
+    private final List<Long> migrationNanos = new ArrayList<>();
+    private int startingVersion;
+    private int finalVersion;
+    private long connectNanos;
+    private long totalNanos;
+    
+    void addMigration(int version, String description, long nanos) {
+        appliedMigrations.add("V" + version + " " + description);
+        migrationNanos.add(nanos);
+    }
+    
+    void setStartingVersion(int startingVersion) {
+        this.startingVersion = startingVersion;
+    }
+    
+    void setFinalVersion(int finalVersion) {
+        this.finalVersion = finalVersion;
+    }
+    
+    void setConnectNanos(long connectNanos) {
+        this.connectNanos = connectNanos;
+    }
+    
+    void setTotalNanos(long totalNanos) {
+        this.totalNanos = totalNanos;
+    }
+    
+    public List<String> getAppliedMigrations() {
+        return Collections.unmodifiableList(appliedMigrations);
+    }
+    
+    public int getStartingVersion() {
+        return startingVersion;
+    }
+    
+    public int getFinalVersion() {
+        return finalVersion;
+    }
+    
+    /**
+     * @return Time spent loading the driver and opening the first connection
+     */
+    public long getConnectNanos() {
+        return connectNanos;
+    }
+    
+    /**
+     * @return Time spent checking and applying migrations
+     */
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("Database bootstrap: schema V%d -> V%d, connect %.1f ms, migrations %.1f ms",
+            startingVersion, finalVersion, connectNanos / 1_000_000.0, totalNanos / 1_000_000.0));
+        for (int i = 0; i < appliedMigrations.size(); i++) {
+            builder.append(String.format("%n  applied %s in %.1f ms",
+                appliedMigrations.get(i), migrationNanos.get(i) / 1_000_000.0));
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,301 @@
+package com.quizapp.database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded pool of long-lived JDBC connections.
+ * Connections handed out by {@link #borrow()} return themselves to the pool when closed.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final Properties properties;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final int validationTimeoutSeconds;
+
+    private final Semaphore permits;
+    private final BlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final ScheduledExecutorService evictor;
+    private volatile boolean closed;
+
+    // Statistics
+    private final AtomicInteger openConnections = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder waitCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalBorrowNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * Creates a pool; connections are opened lazily on first borrow
+     * @param url JDBC URL of the database
+     * @param properties Driver properties passed to every new connection
+     * @param maxSize Maximum number of connections open at the same time
+     * @param borrowTimeoutMillis How long {@link #borrow()} waits for a free connection
+     * @param idleTimeoutMillis Idle time after which a connection is closed, or 0 to keep it forever
+     * @param validationTimeoutSeconds Timeout for the health check run on every borrow
+     */
+    public ConnectionPool(String url, Properties properties, int maxSize, long borrowTimeoutMillis,
+                          long idleTimeoutMillis, int validationTimeoutSeconds) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + maxSize);
+        }
+        this.url = url;
+        this.properties = properties;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.permits = new Semaphore(maxSize, true);
+
+        if (idleTimeoutMillis > 0) {
+            evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "connection-pool-evictor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1000, idleTimeoutMillis / 2);
+            evictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            evictor = null;
+        }
+    }
+
+    /**
+     * Borrows a connection, waiting up to the borrow timeout for one to become free
+     * @return A healthy connection; closing it returns it to the pool
+     * @throws SQLException if the pool is closed, exhausted or a new connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+        long start = System.nanoTime();
+
+        if (!permits.tryAcquire()) {
+            waitCount.increment();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a connection", e);
+            }
+            long waited = System.nanoTime() - start;
+            totalWaitNanos.add(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            if (!acquired) {
+                timeoutCount.increment();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a connection");
+            }
+        }
+
+        try {
+            Connection connection = takeHealthyConnection();
+            borrowCount.increment();
+            totalBorrowNanos.add(System.nanoTime() - start);
+            return connection;
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private Connection takeHealthyConnection() throws SQLException {
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            if (isHealthy(pooled.physical)) {
+                return pooled.lease();
+            }
+            validationFailures.increment();
+            closePhysical(pooled.physical);
+        }
+        return new PooledConnection(openPhysical()).lease();
+    }
+
+    private boolean isHealthy(Connection connection) {
+        try {
+            return !connection.isClosed() && connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Connection openPhysical() throws SQLException {
+        Connection connection = DriverManager.getConnection(url, properties);
+        openConnections.incrementAndGet();
+        createdCount.increment();
+        return connection;
+    }
+
+    private void closePhysical(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        } finally {
+            openConnections.decrementAndGet();
+        }
+    }
+
+    private void release(PooledConnection pooled) {
+        try {
+            Connection connection = pooled.physical;
+            boolean reusable = !closed && !connection.isClosed();
+            if (reusable && !connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            if (reusable) {
+                pooled.lastUsed = System.nanoTime();
+                idle.offerFirst(pooled);
+            } else {
+                closePhysical(connection);
+            }
+        } catch (SQLException e) {
+            System.err.println("Discarding broken pooled connection: " + e.getMessage());
+            closePhysical(pooled.physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void evictIdleConnections() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        // Most recently used connections sit at the head, so stale ones collect at the tail
+        PooledConnection pooled;
+        while ((pooled = idle.peekLast()) != null && pooled.lastUsed - cutoff < 0) {
+            if (idle.removeLastOccurrence(pooled)) {
+                evictedCount.increment();
+                closePhysical(pooled.physical);
+            }
+        }
+    }
+
+    /**
+     * Closes all idle connections; borrowed connections are closed when they are returned
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (evictor != null) {
+            evictor.shutdownNow();
+        }
+        List<PooledConnection> drained = new ArrayList<>();
+        idle.drainTo(drained);
+        for (PooledConnection pooled : drained) {
+            closePhysical(pooled.physical);
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return A point-in-time snapshot of the pool counters
+     */
+    public PoolStatistics getStatistics() {
+        return new PoolStatistics(
+            maxSize,
+            openConnections.get(),
+            idle.size(),
+            maxSize - permits.availablePermits(),
+            permits.getQueueLength(),
+            borrowCount.sum(),
+            waitCount.sum(),
+            timeoutCount.sum(),
+            createdCount.sum(),
+            evictedCount.sum(),
+            validationFailures.sum(),
+            totalWaitNanos.sum(),
+            maxWaitNanos.get(),
+            totalBorrowNanos.sum()
+        );
+    }
+
+    /**
+     * Physical connection plus the proxy currently leased out for it
+     */
+    private final class PooledConnection {
+        private final Connection physical;
+        private volatile long lastUsed = System.nanoTime();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new LeaseHandler(this)
+            );
+        }
+    }
+
+    /**
+     * Forwards calls to the physical connection until the lease is closed
+     */
+    private final class LeaseHandler implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean returned;
+
+        LeaseHandler(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!returned) {
+                        returned = true;
+                        release(pooled);
+                    }
+                    return null;
+                case "isClosed":
+                    return returned || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + url + "]";
+                default:
+                    if (returned) {
+                        throw new SQLException("Connection has already been returned to the pool");
+                    }
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
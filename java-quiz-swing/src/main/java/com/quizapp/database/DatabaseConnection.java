@@ -1,198 +1,172 @@
 package com.quizapp.database;
 
+import com.quizapp.metrics.ConnectionBorrowEvent;
+import com.quizapp.metrics.Counter;
+import com.quizapp.metrics.LatencyHistogram;
+import com.quizapp.metrics.MetricsRegistry;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.util.Properties;
 
 /**
  * Manages SQLite database connections and initialization
  */
 public class DatabaseConnection {
     
-    private static final String DB_URL = "jdbc:sqlite:quiz.db";
+    private static final String DB_URL = System.getProperty("quiz.db.url", "jdbc:sqlite:quiz.db");
+    
+    // Pool settings, overridable with -Dquiz.db.pool.* system properties
+    private static final int POOL_SIZE = Integer.getInteger("quiz.db.pool.size", 4);
+    private static final long BORROW_TIMEOUT_MILLIS = Long.getLong("quiz.db.pool.borrowTimeoutMillis", 5_000L);
+    private static final long IDLE_TIMEOUT_MILLIS = Long.getLong("quiz.db.pool.idleTimeoutMillis", 300_000L);
+    private static final int VALIDATION_TIMEOUT_SECONDS = Integer.getInteger("quiz.db.pool.validationTimeoutSeconds", 2);
+    private static final int BUSY_TIMEOUT_MILLIS = Integer.getInteger("quiz.db.busyTimeoutMillis", 5_000);
+    
+    private static final LatencyHistogram BORROW_LATENCY = MetricsRegistry.getDefault().latency("db.connection.borrow");
+    private static final Counter BORROW_ERRORS = MetricsRegistry.getDefault().counter("db.connection.errors");
+    private static final Counter STATEMENT_ERRORS = MetricsRegistry.getDefault().counter("db.errors");
+    private static final Counter BUSY_ERRORS = MetricsRegistry.getDefault().counter("db.errors.busy");
+    
+    // Primary SQLite result codes, which sqlite-jdbc reports as the vendor error code
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
     
+    private static final Object POOL_LOCK = new Object();
+    private static volatile ConnectionPool pool;
+    private static volatile BootstrapReport bootstrapReport;
+    
+    /**
+     * Borrows a connection from the shared pool; closing it returns it to the pool
+     * @return A database connection, or null if none could be obtained
+     */
     public Connection getConnection() {
+        ConnectionBorrowEvent event = new ConnectionBorrowEvent();
+        event.begin();
+        long start = System.nanoTime();
         try {
-            // Load SQLite JDBC driver
-            Class.forName("org.sqlite.JDBC");
-            Connection connection = DriverManager.getConnection(DB_URL);
-            
-            // Create tables if they don't exist
-            createTablesIfNotExist(connection);
-            
+            Connection connection = getPool().borrow();
+            event.succeeded = true;
             return connection;
-        } catch (ClassNotFoundException | SQLException e) {
+        } catch (SQLException e) {
+            BORROW_ERRORS.increment();
             System.err.println("Database connection error: " + e.getMessage());
             return null;
+        } finally {
+            BORROW_LATENCY.recordSince(start);
+            event.commit();
         }
     }
     
-    private void createTablesIfNotExist(Connection connection) {
-        String createTableSQL = """
-            CREATE TABLE IF NOT EXISTS questions (
-                id INTEGER PRIMARY KEY AUTOINCREMENT,
-                type INTEGER NOT NULL,
-                question TEXT NOT NULL,
-                response1 TEXT NOT NULL,
-                response2 TEXT NOT NULL,
-                response3 TEXT NOT NULL,
-                response4 TEXT NOT NULL
-            )
-        """;
-        
-        try (Statement statement = connection.createStatement()) {
-            statement.executeUpdate(createTableSQL);
-            
-            // Insert sample data if table is empty
-            insertSampleData(connection);
-            
+    /**
+     * Counts a failed statement in the db.errors metric, and in db.errors.busy if it failed on a lock;
+     * call from every DAO catch block that reports a database error
+     * @param e The error caught
+     */
+    protected static void countError(SQLException e) {
+        STATEMENT_ERRORS.increment();
+        if (isBusy(e)) {
+            BUSY_ERRORS.increment();
+        }
+    }
+    
+    /**
+     * @param e An error thrown by the SQLite driver
+     * @return true for SQLITE_BUSY or SQLITE_LOCKED: another connection held a lock for longer than
+     *         quiz.db.busyTimeoutMillis (default 5000), so the statement gave up
+     */
+    public static boolean isBusy(SQLException e) {
+        int code = e.getErrorCode() & 0xff;
+        return code == SQLITE_BUSY || code == SQLITE_LOCKED;
+    }
+    
+    /**
+     * Creates the pool and migrates the schema if that has not happened yet.
+     * Call once at startup so the first DAO call does not pay for it.
+     * @return Timings of the bootstrap, or null if it failed
+     */
+    public static BootstrapReport initialize() {
+        try {
+            getPool();
         } catch (SQLException e) {
-            System.err.println("Error creating table: " + e.getMessage());
+            System.err.println("Database initialization error: " + e.getMessage());
+        }
+        return bootstrapReport;
+    }
+    
+    /**
+     * @return Timings of the bootstrap, or null if the database has not been initialized
+     */
+    public static BootstrapReport getBootstrapReport() {
+        return bootstrapReport;
+    }
+    
+    /**
+     * Returns the shared connection pool, creating it and migrating the schema on first use
+     * @return The process-wide connection pool
+     * @throws SQLException if the JDBC driver is missing or the schema cannot be migrated
+     */
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current;
         }
+        synchronized (POOL_LOCK) {
+            if (pool == null) {
+                pool = createPool();
+            }
+            return pool;
+        }
+    }
+    
+    /**
+     * @return Current pool counters, or null if the pool has not been created yet
+     */
+    public static PoolStatistics getPoolStatistics() {
+        ConnectionPool current = pool;
+        return current != null ? current.getStatistics() : null;
     }
     
-    private void insertSampleData(Connection connection) {
-        // Check if data already exists
-        String checkDataSQL = "SELECT COUNT(*) FROM questions";
-        try (Statement statement = connection.createStatement()) {
-            var resultSet = statement.executeQuery(checkDataSQL);
-            if (resultSet.next() && resultSet.getInt(1) > 0) {
-                return; // Data already exists
+    /**
+     * Closes the shared pool; a later {@link #getConnection()} creates a fresh one
+     */
+    public static void shutdown() {
+        synchronized (POOL_LOCK) {
+            if (pool != null) {
+                pool.close();
+                pool = null;
             }
-        } catch (SQLException e) {
-            System.err.println("Error checking existing data: " + e.getMessage());
-            return;
         }
+    }
+    
+    private static ConnectionPool createPool() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            // Load SQLite JDBC driver
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite JDBC driver not found", e);
+        }
+        
+        Properties properties = new Properties();
+        properties.setProperty("busy_timeout", String.valueOf(BUSY_TIMEOUT_MILLIS));
+        // SQLite enforces REFERENCES clauses, and their ON DELETE actions, only on connections that ask for it
+        properties.setProperty("foreign_keys", "true");
         
-        // Insert sample questions for each category
-        String insertSQL = "INSERT INTO questions (type, question, response1, response2, response3, response4) VALUES (?, ?, ?, ?, ?, ?)";
+        ConnectionPool newPool = new ConnectionPool(DB_URL, properties, POOL_SIZE, BORROW_TIMEOUT_MILLIS,
+                                                    IDLE_TIMEOUT_MILLIS, VALIDATION_TIMEOUT_SECONDS);
         
-        try (var preparedStatement = connection.prepareStatement(insertSQL)) {
-            
-            // Java Basic Questions (type = 1)
-            preparedStatement.setInt(1, 1);
-            preparedStatement.setString(2, "What is the correct way to declare a variable in Java?");
-            preparedStatement.setString(3, "int x = 10;");
-            preparedStatement.setString(4, "int x == 10;");
-            preparedStatement.setString(5, "integer x = 10;");
-            preparedStatement.setString(6, "var x = 10;");
-            preparedStatement.executeUpdate();
-            
-            preparedStatement.setInt(1, 1);
-            preparedStatement.setString(2, "Which method is the entry point of a Java program?");
-            preparedStatement.setString(3, "public static void main(String[] args)");
-            preparedStatement.setString(4, "public void main(String[] args)");
-            preparedStatement.setString(5, "static void main(String[] args)");
-            preparedStatement.setString(6, "public main(String[] args)");
-            preparedStatement.executeUpdate();
-            
-            // Java Operator/Condition Questions (type = 2)
-            preparedStatement.setInt(1, 2);
-            preparedStatement.setString(2, "What is the result of 5 % 3 in Java?");
-            preparedStatement.setString(3, "2");
-            preparedStatement.setString(4, "1");
-            preparedStatement.setString(5, "0");
-            preparedStatement.setString(6, "1.67");
-            preparedStatement.executeUpdate();
-            
-            preparedStatement.setInt(1, 2);
-            preparedStatement.setString(2, "Which operator is used for logical AND in Java?");
-            preparedStatement.setString(3, "&&");
-            preparedStatement.setString(4, "&");
-            preparedStatement.setString(5, "AND");
-            preparedStatement.setString(6, "||");
-            preparedStatement.executeUpdate();
-            
-            // Java Tables/Loops Questions (type = 3)
-            preparedStatement.setInt(1, 3);
-            preparedStatement.setString(2, "How do you declare an array in Java?");
-            preparedStatement.setString(3, "int[] arr = new int[5];");
-            preparedStatement.setString(4, "int arr[] = new int(5);");
-            preparedStatement.setString(5, "array int arr = new int[5];");
-            preparedStatement.setString(6, "int arr = new int[5];");
-            preparedStatement.executeUpdate();
-            
-            preparedStatement.setInt(1, 3);
-            preparedStatement.setString(2, "Which loop is guaranteed to execute at least once?");
-            preparedStatement.setString(3, "do-while loop");
-            preparedStatement.setString(4, "for loop");
-            preparedStatement.setString(5, "while loop");
-            preparedStatement.setString(6, "enhanced for loop");
-            preparedStatement.executeUpdate();
-            
-            // Java OOP Questions (type = 4)
-            preparedStatement.setInt(1, 4);
-            preparedStatement.setString(2, "What is encapsulation in Java?");
-            preparedStatement.setString(3, "Hiding implementation details and exposing only necessary parts");
-            preparedStatement.setString(4, "Creating multiple classes");
-            preparedStatement.setString(5, "Using loops in methods");
-            preparedStatement.setString(6, "Declaring variables as public");
-            preparedStatement.executeUpdate();
-            
-            preparedStatement.setInt(1, 4);
-            preparedStatement.setString(2, "Which keyword is used for inheritance in Java?");
-            preparedStatement.setString(3, "extends");
-            preparedStatement.setString(4, "implements");
-            preparedStatement.setString(5, "inherits");
-            preparedStatement.setString(6, "super");
-            preparedStatement.executeUpdate();
-            
-            // Java Polymorphism/Enum Questions (type = 5)
-            preparedStatement.setInt(1, 5);
-            preparedStatement.setString(2, "What is method overriding?");
-            preparedStatement.setString(3, "Redefining a method in a subclass");
-            preparedStatement.setString(4, "Creating multiple methods with same name");
-            preparedStatement.setString(5, "Calling a method multiple times");
-            preparedStatement.setString(6, "Using static methods");
-            preparedStatement.executeUpdate();
-            
-            preparedStatement.setInt(1, 5);
-            preparedStatement.setString(2, "How do you declare an enum in Java?");
-            preparedStatement.setString(3, "enum Color { RED, GREEN, BLUE }");
-            preparedStatement.setString(4, "enum Color = { RED, GREEN, BLUE }");
-            preparedStatement.setString(5, "Color enum = { RED, GREEN, BLUE }");
-            preparedStatement.setString(6, "enum { RED, GREEN, BLUE } Color");
-            preparedStatement.executeUpdate();
-            
-            // Java Exception Questions (type = 6)
-            preparedStatement.setInt(1, 6);
-            preparedStatement.setString(2, "Which block is used to handle exceptions in Java?");
-            preparedStatement.setString(3, "try-catch");
-            preparedStatement.setString(4, "if-else");
-            preparedStatement.setString(5, "switch-case");
-            preparedStatement.setString(6, "do-while");
-            preparedStatement.executeUpdate();
-            
-            preparedStatement.setInt(1, 6);
-            preparedStatement.setString(2, "What is the parent class of all exceptions in Java?");
-            preparedStatement.setString(3, "Throwable");
-            preparedStatement.setString(4, "Exception");
-            preparedStatement.setString(5, "Error");
-            preparedStatement.setString(6, "RuntimeException");
-            preparedStatement.executeUpdate();
-            
-            // Java Advanced Questions (type = 7)
-            preparedStatement.setInt(1, 7);
-            preparedStatement.setString(2, "What is a lambda expression in Java?");
-            preparedStatement.setString(3, "A concise way to represent anonymous functions");
-            preparedStatement.setString(4, "A type of variable");
-            preparedStatement.setString(5, "A method declaration");
-            preparedStatement.setString(6, "A class definition");
-            preparedStatement.executeUpdate();
-            
-            preparedStatement.setInt(1, 7);
-            preparedStatement.setString(2, "What does JVM stand for?");
-            preparedStatement.setString(3, "Java Virtual Machine");
-            preparedStatement.setString(4, "Java Variable Manager");
-            preparedStatement.setString(5, "Java Version Manager");
-            preparedStatement.setString(6, "Java Visual Machine");
-            preparedStatement.executeUpdate();
-            
-            System.out.println("Sample data inserted successfully!");
-            
+        // Schema changes run once per process here, never on the query path
+        try (Connection connection = newPool.borrow()) {
+            long connected = System.nanoTime();
+            BootstrapReport report = new SchemaMigrator().migrate(connection);
+            report.setConnectNanos(connected - start);
+            bootstrapReport = report;
+            System.out.println(report);
         } catch (SQLException e) {
-            System.err.println("Error inserting sample data: " + e.getMessage());
+            newPool.close();
+            throw e;
         }
+        return newPool;
     }
-}
\ No newline at end of file
+}
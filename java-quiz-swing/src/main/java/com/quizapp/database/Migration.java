@@ -0,0 +1,24 @@
+package com.quizapp.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A single versioned schema change applied by {@link SchemaMigrator}
+ */
+public interface Migration {
+    
+    /**
+     * @return Schema version this migration brings the database to; versions are applied in ascending order
+     */
+    int getVersion();
+    
+    String getDescription();
+    
+    /**
+     * Applies the change inside the transaction opened by the migrator
+     * @param connection Connection with auto-commit disabled
+     * @throws SQLException if the change fails; the transaction is rolled back
+     */
+    void apply(Connection connection) throws SQLException;
+}
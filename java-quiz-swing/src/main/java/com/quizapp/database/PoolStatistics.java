@@ -0,0 +1,123 @@
+package com.quizapp.database;
+
+/**
+ * Immutable snapshot of connection pool counters
+ */
+public class PoolStatistics {
+
+    private final int maxSize;
+    private final int openConnections;
+    private final int idleConnections;
+    private final int borrowedConnections;
+    private final int waitingThreads;
+    private final long borrowCount;
+    private final long waitCount;
+    private final long timeoutCount;
+    private final long createdCount;
+    private final long evictedCount;
+    private final long validationFailures;
+    private final long totalWaitNanos;
+    private final long maxWaitNanos;
+    private final long totalBorrowNanos;
+
+    public PoolStatistics(int maxSize, int openConnections, int idleConnections, int borrowedConnections,
+                          int waitingThreads, long borrowCount, long waitCount, long timeoutCount,
+                          long createdCount, long evictedCount, long validationFailures,
+                          long totalWaitNanos, long maxWaitNanos, long totalBorrowNanos) {
+        this.maxSize = maxSize;
+        this.openConnections = openConnections;
+        this.idleConnections = idleConnections;
+        this.borrowedConnections = borrowedConnections;
+        this.waitingThreads = waitingThreads;
+        this.borrowCount = borrowCount;
+        this.waitCount = waitCount;
+        this.timeoutCount = timeoutCount;
+        this.createdCount = createdCount;
+        this.evictedCount = evictedCount;
+        this.validationFailures = validationFailures;
+        this.totalWaitNanos = totalWaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.totalBorrowNanos = totalBorrowNanos;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getOpenConnections() {
+        return openConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getBorrowedConnections() {
+        return borrowedConnections;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * @return Number of borrows that found the pool exhausted and had to wait
+     */
+    public long getWaitCount() {
+        return waitCount;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    public long getCreatedCount() {
+        return createdCount;
+    }
+
+    public long getEvictedCount() {
+        return evictedCount;
+    }
+
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+
+    public long getTotalWaitNanos() {
+        return totalWaitNanos;
+    }
+
+    public long getMaxWaitNanos() {
+        return maxWaitNanos;
+    }
+
+    /**
+     * @return Total time spent inside borrow calls, including waiting and health checks
+     */
+    public long getTotalBorrowNanos() {
+        return totalBorrowNanos;
+    }
+
+    public double getAverageWaitMillis() {
+        return waitCount == 0 ? 0 : totalWaitNanos / 1_000_000.0 / waitCount;
+    }
+
+    public double getAverageBorrowMillis() {
+        return borrowCount == 0 ? 0 : totalBorrowNanos / 1_000_000.0 / borrowCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+            "PoolStatistics[open=%d/%d, idle=%d, borrowed=%d, waiting=%d, borrows=%d, waits=%d, timeouts=%d, "
+                + "created=%d, evicted=%d, validationFailures=%d, avgBorrow=%.3fms, avgWait=%.3fms, maxWait=%.3fms]",
+            openConnections, maxSize, idleConnections, borrowedConnections, waitingThreads, borrowCount, waitCount,
+            timeoutCount, createdCount, evictedCount, validationFailures, getAverageBorrowMillis(),
+            getAverageWaitMillis(), maxWaitNanos / 1_000_000.0
+        );
+    }
+}
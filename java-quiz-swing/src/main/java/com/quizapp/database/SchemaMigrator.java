@@ -0,0 +1,130 @@
+package com.quizapp.database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Brings the database schema up to date by applying pending migrations in version order.
+ * Applied versions are recorded in the schema_version table so each migration runs once.
+ */
+public class SchemaMigrator {
+    
+    private static final List<Migration> MIGRATIONS = List.of(
+        new SqlScriptMigration(1, "create questions table", "/db/migration/V1__create_questions.sql"),
+        new SampleDataMigration(2),
+        new SqlScriptMigration(3, "index questions by type", "/db/migration/V3__index_questions_by_type.sql"),
+        new SqlScriptMigration(4, "create attempts tables", "/db/migration/V4__create_attempts.sql"),
+        new SqlScriptMigration(5, "add attempt player", "/db/migration/V5__add_attempt_player.sql"),
+        new SqlScriptMigration(6, "create question full-text index", "/db/migration/V6__create_questions_fts.sql"),
+        new SqlScriptMigration(7, "add question random key", "/db/migration/V7__add_question_rand_key.sql"),
+        new SqlScriptMigration(8, "create bank revision", "/db/migration/V8__create_bank_revision.sql"),
+        new SqlScriptMigration(9, "add attempt seed", "/db/migration/V9__add_attempt_seed.sql")
+    );
+    
+    private final List<Migration> migrations;
+    
+    public SchemaMigrator() {
+        this(MIGRATIONS);
+    }
+    
+    public SchemaMigrator(List<Migration> migrations) {
+        List<Migration> sorted = new ArrayList<>(migrations);
+        sorted.sort(Comparator.comparingInt(Migration::getVersion));
+        for (int i = 1; i < sorted.size(); i++) {
+            if (sorted.get(i).getVersion() == sorted.get(i - 1).getVersion()) {
+                throw new IllegalArgumentException("Duplicate migration version " + sorted.get(i).getVersion());
+            }
+        }
+        this.migrations = sorted;
+    }
+    
+    /**
+     * Applies every migration newer than the current schema version, each in its own transaction
+     * @param connection Connection to migrate; its auto-commit setting is restored afterwards
+     * @return Timings of the bootstrap
+     * @throws SQLException if a migration fails; earlier migrations stay applied
+     */
+    public BootstrapReport migrate(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        BootstrapReport report = new BootstrapReport();
+        boolean autoCommit = connection.getAutoCommit();
+        
+        try {
+            createVersionTable(connection);
+            int currentVersion = getCurrentVersion(connection);
+            report.setStartingVersion(currentVersion);
+            
+            connection.setAutoCommit(false);
+            for (Migration migration : migrations) {
+                if (migration.getVersion() <= currentVersion) {
+                    continue;
+                }
+                
+                long migrationStart = System.nanoTime();
+                try {
+                    migration.apply(connection);
+                    recordVersion(connection, migration, System.nanoTime() - migrationStart);
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    throw new SQLException("Migration V" + migration.getVersion() + " ("
+                        + migration.getDescription() + ") failed: " + e.getMessage(), e);
+                }
+                report.addMigration(migration.getVersion(), migration.getDescription(),
+                                    System.nanoTime() - migrationStart);
+                currentVersion = migration.getVersion();
+            }
+            report.setFinalVersion(currentVersion);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        
+        report.setTotalNanos(System.nanoTime() - start);
+        return report;
+    }
+    
+    /**
+     * @return The highest version known to this migrator
+     */
+    public int getLatestVersion() {
+        return migrations.isEmpty() ? 0 : migrations.get(migrations.size() - 1).getVersion();
+    }
+    
+    private void createVersionTable(Connection connection) throws SQLException {
+        String sql = """
+            CREATE TABLE IF NOT EXISTS schema_version (
+                version INTEGER PRIMARY KEY,
+                description TEXT NOT NULL,
+                applied_at INTEGER NOT NULL,
+                duration_ms INTEGER NOT NULL
+            )
+        """;
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(sql);
+        }
+    }
+    
+    private int getCurrentVersion(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+    
+    private void recordVersion(Connection connection, Migration migration, long durationNanos) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description, applied_at, duration_ms) VALUES (?, ?, ?, ?)";
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setInt(1, migration.getVersion());
+            preparedStatement.setString(2, migration.getDescription());
+            preparedStatement.setLong(3, System.currentTimeMillis());
+            preparedStatement.setLong(4, durationNanos / 1_000_000);
+            preparedStatement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.quizapp.database;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Migration that runs the statements of a SQL script on the classpath
+ */
+public class SqlScriptMigration implements Migration {
+    
+    private final int version;
+    private final String description;
+    private final String resourcePath;
+    
+    /**
+     * @param version Schema version of the script
+     * @param description Human readable summary for the schema_version table
+     * @param resourcePath Absolute classpath location, e.g. /db/migration/V1__create_questions.sql
+     */
+    public SqlScriptMigration(int version, String description, String resourcePath) {
+        this.version = version;
+        this.description = description;
+        this.resourcePath = resourcePath;
+    }
+    
+    @Override
+    public int getVersion() {
+        return version;
+    }
+    
+    @Override
+    public String getDescription() {
+        return description;
+    }
+    
+    @Override
+    public void apply(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : readStatements()) {
+                statement.executeUpdate(sql);
+            }
+        }
+    }
+    
+    private List<String> readStatements() throws SQLException {
+        InputStream input = SqlScriptMigration.class.getResourceAsStream(resourcePath);
+        if (input == null) {
+            throw new SQLException("Migration script not found: " + resourcePath);
+        }
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return splitStatements(reader);
+        } catch (IOException e) {
+            throw new SQLException("Unable to read migration script " + resourcePath, e);
+        }
+    }
+    
+    /**
+     * Splits a script on statement-terminating semicolons, keeping trigger bodies
+     * (which contain their own semicolons up to END;) in one piece
+     */
+    static List<String> splitStatements(BufferedReader reader) throws IOException {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean inTrigger = false;
+        
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            
+            if (current.length() == 0) {
+                inTrigger = trimmed.toUpperCase(Locale.ROOT).matches("CREATE\\s+(TEMP\\s+|TEMPORARY\\s+)?TRIGGER\\b.*");
+            }
+            current.append(line).append('\n');
+            
+            boolean terminated = trimmed.endsWith(";")
+                && (!inTrigger || trimmed.toUpperCase(Locale.ROOT).equals("END;"));
+            if (terminated) {
+                statements.add(current.toString().trim());
+                current.setLength(0);
+            }
+        }
+        
+        if (current.toString().trim().length() > 0) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+}
@@ -0,0 +1,209 @@
+package com.quizapp.grading;
+
+import com.quizapp.dao.AnswerKey;
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.database.DatabaseConnection;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Grades files of answer sheets from paper or kiosk exams against the answer key of the question bank.
+ * <p>
+ * Each line of the input is one sheet, {@code sheet id,question id:response,...}, with the response
+ * column 1 to 4 as stored in the bank (1 is the correct answer) or nothing for an unanswered question.
+ * A header line starting with "sheet" is skipped. The file is read in batches of lines that a
+ * fork/join pool parses and grades while the next batch is read, so at most two batches are held
+ * whatever the size of the file. Writes two CSV files:
+ * <ul>
+ * <li>scores: line, sheet, score and number of questions per sheet, or why the line was rejected</li>
+ * <li>questions: answers, correct rate, unanswered rate and the rate of each response per question</li>
+ * </ul>
+ * <pre>
+ * java -cp java-quiz-swing-1.0.0.jar com.quizapp.grading.BatchGrader sheets.csv [scores.csv] [questions.csv] [threads]
+ * </pre>
+ */
+public class BatchGrader {
+    
+    private static final int BATCH_LINES = 16_384;
+    private static final long PROGRESS_INTERVAL_SHEETS = 1_000_000;
+    
+    private final AnswerKey key;
+    private final int parallelism;
+    
+    /**
+     * @param key Answer key of the question bank
+     * @param parallelism Number of grading threads
+     */
+    public BatchGrader(AnswerKey key, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.key = key;
+        this.parallelism = parallelism;
+    }
+    
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: BatchGrader <sheets.csv> [scores file] [questions file] [threads]");
+            System.exit(2);
+        }
+        Path input = Paths.get(args[0]);
+        Path scores = args.length > 1 ? Paths.get(args[1]) : Paths.get(args[0] + ".scores.csv");
+        Path questions = args.length > 2 ? Paths.get(args[2]) : Paths.get(args[0] + ".questions.csv");
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        
+        try {
+            AnswerKey key = new QuestionDAO().loadAnswerKey();
+            if (key == null) {
+                System.err.println("Cannot read the answer key");
+                System.exit(1);
+            }
+            GradingReport report = new BatchGrader(key, threads).grade(input, scores, questions);
+            System.out.println(report);
+            System.out.println("Scores written to " + scores + ", question summary to " + questions);
+        } catch (IOException e) {
+            System.err.println("Grading failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+    
+    /**
+     * Grades every sheet of a file
+     * @param input The answer sheets
+     * @param scoresFile Where the score of each sheet is written
+     * @param questionsFile Where the summary of each answered question is written
+     * @return Counts and throughput of the run
+     * @throws IOException if the input cannot be read or an output cannot be written
+     */
+    public GradingReport grade(Path input, Path scoresFile, Path questionsFile) throws IOException {
+        long start = System.nanoTime();
+        AtomicLongArray totals = new AtomicLongArray(key.size() * QuestionTally.SLOTS);
+        LongAdder unknownAnswers = new LongAdder();
+        long graded = 0;
+        long rejected = 0;
+        long answers = 0;
+        long nextProgress = PROGRESS_INTERVAL_SHEETS;
+        
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (BufferedReader reader = Files.newBufferedReader(input, StandardCharsets.UTF_8);
+             BufferedWriter scores = Files.newBufferedWriter(scoresFile, StandardCharsets.UTF_8)) {
+            scores.write("line,sheet,score,total,error");
+            scores.newLine();
+            
+            long line = 1;
+            SheetBatch pending = null;
+            ForkJoinTask<Void> pendingTask = null;
+            while (true) {
+                // Read the next batch while the pool grades the previous one
+                SheetBatch batch = SheetBatch.read(reader, line, BATCH_LINES);
+                ForkJoinTask<Void> task = null;
+                if (batch != null) {
+                    task = pool.submit(new GradeTask(batch, 0, batch.size, key, totals, unknownAnswers));
+                    line += batch.size;
+                }
+                if (pending != null) {
+                    pendingTask.join();
+                    for (int i = 0; i < pending.size; i++) {
+                        if (pending.sheetIds[i] != null) {
+                            graded++;
+                            answers += pending.totals[i];
+                            writeScore(scores, pending, i);
+                        } else if (pending.errors[i] != null) {
+                            rejected++;
+                            writeScore(scores, pending, i);
+                        }
+                    }
+                    if (graded + rejected >= nextProgress) {
+                        printProgress(graded, rejected, start);
+                        nextProgress += PROGRESS_INTERVAL_SHEETS;
+                    }
+                }
+                if (batch == null) {
+                    break;
+                }
+                pending = batch;
+                pendingTask = task;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        
+        writeQuestions(questionsFile, totals);
+        return new GradingReport(graded, rejected, answers, unknownAnswers.sum(), System.nanoTime() - start);
+    }
+    
+    private static void writeScore(BufferedWriter scores, SheetBatch batch, int i) throws IOException {
+        scores.write(Long.toString(batch.firstLine + i));
+        scores.write(',');
+        if (batch.errors[i] != null) {
+            scores.write(",,,");
+            scores.write(quote(batch.errors[i]));
+        } else {
+            scores.write(quote(batch.sheetIds[i]));
+            scores.write(',');
+            scores.write(Integer.toString(batch.scores[i]));
+            scores.write(',');
+            scores.write(Integer.toString(batch.totals[i]));
+            scores.write(',');
+        }
+        scores.newLine();
+    }
+    
+    private void writeQuestions(Path questionsFile, AtomicLongArray totals) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(questionsFile, StandardCharsets.UTF_8)) {
+            writer.write("question_id,category,answers,correct_rate,unanswered_rate");
+            for (int column = 1; column <= QuestionTally.RESPONSES; column++) {
+                writer.write(",response" + column + "_rate");
+            }
+            writer.newLine();
+            
+            for (int question = 0; question < key.size(); question++) {
+                int base = question * QuestionTally.SLOTS;
+                long answers = 0;
+                for (int slot = 0; slot < QuestionTally.SLOTS; slot++) {
+                    answers += totals.get(base + slot);
+                }
+                if (answers == 0) {
+                    continue;
+                }
+                StringBuilder row = new StringBuilder()
+                    .append(key.getQuestionId(question)).append(',')
+                    .append(key.getCategory(question).getId()).append(',')
+                    .append(answers).append(',')
+                    .append(rate(totals.get(base + 1 + AnswerKey.CORRECT_RESPONSE), answers)).append(',')
+                    .append(rate(totals.get(base), answers));
+                for (int column = 0; column < QuestionTally.RESPONSES; column++) {
+                    row.append(',').append(rate(totals.get(base + 1 + column), answers));
+                }
+                writer.write(row.toString());
+                writer.newLine();
+            }
+        }
+    }
+    
+    private static String rate(long count, long answers) {
+        return String.format(Locale.ROOT, "%.4f", (double) count / answers);
+    }
+    
+    private static String quote(String value) {
+        return value.indexOf('"') < 0 && value.indexOf(',') < 0 ? value : "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+    
+    private static void printProgress(long graded, long rejected, long start) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("  %d sheets graded, %d rejected (%.0f sheets/s)%n", graded, rejected, (graded + rejected) / seconds);
+    }
+}
@@ -0,0 +1,176 @@
+package com.quizapp.grading;
+
+import com.quizapp.dao.AnswerKey;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Parses and grades a range of lines of a {@link SheetBatch}, splitting it in halves until the ranges
+ * are small enough for one worker. Each line is one sheet:
+ * <pre>
+ * sheet id,question id:response,question id:response,...
+ * </pre>
+ * where the response is the response column 1 to 4 as stored in the bank, or empty if unanswered.
+ */
+class GradeTask extends RecursiveAction {
+    
+    static final int LEAF_SHEETS = 512;
+    
+    private final SheetBatch batch;
+    private final int from;
+    private final int to;
+    private final AnswerKey key;
+    private final AtomicLongArray totals;
+    private final LongAdder unknownAnswers;
+    // Answers of the sheet being parsed, reused for every sheet of a leaf
+    private long[] questionIds;
+    private byte[] responses;
+    private String error;
+    
+    /**
+     * @param totals Answer counts by question index, {@link QuestionTally#SLOTS} slots per question
+     * @param unknownAnswers Counts answers to questions that are not in the key
+     */
+    GradeTask(SheetBatch batch, int from, int to, AnswerKey key, AtomicLongArray totals, LongAdder unknownAnswers) {
+        this.batch = batch;
+        this.from = from;
+        this.to = to;
+        this.key = key;
+        this.totals = totals;
+        this.unknownAnswers = unknownAnswers;
+    }
+    
+    @Override
+    protected void compute() {
+        if (to - from > LEAF_SHEETS) {
+            int middle = (from + to) >>> 1;
+            invokeAll(new GradeTask(batch, from, middle, key, totals, unknownAnswers),
+                      new GradeTask(batch, middle, to, key, totals, unknownAnswers));
+            return;
+        }
+        
+        questionIds = new long[64];
+        responses = new byte[64];
+        QuestionTally tally = new QuestionTally();
+        long unknown = 0;
+        for (int i = from; i < to; i++) {
+            String line = batch.lines[i];
+            if (line.isBlank() || (batch.firstLine + i == 1 && isHeader(line))) {
+                continue;
+            }
+            int count = parse(line);
+            if (count < 0) {
+                batch.errors[i] = error;
+                continue;
+            }
+            
+            int score = 0;
+            for (int j = 0; j < count; j++) {
+                int question = key.indexOf(questionIds[j]);
+                if (question < 0) {
+                    unknown++;
+                    continue; // Not in the bank, so it cannot be right
+                }
+                tally.add(question, responses[j]);
+                if (responses[j] == AnswerKey.CORRECT_RESPONSE) {
+                    score++;
+                }
+            }
+            batch.sheetIds[i] = line.substring(0, line.indexOf(',')).trim();
+            batch.scores[i] = score;
+            batch.totals[i] = count;
+        }
+        tally.addTo(totals);
+        unknownAnswers.add(unknown);
+    }
+    
+    private static boolean isHeader(String line) {
+        return line.regionMatches(true, 0, "sheet", 0, 5) && (line.length() == 5 || line.charAt(5) == ',');
+    }
+    
+    /**
+     * Reads the answers of a sheet into {@link #questionIds} and {@link #responses}
+     * @return Number of answers, or -1 with {@link #error} set if the line is malformed
+     */
+    private int parse(String line) {
+        int comma = line.indexOf(',');
+        if (comma < 0) {
+            return fail("No answers");
+        }
+        if (line.substring(0, comma).isBlank()) {
+            return fail("Missing sheet id");
+        }
+        
+        int count = 0;
+        int start = comma + 1;
+        while (start <= line.length()) {
+            int end = line.indexOf(',', start);
+            if (end < 0) {
+                end = line.length();
+            }
+            if (line.substring(start, end).isBlank()) {
+                start = end + 1;
+                continue; // Trailing or doubled comma
+            }
+            int colon = line.indexOf(':', start);
+            if (colon < 0 || colon > end) {
+                return fail("Expected question:response but found '" + line.substring(start, end).trim() + "'");
+            }
+            long questionId = parseId(line, start, colon);
+            if (questionId < 0) {
+                return fail("Invalid question id '" + line.substring(start, colon).trim() + "'");
+            }
+            String response = line.substring(colon + 1, end).trim();
+            int column;
+            if (response.isEmpty()) {
+                column = -1;
+            } else if (response.length() == 1 && response.charAt(0) >= '1' && response.charAt(0) <= '0' + QuestionTally.RESPONSES) {
+                column = response.charAt(0) - '1';
+            } else {
+                return fail("Invalid response '" + response + "' to question " + questionId);
+            }
+            
+            if (count == questionIds.length) {
+                questionIds = Arrays.copyOf(questionIds, count * 2);
+                responses = Arrays.copyOf(responses, count * 2);
+            }
+            questionIds[count] = questionId;
+            responses[count] = (byte) column;
+            count++;
+            start = end + 1;
+        }
+        return count > 0 ? count : fail("No answers");
+    }
+    
+    /**
+     * @return The non-negative decimal number between the indexes, ignoring surrounding spaces, or -1
+     */
+    private static long parseId(String line, int start, int end) {
+        while (start < end && line.charAt(start) == ' ') {
+            start++;
+        }
+        while (end > start && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (start == end || end - start > 18) {
+            return -1;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+    
+    private int fail(String message) {
+        error = message;
+        return -1;
+    }
+}
@@ -0,0 +1,58 @@
+package com.quizapp.grading;
+
+/**
+ * Outcome of grading a file of answer sheets
+ */
+public class GradingReport {
+    
+    private final long gradedSheets;
+    private final long rejectedSheets;
+    private final long answers;
+    private final long unknownAnswers;
+    private final long elapsedNanos;
+    
+    public GradingReport(long gradedSheets, long rejectedSheets, long answers, long unknownAnswers, long elapsedNanos) {
+        this.gradedSheets = gradedSheets;
+        this.rejectedSheets = rejectedSheets;
+        this.answers = answers;
+        this.unknownAnswers = unknownAnswers;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public long getGradedSheets() {
+        return gradedSheets;
+    }
+    
+    public long getRejectedSheets() {
+        return rejectedSheets;
+    }
+    
+    /**
+     * @return Number of answers on the graded sheets, including unanswered questions
+     */
+    public long getAnswers() {
+        return answers;
+    }
+    
+    /**
+     * @return Number of answers to questions that are not in the bank, graded as wrong
+     */
+    public long getUnknownAnswers() {
+        return unknownAnswers;
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    public double getSheetsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (gradedSheets + rejectedSheets) / (elapsedNanos / 1_000_000_000.0);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Graded %d sheets, rejected %d, in %.1f s (%.0f sheets/s)%s",
+            gradedSheets, rejectedSheets, elapsedNanos / 1_000_000_000.0, getSheetsPerSecond(),
+            unknownAnswers > 0 ? "; " + unknownAnswers + " answers to questions not in the bank" : "");
+    }
+}
@@ -0,0 +1,78 @@
+package com.quizapp.grading;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Answer counts of the questions seen by one grading task, added to the shared totals once the task is done.
+ * <p>
+ * Most files repeat the same few questions on every sheet, so every task would otherwise update the same
+ * shared counters for every answer. Counts are kept per question in {@link #SLOTS} slots: unanswered,
+ * then response columns 0 to 3, in an open-addressing table keyed by the question's index in the key.
+ */
+final class QuestionTally {
+    
+    static final int RESPONSES = 4;
+    static final int SLOTS = 1 + RESPONSES;
+    
+    // Question index + 1 per table entry, 0 for a free entry
+    private int[] keys = new int[64];
+    private int[] counts = new int[64 * SLOTS];
+    private int size;
+    
+    /**
+     * @param question Index of the question in the answer key
+     * @param response Selected response column, or -1 if unanswered
+     */
+    void add(int question, int response) {
+        counts[entry(question) * SLOTS + response + 1]++;
+    }
+    
+    /**
+     * Adds the counts to totals laid out as {@link #SLOTS} slots per question index
+     */
+    void addTo(AtomicLongArray totals) {
+        for (int entry = 0; entry < keys.length; entry++) {
+            if (keys[entry] != 0) {
+                int base = (keys[entry] - 1) * SLOTS;
+                for (int slot = 0; slot < SLOTS; slot++) {
+                    int count = counts[entry * SLOTS + slot];
+                    if (count != 0) {
+                        totals.addAndGet(base + slot, count);
+                    }
+                }
+            }
+        }
+    }
+    
+    private int entry(int question) {
+        int mask = keys.length - 1;
+        int hash = question * 0x9E3779B9;
+        int entry = (hash ^ hash >>> 16) & mask;
+        while (keys[entry] != question + 1) {
+            if (keys[entry] == 0) {
+                if (++size * 2 > keys.length) {
+                    grow();
+                    return entry(question);
+                }
+                keys[entry] = question + 1;
+                return entry;
+            }
+            entry = (entry + 1) & mask;
+        }
+        return entry;
+    }
+    
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[keys.length * SLOTS];
+        size = 0;
+        for (int entry = 0; entry < oldKeys.length; entry++) {
+            if (oldKeys[entry] != 0) {
+                int moved = entry(oldKeys[entry] - 1);
+                System.arraycopy(oldCounts, entry * SLOTS, counts, moved * SLOTS, SLOTS);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.quizapp.grading;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Consecutive lines of an answer sheet file and, once graded, the result of each line
+ */
+class SheetBatch {
+    
+    final long firstLine;
+    final String[] lines;
+    final int size;
+    // Results by line; a line with neither a sheet id nor an error was blank or the header
+    final String[] sheetIds;
+    final int[] scores;
+    final int[] totals;
+    final String[] errors;
+    
+    private SheetBatch(long firstLine, String[] lines, int size) {
+        this.firstLine = firstLine;
+        this.lines = lines;
+        this.size = size;
+        this.sheetIds = new String[size];
+        this.scores = new int[size];
+        this.totals = new int[size];
+        this.errors = new String[size];
+    }
+    
+    /**
+     * @param reader The sheet file
+     * @param firstLine Line number of the next line in the file
+     * @param maxLines Maximum number of lines to read
+     * @return The next lines, or null at end of input
+     */
+    static SheetBatch read(BufferedReader reader, long firstLine, int maxLines) throws IOException {
+        String[] lines = new String[maxLines];
+        int size = 0;
+        String line;
+        while (size < maxLines && (line = reader.readLine()) != null) {
+            lines[size++] = line;
+        }
+        return size == 0 ? null : new SheetBatch(firstLine, lines, size);
+    }
+}
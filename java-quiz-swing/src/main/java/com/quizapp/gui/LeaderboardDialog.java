@@ -0,0 +1,144 @@
+package com.quizapp.gui;
+
+import com.quizapp.leaderboard.Leaderboard;
+import com.quizapp.leaderboard.Leaderboards;
+import com.quizapp.leaderboard.Standing;
+import com.quizapp.model.LeaderboardEntry;
+import com.quizapp.model.QuizCategory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Dialog listing the top players overall or in one category
+ */
+public class LeaderboardDialog extends JDialog {
+    
+    private static final int ROWS = 20;
+    private static final String OVERALL = "All Categories";
+    
+    private final Leaderboards leaderboards;
+    private final String player;
+    
+    private JComboBox<Object> scopeComboBox;
+    private DefaultTableModel tableModel;
+    private JLabel standingLabel;
+    
+    public LeaderboardDialog(JFrame parent, Leaderboards leaderboards, String player) {
+        super(parent, "Leaderboard", true);
+        this.leaderboards = leaderboards;
+        this.player = player;
+        initializeDialog();
+        createContent();
+        refresh();
+    }
+    
+    private void initializeDialog() {
+        setSize(560, 480);
+        setLocationRelativeTo(getParent());
+        setResizable(false);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+    }
+    
+    private void createContent() {
+        setLayout(new BorderLayout());
+        
+        // Header with scope selection
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(new Color(70, 130, 180));
+        headerPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
+        
+        JLabel titleLabel = new JLabel("Top Players");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 20));
+        titleLabel.setForeground(Color.WHITE);
+        
+        scopeComboBox = new JComboBox<>();
+        scopeComboBox.addItem(OVERALL);
+        for (QuizCategory category : QuizCategory.values()) {
+            scopeComboBox.addItem(category);
+        }
+        scopeComboBox.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                Object text = value instanceof QuizCategory ? ((QuizCategory) value).getDisplayName() : value;
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        scopeComboBox.addActionListener(e -> refresh());
+        
+        headerPanel.add(titleLabel, BorderLayout.WEST);
+        headerPanel.add(scopeComboBox, BorderLayout.EAST);
+        
+        // Table of top entries
+        tableModel = new DefaultTableModel(new Object[] {"Rank", "Player", "Category", "Score", "Time"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JTable table = new JTable(tableModel);
+        table.setFont(new Font("Arial", Font.PLAIN, 13));
+        table.setRowHeight(22);
+        table.setFillsViewportHeight(true);
+        table.getColumnModel().getColumn(0).setPreferredWidth(40);
+        table.getColumnModel().getColumn(1).setPreferredWidth(140);
+        table.getColumnModel().getColumn(2).setPreferredWidth(170);
+        
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        
+        // Footer with the player's own standing
+        JPanel footerPanel = new JPanel(new BorderLayout());
+        footerPanel.setBackground(new Color(248, 249, 250));
+        footerPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 10, 20));
+        
+        standingLabel = new JLabel();
+        standingLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        
+        JButton closeButton = new JButton("Close");
+        closeButton.setFont(new Font("Arial", Font.PLAIN, 14));
+        closeButton.setFocusPainted(false);
+        closeButton.addActionListener(e -> dispose());
+        
+        footerPanel.add(standingLabel, BorderLayout.CENTER);
+        footerPanel.add(closeButton, BorderLayout.EAST);
+        
+        add(headerPanel, BorderLayout.NORTH);
+        add(scrollPane, BorderLayout.CENTER);
+        add(footerPanel, BorderLayout.SOUTH);
+    }
+    
+    private void refresh() {
+        Object selected = scopeComboBox.getSelectedItem();
+        QuizCategory category = selected instanceof QuizCategory ? (QuizCategory) selected : null;
+        Leaderboard leaderboard = leaderboards.get(category);
+        
+        tableModel.setRowCount(0);
+        List<LeaderboardEntry> entries = leaderboard.getTop(ROWS);
+        for (LeaderboardEntry entry : entries) {
+            tableModel.addRow(new Object[] {
+                leaderboard.rankOf(entry.getBasisPoints()),
+                entry.getPlayer(),
+                entry.getCategory().getDisplayName(),
+                String.format("%d/%d (%.0f%%)", entry.getScore(), entry.getTotalQuestions(), entry.getPercentage()),
+                formatDuration(entry.getDurationMillis())
+            });
+        }
+        
+        Standing standing = leaderboards.getStanding(category, player);
+        if (standing != null) {
+            standingLabel.setText(String.format("%s: rank #%d of %d, best %.0f%%", player, standing.getRank(),
+                                                standing.getPlayerCount(), standing.getBest().getPercentage()));
+        } else {
+            standingLabel.setText(player + ": no attempts yet");
+        }
+    }
+    
+    private static String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+}
@@ -1,6 +1,16 @@
 package com.quizapp.gui;
 
+import com.quizapp.dao.AttemptRecorder;
+import com.quizapp.dao.QuestionLoader;
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.journal.InFlightSession;
+import com.quizapp.journal.SessionJournal;
+import com.quizapp.leaderboard.Leaderboards;
+import com.quizapp.metrics.CardSwitchEvent;
+import com.quizapp.metrics.LatencyHistogram;
+import com.quizapp.metrics.MetricsRegistry;
 import com.quizapp.model.QuizCategory;
+import com.quizapp.gui.panels.AdminPanel;
 import com.quizapp.gui.panels.HomePanel;
 import com.quizapp.gui.panels.QuizPanel;
 import com.quizapp.gui.panels.ResultPanel;
@@ -11,15 +21,22 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 
 /**
- * Main application frame that manages different panels
+ * Main application frame that manages different panels.
+ * Only the home panel is built with the frame; the others are built and wired on first use.
  */
 public class MainFrame extends JFrame {
     
+    private static final LatencyHistogram CARD_SWITCH_LATENCY = MetricsRegistry.getDefault().latency("gui.card.switch");
+    
     private CardLayout cardLayout;
     private JPanel mainPanel;
     private HomePanel homePanel;
     private QuizPanel quizPanel;
     private ResultPanel resultPanel;
+    private AdminPanel adminPanel;
+    // Player and category of the results shown, for refreshing their standings
+    private String resultPlayer;
+    private QuizCategory resultCategory;
     
     public MainFrame() {
         initializeFrame();
@@ -36,6 +53,11 @@ public class MainFrame extends JFrame {
         
         // Custom close operation
         addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                offerUnfinishedQuiz();
+            }
+            
             @Override
             public void windowClosing(WindowEvent e) {
                 int result = JOptionPane.showConfirmDialog(
@@ -47,6 +69,14 @@ public class MainFrame extends JFrame {
                 );
                 
                 if (result == JOptionPane.YES_OPTION) {
+                    // Write out attempts still queued before the process goes away
+                    AttemptRecorder.getDefault().shutdown(5_000);
+                    // A quiz still in progress stays in the journal and is offered on the next start
+                    SessionJournal journal = SessionJournal.getDefault();
+                    if (journal != null) {
+                        journal.shutdown(2_000);
+                    }
+                    DatabaseConnection.shutdown();
                     System.exit(0);
                 }
             }
@@ -60,12 +90,7 @@ public class MainFrame extends JFrame {
         mainPanel = new JPanel(cardLayout);
         
         homePanel = new HomePanel();
-        quizPanel = new QuizPanel();
-        resultPanel = new ResultPanel();
-        
         mainPanel.add(homePanel, "HOME");
-        mainPanel.add(quizPanel, "QUIZ");
-        mainPanel.add(resultPanel, "RESULT");
         
         add(mainPanel);
     }
@@ -73,42 +98,154 @@ public class MainFrame extends JFrame {
     private void setupEventHandlers() {
         // Home panel events
         homePanel.setCategorySelectedListener(this::startQuiz);
+        homePanel.setCategoryHighlightedListener(QuestionLoader::prefetch);
         homePanel.setAboutListener(this::showAbout);
+        homePanel.setLeaderboardListener(this::showLeaderboard);
+        homePanel.setAdminListener(this::showAdmin);
         homePanel.setExitListener(this::exitApplication);
+    }
+    
+    private QuizPanel getQuizPanel() {
+        if (quizPanel == null) {
+            quizPanel = new QuizPanel();
+            quizPanel.setQuizCompletedListener(this::showResults);
+            quizPanel.setBackToHomeListener(this::showHome);
+            quizPanel.setLoadFailedListener(this::showLoadError);
+            mainPanel.add(quizPanel, "QUIZ");
+        }
+        return quizPanel;
+    }
+    
+    private ResultPanel getResultPanel() {
+        if (resultPanel == null) {
+            resultPanel = new ResultPanel();
+            resultPanel.setBackToHomeListener(this::showHome);
+            resultPanel.setRetakeQuizListener(this::retakeQuiz);
+            mainPanel.add(resultPanel, "RESULT");
+            
+            // An attempt reaches the leaderboards once it is stored, usually just after its results are shown.
+            // The leaderboards subscribe first, so they have the attempt by the time this runs.
+            Leaderboards.getDefault();
+            AttemptRecorder.getDefault().addStoreListener(attempt -> SwingUtilities.invokeLater(() -> {
+                if (attempt.getCategory() == resultCategory && attempt.getPlayer().equals(resultPlayer)) {
+                    showStandings();
+                }
+            }));
+        }
+        return resultPanel;
+    }
+    
+    private AdminPanel getAdminPanel() {
+        if (adminPanel == null) {
+            adminPanel = new AdminPanel();
+            adminPanel.setBackToHomeListener(this::showHome);
+            mainPanel.add(adminPanel, "ADMIN");
+        }
+        return adminPanel;
+    }
+    
+    /**
+     * Prepares a card and shows it, timing both; painting the card happens afterwards
+     * @param card Name of the card in the layout
+     * @param prepare Builds or updates the card's panel
+     */
+    private void switchCard(String card, Runnable prepare) {
+        CardSwitchEvent event = new CardSwitchEvent();
+        event.begin();
+        long start = System.nanoTime();
         
-        // Quiz panel events
-        quizPanel.setQuizCompletedListener(this::showResults);
-        quizPanel.setBackToHomeListener(this::showHome);
+        prepare.run();
+        cardLayout.show(mainPanel, card);
         
-        // Result panel events
-        resultPanel.setBackToHomeListener(this::showHome);
-        resultPanel.setRetakeQuizListener(this::retakeQuiz);
+        CARD_SWITCH_LATENCY.recordSince(start);
+        event.card = card;
+        event.commit();
     }
     
     public void startQuiz(QuizCategory category) {
-        if (quizPanel.loadQuestions(category)) {
-            cardLayout.show(mainPanel, "QUIZ");
-        } else {
-            JOptionPane.showMessageDialog(
-                this,
-                "Failed to load questions. Please check your database connection.",
-                "Error",
-                JOptionPane.ERROR_MESSAGE
-            );
-        }
+        switchCard("QUIZ", () -> {
+            // Questions load in the background; the quiz panel shows a loading state meanwhile
+            QuizPanel quizPanel = getQuizPanel();
+            quizPanel.setPlayer(homePanel.getPlayerName());
+            quizPanel.loadQuestions(category);
+        });
+    }
+    
+    private void showLoadError(QuizCategory category) {
+        showHome();
+        JOptionPane.showMessageDialog(
+            this,
+            "Failed to load questions. Please check your database connection.",
+            "Error",
+            JOptionPane.ERROR_MESSAGE
+        );
     }
     
     public void showResults(int score, int totalQuestions, QuizCategory category) {
-        resultPanel.setResults(score, totalQuestions, category);
-        cardLayout.show(mainPanel, "RESULT");
+        switchCard("RESULT", () -> {
+            ResultPanel resultPanel = getResultPanel();
+            resultPanel.setResults(score, totalQuestions, category);
+            
+            // Refreshed once the attempt is stored
+            resultPlayer = quizPanel.getSession().getPlayer();
+            resultCategory = category;
+            showStandings();
+        });
+    }
+    
+    private void showStandings() {
+        Leaderboards leaderboards = Leaderboards.getDefault();
+        resultPanel.setStandings(resultPlayer, leaderboards.getStanding(resultCategory, resultPlayer),
+                                 leaderboards.getStanding(null, resultPlayer));
+    }
+    
+    /**
+     * Offers to continue the most recent quiz that was still in progress when the application last stopped,
+     * e.g. because it crashed; a quiz that is not continued is discarded
+     */
+    private void offerUnfinishedQuiz() {
+        SessionJournal journal = SessionJournal.getDefault();
+        if (journal == null || journal.getInFlightSessions().isEmpty()) {
+            return;
+        }
+        InFlightSession inFlight = journal.getInFlightSessions().get(0);
+        String timeLeft = "";
+        if (inFlight.getTimeLimitSeconds() > 0) {
+            int remaining = inFlight.getRemainingSeconds();
+            timeLeft = String.format(", %02d:%02d left", remaining / 60, remaining % 60);
+        }
+        int result = JOptionPane.showConfirmDialog(
+            this,
+            "A " + inFlight.getCategory().getDisplayName() + " quiz was not finished (question "
+                + (inFlight.getCurrentIndex() + 1) + " of " + inFlight.getQuestionCount() + ", "
+                + inFlight.getAnsweredCount() + " answered" + timeLeft + ").\nDo you want to continue it?",
+            "Unfinished Quiz",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE
+        );
+        if (result == JOptionPane.YES_OPTION) {
+            switchCard("QUIZ", () -> getQuizPanel().resumeSession(inFlight));
+        } else {
+            journal.discard(inFlight);
+        }
     }
     
     public void showHome() {
-        homePanel.resetSelection();
-        cardLayout.show(mainPanel, "HOME");
+        switchCard("HOME", () -> {
+            if (quizPanel != null) {
+                quizPanel.cancelLoading();
+            }
+            homePanel.resetSelection();
+        });
+    }
+    
+    public void showAdmin() {
+        // The question bank is only read once the panel is first shown
+        switchCard("ADMIN", () -> getAdminPanel().open());
     }
     
     public void retakeQuiz() {
+        // Only offered on the result panel, so it exists by now
         QuizCategory lastCategory = resultPanel.getLastQuizCategory();
         if (lastCategory != null) {
             startQuiz(lastCategory);
@@ -122,6 +259,11 @@ public class MainFrame extends JFrame {
         dialog.setVisible(true);
     }
     
+    public void showLeaderboard() {
+        LeaderboardDialog dialog = new LeaderboardDialog(this, Leaderboards.getDefault(), homePanel.getPlayerName());
+        dialog.setVisible(true);
+    }
+    
     public void exitApplication() {
         dispatchEvent(new WindowEvent(this, WindowEvent.WINDOW_CLOSING));
     }
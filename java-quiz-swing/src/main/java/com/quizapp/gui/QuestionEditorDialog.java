@@ -0,0 +1,164 @@
+package com.quizapp.gui;
+
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Dialog for writing a new question or changing an existing one
+ */
+public class QuestionEditorDialog extends JDialog {
+    
+    private static final String[] RESPONSE_LABELS = {"Correct answer:", "Wrong answer 1:", "Wrong answer 2:", "Wrong answer 3:"};
+    
+    private final long questionId;
+    
+    private JComboBox<QuizCategory> categoryComboBox;
+    private JTextArea questionTextArea;
+    private JTextField[] responseFields;
+    private QuestionRow result;
+    
+    /**
+     * @param parent Window the dialog is centered on
+     * @param question Question to edit, or null to write a new one
+     */
+    public QuestionEditorDialog(Window parent, QuestionRow question) {
+        super(parent, question == null ? "Add Question" : "Edit Question #" + question.getId(), ModalityType.APPLICATION_MODAL);
+        this.questionId = question == null ? 0 : question.getId();
+        createContent();
+        if (question != null) {
+            categoryComboBox.setSelectedItem(question.getCategory());
+            questionTextArea.setText(question.getQuestionText());
+            for (int i = 0; i < QuestionRow.RESPONSE_COUNT; i++) {
+                responseFields[i].setText(question.getResponse(i));
+            }
+        }
+        initializeDialog();
+    }
+    
+    private void initializeDialog() {
+        // Sized to the form, which depends on the look and feel's field heights
+        pack();
+        setLocationRelativeTo(getParent());
+        setResizable(false);
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+    }
+    
+    private void createContent() {
+        setLayout(new BorderLayout());
+        
+        JPanel formPanel = new JPanel(new GridBagLayout());
+        formPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 10, 20));
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.insets = new Insets(5, 5, 5, 5);
+        gbc.anchor = GridBagConstraints.NORTHWEST;
+        
+        categoryComboBox = new JComboBox<>(QuizCategory.values());
+        categoryComboBox.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                Object text = value instanceof QuizCategory ? ((QuizCategory) value).getDisplayName() : value;
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        addRow(formPanel, gbc, 0, "Category:", categoryComboBox);
+        
+        questionTextArea = new JTextArea(4, 30);
+        questionTextArea.setFont(new Font("Arial", Font.PLAIN, 14));
+        questionTextArea.setLineWrap(true);
+        questionTextArea.setWrapStyleWord(true);
+        addRow(formPanel, gbc, 1, "Question:", new JScrollPane(questionTextArea));
+        
+        responseFields = new JTextField[QuestionRow.RESPONSE_COUNT];
+        for (int i = 0; i < responseFields.length; i++) {
+            responseFields[i] = new JTextField(30);
+            responseFields[i].setFont(new Font("Arial", Font.PLAIN, 14));
+            addRow(formPanel, gbc, 2 + i, RESPONSE_LABELS[i], responseFields[i]);
+        }
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttonPanel.setBorder(BorderFactory.createEmptyBorder(0, 20, 10, 20));
+        
+        JButton okButton = new JButton("OK");
+        okButton.setFont(new Font("Arial", Font.PLAIN, 14));
+        okButton.setFocusPainted(false);
+        okButton.addActionListener(e -> accept());
+        
+        JButton cancelButton = new JButton("Cancel");
+        cancelButton.setFont(new Font("Arial", Font.PLAIN, 14));
+        cancelButton.setFocusPainted(false);
+        cancelButton.addActionListener(e -> dispose());
+        
+        buttonPanel.add(okButton);
+        buttonPanel.add(cancelButton);
+        getRootPane().setDefaultButton(okButton);
+        
+        add(formPanel, BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+    }
+    
+    private static void addRow(JPanel panel, GridBagConstraints gbc, int row, String label, JComponent field) {
+        gbc.gridy = row;
+        gbc.gridx = 0;
+        gbc.weightx = 0;
+        gbc.fill = GridBagConstraints.NONE;
+        JLabel fieldLabel = new JLabel(label);
+        fieldLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        panel.add(fieldLabel, gbc);
+        
+        gbc.gridx = 1;
+        gbc.weightx = 1;
+        gbc.fill = GridBagConstraints.HORIZONTAL;
+        panel.add(field, gbc);
+    }
+    
+    private void accept() {
+        String questionText = questionTextArea.getText().trim();
+        String[] responses = new String[responseFields.length];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = responseFields[i].getText().trim();
+        }
+        
+        String error = validate(questionText, responses);
+        if (error != null) {
+            JOptionPane.showMessageDialog(this, error, "Invalid Question", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        result = new QuestionRow(questionId, (QuizCategory) categoryComboBox.getSelectedItem(), questionText, responses);
+        dispose();
+    }
+    
+    /**
+     * @return Why the question cannot be stored, or null if it is valid
+     */
+    private static String validate(String questionText, String[] responses) {
+        if (questionText.isEmpty()) {
+            return "Please enter the question.";
+        }
+        Set<String> distinct = new HashSet<>();
+        for (int i = 0; i < responses.length; i++) {
+            if (responses[i].isEmpty()) {
+                return "Please fill in the " + RESPONSE_LABELS[i].replace(":", "").toLowerCase() + ".";
+            }
+            // Answers are matched by text, so identical options would be ambiguous
+            if (!distinct.add(responses[i])) {
+                return "Each answer must be different.";
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Shows the dialog and waits until it is closed
+     * @return The question as entered, or null if the dialog was cancelled
+     */
+    public QuestionRow showDialog() {
+        setVisible(true);
+        return result;
+    }
+}
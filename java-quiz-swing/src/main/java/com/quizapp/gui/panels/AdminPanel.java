@@ -0,0 +1,327 @@
+package com.quizapp.gui.panels;
+
+import com.quizapp.gui.QuestionEditorDialog;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * Panel for browsing and editing the question bank. The table only loads the pages being looked at,
+ * so it stays responsive on banks of a million questions; edits are collected and saved together.
+ */
+public class AdminPanel extends JPanel {
+    
+    private static final String ALL_CATEGORIES = "All Categories";
+    private static final Color HEADER_COLOR = new Color(52, 58, 64);
+    
+    private final QuestionTableModel tableModel = new QuestionTableModel();
+    private Runnable backToHomeListener;
+    private boolean loaded;
+    private boolean saving;
+    
+    // UI Components
+    private JComboBox<Object> categoryComboBox;
+    private JTextField searchField;
+    private JTable table;
+    private JLabel statusLabel;
+    private JButton addButton;
+    private JButton editButton;
+    private JButton deleteButton;
+    private JButton saveButton;
+    private JButton discardButton;
+    
+    public AdminPanel() {
+        initializeComponents();
+    }
+    
+    private void initializeComponents() {
+        setLayout(new BorderLayout());
+        setBackground(new Color(248, 249, 250));
+        
+        add(createHeaderPanel(), BorderLayout.NORTH);
+        add(createTablePanel(), BorderLayout.CENTER);
+        add(createFooterPanel(), BorderLayout.SOUTH);
+    }
+    
+    private JPanel createHeaderPanel() {
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(HEADER_COLOR);
+        headerPanel.setBorder(BorderFactory.createEmptyBorder(15, 20, 15, 20));
+        
+        JLabel titleLabel = new JLabel("Question Bank");
+        titleLabel.setFont(new Font("Arial", Font.BOLD, 18));
+        titleLabel.setForeground(Color.WHITE);
+        
+        categoryComboBox = new JComboBox<>();
+        categoryComboBox.addItem(ALL_CATEGORIES);
+        for (QuizCategory category : QuizCategory.values()) {
+            categoryComboBox.addItem(category);
+        }
+        categoryComboBox.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                Object text = value instanceof QuizCategory ? ((QuizCategory) value).getDisplayName() : value;
+                return super.getListCellRendererComponent(list, text, index, isSelected, cellHasFocus);
+            }
+        });
+        categoryComboBox.addActionListener(e -> refresh());
+        
+        searchField = new JTextField(16);
+        searchField.setFont(new Font("Arial", Font.PLAIN, 14));
+        searchField.setToolTipText("Words to search for; end a word with * to match its prefix");
+        searchField.addActionListener(e -> refresh());
+        
+        JButton searchButton = new JButton("Search");
+        searchButton.setFont(new Font("Arial", Font.PLAIN, 14));
+        searchButton.setFocusPainted(false);
+        searchButton.addActionListener(e -> refresh());
+        
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 5, 0));
+        filterPanel.setBackground(HEADER_COLOR);
+        filterPanel.add(categoryComboBox);
+        filterPanel.add(searchField);
+        filterPanel.add(searchButton);
+        
+        headerPanel.add(titleLabel, BorderLayout.WEST);
+        headerPanel.add(filterPanel, BorderLayout.EAST);
+        
+        return headerPanel;
+    }
+    
+    private JScrollPane createTablePanel() {
+        table = new JTable(tableModel);
+        table.setFont(new Font("Arial", Font.PLAIN, 13));
+        table.setRowHeight(22);
+        table.setFillsViewportHeight(true);
+        table.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        table.setDefaultRenderer(Object.class, new QuestionCellRenderer());
+        table.getColumnModel().getColumn(0).setPreferredWidth(60);
+        table.getColumnModel().getColumn(1).setPreferredWidth(120);
+        table.getColumnModel().getColumn(2).setPreferredWidth(260);
+        table.getSelectionModel().addListSelectionListener(e -> updateControls());
+        table.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && table.rowAtPoint(e.getPoint()) >= 0) {
+                    editSelectedQuestion();
+                }
+            }
+        });
+        tableModel.addTableModelListener(e -> updateControls());
+        
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10));
+        return scrollPane;
+    }
+    
+    private JPanel createFooterPanel() {
+        JPanel footerPanel = new JPanel(new BorderLayout());
+        footerPanel.setBackground(new Color(248, 249, 250));
+        footerPanel.setBorder(BorderFactory.createEmptyBorder(5, 20, 10, 20));
+        
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        statusLabel.setForeground(new Color(108, 117, 125));
+        
+        addButton = createButton("Add", e -> addQuestion());
+        editButton = createButton("Edit", e -> editSelectedQuestion());
+        deleteButton = createButton("Delete", e -> deleteSelectedQuestions());
+        saveButton = createButton("Save Changes", e -> saveChanges());
+        saveButton.setBackground(new Color(40, 167, 69));
+        saveButton.setForeground(Color.WHITE);
+        discardButton = createButton("Discard", e -> discardChanges());
+        JButton backButton = createButton("Back to Home", e -> goBack());
+        
+        JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 5));
+        buttonPanel.setBackground(new Color(248, 249, 250));
+        buttonPanel.add(addButton);
+        buttonPanel.add(editButton);
+        buttonPanel.add(deleteButton);
+        buttonPanel.add(Box.createHorizontalStrut(20));
+        buttonPanel.add(saveButton);
+        buttonPanel.add(discardButton);
+        buttonPanel.add(Box.createHorizontalStrut(20));
+        buttonPanel.add(backButton);
+        
+        footerPanel.add(statusLabel, BorderLayout.NORTH);
+        footerPanel.add(buttonPanel, BorderLayout.CENTER);
+        
+        return footerPanel;
+    }
+    
+    private static JButton createButton(String text, ActionListener action) {
+        JButton button = new JButton(text);
+        button.setFont(new Font("Arial", Font.PLAIN, 14));
+        button.setFocusPainted(false);
+        button.addActionListener(action);
+        return button;
+    }
+    
+    /**
+     * Loads the question bank the first time the panel is shown; later calls keep the current view
+     */
+    public void open() {
+        if (!loaded) {
+            loaded = true;
+            refresh();
+        }
+        updateControls();
+    }
+    
+    private void refresh() {
+        Object selected = categoryComboBox.getSelectedItem();
+        QuizCategory category = selected instanceof QuizCategory ? (QuizCategory) selected : null;
+        String text = searchField.getText().trim();
+        
+        statusLabel.setText("Loading questions...");
+        if (text.isEmpty()) {
+            tableModel.showCategory(category, success -> {
+                if (!success) {
+                    statusLabel.setText("Failed to load questions. Please check your database connection.");
+                }
+            });
+        } else {
+            tableModel.search(text, category, matches -> {
+                if (matches < 0) {
+                    statusLabel.setText("Search failed. Please check your database connection.");
+                }
+            });
+        }
+    }
+    
+    private void addQuestion() {
+        QuestionRow row = new QuestionEditorDialog(SwingUtilities.getWindowAncestor(this), null).showDialog();
+        if (row != null) {
+            tableModel.addQuestion(row);
+            table.getSelectionModel().setSelectionInterval(0, 0);
+            table.scrollRectToVisible(table.getCellRect(0, 0, true));
+        }
+    }
+    
+    private void editSelectedQuestion() {
+        int rowIndex = table.getSelectedRow();
+        if (rowIndex < 0 || saving || tableModel.isDeleted(rowIndex)) {
+            return;
+        }
+        QuestionRow original = tableModel.getRow(rowIndex);
+        if (original == null) {
+            return; // Still loading
+        }
+        QuestionRow edited = new QuestionEditorDialog(SwingUtilities.getWindowAncestor(this), original).showDialog();
+        if (edited != null) {
+            tableModel.updateQuestion(rowIndex, edited);
+        }
+    }
+    
+    private void deleteSelectedQuestions() {
+        int[] rowIndexes = table.getSelectedRows();
+        if (rowIndexes.length > 0) {
+            tableModel.deleteQuestions(rowIndexes);
+        }
+    }
+    
+    private void saveChanges() {
+        saving = true;
+        updateControls();
+        statusLabel.setText("Saving changes...");
+        tableModel.saveChanges(success -> {
+            saving = false;
+            updateControls();
+            if (!success) {
+                JOptionPane.showMessageDialog(
+                    this,
+                    "Failed to save changes. Nothing was written; your edits are kept.",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE
+                );
+            }
+        });
+    }
+    
+    private void discardChanges() {
+        int result = JOptionPane.showConfirmDialog(
+            this,
+            "Discard all unsaved changes?",
+            "Discard Changes",
+            JOptionPane.YES_NO_OPTION,
+            JOptionPane.QUESTION_MESSAGE
+        );
+        if (result == JOptionPane.YES_OPTION) {
+            tableModel.discardChanges();
+        }
+    }
+    
+    private void goBack() {
+        if (tableModel.hasChanges() && !saving) {
+            int result = JOptionPane.showConfirmDialog(
+                this,
+                "You have unsaved changes. Leave them pending and go back?",
+                "Unsaved Changes",
+                JOptionPane.YES_NO_OPTION,
+                JOptionPane.QUESTION_MESSAGE
+            );
+            if (result != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+        if (backToHomeListener != null) {
+            backToHomeListener.run();
+        }
+    }
+    
+    private void updateControls() {
+        boolean selection = table.getSelectedRowCount() > 0;
+        addButton.setEnabled(!saving);
+        editButton.setEnabled(!saving && table.getSelectedRowCount() == 1);
+        deleteButton.setEnabled(!saving && selection);
+        saveButton.setEnabled(!saving && tableModel.hasChanges());
+        discardButton.setEnabled(!saving && tableModel.hasChanges());
+        
+        if (saving) {
+            return;
+        }
+        long stored = tableModel.getStoredCount();
+        if (stored < 0) {
+            return; // Keep the loading or error message
+        }
+        String status = String.format(tableModel.isSearching() ? "%,d matching questions" : "%,d questions", stored);
+        if (tableModel.hasChanges()) {
+            status += String.format("  -  unsaved: %d new, %d changed, %d deleted", tableModel.getInsertedCount(),
+                                    tableModel.getUpdatedCount(), tableModel.getDeletedCount());
+        }
+        statusLabel.setText(status);
+    }
+    
+    /**
+     * Shows rows with unsaved changes in color and rows marked for deletion greyed out
+     */
+    private class QuestionCellRenderer extends DefaultTableCellRenderer {
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (tableModel.isDeleted(row)) {
+                setForeground(new Color(173, 181, 189));
+                setFont(getFont().deriveFont(Font.ITALIC));
+            } else if (tableModel.isChanged(row)) {
+                setForeground(isSelected ? table.getSelectionForeground() : new Color(0, 102, 204));
+                setFont(getFont().deriveFont(Font.BOLD));
+            } else {
+                setForeground(isSelected ? table.getSelectionForeground()
+                              : QuestionTableModel.LOADING.equals(value) ? new Color(108, 117, 125) : table.getForeground());
+            }
+            return this;
+        }
+    }
+    
+    public void setBackToHomeListener(Runnable listener) {
+        this.backToHomeListener = listener;
+    }
+}
@@ -1,10 +1,12 @@
 package com.quizapp.gui.panels;
 
+import com.quizapp.model.QuizAttempt;
 import com.quizapp.model.QuizCategory;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.awt.event.ItemEvent;
 import java.util.function.Consumer;
 
 /**
@@ -13,9 +15,13 @@ import java.util.function.Consumer;
 public class HomePanel extends JPanel {
     
     private Consumer<QuizCategory> categorySelectedListener;
+    private Consumer<QuizCategory> categoryHighlightedListener;
     private Runnable aboutListener;
+    private Runnable leaderboardListener;
+    private Runnable adminListener;
     private Runnable exitListener;
     private ButtonGroup categoryButtonGroup;
+    private JTextField playerField;
     
     public HomePanel() {
         initializeComponents();
@@ -128,6 +134,13 @@ public class HomePanel extends JPanel {
         button.setBackground(new Color(240, 248, 255));
         button.setFocusPainted(false);
         button.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        
+        // Let the quiz start loading as soon as a category is picked
+        button.addItemListener(e -> {
+            if (e.getStateChange() == ItemEvent.SELECTED && categoryHighlightedListener != null) {
+                categoryHighlightedListener.accept(category);
+            }
+        });
         return button;
     }
     
@@ -136,6 +149,12 @@ public class HomePanel extends JPanel {
         footerPanel.setBackground(new Color(240, 248, 255));
         footerPanel.setBorder(BorderFactory.createEmptyBorder(10, 20, 20, 20));
         
+        // Player name, shown on the leaderboard
+        JLabel playerLabel = new JLabel("Your name:");
+        playerLabel.setFont(new Font("Arial", Font.PLAIN, 14));
+        playerField = new JTextField(System.getProperty("user.name", ""), 14);
+        playerField.setFont(new Font("Arial", Font.PLAIN, 14));
+        
         JButton aboutButton = new JButton("About");
         aboutButton.setFont(new Font("Arial", Font.PLAIN, 14));
         aboutButton.setFocusPainted(false);
@@ -145,6 +164,25 @@ public class HomePanel extends JPanel {
             }
         });
         
+        JButton leaderboardButton = new JButton("Leaderboard");
+        leaderboardButton.setFont(new Font("Arial", Font.PLAIN, 14));
+        leaderboardButton.setFocusPainted(false);
+        leaderboardButton.addActionListener(e -> {
+            if (leaderboardListener != null) {
+                leaderboardListener.run();
+            }
+        });
+        
+        JButton adminButton = new JButton("Questions");
+        adminButton.setFont(new Font("Arial", Font.PLAIN, 14));
+        adminButton.setFocusPainted(false);
+        adminButton.setToolTipText("Browse and edit the question bank");
+        adminButton.addActionListener(e -> {
+            if (adminListener != null) {
+                adminListener.run();
+            }
+        });
+        
         JButton exitButton = new JButton("Exit");
         exitButton.setFont(new Font("Arial", Font.PLAIN, 14));
         exitButton.setBackground(new Color(220, 53, 69));
@@ -157,8 +195,14 @@ public class HomePanel extends JPanel {
             }
         });
         
+        footerPanel.add(playerLabel);
+        footerPanel.add(playerField);
+        footerPanel.add(Box.createHorizontalStrut(20));
         footerPanel.add(aboutButton);
         footerPanel.add(Box.createHorizontalStrut(10));
+        footerPanel.add(leaderboardButton);
+        footerPanel.add(adminButton);
+        footerPanel.add(Box.createHorizontalStrut(10));
         footerPanel.add(exitButton);
         
         return footerPanel;
@@ -178,6 +222,13 @@ public class HomePanel extends JPanel {
         return null;
     }
     
+    /**
+     * @return The entered player name, or {@link QuizAttempt#ANONYMOUS} if none was entered
+     */
+    public String getPlayerName() {
+        return QuizAttempt.normalizePlayer(playerField.getText());
+    }
+    
     public void resetSelection() {
         categoryButtonGroup.clearSelection();
     }
@@ -187,10 +238,22 @@ public class HomePanel extends JPanel {
         this.categorySelectedListener = listener;
     }
     
+    public void setCategoryHighlightedListener(Consumer<QuizCategory> listener) {
+        this.categoryHighlightedListener = listener;
+    }
+    
     public void setAboutListener(Runnable listener) {
         this.aboutListener = listener;
     }
     
+    public void setLeaderboardListener(Runnable listener) {
+        this.leaderboardListener = listener;
+    }
+    
+    public void setAdminListener(Runnable listener) {
+        this.adminListener = listener;
+    }
+    
     public void setExitListener(Runnable listener) {
         this.exitListener = listener;
     }
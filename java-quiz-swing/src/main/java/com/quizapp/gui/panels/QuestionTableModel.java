@@ -0,0 +1,367 @@
+package com.quizapp.gui.panels;
+
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.dao.QuestionPageIndex;
+import com.quizapp.dao.SearchPage;
+import com.quizapp.model.QuestionMatch;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Table model over the question bank that never holds more than a few pages of it.
+ * <p>
+ * The row count comes from a {@link QuestionPageIndex} built in the background; rows are read a page
+ * at a time with keyset queries when the table first paints them and kept in a small LRU of pages.
+ * Until its page arrives a row shows as loading. Reads and writes run on one background thread, so
+ * the EDT never touches the database.
+ * <p>
+ * Edits are held until {@link #saveChanges(Consumer)} writes them in one transaction. New questions are
+ * listed first; changed and deleted ones stay in place and are reported by {@link #isChanged(int)}
+ * and {@link #isDeleted(int)}. All methods must be called on the EDT.
+ */
+class QuestionTableModel extends AbstractTableModel {
+    
+    static final int PAGE_SIZE = Integer.getInteger("quiz.admin.pageSize", 200);
+    private static final int MAX_CACHED_PAGES = Integer.getInteger("quiz.admin.cachedPages", 20);
+    // Pages requested while scrolling quickly are dropped oldest first; only the latest ones are on screen
+    private static final int MAX_PENDING_PAGES = 4;
+    private static final int SEARCH_LIMIT = 500;
+    
+    static final String LOADING = "Loading...";
+    
+    private static final String[] COLUMNS = {
+        "ID", "Category", "Question", "Correct Answer", "Response 2", "Response 3", "Response 4"
+    };
+    
+    private final QuestionDAO questionDAO = new QuestionDAO();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "question-admin-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    
+    private final Map<Integer, List<QuestionRow>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<QuestionRow>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    private final Deque<Integer> pendingPages = new ArrayDeque<>();
+    private boolean pageLoadRunning;
+    
+    // Discards background results that belong to a filter or search no longer shown
+    private int generation;
+    private QuizCategory category;
+    private QuestionPageIndex index;
+    private List<QuestionRow> searchResults;
+    
+    private final List<QuestionRow> inserted = new ArrayList<>();
+    private final Map<Long, QuestionRow> updated = new LinkedHashMap<>();
+    private final Set<Long> deleted = new LinkedHashSet<>();
+    
+    /**
+     * Shows the whole bank or one category, discarding loaded pages and any search
+     * @param category Category to show, or null for all
+     * @param loaded Called on the EDT once the row count is known; false if the database cannot be read
+     */
+    void showCategory(QuizCategory category, Consumer<Boolean> loaded) {
+        int loadGeneration = reset(category);
+        worker.execute(() -> {
+            QuestionPageIndex pageIndex = questionDAO.buildPageIndex(category, PAGE_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                index = pageIndex;
+                fireTableDataChanged();
+                loaded.accept(pageIndex != null);
+            });
+        });
+    }
+    
+    /**
+     * Shows the best full-text matches instead of the whole bank
+     * @param text Search text as entered
+     * @param category Category to search in, or null for all
+     * @param loaded Called on the EDT with the number of matches shown, or -1 if the database cannot be read
+     */
+    void search(String text, QuizCategory category, Consumer<Integer> loaded) {
+        int loadGeneration = reset(category);
+        worker.execute(() -> {
+            SearchPage page = questionDAO.searchQuestions(text, category, 0, SEARCH_LIMIT);
+            SwingUtilities.invokeLater(() -> {
+                if (loadGeneration != generation) {
+                    return;
+                }
+                if (page == null) {
+                    loaded.accept(-1);
+                    return;
+                }
+                List<QuestionRow> rows = new ArrayList<>(page.getMatches().size());
+                for (QuestionMatch match : page.getMatches()) {
+                    rows.add(match.getRow());
+                }
+                searchResults = rows;
+                fireTableDataChanged();
+                loaded.accept(rows.size());
+            });
+        });
+    }
+    
+    private int reset(QuizCategory category) {
+        this.category = category;
+        index = null;
+        searchResults = null;
+        pages.clear();
+        pendingPages.clear();
+        fireTableDataChanged();
+        return ++generation;
+    }
+    
+    /**
+     * Writes all pending edits in one transaction in the background, then reloads the current view
+     * @param saved Called on the EDT with true if the edits were stored; on failure they stay pending
+     */
+    void saveChanges(Consumer<Boolean> saved) {
+        List<QuestionRow> insertedRows = new ArrayList<>(inserted);
+        Map<Long, QuestionRow> updatedRows = new LinkedHashMap<>(updated);
+        Set<Long> deletedIds = new LinkedHashSet<>(deleted);
+        worker.execute(() -> {
+            boolean success = questionDAO.saveQuestions(insertedRows, new ArrayList<>(updatedRows.values()), deletedIds);
+            SwingUtilities.invokeLater(() -> {
+                if (success) {
+                    inserted.clear();
+                    updated.clear();
+                    deleted.clear();
+                    if (searchResults == null) {
+                        showCategory(category, loaded -> { });
+                    } else {
+                        // Search results are not re-run; show the edited rows as stored
+                        searchResults.removeIf(row -> deletedIds.contains(row.getId()));
+                        searchResults.replaceAll(row -> updatedRows.getOrDefault(row.getId(), row));
+                        fireTableDataChanged();
+                    }
+                }
+                saved.accept(success);
+            });
+        });
+    }
+    
+    /**
+     * Drops all pending edits
+     */
+    void discardChanges() {
+        inserted.clear();
+        updated.clear();
+        deleted.clear();
+        fireTableDataChanged();
+    }
+    
+    /**
+     * Adds a question to be inserted on the next save; it is listed first
+     */
+    void addQuestion(QuestionRow row) {
+        inserted.add(0, row);
+        fireTableRowsInserted(0, 0);
+    }
+    
+    /**
+     * Replaces the question shown in a row; the change is written on the next save
+     * @param rowIndex Row whose question was edited
+     * @param row The edited question, keeping the id of the original
+     */
+    void updateQuestion(int rowIndex, QuestionRow row) {
+        if (rowIndex < inserted.size()) {
+            inserted.set(rowIndex, row);
+        } else {
+            updated.put(row.getId(), row);
+        }
+        fireTableRowsUpdated(rowIndex, rowIndex);
+    }
+    
+    /**
+     * Marks the questions in the given rows for deletion, or deletes them outright if not yet saved
+     * @param rowIndexes Selected rows, in any order
+     */
+    void deleteQuestions(int[] rowIndexes) {
+        List<QuestionRow> unsaved = new ArrayList<>();
+        for (int rowIndex : rowIndexes) {
+            if (rowIndex < inserted.size()) {
+                unsaved.add(inserted.get(rowIndex));
+            } else {
+                QuestionRow row = getRow(rowIndex);
+                if (row != null) {
+                    deleted.add(row.getId());
+                }
+            }
+        }
+        // Identity, not equality: two new questions may have the same text
+        inserted.removeIf(row -> unsaved.stream().anyMatch(removed -> removed == row));
+        fireTableDataChanged();
+    }
+    
+    /**
+     * @param rowIndex Row in the table
+     * @return The question shown in the row including pending edits, or null while its page is loading
+     */
+    QuestionRow getRow(int rowIndex) {
+        if (rowIndex < inserted.size()) {
+            return inserted.get(rowIndex);
+        }
+        int storedIndex = rowIndex - inserted.size();
+        QuestionRow row;
+        if (searchResults != null) {
+            row = storedIndex < searchResults.size() ? searchResults.get(storedIndex) : null;
+        } else {
+            row = getStoredRow(storedIndex);
+        }
+        if (row == null) {
+            return null;
+        }
+        return updated.getOrDefault(row.getId(), row);
+    }
+    
+    private QuestionRow getStoredRow(int storedIndex) {
+        if (index == null) {
+            return null;
+        }
+        int page = storedIndex / PAGE_SIZE;
+        List<QuestionRow> rows = pages.get(page);
+        if (rows == null) {
+            requestPage(page);
+            return null;
+        }
+        int offset = storedIndex % PAGE_SIZE;
+        // A page read after rows were deleted elsewhere may come up short
+        return offset < rows.size() ? rows.get(offset) : null;
+    }
+    
+    private void requestPage(int page) {
+        // Most recent request last; re-requesting moves a page to the back so it is not dropped
+        pendingPages.remove(page);
+        pendingPages.addLast(page);
+        if (pendingPages.size() > MAX_PENDING_PAGES) {
+            pendingPages.removeFirst();
+        }
+        if (!pageLoadRunning) {
+            loadNextPage();
+        }
+    }
+    
+    private void loadNextPage() {
+        Integer page = pendingPages.pollLast();
+        if (page == null || index == null) {
+            return;
+        }
+        pageLoadRunning = true;
+        int loadGeneration = generation;
+        QuizCategory pageCategory = category;
+        long fromId = index.getPageStartId(page);
+        worker.execute(() -> {
+            List<QuestionRow> rows = questionDAO.getQuestionPage(pageCategory, fromId, PAGE_SIZE);
+            SwingUtilities.invokeLater(() -> {
+                pageLoadRunning = false;
+                if (loadGeneration == generation && rows != null) {
+                    pages.put(page, rows);
+                    int first = inserted.size() + page * PAGE_SIZE;
+                    fireTableRowsUpdated(first, Math.min(getRowCount() - 1, first + PAGE_SIZE - 1));
+                }
+                loadNextPage();
+            });
+        });
+    }
+    
+    boolean isChanged(int rowIndex) {
+        if (rowIndex < inserted.size()) {
+            return true;
+        }
+        QuestionRow row = getRow(rowIndex);
+        return row != null && updated.containsKey(row.getId());
+    }
+    
+    boolean isDeleted(int rowIndex) {
+        if (rowIndex < inserted.size()) {
+            return false;
+        }
+        QuestionRow row = getRow(rowIndex);
+        return row != null && deleted.contains(row.getId());
+    }
+    
+    boolean hasChanges() {
+        return !inserted.isEmpty() || !updated.isEmpty() || !deleted.isEmpty();
+    }
+    
+    int getInsertedCount() {
+        return inserted.size();
+    }
+    
+    int getUpdatedCount() {
+        return updated.size();
+    }
+    
+    int getDeletedCount() {
+        return deleted.size();
+    }
+    
+    /**
+     * @return Number of stored questions in the current view, or -1 while they are being counted
+     */
+    long getStoredCount() {
+        if (searchResults != null) {
+            return searchResults.size();
+        }
+        return index != null ? index.getRowCount() : -1;
+    }
+    
+    boolean isSearching() {
+        return searchResults != null;
+    }
+    
+    @Override
+    public int getRowCount() {
+        long stored = Math.max(0, getStoredCount());
+        return (int) Math.min(Integer.MAX_VALUE, inserted.size() + stored);
+    }
+    
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+    
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+    
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        QuestionRow row = getRow(rowIndex);
+        if (row == null) {
+            return columnIndex == 2 ? LOADING : "";
+        }
+        switch (columnIndex) {
+            case 0:
+                return rowIndex < inserted.size() ? "new" : row.getId();
+            case 1:
+                return row.getCategory().getDisplayName();
+            case 2:
+                return row.getQuestionText();
+            default:
+                return row.getResponse(columnIndex - 3);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.quizapp.gui.panels;
+
+import com.quizapp.metrics.LatencyHistogram;
+import com.quizapp.metrics.MetricsRegistry;
+import com.quizapp.model.Question;
+import com.quizapp.session.AnswerSheet;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.function.IntConsumer;
+
+/**
+ * One question of a quiz, laid out for display: the numbered question text and a radio button per option.
+ * Views are built ahead of navigation by {@link QuestionViewCache}, so showing one only swaps it in
+ * instead of parsing the question's HTML and laying out its text again.
+ */
+class QuestionView extends JPanel {
+    
+    private static final LatencyHistogram CLICK_TO_PAINT = MetricsRegistry.getDefault().latency("gui.question.clickToPaint");
+    
+    private final int index;
+    private final ButtonGroup optionGroup = new ButtonGroup();
+    private final JRadioButton[] optionButtons;
+    // When navigation to this view started; the next paint records the latency and clears it
+    private long navigationStartNanos;
+    
+    /**
+     * @param index Zero-based position of the question in the quiz
+     * @param question The question to show
+     */
+    QuestionView(int index, Question question) {
+        this.index = index;
+        setLayout(new BorderLayout());
+        setBackground(Color.WHITE);
+        
+        // Question
+        JLabel questionLabel = new JLabel("<html><body style='width: 600px'>" +
+                                          (index + 1) + ". " +
+                                          question.getQuestionText() + "</body></html>");
+        questionLabel.setFont(new Font("Arial", Font.PLAIN, 16));
+        questionLabel.setVerticalAlignment(SwingConstants.TOP);
+        questionLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 20, 0));
+        
+        // Options
+        JPanel optionsPanel = new JPanel();
+        optionsPanel.setLayout(new BoxLayout(optionsPanel, BoxLayout.Y_AXIS));
+        optionsPanel.setBackground(Color.WHITE);
+        
+        String[] options = question.getOptions();
+        optionButtons = new JRadioButton[options.length];
+        for (int i = 0; i < options.length; i++) {
+            optionButtons[i] = new JRadioButton(options[i]);
+            optionButtons[i].setFont(new Font("Arial", Font.PLAIN, 14));
+            optionButtons[i].setBackground(Color.WHITE);
+            optionButtons[i].setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
+            optionButtons[i].setFocusPainted(false);
+            
+            optionGroup.add(optionButtons[i]);
+            optionsPanel.add(optionButtons[i]);
+            optionsPanel.add(Box.createVerticalStrut(5));
+        }
+        
+        add(questionLabel, BorderLayout.NORTH);
+        add(optionsPanel, BorderLayout.CENTER);
+    }
+    
+    int getIndex() {
+        return index;
+    }
+    
+    /**
+     * @param listener Receives the zero-based position of an option when the player selects it
+     */
+    void setOptionSelectedListener(IntConsumer listener) {
+        for (int i = 0; i < optionButtons.length; i++) {
+            int option = i;
+            optionButtons[i].addActionListener(e -> listener.accept(option));
+        }
+    }
+    
+    /**
+     * @param locked true to keep the selection from being changed, once the question's time has run out
+     */
+    void setLocked(boolean locked) {
+        for (JRadioButton button : optionButtons) {
+            button.setEnabled(!locked);
+        }
+    }
+    
+    /**
+     * @param optionIndex Zero-based position of the option to select, or {@link AnswerSheet#UNANSWERED} to clear the selection
+     */
+    void setSelectedOption(int optionIndex) {
+        if (optionIndex < 0 || optionIndex >= optionButtons.length) {
+            optionGroup.clearSelection();
+            return;
+        }
+        optionButtons[optionIndex].setSelected(true);
+    }
+    
+    /**
+     * @param startNanos {@link System#nanoTime()} when the navigation that shows this view started
+     */
+    void setNavigationStart(long startNanos) {
+        navigationStartNanos = startNanos;
+    }
+    
+    @Override
+    public void paint(Graphics g) {
+        super.paint(g);
+        if (navigationStartNanos != 0) {
+            CLICK_TO_PAINT.recordSince(navigationStartNanos);
+            navigationStartNanos = 0;
+        }
+    }
+}
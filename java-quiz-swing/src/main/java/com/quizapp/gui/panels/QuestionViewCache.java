@@ -0,0 +1,121 @@
+package com.quizapp.gui.panels;
+
+import com.quizapp.metrics.Counter;
+import com.quizapp.metrics.MetricsRegistry;
+import com.quizapp.session.QuizSession;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded set of {@link QuestionView}s for the quiz on screen, kept as cards of one container.
+ * <p>
+ * After a question is shown, the views of the questions before and after it are built and laid out
+ * while the player reads, so Previous and Next only switch cards. Swing components must be built on
+ * the event dispatch thread, so "in the background" means in a later event, after the current question
+ * has been painted. The least recently shown views are dropped once the cache is full. All methods must
+ * be called on the event dispatch thread.
+ */
+class QuestionViewCache {
+    
+    private static final Counter HITS = MetricsRegistry.getDefault().counter("gui.question.view.hits");
+    private static final Counter MISSES = MetricsRegistry.getDefault().counter("gui.question.view.misses");
+    
+    private final JPanel cards;
+    private final CardLayout cardLayout;
+    private final int capacity;
+    // Access order: the view shown last comes last
+    private final LinkedHashMap<Integer, QuestionView> views = new LinkedHashMap<>(16, 0.75f, true);
+    private QuizSession session;
+    
+    /**
+     * @param cards Container with a {@link CardLayout} to hold the views
+     * @param capacity Maximum number of views kept; at least 3, for the current question and its neighbours
+     */
+    QuestionViewCache(JPanel cards, int capacity) {
+        this.cards = cards;
+        this.cardLayout = (CardLayout) cards.getLayout();
+        this.capacity = Math.max(3, capacity);
+    }
+    
+    /**
+     * Drops all views and starts caching the questions of another session
+     * @param session The session whose questions are shown, or null for none
+     */
+    void reset(QuizSession session) {
+        for (QuestionView view : views.values()) {
+            cards.remove(view);
+        }
+        views.clear();
+        this.session = session;
+    }
+    
+    /**
+     * Shows the view of a question, building it if it was not prepared, and schedules its neighbours
+     * @param index Zero-based question index
+     * @return The view now on screen
+     */
+    QuestionView show(int index) {
+        QuestionView view = views.get(index);
+        if (view != null) {
+            HITS.increment();
+        } else {
+            MISSES.increment();
+            view = add(index);
+        }
+        // The answer may have changed while another view was shown, and the question's time may have run out
+        view.setSelectedOption(session.getAnswer(index));
+        view.setLocked(session.isQuestionExpired(index));
+        cardLayout.show(cards, key(index));
+        
+        QuizSession shownSession = session;
+        SwingUtilities.invokeLater(() -> {
+            if (session == shownSession && !shownSession.isFinished()) {
+                prepare(index + 1);
+                prepare(index - 1);
+            }
+        });
+        return view;
+    }
+    
+    /**
+     * Builds and lays out the view of a question if it is not cached yet
+     */
+    private void prepare(int index) {
+        if (index < 0 || index >= session.getQuestionCount() || views.containsKey(index)) {
+            return;
+        }
+        QuestionView view = add(index);
+        view.setSelectedOption(session.getAnswer(index));
+        view.setLocked(session.isQuestionExpired(index));
+        // Lays out the new card now, so showing it later does not have to
+        cards.validate();
+    }
+    
+    private QuestionView add(int index) {
+        QuestionView view = new QuestionView(index, session.getQuestions().get(index));
+        // Selections reach the session when they are made, so running out of time never loses the one on screen
+        QuizSession viewSession = session;
+        view.setOptionSelectedListener(option -> {
+            if (!viewSession.isFinished() && !viewSession.isQuestionExpired(index)) {
+                viewSession.answer(index, option);
+            }
+        });
+        cards.add(view, key(index));
+        views.put(index, view);
+        
+        Iterator<Map.Entry<Integer, QuestionView>> eldest = views.entrySet().iterator();
+        while (views.size() > capacity) {
+            cards.remove(eldest.next().getValue());
+            eldest.remove();
+        }
+        return view;
+    }
+    
+    private static String key(int index) {
+        return "Q" + index;
+    }
+}
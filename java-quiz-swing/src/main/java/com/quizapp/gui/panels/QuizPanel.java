@@ -1,47 +1,65 @@
 package com.quizapp.gui.panels;
 
-import com.quizapp.dao.QuestionDAO;
+import com.quizapp.dao.AttemptRecorder;
+import com.quizapp.dao.QuestionLoader;
+import com.quizapp.journal.InFlightSession;
+import com.quizapp.journal.JournaledSession;
+import com.quizapp.journal.SessionJournal;
+import com.quizapp.metrics.LatencyHistogram;
+import com.quizapp.metrics.MetricsRegistry;
+import com.quizapp.metrics.QuizSubmitEvent;
 import com.quizapp.model.Question;
 import com.quizapp.model.QuizCategory;
+import com.quizapp.session.QuizResult;
+import com.quizapp.session.QuizSession;
+import com.quizapp.session.SessionTimer;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
- * Panel for taking quizzes - displays questions and handles user responses
+ * Panel for taking quizzes - displays the questions of a {@link QuizSession} and forwards user responses to it
  */
 public class QuizPanel extends JPanel {
     
+    private static final LatencyHistogram SUBMIT_LATENCY = MetricsRegistry.getDefault().latency("quiz.submit");
+    private static final String LOADING_CARD = "LOADING";
+    private static final int CACHED_QUESTION_VIEWS = Integer.getInteger("quiz.render.cachedQuestions", 8);
+    private static final Color TIMER_COLOR = new Color(255, 193, 7);
+    private static final Color TIMER_WARNING_COLOR = new Color(220, 53, 69);
+    
     private QuizCompletedListener quizCompletedListener;
     private Runnable backToHomeListener;
+    private Consumer<QuizCategory> loadFailedListener;
+    
+    // Background load of the next quiz; the generation discards results of superseded loads
+    private CompletableFuture<?> pendingLoad;
+    private int loadGeneration;
     
-    private List<Question> questions;
-    private Map<Integer, String> userAnswers;
-    private int currentQuestionIndex;
-    private QuizCategory currentCategory;
+    private QuizSession session;
+    private SessionTimer sessionTimer;
+    // Journal entry of the session, or null if the session journal could not be opened
+    private JournaledSession journaledSession;
+    private String player;
     
     // UI Components
     private JLabel categoryLabel;
     private JLabel questionNumberLabel;
-    private JLabel questionLabel;
+    private JPanel questionCards;
+    private JLabel loadingLabel;
+    private QuestionViewCache viewCache;
+    private QuestionView currentView;
     private JProgressBar progressBar;
-    private ButtonGroup optionGroup;
-    private JRadioButton[] optionButtons;
     private JButton previousButton;
     private JButton nextButton;
     private JButton submitButton;
-    private Timer questionTimer;
     private JLabel timerLabel;
-    private int timeRemaining;
     
     public QuizPanel() {
         initializeComponents();
-        setupTimer();
     }
     
     private void initializeComponents() {
@@ -82,7 +100,7 @@ public class QuizPanel extends JPanel {
         // Timer
         timerLabel = new JLabel("Time: 00:00");
         timerLabel.setFont(new Font("Arial", Font.BOLD, 14));
-        timerLabel.setForeground(new Color(255, 193, 7));
+        timerLabel.setForeground(TIMER_COLOR);
         
         // Progress bar
         progressBar = new JProgressBar();
@@ -108,34 +126,17 @@ public class QuizPanel extends JPanel {
         contentPanel.setBackground(Color.WHITE);
         contentPanel.setBorder(BorderFactory.createEmptyBorder(30, 40, 30, 40));
         
-        // Question
-        questionLabel = new JLabel();
-        questionLabel.setFont(new Font("Arial", Font.PLAIN, 16));
-        questionLabel.setVerticalAlignment(SwingConstants.TOP);
-        questionLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, 20, 0));
-        
-        // Options
-        JPanel optionsPanel = new JPanel();
-        optionsPanel.setLayout(new BoxLayout(optionsPanel, BoxLayout.Y_AXIS));
-        optionsPanel.setBackground(Color.WHITE);
-        
-        optionGroup = new ButtonGroup();
-        optionButtons = new JRadioButton[4];
-        
-        for (int i = 0; i < 4; i++) {
-            optionButtons[i] = new JRadioButton();
-            optionButtons[i].setFont(new Font("Arial", Font.PLAIN, 14));
-            optionButtons[i].setBackground(Color.WHITE);
-            optionButtons[i].setBorder(BorderFactory.createEmptyBorder(8, 8, 8, 8));
-            optionButtons[i].setFocusPainted(false);
-            
-            optionGroup.add(optionButtons[i]);
-            optionsPanel.add(optionButtons[i]);
-            optionsPanel.add(Box.createVerticalStrut(5));
-        }
+        // One card per prepared question view, plus the loading message
+        questionCards = new JPanel(new CardLayout());
+        questionCards.setBackground(Color.WHITE);
         
-        contentPanel.add(questionLabel, BorderLayout.NORTH);
-        contentPanel.add(optionsPanel, BorderLayout.CENTER);
+        loadingLabel = new JLabel();
+        loadingLabel.setFont(new Font("Arial", Font.PLAIN, 16));
+        loadingLabel.setVerticalAlignment(SwingConstants.TOP);
+        questionCards.add(loadingLabel, LOADING_CARD);
+        
+        viewCache = new QuestionViewCache(questionCards, CACHED_QUESTION_VIEWS);
+        contentPanel.add(questionCards, BorderLayout.CENTER);
         
         return contentPanel;
     }
@@ -199,96 +200,200 @@ public class QuizPanel extends JPanel {
         return navPanel;
     }
     
-    private void setupTimer() {
-        questionTimer = new Timer(1000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                timeRemaining--;
-                updateTimerDisplay();
-                
-                if (timeRemaining <= 0) {
-                    questionTimer.stop();
-                    JOptionPane.showMessageDialog(
-                        QuizPanel.this,
-                        "Time's up! Quiz will be submitted automatically.",
-                        "Time Up",
-                        JOptionPane.WARNING_MESSAGE
-                    );
-                    submitQuiz();
+    /**
+     * Called on the event dispatch thread by the session timer when a countdown changes or time runs out
+     */
+    private void onTimeChanged(QuizSession timedSession) {
+        if (timedSession != session) {
+            return; // A quiz that is no longer shown
+        }
+        updateTimerDisplay();
+        if (journaledSession != null) {
+            journaledSession.checkpoint();
+        }
+        if (session.isFinished()) {
+            JOptionPane.showMessageDialog(
+                this,
+                "Time's up! Quiz will be submitted automatically.",
+                "Time Up",
+                JOptionPane.WARNING_MESSAGE
+            );
+            submitQuiz();
+        } else if (currentView == null || currentView.getIndex() != session.getCurrentIndex()) {
+            // The question's time ran out and the session moved on
+            updateDisplay(0);
+        }
+    }
+    
+    private void stopTimer() {
+        if (sessionTimer != null) {
+            sessionTimer.cancel();
+            sessionTimer = null;
+        }
+    }
+    
+    /**
+     * Starts loading the questions of a category in the background and shows a loading state
+     * until they arrive. The load failed listener is notified if no questions can be loaded.
+     * @param category The category to start a quiz for
+     */
+    public void loadQuestions(QuizCategory category) {
+        cancelLoading();
+        showLoadingState(category);
+        
+        int generation = loadGeneration;
+        CompletableFuture<List<Question>> load = QuestionLoader.loadQuestions(category);
+        pendingLoad = load;
+        load.whenComplete((loadedQuestions, error) -> SwingUtilities.invokeLater(() -> {
+            if (generation != loadGeneration) {
+                return; // Cancelled or superseded by a newer load
+            }
+            pendingLoad = null;
+            if (error != null || !showQuestions(category, loadedQuestions)) {
+                if (loadFailedListener != null) {
+                    loadFailedListener.accept(category);
                 }
             }
-        });
+        }));
     }
     
-    public boolean loadQuestions(QuizCategory category) {
-        QuestionDAO questionDAO = new QuestionDAO();
-        questions = questionDAO.getQuestionsByCategory(category);
-        
-        if (questions == null || questions.isEmpty()) {
+    /**
+     * Abandons a load started by {@link #loadQuestions} that has not completed yet
+     */
+    public void cancelLoading() {
+        loadGeneration++;
+        if (pendingLoad != null) {
+            pendingLoad.cancel(false);
+            pendingLoad = null;
+        }
+    }
+    
+    public boolean isLoading() {
+        return pendingLoad != null;
+    }
+    
+    private void showLoadingState(QuizCategory category) {
+        stopTimer();
+        session = null;
+        journaledSession = null;
+        
+        categoryLabel.setText(category.getDisplayName());
+        questionNumberLabel.setText("");
+        progressBar.setValue(0);
+        progressBar.setString("0%");
+        timerLabel.setText("Time: --:--");
+        timerLabel.setForeground(TIMER_COLOR);
+        
+        viewCache.reset(null);
+        currentView = null;
+        loadingLabel.setText("Loading questions...");
+        ((CardLayout) questionCards.getLayout()).show(questionCards, LOADING_CARD);
+        previousButton.setEnabled(false);
+        nextButton.setVisible(true);
+        nextButton.setEnabled(false);
+        submitButton.setVisible(false);
+    }
+    
+    /**
+     * Starts a quiz over questions that have already been loaded
+     * @param category The category of the questions
+     * @param loadedQuestions The questions in presentation order
+     * @return false if there are no questions to show
+     */
+    public boolean showQuestions(QuizCategory category, List<Question> loadedQuestions) {
+        if (loadedQuestions == null || loadedQuestions.isEmpty()) {
             return false;
         }
         
-        currentCategory = category;
-        currentQuestionIndex = 0;
-        userAnswers = new HashMap<>();
-        
-        // Set timer (30 seconds per question)
-        timeRemaining = questions.size() * 30;
-        
-        updateDisplay();
-        questionTimer.start();
-        
+        // Allows QuizSession.SECONDS_PER_QUESTION per question, and QUESTION_TIME_LIMIT_SECONDS for each
+        QuizSession started = new QuizSession(category, loadedQuestions);
+        started.setPlayer(player);
+        started.start();
+        SessionJournal journal = SessionJournal.getDefault();
+        showSession(started, journal != null ? journal.track(started) : null);
         return true;
     }
     
-    private void updateDisplay() {
-        if (questions == null || questions.isEmpty()) {
+    /**
+     * Continues a quiz found unfinished in the session journal, reading its questions in the background.
+     * The load failed listener is notified if it cannot be restored; if that is because a question is no
+     * longer in the bank, the quiz is also discarded, as it never can be.
+     * @param inFlight The unfinished session
+     */
+    public void resumeSession(InFlightSession inFlight) {
+        cancelLoading();
+        showLoadingState(inFlight.getCategory());
+        
+        int generation = loadGeneration;
+        CompletableFuture<QuizSession> load = QuestionLoader.restoreSession(inFlight);
+        pendingLoad = load;
+        load.whenComplete((restored, error) -> SwingUtilities.invokeLater(() -> {
+            if (generation != loadGeneration) {
+                return; // Cancelled or superseded by a newer load
+            }
+            pendingLoad = null;
+            SessionJournal journal = SessionJournal.getDefault();
+            if (error != null || restored == null) {
+                if (error == null && journal != null) {
+                    journal.discard(inFlight);
+                }
+                if (loadFailedListener != null) {
+                    loadFailedListener.accept(inFlight.getCategory());
+                }
+                return;
+            }
+            showSession(restored, journal != null ? journal.resume(inFlight, restored) : null);
+        }));
+    }
+    
+    /**
+     * Shows a session in progress and starts its countdown
+     */
+    private void showSession(QuizSession started, JournaledSession journaled) {
+        stopTimer();
+        session = started;
+        journaledSession = journaled;
+        // Stored by a background writer so submitting never waits on the database
+        session.setCompletionListener(AttemptRecorder.getDefault()::record);
+        viewCache.reset(session);
+        
+        nextButton.setEnabled(true);
+        updateTimerDisplay();
+        updateDisplay(0);
+        // Counts down on the shared timer thread and updates the label on the event dispatch thread
+        sessionTimer = new SessionTimer(session, SwingUtilities::invokeLater, this::onTimeChanged);
+        sessionTimer.start();
+    }
+    
+    /**
+     * @param navigationStartNanos {@link System#nanoTime()} when the click that led here was handled,
+     *                             to measure the time until the question is painted; 0 to not measure
+     */
+    private void updateDisplay(long navigationStartNanos) {
+        if (session == null) {
             return;
         }
+        int currentQuestionIndex = session.getCurrentIndex();
+        int questionCount = session.getQuestionCount();
         
         // Update header info
-        categoryLabel.setText(currentCategory.getDisplayName());
-        questionNumberLabel.setText("Question " + (currentQuestionIndex + 1) + " of " + questions.size());
+        categoryLabel.setText(session.getCategory().getDisplayName());
+        questionNumberLabel.setText("Question " + (currentQuestionIndex + 1) + " of " + questionCount);
         
         // Update progress
-        int progress = (int) ((double) (currentQuestionIndex + 1) / questions.size() * 100);
+        int progress = (int) ((double) (currentQuestionIndex + 1) / questionCount * 100);
         progressBar.setValue(progress);
         progressBar.setString(progress + "%");
         
-        // Update question and options
-        Question currentQuestion = questions.get(currentQuestionIndex);
-        questionLabel.setText("<html><body style='width: 600px'>" + 
-                             (currentQuestionIndex + 1) + ". " + 
-                             currentQuestion.getQuestionText() + "</body></html>");
-        
-        String[] options = currentQuestion.getOptions();
-        for (int i = 0; i < optionButtons.length && i < options.length; i++) {
-            optionButtons[i].setText(options[i]);
-            optionButtons[i].setVisible(true);
-        }
-        
-        // Hide unused option buttons
-        for (int i = options.length; i < optionButtons.length; i++) {
-            optionButtons[i].setVisible(false);
-        }
-        
-        // Restore previous answer if exists
-        String previousAnswer = userAnswers.get(currentQuestionIndex);
-        if (previousAnswer != null) {
-            for (JRadioButton button : optionButtons) {
-                if (button.getText().equals(previousAnswer)) {
-                    button.setSelected(true);
-                    break;
-                }
-            }
-        } else {
-            optionGroup.clearSelection();
-        }
+        // Swap in the question's view, usually prepared while the previous one was on screen;
+        // it shows the previous answer if one exists
+        currentView = viewCache.show(currentQuestionIndex);
+        currentView.setNavigationStart(navigationStartNanos);
         
         // Update button states
-        previousButton.setEnabled(currentQuestionIndex > 0);
+        previousButton.setEnabled(!session.isFirstQuestion());
         
-        if (currentQuestionIndex == questions.size() - 1) {
+        if (session.isLastQuestion()) {
             nextButton.setVisible(false);
             submitButton.setVisible(true);
         } else {
@@ -298,64 +403,94 @@ public class QuizPanel extends JPanel {
     }
     
     private void updateTimerDisplay() {
+        int timeRemaining = session.getRemainingSeconds();
         int minutes = timeRemaining / 60;
         int seconds = timeRemaining % 60;
-        timerLabel.setText(String.format("Time: %02d:%02d", minutes, seconds));
-        
-        if (timeRemaining <= 60) {
-            timerLabel.setForeground(new Color(220, 53, 69)); // Red warning
+        String text = String.format("Time: %02d:%02d", minutes, seconds);
+        if (session.getQuestionTimeLimitSeconds() > 0) {
+            int questionRemaining = session.getQuestionRemainingSeconds();
+            text += String.format("  Question: %02d:%02d", questionRemaining / 60, questionRemaining % 60);
         }
+        timerLabel.setText(text);
+        // Red warning in the last minute
+        timerLabel.setForeground(timeRemaining <= 60 ? TIMER_WARNING_COLOR : TIMER_COLOR);
     }
     
-    private void saveCurrentAnswer() {
-        for (JRadioButton button : optionButtons) {
-            if (button.isSelected()) {
-                userAnswers.put(currentQuestionIndex, button.getText());
-                break;
-            }
+    /**
+     * Re-arms the question countdown after navigation, which only depends on the question shown
+     */
+    private void questionChanged() {
+        if (session.getQuestionTimeLimitSeconds() > 0 && sessionTimer != null) {
+            sessionTimer.refresh();
+        }
+    }
+    
+    /**
+     * Jumps to a question, keeping the answer given on the current one
+     * @param index Zero-based question index
+     */
+    public void showQuestion(int index) {
+        if (session == null || session.isFinished()) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (session.goTo(index)) {
+            updateDisplay(start);
+            questionChanged();
         }
     }
     
     private void previousQuestion() {
-        saveCurrentAnswer();
-        if (currentQuestionIndex > 0) {
-            currentQuestionIndex--;
-            updateDisplay();
+        long start = System.nanoTime();
+        if (session.previous()) {
+            updateDisplay(start);
+            questionChanged();
         }
     }
     
     private void nextQuestion() {
-        saveCurrentAnswer();
-        if (currentQuestionIndex < questions.size() - 1) {
-            currentQuestionIndex++;
-            updateDisplay();
+        long start = System.nanoTime();
+        if (session.next()) {
+            updateDisplay(start);
+            questionChanged();
         }
     }
     
     private void submitQuiz() {
-        saveCurrentAnswer();
-        questionTimer.stop();
+        QuizSubmitEvent event = new QuizSubmitEvent();
+        event.begin();
+        long start = System.nanoTime();
         
-        int score = calculateScore();
+        // Answers reached the session when they were selected
+        stopTimer();
+        
+        QuizResult result = session.submit();
         
         if (quizCompletedListener != null) {
-            quizCompletedListener.onQuizCompleted(score, questions.size(), currentCategory);
+            quizCompletedListener.onQuizCompleted(result.getScore(), result.getTotalQuestions(), result.getCategory());
         }
+        
+        // Includes switching to the result panel
+        SUBMIT_LATENCY.recordSince(start);
+        event.category = result.getCategory().name();
+        event.score = result.getScore();
+        event.questions = result.getTotalQuestions();
+        event.commit();
     }
     
-    private int calculateScore() {
-        int score = 0;
-        for (int i = 0; i < questions.size(); i++) {
-            String userAnswer = userAnswers.get(i);
-            if (userAnswer != null && questions.get(i).isCorrectAnswer(userAnswer)) {
-                score++;
-            }
-        }
-        return score;
+    /**
+     * @return The session being displayed, or null while loading
+     */
+    public QuizSession getSession() {
+        return session;
     }
     
     private boolean confirmBackToHome() {
-        if (questions != null && !questions.isEmpty()) {
+        if (isLoading()) {
+            cancelLoading();
+            return true;
+        }
+        if (session != null && !session.isFinished()) {
             int result = JOptionPane.showConfirmDialog(
                 this,
                 "Are you sure you want to go back? Your progress will be lost.",
@@ -363,7 +498,14 @@ public class QuizPanel extends JPanel {
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.QUESTION_MESSAGE
             );
-            return result == JOptionPane.YES_OPTION;
+            if (result == JOptionPane.YES_OPTION) {
+                stopTimer();
+                if (journaledSession != null) {
+                    journaledSession.abandon();
+                }
+                return true;
+            }
+            return false;
         }
         return true;
     }
@@ -373,6 +515,13 @@ public class QuizPanel extends JPanel {
         void onQuizCompleted(int score, int totalQuestions, QuizCategory category);
     }
     
+    /**
+     * @param player Name that quizzes started from now on are recorded under
+     */
+    public void setPlayer(String player) {
+        this.player = player;
+    }
+    
     public void setQuizCompletedListener(QuizCompletedListener listener) {
         this.quizCompletedListener = listener;
     }
@@ -380,4 +529,8 @@ public class QuizPanel extends JPanel {
     public void setBackToHomeListener(Runnable listener) {
         this.backToHomeListener = listener;
     }
+    
+    public void setLoadFailedListener(Consumer<QuizCategory> listener) {
+        this.loadFailedListener = listener;
+    }
 }
\ No newline at end of file
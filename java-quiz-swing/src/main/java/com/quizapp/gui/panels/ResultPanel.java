@@ -1,5 +1,6 @@
 package com.quizapp.gui.panels;
 
+import com.quizapp.leaderboard.Standing;
 import com.quizapp.model.QuizCategory;
 
 import javax.swing.*;
@@ -21,6 +22,10 @@ public class ResultPanel extends JPanel {
     private JLabel performanceLabel;
     private JProgressBar scoreProgressBar;
     private JLabel emojiLabel;
+    private JLabel playerLabel;
+    private JLabel bestLabel;
+    private JLabel categoryRankLabel;
+    private JLabel overallRankLabel;
     
     public ResultPanel() {
         initializeComponents();
@@ -151,10 +156,26 @@ public class ResultPanel extends JPanel {
         ));
         breakdownPanel.setPreferredSize(new Dimension(400, 100));
         
-        // This will be populated when results are set
+        // Populated from the leaderboards when results are set
+        playerLabel = createBreakdownLabel();
+        bestLabel = createBreakdownLabel();
+        categoryRankLabel = createBreakdownLabel();
+        overallRankLabel = createBreakdownLabel();
+        breakdownPanel.add(playerLabel);
+        breakdownPanel.add(bestLabel);
+        breakdownPanel.add(categoryRankLabel);
+        breakdownPanel.add(overallRankLabel);
+        
         return breakdownPanel;
     }
     
+    private JLabel createBreakdownLabel() {
+        JLabel label = new JLabel("", JLabel.CENTER);
+        label.setFont(new Font("Arial", Font.PLAIN, 14));
+        label.setForeground(new Color(52, 58, 64));
+        return label;
+    }
+    
     private JPanel createFooterPanel() {
         JPanel footerPanel = new JPanel(new FlowLayout());
         footerPanel.setBackground(new Color(248, 249, 250));
@@ -226,6 +247,28 @@ public class ResultPanel extends JPanel {
         updateProgressBarColor(percentage);
     }
     
+    /**
+     * Shows where the player stands after this quiz
+     * @param player The player's name
+     * @param categoryStanding Standing on the category leaderboard, or null if not ranked
+     * @param overallStanding Standing on the overall leaderboard, or null if not ranked
+     */
+    public void setStandings(String player, Standing categoryStanding, Standing overallStanding) {
+        playerLabel.setText("Player: " + player);
+        if (categoryStanding != null) {
+            bestLabel.setText(String.format("Personal best: %.0f%%", categoryStanding.getBest().getPercentage()));
+            categoryRankLabel.setText("Category rank: " + formatRank(categoryStanding));
+        } else {
+            bestLabel.setText("Personal best: -");
+            categoryRankLabel.setText("Category rank: -");
+        }
+        overallRankLabel.setText("Overall rank: " + (overallStanding != null ? formatRank(overallStanding) : "-"));
+    }
+    
+    private static String formatRank(Standing standing) {
+        return "#" + standing.getRank() + " of " + standing.getPlayerCount();
+    }
+    
     private void updatePerformanceDisplay(double percentage) {
         if (percentage >= 90) {
             performanceLabel.setText("Outstanding! 🌟");
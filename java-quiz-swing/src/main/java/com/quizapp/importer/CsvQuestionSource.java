@@ -0,0 +1,135 @@
+package com.quizapp.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming RFC 4180 CSV reader with columns type, question, response1..response4.
+ * Quoted fields may contain commas, doubled quotes and line breaks. A header row is skipped
+ * when its first field is "type".
+ */
+class CsvQuestionSource implements QuestionSource {
+    
+    private final Reader reader;
+    private long line = 1;
+    private boolean firstRecord = true;
+    private int pushedBack = -2;
+    private String rowError;
+    
+    CsvQuestionSource(Reader reader) {
+        this.reader = reader;
+    }
+    
+    @Override
+    public ImportRecord next() throws IOException {
+        while (true) {
+            long startLine = line;
+            List<String> fields = readRow();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue; // Blank line
+            }
+            if (firstRecord) {
+                firstRecord = false;
+                if (fields.get(0).trim().toLowerCase(Locale.ROOT).equals("type")) {
+                    continue; // Header
+                }
+            }
+            if (rowError != null) {
+                return ImportRecord.malformed(startLine, rowError);
+            }
+            if (fields.size() != ImportRecord.COLUMNS.length) {
+                return ImportRecord.malformed(startLine, "Expected " + ImportRecord.COLUMNS.length
+                    + " columns but found " + fields.size());
+            }
+            return ImportRecord.of(startLine, fields.toArray(new String[0]));
+        }
+    }
+    
+    /**
+     * @return The fields of the next row, or null at end of input
+     */
+    private List<String> readRow() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        
+        rowError = null;
+        List<String> fields = new ArrayList<>(ImportRecord.COLUMNS.length);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldStart = true;
+        
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    rowError = "Unterminated quoted field";
+                    fields.add(field.toString());
+                    return fields;
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+                fieldStart = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+                fieldStart = false;
+            }
+            c = read();
+        }
+    }
+    
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+    
+    private void unread(int c) {
+        pushedBack = c;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
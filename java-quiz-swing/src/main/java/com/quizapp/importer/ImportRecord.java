@@ -0,0 +1,48 @@
+package com.quizapp.importer;
+
+/**
+ * One raw record read from an import file, before validation.
+ * A record that could not even be parsed carries its parse error instead of field values.
+ */
+class ImportRecord {
+    
+    static final String[] COLUMNS = {"type", "question", "response1", "response2", "response3", "response4"};
+    
+    private final long line;
+    private final String[] values;
+    private final String parseError;
+    
+    private ImportRecord(long line, String[] values, String parseError) {
+        this.line = line;
+        this.values = values;
+        this.parseError = parseError;
+    }
+    
+    /**
+     * @param line Line number where the record starts
+     * @param values Values in {@link #COLUMNS} order; missing values are null
+     */
+    static ImportRecord of(long line, String[] values) {
+        return new ImportRecord(line, values, null);
+    }
+    
+    static ImportRecord malformed(long line, String parseError) {
+        return new ImportRecord(line, new String[COLUMNS.length], parseError);
+    }
+    
+    long getLine() {
+        return line;
+    }
+    
+    String getValue(int column) {
+        return values[column];
+    }
+    
+    String[] getValues() {
+        return values;
+    }
+    
+    String getParseError() {
+        return parseError;
+    }
+}
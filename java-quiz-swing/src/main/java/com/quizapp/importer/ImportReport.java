@@ -0,0 +1,39 @@
+package com.quizapp.importer;
+
+/**
+ * Outcome of a bulk question import
+ */
+public class ImportReport {
+    
+    private final long importedRows;
+    private final long rejectedRows;
+    private final long elapsedNanos;
+    
+    public ImportReport(long importedRows, long rejectedRows, long elapsedNanos) {
+        this.importedRows = importedRows;
+        this.rejectedRows = rejectedRows;
+        this.elapsedNanos = elapsedNanos;
+    }
+    
+    public long getImportedRows() {
+        return importedRows;
+    }
+    
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : (importedRows + rejectedRows) / (elapsedNanos / 1_000_000_000.0);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Imported %d rows, rejected %d, in %.1f s (%.0f rows/s)",
+            importedRows, rejectedRows, elapsedNanos / 1_000_000_000.0, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,232 @@
+package com.quizapp.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streaming reader for question objects in JSON.
+ * Accepts a top-level array of objects or newline-delimited objects, with the keys
+ * type (or category), question and response1..response4. Only one object is held in memory at a time;
+ * after a syntax error the reader resumes at the next '{'.
+ */
+class JsonQuestionSource implements QuestionSource {
+    
+    private final Reader reader;
+    private long line = 1;
+    private int pushedBack = -2;
+    
+    JsonQuestionSource(Reader reader) {
+        this.reader = reader;
+    }
+    
+    @Override
+    public ImportRecord next() throws IOException {
+        while (true) {
+            int c = skipWhitespace();
+            if (c == -1) {
+                return null;
+            }
+            if (c == '[' || c == ']' || c == ',') {
+                continue; // Array punctuation between objects
+            }
+            
+            long startLine = line;
+            if (c != '{') {
+                skipToNextObject();
+                return ImportRecord.malformed(startLine, "Expected '{' but found '" + (char) c + "'");
+            }
+            try {
+                return parseObject(startLine);
+            } catch (SyntaxException e) {
+                skipToNextObject();
+                return ImportRecord.malformed(startLine, e.getMessage());
+            }
+        }
+    }
+    
+    private ImportRecord parseObject(long startLine) throws IOException, SyntaxException {
+        String[] values = new String[ImportRecord.COLUMNS.length];
+        String error = null;
+        
+        int c = skipWhitespace();
+        if (c == '}') {
+            return ImportRecord.of(startLine, values);
+        }
+        unread(c);
+        
+        while (true) {
+            expect('"');
+            String key = readString();
+            expect(':');
+            
+            c = skipWhitespace();
+            String value;
+            if (c == '"') {
+                value = readString();
+            } else if (c == '{' || c == '[') {
+                skipNested(c);
+                value = null;
+                if (error == null && columnOf(key) >= 0) {
+                    error = "Nested value for '" + key + "' is not supported";
+                }
+            } else {
+                unread(c);
+                value = readLiteral();
+            }
+            
+            int column = columnOf(key);
+            if (column >= 0) {
+                values[column] = value;
+            }
+            
+            c = skipWhitespace();
+            if (c == '}') {
+                break;
+            }
+            if (c != ',') {
+                throw new SyntaxException("Expected ',' or '}' on line " + line);
+            }
+        }
+        return error == null ? ImportRecord.of(startLine, values) : ImportRecord.malformed(startLine, error);
+    }
+    
+    private static int columnOf(String key) {
+        if (key.equals("category")) {
+            return 0;
+        }
+        for (int i = 0; i < ImportRecord.COLUMNS.length; i++) {
+            if (ImportRecord.COLUMNS[i].equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    private String readString() throws IOException, SyntaxException {
+        StringBuilder builder = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == -1 || c == '\n') {
+                throw new SyntaxException("Unterminated string");
+            }
+            if (c == '"') {
+                return builder.toString();
+            }
+            if (c != '\\') {
+                builder.append((char) c);
+                continue;
+            }
+            
+            int escaped = read();
+            switch (escaped) {
+                case '"': builder.append('"'); break;
+                case '\\': builder.append('\\'); break;
+                case '/': builder.append('/'); break;
+                case 'b': builder.append('\b'); break;
+                case 'f': builder.append('\f'); break;
+                case 'n': builder.append('\n'); break;
+                case 'r': builder.append('\r'); break;
+                case 't': builder.append('\t'); break;
+                case 'u':
+                    int code = 0;
+                    for (int i = 0; i < 4; i++) {
+                        int digit = Character.digit(read(), 16);
+                        if (digit < 0) {
+                            throw new SyntaxException("Invalid \\u escape");
+                        }
+                        code = code * 16 + digit;
+                    }
+                    builder.append((char) code);
+                    break;
+                default:
+                    throw new SyntaxException("Invalid escape sequence");
+            }
+        }
+    }
+    
+    /**
+     * Reads a number, true, false or null; null yields a Java null
+     */
+    private String readLiteral() throws IOException, SyntaxException {
+        StringBuilder builder = new StringBuilder();
+        int c;
+        while ((c = read()) != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            builder.append((char) c);
+        }
+        unread(c);
+        
+        String literal = builder.toString();
+        if (literal.isEmpty()) {
+            throw new SyntaxException("Missing value on line " + line);
+        }
+        return literal.equals("null") ? null : literal;
+    }
+    
+    private void skipNested(int open) throws IOException, SyntaxException {
+        int depth = 1;
+        while (depth > 0) {
+            int c = read();
+            if (c == -1) {
+                throw new SyntaxException("Unterminated " + (open == '{' ? "object" : "array"));
+            } else if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+    }
+    
+    private void expect(int expected) throws IOException, SyntaxException {
+        int c = skipWhitespace();
+        if (c != expected) {
+            throw new SyntaxException("Expected '" + (char) expected + "' on line " + line);
+        }
+    }
+    
+    private void skipToNextObject() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '{') {
+            // Discard
+        }
+        unread(c);
+    }
+    
+    private int skipWhitespace() throws IOException {
+        int c;
+        do {
+            c = read();
+        } while (c != -1 && Character.isWhitespace(c));
+        return c;
+    }
+    
+    private int read() throws IOException {
+        int c;
+        if (pushedBack != -2) {
+            c = pushedBack;
+            pushedBack = -2;
+        } else {
+            c = reader.read();
+            if (c == '\n') {
+                line++;
+            }
+        }
+        return c;
+    }
+    
+    private void unread(int c) {
+        pushedBack = c;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+    
+    private static final class SyntaxException extends Exception {
+        SyntaxException(String message) {
+            super(message);
+        }
+    }
+}
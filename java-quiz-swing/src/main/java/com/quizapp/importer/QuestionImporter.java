@@ -0,0 +1,244 @@
+package com.quizapp.importer;
+
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.QuizCategory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Streams questions from CSV or JSON files into the question bank.
+ * <p>
+ * Rows are inserted with JDBC batching and committed in chunks, so a failed chunk never leaves
+ * partial rows behind and memory use does not grow with the file. Rows that fail validation are
+ * written to a side file with the reason and the import carries on.
+ * <pre>
+ * java -cp java-quiz-swing-1.0.0.jar com.quizapp.importer.QuestionImporter questions.csv [rejects.csv] [chunkSize]
+ * </pre>
+ */
+public class QuestionImporter {
+    
+    private static final String INSERT_SQL =
+        "INSERT INTO questions (type, question, response1, response2, response3, response4, rand_key) "
+            + "VALUES (?, ?, ?, ?, ?, ?, random())";
+    private static final long PROGRESS_INTERVAL_ROWS = 100_000;
+    
+    private final int chunkSize;
+    
+    /**
+     * @param chunkSize Number of rows committed per transaction
+     */
+    public QuestionImporter(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+    
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: QuestionImporter <questions.csv|questions.json> [rejects file] [chunk size]");
+            System.exit(2);
+        }
+        Path input = Paths.get(args[0]);
+        Path rejects = args.length > 1 ? Paths.get(args[1]) : Paths.get(args[0] + ".rejects.csv");
+        int chunkSize = args.length > 2 ? Integer.parseInt(args[2]) : 5_000;
+        
+        try {
+            ImportReport report = new QuestionImporter(chunkSize).importFile(input, rejects);
+            System.out.println(report);
+            if (report.getRejectedRows() > 0) {
+                System.out.println("Rejected rows written to " + rejects);
+            }
+        } catch (IOException | SQLException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+    
+    /**
+     * Imports a file, choosing the format from its extension (.json/.ndjson/.jsonl, otherwise CSV)
+     * @param input The file to import
+     * @param rejectsFile Where rejected rows are written; only created if a row is rejected
+     * @return Counts and throughput of the import
+     * @throws IOException if the input cannot be read or the rejects file cannot be written
+     * @throws SQLException if inserting a chunk fails; chunks committed earlier stay imported
+     */
+    public ImportReport importFile(Path input, Path rejectsFile) throws IOException, SQLException {
+        String name = input.getFileName().toString().toLowerCase(Locale.ROOT);
+        boolean json = name.endsWith(".json") || name.endsWith(".ndjson") || name.endsWith(".jsonl");
+        Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(input), StandardCharsets.UTF_8), 1 << 16);
+        
+        try (QuestionSource source = json ? new JsonQuestionSource(reader) : new CsvQuestionSource(reader);
+             RejectWriter rejects = new RejectWriter(rejectsFile)) {
+            return importRecords(source, rejects);
+        }
+    }
+    
+    private ImportReport importRecords(QuestionSource source, RejectWriter rejects) throws IOException, SQLException {
+        long start = System.nanoTime();
+        long imported = 0;
+        long nextProgress = PROGRESS_INTERVAL_ROWS;
+        
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement statement = connection.prepareStatement(INSERT_SQL)) {
+            connection.setAutoCommit(false);
+            int pending = 0;
+            
+            try {
+                ImportRecord record;
+                while ((record = source.next()) != null) {
+                    String problem = validate(record);
+                    if (problem != null) {
+                        rejects.write(record, problem);
+                        continue;
+                    }
+                    
+                    statement.setInt(1, parseCategory(record.getValue(0)).getId());
+                    for (int column = 1; column < ImportRecord.COLUMNS.length; column++) {
+                        statement.setString(column + 1, record.getValue(column).trim());
+                    }
+                    statement.addBatch();
+                    
+                    if (++pending == chunkSize) {
+                        statement.executeBatch();
+                        connection.commit();
+                        imported += pending;
+                        pending = 0;
+                        
+                        if (imported >= nextProgress) {
+                            printProgress(imported, rejects.getCount(), start);
+                            nextProgress += PROGRESS_INTERVAL_ROWS;
+                        }
+                    }
+                }
+                
+                if (pending > 0) {
+                    statement.executeBatch();
+                    connection.commit();
+                    imported += pending;
+                }
+            } catch (SQLException | IOException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                if (imported > 0) {
+                    QuestionDAO.invalidateCache();
+                }
+            }
+        }
+        
+        return new ImportReport(imported, rejects.getCount(), System.nanoTime() - start);
+    }
+    
+    private static void printProgress(long imported, long rejected, long start) {
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        System.out.printf("  %d rows imported, %d rejected (%.0f rows/s)%n", imported, rejected,
+                          (imported + rejected) / seconds);
+    }
+    
+    /**
+     * @return Why the record cannot be imported, or null if it is valid
+     */
+    private static String validate(ImportRecord record) {
+        if (record.getParseError() != null) {
+            return record.getParseError();
+        }
+        for (int column = 0; column < ImportRecord.COLUMNS.length; column++) {
+            String value = record.getValue(column);
+            if (value == null || value.isBlank()) {
+                return "Missing " + ImportRecord.COLUMNS[column];
+            }
+        }
+        if (parseCategory(record.getValue(0)) == null) {
+            return "Unknown category '" + record.getValue(0) + "'";
+        }
+        // Answers are matched by text, so identical options would be ambiguous
+        Set<String> responses = new HashSet<>();
+        for (int column = 2; column < ImportRecord.COLUMNS.length; column++) {
+            if (!responses.add(record.getValue(column).trim())) {
+                return "Duplicate response '" + record.getValue(column).trim() + "'";
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * @param value Category id such as "3" or enum name such as "ARRAYS_LOOPS"
+     * @return The category, or null if the value matches none
+     */
+    private static QuizCategory parseCategory(String value) {
+        String trimmed = value.trim();
+        try {
+            return QuizCategory.fromId(Integer.parseInt(trimmed));
+        } catch (NumberFormatException e) {
+            for (QuizCategory category : QuizCategory.values()) {
+                if (category.name().equalsIgnoreCase(trimmed)) {
+                    return category;
+                }
+            }
+            return null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    /**
+     * CSV side file of rejected rows, created on the first rejection
+     */
+    private static final class RejectWriter implements AutoCloseable {
+        private final Path file;
+        private BufferedWriter writer;
+        private long count;
+        
+        RejectWriter(Path file) {
+            this.file = file;
+        }
+        
+        void write(ImportRecord record, String reason) throws IOException {
+            if (writer == null) {
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                writer.write("line,reason," + String.join(",", ImportRecord.COLUMNS));
+                writer.newLine();
+            }
+            writer.write(record.getLine() + "," + quote(reason));
+            for (String value : record.getValues()) {
+                writer.write(',');
+                writer.write(value == null ? "" : quote(value));
+            }
+            writer.newLine();
+            count++;
+        }
+        
+        long getCount() {
+            return count;
+        }
+        
+        private static String quote(String value) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        
+        @Override
+        public void close() throws IOException {
+            if (writer != null) {
+                writer.close();
+            }
+        }
+    }
+}
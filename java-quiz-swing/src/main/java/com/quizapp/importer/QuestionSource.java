@@ -0,0 +1,17 @@
+package com.quizapp.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Streams question records out of an import file one at a time
+ */
+interface QuestionSource extends Closeable {
+    
+    /**
+     * Reads the next record
+     * @return The next record, or null at end of input
+     * @throws IOException if the underlying file cannot be read
+     */
+    ImportRecord next() throws IOException;
+}
@@ -0,0 +1,245 @@
+package com.quizapp.journal;
+
+import com.quizapp.model.Question;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+import com.quizapp.session.AnswerSheet;
+import com.quizapp.session.QuizSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * State of a quiz session as far as the journal has recorded it: enough to lay out its questions
+ * again, from the question ids and the seed, and to continue with its answers, position and clock.
+ * <p>
+ * The clock is the time the session had been running at its last journaled event; time while the
+ * application was not running does not count against the player.
+ */
+public final class InFlightSession {
+    
+    private final long id;
+    private final QuizCategory category;
+    private final String player;
+    private final long seed;
+    private final long[] questionIds;
+    private final int timeLimitSeconds;
+    private final int questionTimeLimitSeconds;
+    private final long startedAtMillis;
+    private final long[] timeSpentMillis;
+    private final byte[] selected;
+    private long elapsedMillis;
+    private int currentIndex;
+    // Session time at which the current question was shown; its time spent up to then is in timeSpentMillis
+    private long shownAtMillis;
+    
+    InFlightSession(long id, QuizCategory category, String player, long seed, long[] questionIds, int timeLimitSeconds,
+                    int questionTimeLimitSeconds, long startedAtMillis, long elapsedMillis, int currentIndex,
+                    long[] timeSpentMillis, byte[] selected) {
+        if (questionIds.length == 0 || timeSpentMillis.length != questionIds.length || selected.length != questionIds.length) {
+            throw new IllegalArgumentException("Per-question arrays must have the same, non-zero length");
+        }
+        if (currentIndex < 0 || currentIndex >= questionIds.length) {
+            throw new IllegalArgumentException("Question " + currentIndex + " of " + questionIds.length);
+        }
+        this.id = id;
+        this.category = category;
+        this.player = player;
+        this.seed = seed;
+        this.questionIds = questionIds;
+        this.timeLimitSeconds = timeLimitSeconds;
+        this.questionTimeLimitSeconds = questionTimeLimitSeconds;
+        this.startedAtMillis = startedAtMillis;
+        this.elapsedMillis = elapsedMillis;
+        this.currentIndex = currentIndex;
+        this.timeSpentMillis = timeSpentMillis;
+        this.selected = selected;
+        this.shownAtMillis = elapsedMillis;
+    }
+    
+    /**
+     * Captures a started session
+     * @param id Journal id of the session
+     * @param session The session
+     * @return Its state; later changes to the session are not reflected
+     */
+    static InFlightSession capture(long id, QuizSession session) {
+        int count = session.getQuestionCount();
+        long[] questionIds = new long[count];
+        long[] timeSpentMillis = new long[count];
+        byte[] selected = new byte[count];
+        for (int i = 0; i < count; i++) {
+            questionIds[i] = session.getQuestions().get(i).getId();
+            timeSpentMillis[i] = session.getTimeSpentMillis(i);
+            selected[i] = (byte) session.getAnswer(i);
+        }
+        return new InFlightSession(id, session.getCategory(), session.getPlayer(), session.getSeed(), questionIds,
+                                   session.getTimeLimitSeconds(), session.getQuestionTimeLimitSeconds(),
+                                   session.getStartedAtMillis(), session.getElapsedMillis(), session.getCurrentIndex(),
+                                   timeSpentMillis, selected);
+    }
+    
+    /**
+     * @return A copy that later events do not change
+     */
+    InFlightSession copy() {
+        InFlightSession copy = new InFlightSession(id, category, player, seed, questionIds.clone(), timeLimitSeconds,
+                                                   questionTimeLimitSeconds, startedAtMillis, elapsedMillis,
+                                                   currentIndex, timeSpentMillis.clone(), selected.clone());
+        copy.shownAtMillis = shownAtMillis;
+        return copy;
+    }
+    
+    /**
+     * Applies an event of this session other than its start or end
+     */
+    void apply(JournalEvent event) {
+        switch (event.getType()) {
+            case JournalEvent.ANSWERED:
+                if (event.getQuestionIndex() >= 0 && event.getQuestionIndex() < selected.length) {
+                    selected[event.getQuestionIndex()] = (byte) event.getValue();
+                }
+                break;
+            case JournalEvent.NAVIGATED:
+                int from = event.getQuestionIndex();
+                int to = event.getValue();
+                if (from >= 0 && from < questionIds.length && to >= 0 && to < questionIds.length) {
+                    timeSpentMillis[from] = event.getTimeSpentMillis();
+                    currentIndex = to;
+                    shownAtMillis = event.getElapsedMillis();
+                }
+                break;
+            default:
+                break;
+        }
+        elapsedMillis = Math.max(elapsedMillis, event.getElapsedMillis());
+    }
+    
+    /**
+     * Lays out the session's questions again and continues it where it stood
+     * @param rows Stored rows of the session's questions, in any order
+     * @return The session, in progress, or null if a question is no longer in the bank
+     */
+    public QuizSession restore(List<QuestionRow> rows) {
+        Map<Long, QuestionRow> rowsById = new HashMap<>();
+        for (QuestionRow row : rows) {
+            rowsById.put(row.getId(), row);
+        }
+        List<Question> questions = new ArrayList<>(questionIds.length);
+        for (long questionId : questionIds) {
+            QuestionRow row = rowsById.get(questionId);
+            if (row == null) {
+                return null;
+            }
+            questions.add(new Question(row, seed));
+        }
+        
+        long[] spent = timeSpentMillis.clone();
+        spent[currentIndex] += elapsedMillis - shownAtMillis;
+        QuizSession session = new QuizSession(category, questions, timeLimitSeconds, questionTimeLimitSeconds);
+        session.setPlayer(player);
+        session.resume(startedAtMillis, elapsedMillis, currentIndex, spent, selected.clone());
+        return session;
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    public QuizCategory getCategory() {
+        return category;
+    }
+    
+    public String getPlayer() {
+        return player;
+    }
+    
+    public long getSeed() {
+        return seed;
+    }
+    
+    public int getQuestionCount() {
+        return questionIds.length;
+    }
+    
+    /**
+     * @return Ids of the session's questions in presentation order
+     */
+    public List<Long> getQuestionIds() {
+        List<Long> ids = new ArrayList<>(questionIds.length);
+        for (long questionId : questionIds) {
+            ids.add(questionId);
+        }
+        return ids;
+    }
+    
+    long getQuestionId(int index) {
+        return questionIds[index];
+    }
+    
+    public int getTimeLimitSeconds() {
+        return timeLimitSeconds;
+    }
+    
+    public int getQuestionTimeLimitSeconds() {
+        return questionTimeLimitSeconds;
+    }
+    
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+    
+    /**
+     * @return Time the session had been running at its last journaled event
+     */
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    /**
+     * @return Whole seconds left before the time limit, never negative; {@link Integer#MAX_VALUE} if there is no limit
+     */
+    public int getRemainingSeconds() {
+        if (timeLimitSeconds <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.max(0, timeLimitSeconds - TimeUnit.MILLISECONDS.toSeconds(elapsedMillis));
+    }
+    
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+    
+    /**
+     * @return Time spent on each question up to the last journaled event
+     */
+    long getTimeSpentMillis(int index) {
+        return index == currentIndex ? timeSpentMillis[index] + elapsedMillis - shownAtMillis : timeSpentMillis[index];
+    }
+    
+    /**
+     * @return Position of the selected option of a question, or {@link AnswerSheet#UNANSWERED}
+     */
+    public int getSelected(int index) {
+        return selected[index];
+    }
+    
+    public int getAnsweredCount() {
+        int count = 0;
+        for (byte option : selected) {
+            if (option != AnswerSheet.UNANSWERED) {
+                count++;
+            }
+        }
+        return count;
+    }
+    
+    @Override
+    public String toString() {
+        return category.getDisplayName() + " quiz of " + player + ", question " + (currentIndex + 1) + " of "
+            + questionIds.length + ", " + getAnsweredCount() + " answered, " + elapsedMillis / 1000 + " s in";
+    }
+}
@@ -0,0 +1,99 @@
+package com.quizapp.journal;
+
+/**
+ * One record of the session journal. Every event names its session and the time the session had been
+ * running when it happened; the other fields depend on the type.
+ */
+final class JournalEvent {
+    
+    /** Full state of a session: written when it starts or is resumed, and for live sessions on compaction */
+    static final byte SESSION = 1;
+    /** An answer was selected or cleared: question index, option position or -1 */
+    static final byte ANSWERED = 2;
+    /** Another question was shown: index left, index shown, total time spent on the one left */
+    static final byte NAVIGATED = 3;
+    /** The session's clock, so a resumed session does not get back time spent on one question */
+    static final byte ELAPSED = 4;
+    /** The session was submitted, timed out or abandoned, and cannot be resumed */
+    static final byte ENDED = 5;
+    
+    static final int SUBMITTED = 0;
+    static final int TIMED_OUT = 1;
+    static final int ABANDONED = 2;
+    
+    private final byte type;
+    private final long sessionId;
+    private final long elapsedMillis;
+    private final int questionIndex;
+    private final int value;
+    private final long timeSpentMillis;
+    private final InFlightSession session;
+    
+    private JournalEvent(byte type, long sessionId, long elapsedMillis, int questionIndex, int value,
+                         long timeSpentMillis, InFlightSession session) {
+        this.type = type;
+        this.sessionId = sessionId;
+        this.elapsedMillis = elapsedMillis;
+        this.questionIndex = questionIndex;
+        this.value = value;
+        this.timeSpentMillis = timeSpentMillis;
+        this.session = session;
+    }
+    
+    static JournalEvent session(InFlightSession session) {
+        return new JournalEvent(SESSION, session.getId(), session.getElapsedMillis(), 0, 0, 0, session);
+    }
+    
+    static JournalEvent answered(long sessionId, long elapsedMillis, int questionIndex, int optionIndex) {
+        return new JournalEvent(ANSWERED, sessionId, elapsedMillis, questionIndex, optionIndex, 0, null);
+    }
+    
+    static JournalEvent navigated(long sessionId, long elapsedMillis, int fromIndex, int toIndex, long fromTimeSpentMillis) {
+        return new JournalEvent(NAVIGATED, sessionId, elapsedMillis, fromIndex, toIndex, fromTimeSpentMillis, null);
+    }
+    
+    static JournalEvent elapsed(long sessionId, long elapsedMillis) {
+        return new JournalEvent(ELAPSED, sessionId, elapsedMillis, 0, 0, 0, null);
+    }
+    
+    static JournalEvent ended(long sessionId, long elapsedMillis, int reason) {
+        return new JournalEvent(ENDED, sessionId, elapsedMillis, 0, reason, 0, null);
+    }
+    
+    byte getType() {
+        return type;
+    }
+    
+    long getSessionId() {
+        return sessionId;
+    }
+    
+    long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    /**
+     * @return The question answered, or the question left for {@link #NAVIGATED}
+     */
+    int getQuestionIndex() {
+        return questionIndex;
+    }
+    
+    /**
+     * @return The option selected, the question shown for {@link #NAVIGATED}, or the reason for {@link #ENDED}
+     */
+    int getValue() {
+        return value;
+    }
+    
+    long getTimeSpentMillis() {
+        return timeSpentMillis;
+    }
+    
+    /**
+     * @return The state carried by a {@link #SESSION} event
+     */
+    InFlightSession getSession() {
+        return session;
+    }
+}
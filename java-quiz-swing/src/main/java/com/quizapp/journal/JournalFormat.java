@@ -0,0 +1,238 @@
+package com.quizapp.journal;
+
+import com.quizapp.model.QuizCategory;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Layout of a session journal segment. All numbers are big-endian.
+ * <pre>
+ * header    magic, format version                                                         (8 bytes)
+ * records   per event: payload length, CRC-32C of the payload, payload
+ * payload   type, session id, elapsed ms                                                  (17 bytes), then by type:
+ *   SESSION    category id, seed, started at, time limit s, question limit s, current index,
+ *              player (UTF-8 length as a short, UTF-8 bytes), question count,
+ *              per question: id, time spent ms, selected option                           (17 bytes each)
+ *   ANSWERED   question index, option (byte)
+ *   NAVIGATED  index left, index shown, time spent on the one left ms
+ *   ELAPSED    nothing
+ *   ENDED      reason (byte)
+ * </pre>
+ * A crash can leave the last record cut short; reading stops at the first record whose length or
+ * checksum does not hold, and everything after it is ignored.
+ */
+final class JournalFormat {
+    
+    static final int MAGIC = 0x515A4A4C; // "QZJL"
+    static final int VERSION = 1;
+    
+    static final int HEADER_BYTES = 8;
+    static final int RECORD_HEADER_BYTES = 8;
+    static final int MAX_PAYLOAD_BYTES = 1 << 20;
+    
+    static final String SEGMENT_PREFIX = "session-";
+    static final String SEGMENT_SUFFIX = ".journal";
+    
+    private static final int COMMON_BYTES = 17;
+    private static final int SESSION_FIXED_BYTES = 4 + 8 + 8 + 4 + 4 + 4 + 2 + 4;
+    private static final int SESSION_QUESTION_BYTES = 17;
+    
+    private JournalFormat() {
+    }
+    
+    static String segmentName(long number) {
+        return String.format("%s%08d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX);
+    }
+    
+    /**
+     * @return The number of a segment file name, or -1 if the name is not one
+     */
+    static long segmentNumber(String fileName) {
+        if (!fileName.startsWith(SEGMENT_PREFIX) || !fileName.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(fileName.substring(SEGMENT_PREFIX.length(), fileName.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    static void writeHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+    }
+    
+    /**
+     * @return Bytes the event takes in a segment, including its record header
+     */
+    static int recordLength(JournalEvent event) {
+        return RECORD_HEADER_BYTES + payloadLength(event);
+    }
+    
+    private static int payloadLength(JournalEvent event) {
+        switch (event.getType()) {
+            case JournalEvent.SESSION:
+                InFlightSession session = event.getSession();
+                return COMMON_BYTES + SESSION_FIXED_BYTES + session.getPlayer().getBytes(StandardCharsets.UTF_8).length
+                    + session.getQuestionCount() * SESSION_QUESTION_BYTES;
+            case JournalEvent.ANSWERED:
+                return COMMON_BYTES + 4 + 1;
+            case JournalEvent.NAVIGATED:
+                return COMMON_BYTES + 4 + 4 + 8;
+            case JournalEvent.ENDED:
+                return COMMON_BYTES + 1;
+            default:
+                return COMMON_BYTES;
+        }
+    }
+    
+    /**
+     * Appends one framed record
+     * @param buffer Must have {@link #recordLength} bytes remaining
+     */
+    static void write(ByteBuffer buffer, JournalEvent event) {
+        int recordStart = buffer.position();
+        int payloadStart = recordStart + RECORD_HEADER_BYTES;
+        buffer.position(payloadStart);
+        buffer.put(event.getType());
+        buffer.putLong(event.getSessionId());
+        buffer.putLong(event.getElapsedMillis());
+        switch (event.getType()) {
+            case JournalEvent.SESSION:
+                writeSession(buffer, event.getSession());
+                break;
+            case JournalEvent.ANSWERED:
+                buffer.putInt(event.getQuestionIndex());
+                buffer.put((byte) event.getValue());
+                break;
+            case JournalEvent.NAVIGATED:
+                buffer.putInt(event.getQuestionIndex());
+                buffer.putInt(event.getValue());
+                buffer.putLong(event.getTimeSpentMillis());
+                break;
+            case JournalEvent.ENDED:
+                buffer.put((byte) event.getValue());
+                break;
+            default:
+                break;
+        }
+        int payloadEnd = buffer.position();
+        
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.duplicate().position(payloadStart).limit(payloadEnd));
+        buffer.putInt(recordStart, payloadEnd - payloadStart);
+        buffer.putInt(recordStart + 4, (int) crc.getValue());
+    }
+    
+    private static void writeSession(ByteBuffer buffer, InFlightSession session) {
+        byte[] player = session.getPlayer().getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(session.getCategory().getId());
+        buffer.putLong(session.getSeed());
+        buffer.putLong(session.getStartedAtMillis());
+        buffer.putInt(session.getTimeLimitSeconds());
+        buffer.putInt(session.getQuestionTimeLimitSeconds());
+        buffer.putInt(session.getCurrentIndex());
+        buffer.putShort((short) player.length);
+        buffer.put(player);
+        buffer.putInt(session.getQuestionCount());
+        for (int i = 0; i < session.getQuestionCount(); i++) {
+            buffer.putLong(session.getQuestionId(i));
+            // Includes the current question's time up to now, so it is shown again from here
+            buffer.putLong(session.getTimeSpentMillis(i));
+            buffer.put((byte) session.getSelected(i));
+        }
+    }
+    
+    /**
+     * Reads the records of a segment
+     * @param segment The whole segment, from its header
+     * @param consumer Receives the events in order
+     * @return Number of bytes holding whole, intact records and the header; less than the segment's
+     *         length if it ends in a damaged record, 0 if the header is not a journal's
+     */
+    static int read(ByteBuffer segment, Consumer<JournalEvent> consumer) {
+        if (segment.remaining() < HEADER_BYTES || segment.getInt(0) != MAGIC || segment.getInt(4) != VERSION) {
+            return 0;
+        }
+        int position = HEADER_BYTES;
+        CRC32C crc = new CRC32C();
+        while (segment.limit() - position >= RECORD_HEADER_BYTES) {
+            int length = segment.getInt(position);
+            int checksum = segment.getInt(position + 4);
+            int payloadStart = position + RECORD_HEADER_BYTES;
+            if (length < COMMON_BYTES || length > MAX_PAYLOAD_BYTES || length > segment.limit() - payloadStart) {
+                break;
+            }
+            ByteBuffer payload = segment.duplicate().position(payloadStart).limit(payloadStart + length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+            JournalEvent event = readPayload(payload);
+            if (event != null) {
+                consumer.accept(event);
+            }
+            position = payloadStart + length;
+        }
+        return position;
+    }
+    
+    /**
+     * @return The event, or null if it is of an unknown type or category
+     */
+    private static JournalEvent readPayload(ByteBuffer payload) {
+        byte type = payload.get();
+        long sessionId = payload.getLong();
+        long elapsedMillis = payload.getLong();
+        try {
+            switch (type) {
+                case JournalEvent.SESSION:
+                    return JournalEvent.session(readSession(payload, sessionId, elapsedMillis));
+                case JournalEvent.ANSWERED:
+                    return JournalEvent.answered(sessionId, elapsedMillis, payload.getInt(), payload.get());
+                case JournalEvent.NAVIGATED:
+                    return JournalEvent.navigated(sessionId, elapsedMillis, payload.getInt(), payload.getInt(), payload.getLong());
+                case JournalEvent.ELAPSED:
+                    return JournalEvent.elapsed(sessionId, elapsedMillis);
+                case JournalEvent.ENDED:
+                    return JournalEvent.ended(sessionId, elapsedMillis, payload.get());
+                default:
+                    return null;
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | BufferUnderflowException e) {
+            return null;
+        }
+    }
+    
+    private static InFlightSession readSession(ByteBuffer payload, long sessionId, long elapsedMillis) {
+        QuizCategory category = QuizCategory.fromId(payload.getInt());
+        long seed = payload.getLong();
+        long startedAtMillis = payload.getLong();
+        int timeLimitSeconds = payload.getInt();
+        int questionTimeLimitSeconds = payload.getInt();
+        int currentIndex = payload.getInt();
+        byte[] player = new byte[payload.getShort() & 0xffff];
+        payload.get(player);
+        int count = payload.getInt();
+        if (count <= 0 || count > payload.remaining() / SESSION_QUESTION_BYTES) {
+            throw new IllegalArgumentException("Bad question count " + count);
+        }
+        long[] questionIds = new long[count];
+        long[] timeSpentMillis = new long[count];
+        byte[] selected = new byte[count];
+        for (int i = 0; i < count; i++) {
+            questionIds[i] = payload.getLong();
+            timeSpentMillis[i] = payload.getLong();
+            selected[i] = payload.get();
+        }
+        return new InFlightSession(sessionId, category, new String(player, StandardCharsets.UTF_8), seed, questionIds,
+                                   timeLimitSeconds, questionTimeLimitSeconds, startedAtMillis, elapsedMillis,
+                                   currentIndex, timeSpentMillis, selected);
+    }
+}
@@ -0,0 +1,82 @@
+package com.quizapp.journal;
+
+import com.quizapp.session.QuizSession;
+
+/**
+ * Journal entry of one session in progress, set as the session's listener by {@link SessionJournal#track}.
+ * Called on the thread that changes the session; every call only enqueues an event.
+ */
+public class JournaledSession implements QuizSession.Listener {
+    
+    /** Least session time between two clock events from {@link #checkpoint()} */
+    private static final long CHECKPOINT_MILLIS = Long.getLong("quiz.journal.checkpointMillis", 5_000L);
+    
+    private final SessionJournal journal;
+    private final long id;
+    private final QuizSession session;
+    private long checkpointMillis;
+    private boolean ended;
+    
+    JournaledSession(SessionJournal journal, long id, QuizSession session) {
+        this.journal = journal;
+        this.id = id;
+        this.session = session;
+        this.checkpointMillis = session.getElapsedMillis();
+    }
+    
+    @Override
+    public void onAnswered(QuizSession session, int questionIndex, int optionIndex) {
+        append(JournalEvent.answered(id, session.getElapsedMillis(), questionIndex, optionIndex));
+    }
+    
+    @Override
+    public void onNavigated(QuizSession session, int fromIndex, int toIndex) {
+        append(JournalEvent.navigated(id, session.getElapsedMillis(), fromIndex, toIndex, session.getTimeSpentMillis(fromIndex)));
+    }
+    
+    @Override
+    public void onFinished(QuizSession session) {
+        int reason = session.getState() == QuizSession.State.TIMED_OUT ? JournalEvent.TIMED_OUT : JournalEvent.SUBMITTED;
+        end(reason);
+    }
+    
+    /**
+     * Records the session's clock if {@link #CHECKPOINT_MILLIS} have passed since the last event, so a
+     * resumed session continues with at most that much more time than it had. Call it regularly, e.g.
+     * on every countdown tick.
+     */
+    public void checkpoint() {
+        if (!ended && session.getElapsedMillis() - checkpointMillis >= CHECKPOINT_MILLIS) {
+            append(JournalEvent.elapsed(id, session.getElapsedMillis()));
+        }
+    }
+    
+    /**
+     * Ends the session in the journal without submitting it, when the player leaves the quiz
+     */
+    public void abandon() {
+        end(JournalEvent.ABANDONED);
+    }
+    
+    private void end(int reason) {
+        if (!ended) {
+            ended = true;
+            journal.append(JournalEvent.ended(id, session.getElapsedMillis(), reason));
+            session.setListener(null);
+        }
+    }
+    
+    private void append(JournalEvent event) {
+        if (!ended) {
+            checkpointMillis = event.getElapsedMillis();
+            journal.append(event);
+        }
+    }
+    
+    /**
+     * @return Id of the session in the journal
+     */
+    public long getId() {
+        return id;
+    }
+}
@@ -0,0 +1,463 @@
+package com.quizapp.journal;
+
+import com.quizapp.metrics.Counter;
+import com.quizapp.metrics.LatencyHistogram;
+import com.quizapp.metrics.MetricsRegistry;
+import com.quizapp.session.QuizSession;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only journal of quiz sessions in progress, so a session survives a crash or power loss and
+ * can be resumed with its answers, position and remaining time.
+ * <p>
+ * {@link #track} and the session's changes only enqueue events, so the event dispatch thread never
+ * waits on the disk. A single writer thread drains the queue, encodes everything waiting through one
+ * buffer into the current segment file, and forces it to the disk at most once per sync interval:
+ * events that arrive together share one fsync (group commit). Written events survive a crash of the
+ * process at once; power loss can take the events of the last sync interval.
+ * <p>
+ * The writer keeps the state of every live session. When the current segment grows past the segment
+ * size, and when the journal is opened, it starts a new segment with the state of the live sessions only
+ * and deletes the older segments, so ended sessions do not accumulate (compaction). A new segment is
+ * forced before older ones are deleted, so a crash at any point leaves a readable journal.
+ */
+public class SessionJournal {
+    
+    /** Directory used when -Dquiz.journal.dir is not set */
+    public static final String DEFAULT_DIRECTORY = "journal";
+    
+    private static final String LOCK_FILE = "journal.lock";
+    private static final int BUFFER_BYTES = 64 * 1024;
+    private static final long POLL_MILLIS = 250;
+    private static final LatencyHistogram SYNC_LATENCY = MetricsRegistry.getDefault().latency("journal.sync");
+    private static final Counter EVENTS = MetricsRegistry.getDefault().counter("journal.events");
+    private static final Counter DROPPED_EVENTS = MetricsRegistry.getDefault().counter("journal.events.dropped");
+    private static final Counter ERRORS = MetricsRegistry.getDefault().counter("journal.errors");
+    
+    private final Path directory;
+    // Held while the journal is open, so a second instance of the application cannot compact it away
+    private final FileChannel lockChannel;
+    private final long syncIntervalNanos;
+    private final long segmentBytes;
+    private final BlockingQueue<JournalEvent> queue;
+    private final Thread writer;
+    // Unfinished sessions found when the journal was opened that have not been resumed or discarded yet
+    private final List<InFlightSession> recovered;
+    private volatile boolean closed;
+    
+    // Owned by the writer thread
+    private final Map<Long, InFlightSession> live;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private long segmentNumber;
+    private FileChannel channel;
+    private long segmentPosition;
+    private boolean compactionDue;
+    private boolean unsynced;
+    private long lastSyncNanos;
+    
+    /**
+     * Reads the journal in a directory and starts its writer thread
+     * @param directory Directory of the segment files, created if needed
+     * @param syncIntervalMillis Longest time written events wait to be forced to the disk; 0 to force every batch
+     * @param segmentBytes Segment size above which the journal is compacted
+     * @param capacity Maximum number of events waiting to be written
+     * @throws IOException If the existing segments cannot be read, or another process has the journal open
+     */
+    public SessionJournal(Path directory, long syncIntervalMillis, long segmentBytes, int capacity) throws IOException {
+        if (capacity < 1 || segmentBytes < BUFFER_BYTES) {
+            throw new IllegalArgumentException("Capacity must be positive and segments at least " + BUFFER_BYTES + " bytes");
+        }
+        this.directory = directory;
+        this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMillis);
+        this.segmentBytes = segmentBytes;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        Files.createDirectories(directory);
+        this.lockChannel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        boolean locked;
+        try {
+            locked = lockChannel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            locked = false; // Open in this process already
+        }
+        if (!locked) {
+            lockChannel.close();
+            throw new IOException("in use by another process");
+        }
+        this.live = recover();
+        this.compactionDue = segmentNumber > 0;
+        this.recovered = new CopyOnWriteArrayList<>();
+        for (InFlightSession session : live.values()) {
+            recovered.add(session.copy());
+        }
+        
+        writer = new Thread(this::writeLoop, "session-journal");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    /**
+     * @param directory Directory of the segment files
+     * @return The journal, configured with -Dquiz.journal.* system properties, or null if it cannot be read
+     */
+    public static SessionJournal open(Path directory) {
+        try {
+            return new SessionJournal(directory,
+                                      Long.getLong("quiz.journal.syncMillis", 100L),
+                                      Long.getLong("quiz.journal.segmentBytes", 1L << 20),
+                                      Integer.getInteger("quiz.journal.queueCapacity", 10_000));
+        } catch (IOException e) {
+            System.err.println("Cannot open session journal " + directory + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * @return The journal in -Dquiz.journal.dir (default {@value #DEFAULT_DIRECTORY}), opened on first use,
+     *         or null if it cannot be read
+     */
+    public static SessionJournal getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    private static final class DefaultHolder {
+        static final SessionJournal INSTANCE = open(Paths.get(System.getProperty("quiz.journal.dir", DEFAULT_DIRECTORY)));
+    }
+    
+    /**
+     * Starts journaling a started session: its state now, then every answer, navigation and its end
+     * @param session A session in progress; its listener is replaced
+     * @return The session's journal entry
+     */
+    public JournaledSession track(QuizSession session) {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0);
+        return attach(id, session);
+    }
+    
+    /**
+     * Continues journaling a recovered session under its id
+     * @param inFlight A session from {@link #getInFlightSessions()}
+     * @param session The session restored from it, see {@link InFlightSession#restore}
+     * @return The session's journal entry
+     */
+    public JournaledSession resume(InFlightSession inFlight, QuizSession session) {
+        recovered.remove(inFlight);
+        return attach(inFlight.getId(), session);
+    }
+    
+    private JournaledSession attach(long id, QuizSession session) {
+        JournaledSession journaled = new JournaledSession(this, id, session);
+        append(JournalEvent.session(InFlightSession.capture(id, session)));
+        session.setListener(journaled);
+        return journaled;
+    }
+    
+    /**
+     * Ends a recovered session that will not be resumed, so it is not offered again
+     * @param inFlight A session from {@link #getInFlightSessions()}
+     */
+    public void discard(InFlightSession inFlight) {
+        recovered.remove(inFlight);
+        append(JournalEvent.ended(inFlight.getId(), inFlight.getElapsedMillis(), JournalEvent.ABANDONED));
+    }
+    
+    /**
+     * @return Sessions that were in progress when the application last stopped and have not been resumed
+     *         or discarded since, most recently started first
+     */
+    public List<InFlightSession> getInFlightSessions() {
+        List<InFlightSession> sessions = new ArrayList<>(recovered);
+        sessions.sort((a, b) -> Long.compare(b.getStartedAtMillis(), a.getStartedAtMillis()));
+        return sessions;
+    }
+    
+    /**
+     * Queues an event for writing; drops it if the queue is full or the journal is shut down
+     */
+    void append(JournalEvent event) {
+        if (closed || !queue.offer(event)) {
+            DROPPED_EVENTS.increment();
+        }
+    }
+    
+    private void writeLoop() {
+        List<JournalEvent> batch = new ArrayList<>();
+        while (true) {
+            JournalEvent first;
+            try {
+                // Wake up in time to force what has been written within the sync interval
+                long waitNanos = unsynced ? lastSyncNanos + syncIntervalNanos - System.nanoTime()
+                                          : TimeUnit.MILLISECONDS.toNanos(POLL_MILLIS);
+                first = queue.poll(Math.max(0, waitNanos), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                first = null;
+            }
+            
+            try {
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch);
+                    write(batch);
+                    batch.clear();
+                }
+                if (unsynced && System.nanoTime() - lastSyncNanos >= syncIntervalNanos) {
+                    sync();
+                }
+                if (compactionDue || segmentPosition > segmentBytes) {
+                    compact();
+                }
+            } catch (IOException e) {
+                ERRORS.increment();
+                System.err.println("Error writing session journal: " + e.getMessage());
+                batch.clear();
+                // Continue in a new segment; the live sessions are written to it first
+                closeChannel();
+                compactionDue = true;
+            }
+            
+            if (first == null && closed && queue.isEmpty()) {
+                closeChannel();
+                try {
+                    // Also releases the lock
+                    lockChannel.close();
+                } catch (IOException e) {
+                    System.err.println("Error closing session journal lock: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Encodes the events through the buffer into the current segment and applies them to the live sessions.
+     * Events are applied even if writing them fails, so the next compaction still writes their state.
+     */
+    private void write(List<JournalEvent> events) throws IOException {
+        int applied = 0;
+        try {
+            if (channel == null) {
+                compact();
+            }
+            for (JournalEvent event : events) {
+                encode(event);
+                apply(live, event);
+                applied++;
+            }
+            flushBuffer();
+        } catch (IOException e) {
+            for (JournalEvent event : events.subList(applied, events.size())) {
+                apply(live, event);
+            }
+            throw e;
+        }
+        EVENTS.add(events.size());
+        written();
+    }
+    
+    private void encode(JournalEvent event) throws IOException {
+        int length = JournalFormat.recordLength(event);
+        if (length > buffer.remaining()) {
+            flushBuffer();
+        }
+        if (length > buffer.capacity()) {
+            ByteBuffer large = ByteBuffer.allocate(length);
+            JournalFormat.write(large, event);
+            writeFully(large.flip());
+        } else {
+            JournalFormat.write(buffer, event);
+        }
+    }
+    
+    private void written() throws IOException {
+        if (!unsynced) {
+            unsynced = true;
+            // The sync interval runs from the first write it covers
+            lastSyncNanos = System.nanoTime();
+        }
+        if (syncIntervalNanos == 0) {
+            sync();
+        }
+    }
+    
+    private static void apply(Map<Long, InFlightSession> sessions, JournalEvent event) {
+        switch (event.getType()) {
+            case JournalEvent.SESSION:
+                sessions.put(event.getSessionId(), event.getSession());
+                break;
+            case JournalEvent.ENDED:
+                sessions.remove(event.getSessionId());
+                break;
+            default:
+                InFlightSession session = sessions.get(event.getSessionId());
+                if (session != null) {
+                    session.apply(event);
+                }
+                break;
+        }
+    }
+    
+    private void flushBuffer() throws IOException {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+    
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            segmentPosition += channel.write(source);
+        }
+    }
+    
+    private void sync() throws IOException {
+        long start = System.nanoTime();
+        channel.force(false);
+        SYNC_LATENCY.recordSince(start);
+        unsynced = false;
+    }
+    
+    /**
+     * Starts a new segment holding the state of the live sessions, forces it and deletes the older segments.
+     * The older segments are only deleted once the new one holds every live session and is on the disk.
+     */
+    private void compact() throws IOException {
+        long number = segmentNumber + 1;
+        Path segment = directory.resolve(JournalFormat.segmentName(number));
+        FileChannel created = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                               StandardOpenOption.WRITE);
+        closeChannel();
+        channel = created;
+        segmentNumber = number;
+        segmentPosition = 0;
+        buffer.clear();
+        
+        // Written from copies and never applied: if writing fails, live still has every session for the next try
+        JournalFormat.writeHeader(buffer);
+        for (InFlightSession session : live.values()) {
+            encode(JournalEvent.session(session.copy()));
+        }
+        flushBuffer();
+        written();
+        sync();
+        syncDirectory();
+        compactionDue = false;
+        
+        for (Path older : listSegments(directory)) {
+            if (JournalFormat.segmentNumber(older.getFileName().toString()) < number) {
+                Files.deleteIfExists(older);
+            }
+        }
+    }
+    
+    private void syncDirectory() {
+        // Makes the new file's directory entry durable; not every platform can open a directory
+        try (FileChannel directoryChannel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            directoryChannel.force(true);
+        } catch (IOException e) {
+            // The segment's contents are durable; only a crash right now could lose the new entry
+        }
+    }
+    
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            if (unsynced) {
+                sync();
+            }
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("Error closing session journal segment: " + e.getMessage());
+        }
+        channel = null;
+        unsynced = false;
+    }
+    
+    /**
+     * Reads every segment in order and replays it
+     * @return The sessions still in progress at the end
+     */
+    private Map<Long, InFlightSession> recover() throws IOException {
+        Map<Long, InFlightSession> sessions = new LinkedHashMap<>();
+        for (Path segment : listSegments(directory)) {
+            segmentNumber = Math.max(segmentNumber, JournalFormat.segmentNumber(segment.getFileName().toString()));
+            ByteBuffer contents;
+            try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ)) {
+                contents = ByteBuffer.allocate((int) Math.min(file.size(), Integer.MAX_VALUE));
+                while (contents.hasRemaining() && file.read(contents) >= 0) {
+                    // Read the whole segment
+                }
+                contents.flip();
+            }
+            int valid = JournalFormat.read(contents, event -> apply(sessions, event));
+            if (valid < contents.limit()) {
+                System.err.println("Session journal segment " + segment + " ends in " + (contents.limit() - valid)
+                                   + " bytes that are not whole records; ignoring them");
+            }
+        }
+        return sessions;
+    }
+    
+    /**
+     * @return The segment files of a directory in the order they were written
+     */
+    private static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                JournalFormat.SEGMENT_PREFIX + "*" + JournalFormat.SEGMENT_SUFFIX)) {
+            for (Path segment : stream) {
+                if (JournalFormat.segmentNumber(segment.getFileName().toString()) >= 0) {
+                    segments.add(segment);
+                }
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+    
+    /**
+     * Stops accepting events, waits for the queued ones to be written and forces them to the disk.
+     * Sessions still in progress stay in the journal and are offered again on the next start.
+     * @param timeoutMillis Maximum time to wait for the writer
+     * @return true if everything queued was written within the timeout
+     */
+    public boolean shutdown(long timeoutMillis) {
+        closed = true;
+        // Not interrupted: an interrupt during a write would close the segment's channel
+        try {
+            writer.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            System.err.println("Timed out with " + queue.size() + " session journal events still queued");
+            return false;
+        }
+        return true;
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+}
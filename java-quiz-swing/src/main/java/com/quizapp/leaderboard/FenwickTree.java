@@ -0,0 +1,45 @@
+package com.quizapp.leaderboard;
+
+import java.util.Arrays;
+
+/**
+ * Binary indexed tree of counts over a fixed range of buckets.
+ * Point updates and prefix sums both take O(log n).
+ */
+class FenwickTree {
+    
+    private final long[] tree;
+    
+    /**
+     * @param size Number of buckets, indexed 0 to size - 1
+     */
+    FenwickTree(int size) {
+        tree = new long[size + 1];
+    }
+    
+    void add(int bucket, long delta) {
+        for (int i = bucket + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+    
+    /**
+     * @param bucket Last bucket to include; negative values yield 0
+     * @return Sum of buckets 0 to bucket inclusive
+     */
+    long prefixSum(int bucket) {
+        long sum = 0;
+        for (int i = Math.min(bucket + 1, tree.length - 1); i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+    
+    long total() {
+        return prefixSum(tree.length - 2);
+    }
+    
+    void clear() {
+        Arrays.fill(tree, 0);
+    }
+}
@@ -0,0 +1,110 @@
+package com.quizapp.leaderboard;
+
+import com.quizapp.model.LeaderboardEntry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Ranking of players by their best attempt, kept up to date one attempt at a time.
+ * <p>
+ * Only the best {@code capacity} entries are kept in sorted order. That is enough because a player's
+ * best can only improve: an entry pushed out of the top stays behind at least {@code capacity} others
+ * until its player improves, and then it is offered again. Ranks of all other players come from a
+ * Fenwick tree counting players per score, so "top N" and "rank of P" never scan every player.
+ * Methods are synchronized; every operation is O(log n) or O(N) in the size of the answer.
+ */
+public class Leaderboard {
+    
+    private final int capacity;
+    private final Map<String, LeaderboardEntry> bestByPlayer = new HashMap<>();
+    private final TreeSet<LeaderboardEntry> top = new TreeSet<>(LeaderboardEntry.RANKING);
+    private final FenwickTree playersByScore = new FenwickTree(LeaderboardEntry.MAX_BASIS_POINTS + 1);
+    
+    /**
+     * @param capacity Number of entries kept for {@link #getTop}
+     */
+    public Leaderboard(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Leaderboard capacity must be at least 1: " + capacity);
+        }
+        this.capacity = capacity;
+    }
+    
+    /**
+     * Records an attempt if it is the player's best so far
+     * @param entry The attempt
+     * @return true if the entry replaced the player's previous best
+     */
+    public synchronized boolean offer(LeaderboardEntry entry) {
+        LeaderboardEntry previous = bestByPlayer.get(entry.getPlayer());
+        if (!entry.isBetterThan(previous)) {
+            return false;
+        }
+        bestByPlayer.put(entry.getPlayer(), entry);
+        
+        if (previous != null) {
+            playersByScore.add(previous.getBasisPoints(), -1);
+            top.remove(previous);
+        }
+        playersByScore.add(entry.getBasisPoints(), 1);
+        
+        top.add(entry);
+        if (top.size() > capacity) {
+            top.pollLast();
+        }
+        return true;
+    }
+    
+    /**
+     * @param limit Maximum number of entries, at most the capacity
+     * @return Best entries first
+     */
+    public synchronized List<LeaderboardEntry> getTop(int limit) {
+        List<LeaderboardEntry> entries = new ArrayList<>(Math.min(limit, top.size()));
+        Iterator<LeaderboardEntry> iterator = top.iterator();
+        while (entries.size() < limit && iterator.hasNext()) {
+            entries.add(iterator.next());
+        }
+        return entries;
+    }
+    
+    /**
+     * @param basisPoints A score in basis points
+     * @return One-based rank a player with this score has; equal scores share a rank
+     */
+    public synchronized int rankOf(int basisPoints) {
+        long better = playersByScore.total() - playersByScore.prefixSum(basisPoints);
+        return (int) better + 1;
+    }
+    
+    /**
+     * @param player Player name
+     * @return The player's best entry and rank, or null if the player has no attempts here
+     */
+    public synchronized Standing getStanding(String player) {
+        LeaderboardEntry best = bestByPlayer.get(player);
+        if (best == null) {
+            return null;
+        }
+        return new Standing(best, rankOf(best.getBasisPoints()), bestByPlayer.size());
+    }
+    
+    public synchronized int getPlayerCount() {
+        return bestByPlayer.size();
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public synchronized void clear() {
+        bestByPlayer.clear();
+        top.clear();
+        playersByScore.clear();
+    }
+}
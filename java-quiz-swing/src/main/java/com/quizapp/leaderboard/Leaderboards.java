@@ -0,0 +1,106 @@
+package com.quizapp.leaderboard;
+
+import com.quizapp.dao.AttemptDAO;
+import com.quizapp.dao.AttemptRecorder;
+import com.quizapp.model.LeaderboardEntry;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.QuizCategory;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The overall leaderboard plus one per category.
+ * The shared instance follows every attempt accepted by {@link AttemptRecorder#getDefault()} and is
+ * filled from the attempts table by {@link #rebuild()} at startup.
+ */
+public class Leaderboards {
+    
+    private static final int CAPACITY = Integer.getInteger("quiz.leaderboard.size", 100);
+    
+    private final Leaderboard overall;
+    private final Map<QuizCategory, Leaderboard> byCategory = new EnumMap<>(QuizCategory.class);
+    
+    /**
+     * @param capacity Number of top entries kept per leaderboard
+     */
+    public Leaderboards(int capacity) {
+        overall = new Leaderboard(capacity);
+        for (QuizCategory category : QuizCategory.values()) {
+            byCategory.put(category, new Leaderboard(capacity));
+        }
+    }
+    
+    /**
+     * @return The process-wide leaderboards, subscribed to the shared attempt recorder
+     */
+    public static Leaderboards getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    private static final class DefaultHolder {
+        static final Leaderboards INSTANCE = createDefault();
+        
+        private static Leaderboards createDefault() {
+            Leaderboards leaderboards = new Leaderboards(CAPACITY);
+            AttemptRecorder.getDefault().addStoreListener(leaderboards::record);
+            return leaderboards;
+        }
+    }
+    
+    /**
+     * Ranks an attempt on the overall and the category leaderboard
+     * @param attempt A finished attempt
+     */
+    public void record(QuizAttempt attempt) {
+        offer(LeaderboardEntry.of(attempt));
+    }
+    
+    private void offer(LeaderboardEntry entry) {
+        overall.offer(entry);
+        byCategory.get(entry.getCategory()).offer(entry);
+    }
+    
+    /**
+     * Ranks every stored attempt. Only bests are kept, so attempts that are also recorded live
+     * while this runs are not counted twice.
+     * @return Number of attempts read, or -1 if the database cannot be read
+     */
+    public long rebuild() {
+        long start = System.nanoTime();
+        long count = new AttemptDAO().forEachLeaderboardEntry(this::offer);
+        if (count >= 0) {
+            System.out.printf("Leaderboards rebuilt from %d attempts in %d ms%n",
+                              count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        return count;
+    }
+    
+    /**
+     * @param category A category, or null for the overall leaderboard
+     * @return The leaderboard of that scope
+     */
+    public Leaderboard get(QuizCategory category) {
+        return category == null ? overall : byCategory.get(category);
+    }
+    
+    /**
+     * @param category A category, or null for the overall leaderboard
+     * @param limit Maximum number of entries
+     * @return Best entries first
+     */
+    public List<LeaderboardEntry> getTop(QuizCategory category, int limit) {
+        return get(category).getTop(limit);
+    }
+    
+    /**
+     * @param category A category, or null for the overall leaderboard
+     * @param player Player name
+     * @return The player's standing, or null if the player has no attempts in that scope
+     */
+    public Standing getStanding(QuizCategory category, String player) {
+        return get(category).getStanding(QuizAttempt.normalizePlayer(player));
+    }
+}
@@ -0,0 +1,37 @@
+package com.quizapp.leaderboard;
+
+import com.quizapp.model.LeaderboardEntry;
+
+/**
+ * Where a player stands on one leaderboard
+ */
+public class Standing {
+    
+    private final LeaderboardEntry best;
+    private final int rank;
+    private final int playerCount;
+    
+    public Standing(LeaderboardEntry best, int rank, int playerCount) {
+        this.best = best;
+        this.rank = rank;
+        this.playerCount = playerCount;
+    }
+    
+    /**
+     * @return The player's best attempt on this leaderboard
+     */
+    public LeaderboardEntry getBest() {
+        return best;
+    }
+    
+    /**
+     * @return One-based rank; players with equal scores share a rank
+     */
+    public int getRank() {
+        return rank;
+    }
+    
+    public int getPlayerCount() {
+        return playerCount;
+    }
+}
@@ -0,0 +1,19 @@
+package com.quizapp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for switching the screen shown in the main window
+ */
+@Name("com.quizapp.CardSwitch")
+@Label("Card Switch")
+@Category({"Quiz App", "GUI"})
+@Description("Showing another screen in the main window, including building it on first use")
+public class CardSwitchEvent extends jdk.jfr.Event {
+    
+    @Label("Card")
+    public String card;
+}
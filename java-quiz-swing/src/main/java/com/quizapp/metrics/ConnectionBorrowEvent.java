@@ -0,0 +1,19 @@
+package com.quizapp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for borrowing a pooled database connection, including any wait for a free one
+ */
+@Name("com.quizapp.ConnectionBorrow")
+@Label("Connection Borrow")
+@Category({"Quiz App", "Database"})
+@Description("Borrowing a connection from the SQLite connection pool")
+public class ConnectionBorrowEvent extends jdk.jfr.Event {
+    
+    @Label("Succeeded")
+    public boolean succeeded;
+}
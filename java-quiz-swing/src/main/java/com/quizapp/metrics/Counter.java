@@ -0,0 +1,38 @@
+package com.quizapp.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic event count that many threads can increment without contending
+ */
+public class Counter implements CounterMXBean {
+    
+    private final String name;
+    private final LongAdder count = new LongAdder();
+    
+    public Counter(String name) {
+        this.name = name;
+    }
+    
+    public void increment() {
+        count.increment();
+    }
+    
+    public void add(long amount) {
+        count.add(amount);
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+    
+    @Override
+    public String toString() {
+        return name + "=" + getCount();
+    }
+}
@@ -0,0 +1,9 @@
+package com.quizapp.metrics;
+
+/**
+ * JMX view of a {@link Counter}, registered as {@code com.quizapp:type=Counter,name=...}
+ */
+public interface CounterMXBean {
+    
+    long getCount();
+}
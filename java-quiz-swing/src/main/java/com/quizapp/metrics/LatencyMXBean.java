@@ -0,0 +1,24 @@
+package com.quizapp.metrics;
+
+/**
+ * JMX view of a {@link LatencyHistogram}, registered as {@code com.quizapp:type=Latency,name=...}
+ */
+public interface LatencyMXBean {
+    
+    long getCount();
+    
+    double getMeanMillis();
+    
+    double getMedianMillis();
+    
+    double get90thPercentileMillis();
+    
+    double get99thPercentileMillis();
+    
+    double getMaxMillis();
+    
+    /**
+     * Clears all recorded values, for example before a load test
+     */
+    void reset();
+}
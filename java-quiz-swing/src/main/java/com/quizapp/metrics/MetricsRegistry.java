@@ -0,0 +1,134 @@
+package com.quizapp.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named counters and latency histograms for the application's hot paths.
+ * <p>
+ * Instrumented classes look up their metrics once, in static fields, and update them without locking.
+ * Nothing is published until {@link #registerMBeans()} is called, because starting the platform MBean
+ * server costs tens of milliseconds; after that every metric, including ones created later, is visible
+ * in JConsole or any JMX client under the {@code com.quizapp} domain.
+ */
+public class MetricsRegistry {
+    
+    private static final String DOMAIN = "com.quizapp";
+    
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private volatile MBeanServer mbeanServer;
+    
+    /**
+     * @return The process-wide registry used by the instrumented classes
+     */
+    public static MetricsRegistry getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    private static final class DefaultHolder {
+        static final MetricsRegistry INSTANCE = new MetricsRegistry();
+    }
+    
+    /**
+     * @param name Dotted metric name such as "db.connection.errors"
+     * @return The counter with that name, created on first use
+     */
+    public Counter counter(String name) {
+        Counter counter = counters.get(name);
+        if (counter != null) {
+            return counter;
+        }
+        Counter created = new Counter(name);
+        counter = counters.putIfAbsent(name, created);
+        if (counter != null) {
+            return counter;
+        }
+        register("Counter", name, created);
+        return created;
+    }
+    
+    /**
+     * @param name Dotted metric name such as "questions.load"
+     * @return The latency histogram with that name, created on first use
+     */
+    public LatencyHistogram latency(String name) {
+        LatencyHistogram histogram = latencies.get(name);
+        if (histogram != null) {
+            return histogram;
+        }
+        LatencyHistogram created = new LatencyHistogram(name);
+        histogram = latencies.putIfAbsent(name, created);
+        if (histogram != null) {
+            return histogram;
+        }
+        register("Latency", name, created);
+        return created;
+    }
+    
+    /**
+     * Publishes every metric in the platform MBean server. Safe to call more than once.
+     */
+    public void registerMBeans() {
+        synchronized (this) {
+            if (mbeanServer != null) {
+                return;
+            }
+            mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        }
+        for (Counter counter : counters.values()) {
+            register("Counter", counter.getName(), counter);
+        }
+        for (LatencyHistogram histogram : latencies.values()) {
+            register("Latency", histogram.getName(), histogram);
+        }
+    }
+    
+    private void register(String type, String name, Object mbean) {
+        MBeanServer server = mbeanServer;
+        if (server == null) {
+            return;
+        }
+        try {
+            server.registerMBean(mbean, new ObjectName(DOMAIN + ":type=" + type + ",name=" + name));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by registerMBeans() and by the creating thread at the same time
+        } catch (JMException e) {
+            System.err.println("Failed to register metric " + name + " with JMX: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * @return Every counter, sorted by name
+     */
+    public List<Counter> getCounters() {
+        return new ArrayList<>(new TreeMap<>(counters).values());
+    }
+    
+    /**
+     * @return Every latency histogram, sorted by name
+     */
+    public List<LatencyHistogram> getLatencies() {
+        return new ArrayList<>(new TreeMap<>(latencies).values());
+    }
+    
+    @Override
+    public String toString() {
+        StringBuilder summary = new StringBuilder("Metrics");
+        for (LatencyHistogram histogram : getLatencies()) {
+            summary.append(System.lineSeparator()).append("  ").append(histogram);
+        }
+        for (Counter counter : getCounters()) {
+            summary.append(System.lineSeparator()).append("  ").append(counter);
+        }
+        return summary.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.quizapp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for loading the questions of one quiz from the database
+ */
+@Name("com.quizapp.QuestionLoad")
+@Label("Question Load")
+@Category({"Quiz App", "Database"})
+@Description("Drawing and building the questions of a quiz")
+public class QuestionLoadEvent extends jdk.jfr.Event {
+    
+    @Label("Category")
+    public String category;
+    
+    @Label("Questions")
+    public int questions;
+}
@@ -0,0 +1,25 @@
+package com.quizapp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for submitting a quiz in the window: scoring, recording the attempt and showing the result
+ */
+@Name("com.quizapp.QuizSubmit")
+@Label("Quiz Submit")
+@Category({"Quiz App", "GUI"})
+@Description("Submitting a quiz and showing its result")
+public class QuizSubmitEvent extends jdk.jfr.Event {
+    
+    @Label("Category")
+    public String category;
+    
+    @Label("Score")
+    public int score;
+    
+    @Label("Questions")
+    public int questions;
+}
@@ -0,0 +1,22 @@
+package com.quizapp.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event for laying out the questions of one quiz session from its seed
+ */
+@Name("com.quizapp.Shuffle")
+@Label("Shuffle")
+@Category({"Quiz App", "Shuffle"})
+@Description("Laying out the questions of a quiz session from its seed")
+public class ShuffleEvent extends jdk.jfr.Event {
+    
+    @Label("Questions")
+    public int questions;
+    
+    @Label("Question Order Shuffled")
+    public boolean questionOrderShuffled;
+}
@@ -0,0 +1,89 @@
+package com.quizapp.model;
+
+import java.util.Comparator;
+
+/**
+ * A player's best attempt in one leaderboard scope.
+ * Scores are compared as basis points of the question count so quizzes of different lengths rank fairly.
+ */
+public class LeaderboardEntry {
+    
+    /** Highest possible score in basis points (100%) */
+    public static final int MAX_BASIS_POINTS = 10_000;
+    
+    /** Best first: higher score, then faster, then earlier, then by name so entries never tie */
+    public static final Comparator<LeaderboardEntry> RANKING = Comparator
+        .comparingInt(LeaderboardEntry::getBasisPoints).reversed()
+        .thenComparingLong(LeaderboardEntry::getDurationMillis)
+        .thenComparingLong(LeaderboardEntry::getSubmittedAtMillis)
+        .thenComparing(LeaderboardEntry::getPlayer);
+    
+    private final String player;
+    private final QuizCategory category;
+    private final int score;
+    private final int totalQuestions;
+    private final int basisPoints;
+    private final long durationMillis;
+    private final long submittedAtMillis;
+    
+    public LeaderboardEntry(String player, QuizCategory category, int score, int totalQuestions,
+                            long durationMillis, long submittedAtMillis) {
+        this.player = player;
+        this.category = category;
+        this.score = score;
+        this.totalQuestions = totalQuestions;
+        this.basisPoints = totalQuestions > 0
+            ? (int) Math.min(MAX_BASIS_POINTS, (long) score * MAX_BASIS_POINTS / totalQuestions) : 0;
+        this.durationMillis = durationMillis;
+        this.submittedAtMillis = submittedAtMillis;
+    }
+    
+    public static LeaderboardEntry of(QuizAttempt attempt) {
+        return new LeaderboardEntry(attempt.getPlayer(), attempt.getCategory(), attempt.getScore(),
+                                    attempt.getTotalQuestions(), attempt.getDurationMillis(),
+                                    attempt.getSubmittedAtMillis());
+    }
+    
+    /**
+     * @param other Another entry, may be null
+     * @return true if this entry ranks ahead of the other one
+     */
+    public boolean isBetterThan(LeaderboardEntry other) {
+        return other == null || RANKING.compare(this, other) < 0;
+    }
+    
+    public String getPlayer() {
+        return player;
+    }
+    
+    public QuizCategory getCategory() {
+        return category;
+    }
+    
+    public int getScore() {
+        return score;
+    }
+    
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+    
+    /**
+     * @return Score as a fraction of the question count, 0 to {@link #MAX_BASIS_POINTS}
+     */
+    public int getBasisPoints() {
+        return basisPoints;
+    }
+    
+    public double getPercentage() {
+        return basisPoints / 100.0;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public long getSubmittedAtMillis() {
+        return submittedAtMillis;
+    }
+}
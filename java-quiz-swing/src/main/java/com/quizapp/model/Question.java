@@ -1,12 +1,28 @@
 package com.quizapp.model;
 
+import com.quizapp.util.SeededPermutations;
+
 /**
- * Data model representing a quiz question with multiple choice answers
+ * Data model representing a quiz question with multiple choice answers.
+ * <p>
+ * Questions of a quiz session are views of a shared {@link QuestionRow}: the order their options are
+ * presented in is derived from the session's seed and the question id whenever it is needed, so no
+ * shuffled copy of the options is kept. Questions built from option text instead, with the setters,
+ * keep the options in the order given.
  */
 public class Question {
+
+    /** Seed of questions whose option order was not derived from a seed */
+    public static final long NO_SEED = 0;
+
+    private long id;
     private String questionText;
     private String[] options;
     private String correctAnswer;
+    // Stored question and the hash its option order is derived from, for questions of a session
+    private QuestionRow row;
+    private long seed = NO_SEED;
+    private long optionHash;
 
     public Question() {
     }
@@ -17,6 +33,29 @@ public class Question {
         this.correctAnswer = correctAnswer;
     }
 
+    /**
+     * Creates the question as laid out for one quiz session
+     * @param row The stored question
+     * @param seed Seed of the session, see {@link com.quizapp.util.ShuffleEngine#newSeed()}, or
+     *        {@link #NO_SEED} to present the options in stored order
+     */
+    public Question(QuestionRow row, long seed) {
+        this.id = row.getId();
+        this.questionText = row.getQuestionText();
+        this.row = row;
+        this.seed = seed;
+        // Rank 0 is the identity permutation
+        this.optionHash = seed != NO_SEED ? SeededPermutations.hash(seed, row.getId()) : 0;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
     public String getQuestionText() {
         return questionText;
     }
@@ -25,23 +64,101 @@ public class Question {
         this.questionText = questionText;
     }
 
+    /**
+     * @return The options as presented; a new array for questions of a session
+     */
     public String[] getOptions() {
-        return options;
+        if (row == null) {
+            return options;
+        }
+        String[] presented = new String[QuestionRow.RESPONSE_COUNT];
+        for (int i = 0; i < presented.length; i++) {
+            presented[i] = row.getResponse(getResponseIndex(i));
+        }
+        return presented;
     }
 
     public void setOptions(String[] options) {
+        // The options are now the ones given, in the order given
+        this.row = null;
+        this.seed = NO_SEED;
         this.options = options;
     }
-    
+
+    public int getOptionCount() {
+        if (row != null) {
+            return QuestionRow.RESPONSE_COUNT;
+        }
+        return options != null ? options.length : 0;
+    }
+
+    /**
+     * @param optionIndex Zero-based position of the option as presented
+     * @return The option text
+     */
+    public String getOption(int optionIndex) {
+        return row != null ? row.getResponse(getResponseIndex(optionIndex)) : options[optionIndex];
+    }
+
     public String getCorrectAnswer() {
-        return correctAnswer;
+        return row != null ? row.getCorrectAnswer() : correctAnswer;
     }
 
     public void setCorrectAnswer(String correctAnswer) {
         this.correctAnswer = correctAnswer;
     }
-    
+
     public boolean isCorrectAnswer(String answer) {
-        return correctAnswer != null && correctAnswer.equals(answer);
+        String correct = getCorrectAnswer();
+        return correct != null && correct.equals(answer);
+    }
+
+    /**
+     * @return Seed the option order was derived from, or {@link #NO_SEED}
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Maps a presented option back to the response column it is stored in
+     * @param optionIndex Zero-based position of the option as presented
+     * @return Zero-based stored response index (0 is the correct answer), or -1 if unknown
+     */
+    public int getResponseIndex(int optionIndex) {
+        if (row == null || optionIndex < 0 || optionIndex >= QuestionRow.RESPONSE_COUNT) {
+            return -1;
+        }
+        return SeededPermutations.elementAt(optionHash, QuestionRow.RESPONSE_COUNT, optionIndex);
+    }
+
+    /**
+     * Maps a stored response column to the position it is presented at, the inverse of {@link #getResponseIndex}
+     * @param responseIndex Zero-based stored response index
+     * @return Zero-based position of the option as presented, or -1 if unknown
+     */
+    public int getOptionIndex(int responseIndex) {
+        if (row == null || responseIndex < 0 || responseIndex >= QuestionRow.RESPONSE_COUNT) {
+            return -1;
+        }
+        return SeededPermutations.positionOf(optionHash, QuestionRow.RESPONSE_COUNT, responseIndex);
+    }
+
+    /**
+     * @return Zero-based position of the correct answer among the presented options, or -1 if none matches
+     */
+    public int getCorrectOptionIndex() {
+        if (row != null) {
+            return getOptionIndex(0);
+        }
+        if (options == null) {
+            return -1;
+        }
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].equals(correctAnswer)) {
+                return i;
+            }
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,37 @@
+package com.quizapp.model;
+
+/**
+ * A question found by a full-text search
+ */
+public class QuestionMatch {
+    
+    private final QuestionRow row;
+    private final double score;
+    private final String snippet;
+    
+    /**
+     * @param row The matching question
+     * @param score BM25 relevance; lower is more relevant
+     * @param snippet Excerpt of the best matching column with matched terms in [brackets]
+     */
+    public QuestionMatch(QuestionRow row, double score, String snippet) {
+        this.row = row;
+        this.score = score;
+        this.snippet = snippet;
+    }
+    
+    public QuestionRow getRow() {
+        return row;
+    }
+    
+    /**
+     * @return BM25 relevance as reported by SQLite; lower (more negative) is more relevant
+     */
+    public double getScore() {
+        return score;
+    }
+    
+    public String getSnippet() {
+        return snippet;
+    }
+}
@@ -0,0 +1,56 @@
+package com.quizapp.model;
+
+/**
+ * Immutable question as stored in the question bank.
+ * The first response is always the correct answer; display order is decided per quiz session.
+ */
+public final class QuestionRow {
+    
+    public static final int RESPONSE_COUNT = 4;
+    
+    private final long id;
+    private final QuizCategory category;
+    private final String questionText;
+    private final String[] responses;
+    
+    public QuestionRow(long id, QuizCategory category, String questionText, String[] responses) {
+        if (responses.length != RESPONSE_COUNT) {
+            throw new IllegalArgumentException("Expected " + RESPONSE_COUNT + " responses but got " + responses.length);
+        }
+        this.id = id;
+        this.category = category;
+        this.questionText = questionText;
+        this.responses = responses.clone();
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    public QuizCategory getCategory() {
+        return category;
+    }
+    
+    public String getQuestionText() {
+        return questionText;
+    }
+    
+    /**
+     * @param index Zero-based response column, 0 being the correct answer
+     * @return The response text
+     */
+    public String getResponse(int index) {
+        return responses[index];
+    }
+    
+    /**
+     * @return A copy of the responses in stored order
+     */
+    public String[] getResponses() {
+        return responses.clone();
+    }
+    
+    public String getCorrectAnswer() {
+        return responses[0];
+    }
+}
@@ -0,0 +1,154 @@
+package com.quizapp.model;
+
+/**
+ * Completed quiz attempt as persisted to the attempts table.
+ * Answers are stored as response columns (0 = response1, the correct answer), so they stay
+ * meaningful regardless of the order the options were presented in.
+ */
+public class QuizAttempt {
+    
+    /** Marker for a question left unanswered */
+    public static final int NO_RESPONSE = -1;
+    
+    /** Player name used when none is given */
+    public static final String ANONYMOUS = "Anonymous";
+    
+    /** Longest player name kept */
+    public static final int MAX_PLAYER_LENGTH = 40;
+    
+    private final String player;
+    private final QuizCategory category;
+    private final long startedAtMillis;
+    private final long submittedAtMillis;
+    private final long durationMillis;
+    private final int score;
+    private final boolean timedOut;
+    private final long[] questionIds;
+    private final byte[] selectedResponses;
+    private final int[] timeSpentMillis;
+    private final long seed;
+    
+    /**
+     * @param player Name of the player, see {@link #normalizePlayer}
+     * @param category The quiz category
+     * @param startedAtMillis Wall-clock start time
+     * @param submittedAtMillis Wall-clock submission time
+     * @param durationMillis Time taken, measured with a monotonic clock
+     * @param score Number of correct answers
+     * @param timedOut Whether the attempt ended because time ran out
+     * @param questionIds Question ids in presentation order
+     * @param selectedResponses Selected response column per question, or {@link #NO_RESPONSE}
+     * @param timeSpentMillis Time spent on each question
+     */
+    public QuizAttempt(String player, QuizCategory category, long startedAtMillis, long submittedAtMillis, long durationMillis,
+                       int score, boolean timedOut, long[] questionIds, byte[] selectedResponses,
+                       int[] timeSpentMillis) {
+        this(player, category, startedAtMillis, submittedAtMillis, durationMillis, score, timedOut, questionIds,
+             selectedResponses, timeSpentMillis, Question.NO_SEED);
+    }
+    
+    /**
+     * @param player Name of the player, see {@link #normalizePlayer}
+     * @param category The quiz category
+     * @param startedAtMillis Wall-clock start time
+     * @param submittedAtMillis Wall-clock submission time
+     * @param durationMillis Time taken, measured with a monotonic clock
+     * @param score Number of correct answers
+     * @param timedOut Whether the attempt ended because time ran out
+     * @param questionIds Question ids in presentation order
+     * @param selectedResponses Selected response column per question, or {@link #NO_RESPONSE}
+     * @param timeSpentMillis Time spent on each question
+     * @param seed Seed the option order was derived from, or {@link Question#NO_SEED}
+     */
+    public QuizAttempt(String player, QuizCategory category, long startedAtMillis, long submittedAtMillis, long durationMillis,
+                       int score, boolean timedOut, long[] questionIds, byte[] selectedResponses,
+                       int[] timeSpentMillis, long seed) {
+        if (questionIds.length != selectedResponses.length || questionIds.length != timeSpentMillis.length) {
+            throw new IllegalArgumentException("Per-question arrays must have the same length");
+        }
+        this.player = normalizePlayer(player);
+        this.category = category;
+        this.startedAtMillis = startedAtMillis;
+        this.submittedAtMillis = submittedAtMillis;
+        this.durationMillis = durationMillis;
+        this.score = score;
+        this.timedOut = timedOut;
+        this.questionIds = questionIds;
+        this.selectedResponses = selectedResponses;
+        this.timeSpentMillis = timeSpentMillis;
+        this.seed = seed;
+    }
+    
+    /**
+     * Trims a player name and cuts it to {@link #MAX_PLAYER_LENGTH} characters
+     * @param player Name as entered
+     * @return The name to store, {@link #ANONYMOUS} if blank
+     */
+    public static String normalizePlayer(String player) {
+        if (player == null || player.isBlank()) {
+            return ANONYMOUS;
+        }
+        String trimmed = player.strip();
+        return trimmed.length() > MAX_PLAYER_LENGTH ? trimmed.substring(0, MAX_PLAYER_LENGTH) : trimmed;
+    }
+    
+    public String getPlayer() {
+        return player;
+    }
+    
+    public QuizCategory getCategory() {
+        return category;
+    }
+    
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+    
+    public long getSubmittedAtMillis() {
+        return submittedAtMillis;
+    }
+    
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+    
+    public int getScore() {
+        return score;
+    }
+    
+    public int getTotalQuestions() {
+        return questionIds.length;
+    }
+    
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+    
+    /**
+     * @return Seed the option order of the session was derived from, or {@link Question#NO_SEED}
+     *         if it is not known, e.g. for attempts stored before seeds were
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    public long getQuestionId(int index) {
+        return questionIds[index];
+    }
+    
+    /**
+     * @param index Position of the question in the attempt
+     * @return Selected response column, or {@link #NO_RESPONSE}
+     */
+    public int getSelectedResponse(int index) {
+        return selectedResponses[index];
+    }
+    
+    public boolean isCorrect(int index) {
+        return selectedResponses[index] == 0;
+    }
+    
+    public int getTimeSpentMillis(int index) {
+        return timeSpentMillis[index];
+    }
+}
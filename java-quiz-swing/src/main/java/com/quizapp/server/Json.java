@@ -0,0 +1,128 @@
+package com.quizapp.server;
+
+/**
+ * Minimal JSON writer for the server's flat response documents
+ */
+final class Json {
+    
+    private final StringBuilder builder = new StringBuilder(256);
+    private boolean needsComma;
+    
+    Json beginObject() {
+        separate();
+        builder.append('{');
+        needsComma = false;
+        return this;
+    }
+    
+    Json endObject() {
+        builder.append('}');
+        needsComma = true;
+        return this;
+    }
+    
+    Json beginArray() {
+        separate();
+        builder.append('[');
+        needsComma = false;
+        return this;
+    }
+    
+    Json endArray() {
+        builder.append(']');
+        needsComma = true;
+        return this;
+    }
+    
+    /**
+     * Writes a member name; follow it with a value, object or array
+     */
+    Json name(String name) {
+        separate();
+        appendString(name);
+        builder.append(':');
+        needsComma = false;
+        return this;
+    }
+    
+    Json value(String value) {
+        separate();
+        if (value == null) {
+            builder.append("null");
+        } else {
+            appendString(value);
+        }
+        needsComma = true;
+        return this;
+    }
+    
+    Json value(long value) {
+        separate();
+        builder.append(value);
+        needsComma = true;
+        return this;
+    }
+    
+    Json value(double value) {
+        separate();
+        builder.append(Double.isFinite(value) ? String.valueOf(value) : "null");
+        needsComma = true;
+        return this;
+    }
+    
+    Json value(boolean value) {
+        separate();
+        builder.append(value);
+        needsComma = true;
+        return this;
+    }
+    
+    Json field(String name, String value) {
+        return name(name).value(value);
+    }
+    
+    Json field(String name, long value) {
+        return name(name).value(value);
+    }
+    
+    Json field(String name, double value) {
+        return name(name).value(value);
+    }
+    
+    Json field(String name, boolean value) {
+        return name(name).value(value);
+    }
+    
+    private void separate() {
+        if (needsComma) {
+            builder.append(',');
+            needsComma = false;
+        }
+    }
+    
+    private void appendString(String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case '\t': builder.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+    
+    @Override
+    public String toString() {
+        return builder.toString();
+    }
+}
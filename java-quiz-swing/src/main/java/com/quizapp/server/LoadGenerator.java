@@ -0,0 +1,179 @@
+package com.quizapp.server;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for {@link QuizServer}.
+ * Each client repeatedly starts a session, answers every question and submits, with no think time.
+ * <pre>
+ * java -cp java-quiz-swing-1.0.0.jar com.quizapp.server.LoadGenerator [url] [clients] [seconds]
+ * </pre>
+ */
+public class LoadGenerator {
+    
+    private static final Pattern SESSION_ID = Pattern.compile("\"sessionId\":\"([^\"]+)\"");
+    private static final Pattern OPTIONS = Pattern.compile("\"options\":\\[([^\\]]*)\\]");
+    
+    private static final int START = 0;
+    private static final int ANSWER = 1;
+    private static final int SUBMIT = 2;
+    private static final String[] OPERATION_NAMES = {"start", "answer", "submit"};
+    
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        
+        System.out.printf("Driving %s with %d clients for %d s%n", baseUrl, clients, seconds);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Worker worker = new Worker(client, baseUrl, deadline);
+            Thread thread = new Thread(worker, "load-client-" + i);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        report(workers, seconds);
+    }
+    
+    private static void report(List<Worker> workers, int seconds) {
+        long sessions = 0;
+        long errors = 0;
+        long requests = 0;
+        for (Worker worker : workers) {
+            sessions += worker.completedSessions;
+            errors += worker.errors;
+        }
+        
+        System.out.printf("%nCompleted sessions: %d (%.1f/s), errors: %d%n", sessions, (double) sessions / seconds, errors);
+        System.out.printf("%-8s %10s %10s %10s %10s %10s%n", "request", "count", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (int operation = 0; operation < OPERATION_NAMES.length; operation++) {
+            int total = 0;
+            for (Worker worker : workers) {
+                total += worker.latencies[operation].size;
+            }
+            long[] merged = new long[total];
+            int offset = 0;
+            for (Worker worker : workers) {
+                LongList list = worker.latencies[operation];
+                System.arraycopy(list.values, 0, merged, offset, list.size);
+                offset += list.size;
+            }
+            Arrays.sort(merged);
+            requests += total;
+            System.out.printf("%-8s %10d %10.2f %10.2f %10.2f %10.2f%n", OPERATION_NAMES[operation], total,
+                percentile(merged, 0.50), percentile(merged, 0.90), percentile(merged, 0.99),
+                merged.length == 0 ? 0 : merged[merged.length - 1] / 1_000_000.0);
+        }
+        System.out.printf("Throughput: %.1f requests/s%n", (double) requests / seconds);
+    }
+    
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+    
+    private static final class Worker implements Runnable {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final long deadline;
+        private final LongList[] latencies = {new LongList(), new LongList(), new LongList()};
+        private long completedSessions;
+        private long errors;
+        
+        Worker(HttpClient client, String baseUrl, long deadline) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.deadline = deadline;
+        }
+        
+        @Override
+        public void run() {
+            while (System.nanoTime() < deadline) {
+                try {
+                    runSession();
+                    completedSessions++;
+                } catch (Exception e) {
+                    errors++;
+                }
+            }
+        }
+        
+        private void runSession() throws Exception {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int category = random.nextInt(1, 8);
+            String started = post(START, "/api/sessions?category=" + category);
+            
+            Matcher idMatcher = SESSION_ID.matcher(started);
+            if (!idMatcher.find()) {
+                throw new IllegalStateException("No session id in response");
+            }
+            String sessionId = idMatcher.group(1);
+            
+            Matcher options = OPTIONS.matcher(started);
+            int question = 0;
+            while (options.find()) {
+                int optionCount = options.group(1).isEmpty() ? 0 : options.group(1).split("\",\"").length;
+                if (optionCount > 0) {
+                    post(ANSWER, "/api/sessions/" + sessionId + "/answers?question=" + question
+                        + "&option=" + random.nextInt(optionCount));
+                }
+                question++;
+            }
+            post(SUBMIT, "/api/sessions/" + sessionId + "/submit");
+        }
+        
+        private String post(int operation, String path) throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+            long start = System.nanoTime();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies[operation].add(System.nanoTime() - start);
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException("HTTP " + response.statusCode() + " for " + path);
+            }
+            return response.body();
+        }
+    }
+    
+    /** Growable primitive list so recording latencies does not box */
+    private static final class LongList {
+        private long[] values = new long[1024];
+        private int size;
+        
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.quizapp.server;
+
+import com.quizapp.analytics.ItemAnalytics;
+import com.quizapp.analytics.ItemSummary;
+import com.quizapp.dao.AttemptRecorder;
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.leaderboard.Leaderboard;
+import com.quizapp.leaderboard.Leaderboards;
+import com.quizapp.leaderboard.Standing;
+import com.quizapp.model.LeaderboardEntry;
+import com.quizapp.model.Question;
+import com.quizapp.model.QuizCategory;
+import com.quizapp.session.QuizResult;
+import com.quizapp.session.QuizSession;
+import com.quizapp.session.SessionTimer;
+import com.quizapp.util.VirtualThreads;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless HTTP/JSON quiz server built on the JDK's HTTP server.
+ * <pre>
+ * GET  /api/categories                     list categories
+ * POST /api/sessions?category=ID&amp;player=P  start a session, returns its questions
+ * POST /api/sessions/{id}/answers?question=I&amp;option=O   answer question I with option O (zero-based, -1 clears)
+ * POST /api/sessions/{id}/submit           submit and score the session
+ * GET  /api/sessions/{id}                  session state, selected option per question and, once finished, the result
+ * GET  /api/leaderboard?category=ID&amp;limit=N   top players, overall if no category is given
+ * GET  /api/leaderboard/rank?player=P&amp;category=ID   a player's best and rank
+ * GET  /api/analytics?category=ID          answer distribution, correct rate and discrimination per question
+ * </pre>
+ * Parameters may be sent in the query string or as a form-encoded body.
+ * Requests run on virtual threads when the JDK provides them, otherwise on a bounded pool.
+ */
+public class QuizServer {
+    
+    private static final int POOL_THREADS = Integer.getInteger("quiz.server.threads",
+                                                               Runtime.getRuntime().availableProcessors() * 8);
+    private static final int POOL_QUEUE = Integer.getInteger("quiz.server.queue", 10_000);
+    private static final int TIMEOUT_THREADS = Integer.getInteger("quiz.server.timeoutThreads", 2);
+    private static final long SESSION_RETENTION_MILLIS = Long.getLong("quiz.server.sessionRetentionMillis", 3_600_000L);
+    
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ExecutorService timeouts;
+    private final ScheduledExecutorService housekeeping;
+    private final SessionRegistry sessions = new SessionRegistry(SESSION_RETENTION_MILLIS);
+    private final QuestionDAO questionDAO = new QuestionDAO();
+    private final Leaderboards leaderboards = Leaderboards.getDefault();
+    private final ItemAnalytics analytics = ItemAnalytics.getDefault();
+    
+    public QuizServer(int port) throws IOException {
+        // Small JSON responses otherwise stall on Nagle's algorithm and delayed ACKs
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        server = HttpServer.create(new InetSocketAddress(port), 1024);
+        executor = createExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/categories", this::handleCategories);
+        server.createContext("/api/sessions", this::handleSessions);
+        server.createContext("/api/leaderboard", this::handleLeaderboard);
+        server.createContext("/api/analytics", this::handleAnalytics);
+        
+        // Time-outs get their own threads with an unbounded queue: on the request pool a full queue would
+        // run them on the timer thread, holding up every other deadline behind one submission
+        AtomicInteger counter = new AtomicInteger();
+        timeouts = Executors.newFixedThreadPool(TIMEOUT_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "quiz-server-timeout-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeping = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "quiz-server-housekeeping");
+            thread.setDaemon(true);
+            return thread;
+        });
+        housekeeping.scheduleWithFixedDelay(sessions::expireIdleSessions, 1, 1, TimeUnit.MINUTES);
+    }
+    
+    private static ExecutorService createExecutor() {
+        ExecutorService virtual = VirtualThreads.newPerTaskExecutor();
+        if (virtual != null) {
+            System.out.println("Quiz server handling requests on virtual threads");
+            return virtual;
+        }
+        
+        System.out.println("Quiz server handling requests on a pool of " + POOL_THREADS + " threads");
+        AtomicInteger counter = new AtomicInteger();
+        // With the queue full the dispatcher handles the exchange itself, which also stops it accepting more
+        // for a while; the HTTP server drops a rejected exchange without ever answering it
+        return new ThreadPoolExecutor(
+            POOL_THREADS, POOL_THREADS, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(POOL_QUEUE),
+            runnable -> new Thread(runnable, "quiz-server-" + counter.incrementAndGet()),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+    
+    public void start() {
+        server.start();
+        System.out.println("Quiz server listening on port " + server.getAddress().getPort());
+    }
+    
+    /**
+     * Stops accepting requests, waiting up to the given delay for exchanges in progress
+     * @param delaySeconds Maximum time to wait for running exchanges
+     */
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        sessions.cancelTimers();
+        housekeeping.shutdownNow();
+        timeouts.shutdown();
+        executor.shutdown();
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    private void handleCategories(HttpExchange exchange) throws IOException {
+        if (!exchange.getRequestMethod().equals("GET")) {
+            sendError(exchange, 405, "Use GET");
+            return;
+        }
+        Json json = new Json().beginArray();
+        for (QuizCategory category : QuizCategory.values()) {
+            json.beginObject()
+                .field("id", category.getId())
+                .field("name", category.getDisplayName())
+                .endObject();
+        }
+        send(exchange, 200, json.endArray().toString());
+    }
+    
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        try {
+            // Path is /api/sessions[/{id}[/action]]
+            String[] parts = exchange.getRequestURI().getPath().split("/");
+            String method = exchange.getRequestMethod();
+            
+            if (parts.length == 3 && method.equals("POST")) {
+                startSession(exchange);
+            } else if (parts.length == 4 && method.equals("GET")) {
+                getSession(exchange, parts[3]);
+            } else if (parts.length == 5 && method.equals("POST") && parts[4].equals("answers")) {
+                answer(exchange, parts[3]);
+            } else if (parts.length == 5 && method.equals("POST") && parts[4].equals("submit")) {
+                submit(exchange, parts[3]);
+            } else {
+                sendError(exchange, 404, "No such endpoint");
+            }
+        } catch (IllegalArgumentException | IllegalStateException | IndexOutOfBoundsException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        }
+    }
+    
+    private void startSession(HttpExchange exchange) throws IOException {
+        Map<String, String> params = readParameters(exchange);
+        QuizCategory category = QuizCategory.fromId(parseInt(params, "category"));
+        
+        List<Question> questions = questionDAO.getQuestionsByCategory(category);
+        if (questions == null || questions.isEmpty()) {
+            sendError(exchange, 503, "No questions available for " + category.getDisplayName());
+            return;
+        }
+        
+        QuizSession session = new QuizSession(category, questions);
+        session.setPlayer(params.get("player"));
+        session.setCompletionListener(AttemptRecorder.getDefault()::record);
+        session.start();
+        // Submits the session when time runs out, even if the client has gone quiet
+        SessionTimer timer = new SessionTimer(session, task -> timeouts.execute(() -> {
+            synchronized (session) {
+                task.run();
+            }
+        }), null);
+        timer.start();
+        String id = sessions.register(session, timer);
+        
+        Json json = new Json().beginObject()
+            .field("sessionId", id)
+            .field("category", category.getId())
+            .field("timeLimitSeconds", session.getTimeLimitSeconds())
+            .field("questionTimeLimitSeconds", session.getQuestionTimeLimitSeconds())
+            .name("questions").beginArray();
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            json.beginObject().field("index", i).field("text", question.getQuestionText()).name("options").beginArray();
+            for (String option : question.getOptions()) {
+                json.value(option);
+            }
+            json.endArray().endObject();
+        }
+        send(exchange, 201, json.endArray().endObject().toString());
+    }
+    
+    private void answer(HttpExchange exchange, String id) throws IOException {
+        QuizSession session = requireSession(exchange, id);
+        if (session == null) {
+            return;
+        }
+        Map<String, String> params = readParameters(exchange);
+        int questionIndex = parseInt(params, "question");
+        int optionIndex = parseInt(params, "option");
+        
+        synchronized (session) {
+            if (session.checkTimeout()) {
+                sendError(exchange, 409, "Time is up");
+                return;
+            }
+            // The question answered is the one the player is on, for its time limit and time spent
+            int previousIndex = session.getCurrentIndex();
+            if (session.goTo(questionIndex) && questionIndex != previousIndex && session.getQuestionTimeLimitSeconds() > 0) {
+                refreshTimer(id);
+            }
+            if (session.isQuestionExpired(questionIndex)) {
+                sendError(exchange, 409, "Time is up for question " + (questionIndex + 1));
+                return;
+            }
+            session.answer(questionIndex, optionIndex);
+        }
+        send(exchange, 200, new Json().beginObject().field("accepted", true).endObject().toString());
+    }
+    
+    private void submit(HttpExchange exchange, String id) throws IOException {
+        QuizSession session = requireSession(exchange, id);
+        if (session == null) {
+            return;
+        }
+        QuizResult result;
+        synchronized (session) {
+            session.checkTimeout();
+            result = session.submit();
+        }
+        SessionTimer timer = sessions.getTimer(id);
+        if (timer != null) {
+            timer.cancel();
+        }
+        send(exchange, 200, writeResult(new Json().beginObject(), result).endObject().toString());
+    }
+    
+    private void getSession(HttpExchange exchange, String id) throws IOException {
+        QuizSession session = requireSession(exchange, id);
+        if (session == null) {
+            return;
+        }
+        Json json = new Json().beginObject();
+        synchronized (session) {
+            session.checkTimeout();
+            json.field("state", session.getState().name())
+                .field("remainingSeconds", session.getRemainingSeconds())
+                .field("currentQuestion", session.getCurrentIndex());
+            if (session.getQuestionTimeLimitSeconds() > 0) {
+                json.field("questionRemainingSeconds", session.getQuestionRemainingSeconds());
+            }
+            json.name("answers").beginArray();
+            for (byte option : session.getAnswerSheet().getSelections()) {
+                json.value(option);
+            }
+            json.endArray();
+            if (session.isFinished()) {
+                writeResult(json.name("result").beginObject(), session.getResult()).endObject();
+            }
+        }
+        send(exchange, 200, json.endObject().toString());
+    }
+    
+    private void handleLeaderboard(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+            Map<String, String> params = readParameters(exchange);
+            QuizCategory category = params.containsKey("category") ? QuizCategory.fromId(parseInt(params, "category")) : null;
+            String path = exchange.getRequestURI().getPath();
+            
+            if (path.equals("/api/leaderboard") || path.equals("/api/leaderboard/")) {
+                int limit = params.containsKey("limit") ? parseInt(params, "limit") : 10;
+                Leaderboard leaderboard = leaderboards.get(category);
+                Json json = new Json().beginArray();
+                for (LeaderboardEntry entry : leaderboard.getTop(limit)) {
+                    writeEntry(json.beginObject().field("rank", leaderboard.rankOf(entry.getBasisPoints())), entry)
+                        .endObject();
+                }
+                send(exchange, 200, json.endArray().toString());
+            } else if (path.equals("/api/leaderboard/rank")) {
+                String player = params.get("player");
+                if (player == null) {
+                    throw new IllegalArgumentException("Missing parameter 'player'");
+                }
+                Standing standing = leaderboards.getStanding(category, player);
+                if (standing == null) {
+                    sendError(exchange, 404, "No attempts by " + player);
+                    return;
+                }
+                Json json = new Json().beginObject()
+                    .field("rank", standing.getRank())
+                    .field("players", standing.getPlayerCount())
+                    .name("best").beginObject();
+                writeEntry(json, standing.getBest()).endObject();
+                send(exchange, 200, json.endObject().toString());
+            } else {
+                sendError(exchange, 404, "No such endpoint");
+            }
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        }
+    }
+    
+    private void handleAnalytics(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestMethod().equals("GET")) {
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+            QuizCategory category = QuizCategory.fromId(parseInt(readParameters(exchange), "category"));
+            Json json = new Json().beginObject()
+                .field("category", category.getId())
+                .field("attempts", analytics.getAttemptCount(category))
+                .field("correctRate", analytics.getCorrectRate(category))
+                .name("items").beginArray();
+            for (ItemSummary item : analytics.getItems(category)) {
+                json.beginObject()
+                    .field("questionId", item.getQuestionId())
+                    .field("answers", item.getAnswers())
+                    .field("correctRate", item.getCorrectRate())
+                    .field("unansweredRate", item.getUnansweredRate())
+                    .field("discrimination", item.getDiscrimination())
+                    .name("responses").beginArray();
+                for (int column = 0; column < item.getResponseColumns(); column++) {
+                    json.value(item.getResponseRate(column));
+                }
+                json.endArray().endObject();
+            }
+            send(exchange, 200, json.endArray().endObject().toString());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        }
+    }
+    
+    private static Json writeEntry(Json json, LeaderboardEntry entry) {
+        return json.field("player", entry.getPlayer())
+            .field("category", entry.getCategory().getId())
+            .field("score", entry.getScore())
+            .field("totalQuestions", entry.getTotalQuestions())
+            .field("percentage", entry.getPercentage())
+            .field("durationMillis", entry.getDurationMillis());
+    }
+    
+    private void refreshTimer(String id) {
+        SessionTimer timer = sessions.getTimer(id);
+        if (timer != null) {
+            timer.refresh();
+        }
+    }
+    
+    private QuizSession requireSession(HttpExchange exchange, String id) throws IOException {
+        QuizSession session = sessions.get(id);
+        if (session == null) {
+            sendError(exchange, 404, "Unknown session " + id);
+        }
+        return session;
+    }
+    
+    private static Json writeResult(Json json, QuizResult result) {
+        return json.field("category", result.getCategory().getId())
+            .field("score", result.getScore())
+            .field("totalQuestions", result.getTotalQuestions())
+            .field("percentage", result.getPercentage())
+            .field("timedOut", result.isTimedOut())
+            .field("elapsedMillis", result.getElapsedMillis());
+    }
+    
+    private static Map<String, String> readParameters(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        try (InputStream body = exchange.getRequestBody()) {
+            byte[] bytes = body.readAllBytes();
+            if (bytes.length > 0) {
+                parseForm(new String(bytes, StandardCharsets.UTF_8), params);
+            }
+        }
+        return params;
+    }
+    
+    private static void parseForm(String encoded, Map<String, String> params) {
+        if (encoded == null || encoded.isEmpty()) {
+            return;
+        }
+        for (String pair : encoded.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                           URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+    }
+    
+    private static int parseInt(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter '" + name + "'");
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter '" + name + "' must be a number");
+        }
+    }
+    
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, new Json().beginObject().field("error", message).endObject().toString());
+    }
+    
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
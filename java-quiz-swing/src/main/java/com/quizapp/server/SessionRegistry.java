@@ -0,0 +1,103 @@
+package com.quizapp.server;
+
+import com.quizapp.session.QuizSession;
+import com.quizapp.session.SessionTimer;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Quiz sessions hosted by the server, keyed by an unguessable id, with the timers enforcing their time limits.
+ * Sessions are dropped once they have been idle for longer than the retention period.
+ */
+class SessionRegistry {
+    
+    private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+    private final long retentionNanos;
+    
+    /**
+     * @param retentionMillis How long a session is kept after its last access
+     */
+    SessionRegistry(long retentionMillis) {
+        this.retentionNanos = TimeUnit.MILLISECONDS.toNanos(retentionMillis);
+    }
+    
+    /**
+     * @param session A started session
+     * @param timer The timer of the session, already started
+     * @return The id of the session
+     */
+    String register(QuizSession session, SessionTimer timer) {
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, new Entry(session, timer));
+        return id;
+    }
+    
+    /**
+     * @param id Session id handed out by {@link #register}
+     * @return The session, or null if it is unknown or expired
+     */
+    QuizSession get(String id) {
+        Entry entry = sessions.get(id);
+        if (entry == null) {
+            return null;
+        }
+        entry.lastAccessNanos = System.nanoTime();
+        return entry.session;
+    }
+    
+    /**
+     * @param id Session id handed out by {@link #register}
+     * @return The timer of the session, or null if it is unknown or expired
+     */
+    SessionTimer getTimer(String id) {
+        Entry entry = sessions.get(id);
+        return entry == null ? null : entry.timer;
+    }
+    
+    /**
+     * Removes sessions that have not been accessed within the retention period
+     * @return Number of sessions removed
+     */
+    int expireIdleSessions() {
+        long now = System.nanoTime();
+        int removed = 0;
+        Iterator<Entry> iterator = sessions.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.lastAccessNanos > retentionNanos) {
+                entry.timer.cancel();
+                iterator.remove();
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    int size() {
+        return sessions.size();
+    }
+    
+    /**
+     * Stops the timers of all sessions, for shutdown
+     */
+    void cancelTimers() {
+        for (Entry entry : sessions.values()) {
+            entry.timer.cancel();
+        }
+    }
+    
+    private static final class Entry {
+        private final QuizSession session;
+        private final SessionTimer timer;
+        private volatile long lastAccessNanos = System.nanoTime();
+        
+        Entry(QuizSession session, SessionTimer timer) {
+            this.session = session;
+            this.timer = timer;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.quizapp.session;
+
+import com.quizapp.model.Question;
+import com.quizapp.model.QuizAttempt;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers of one quiz as one byte per question: the position of the selected option as presented,
+ * or {@link #UNANSWERED}. The position of the correct option is kept alongside as the key, so scoring
+ * compares two byte arrays and never looks at option text.
+ * <p>
+ * A sheet for a 10-question quiz takes two 10-byte arrays, and the selections can be copied out as
+ * they are for persistence and transfer. Sheets are not thread-safe.
+ */
+public class AnswerSheet {
+    
+    /** Selection of a question left unanswered */
+    public static final byte UNANSWERED = -1;
+    
+    // Key of a question without a correct option; differs from UNANSWERED so scoring needs one comparison
+    private static final byte NO_KEY = -2;
+    
+    private final byte[] selected;
+    private final byte[] key;
+    
+    /**
+     * Creates an empty sheet for questions in presentation order
+     * @param questions The questions of the quiz
+     */
+    public AnswerSheet(List<Question> questions) {
+        this.selected = new byte[questions.size()];
+        this.key = new byte[questions.size()];
+        Arrays.fill(selected, UNANSWERED);
+        for (int i = 0; i < key.length; i++) {
+            int correct = questions.get(i).getCorrectOptionIndex();
+            key[i] = correct < 0 ? NO_KEY : (byte) correct;
+        }
+    }
+    
+    /**
+     * Restores a sheet from its arrays, for example to grade answers received from elsewhere
+     * @param key Position of the correct option per question, -1 where no option is correct
+     * @param selected Position of the selected option per question, or {@link #UNANSWERED}
+     */
+    public AnswerSheet(byte[] key, byte[] selected) {
+        if (key.length != selected.length) {
+            throw new IllegalArgumentException("Key has " + key.length + " questions, selections have " + selected.length);
+        }
+        this.key = new byte[key.length];
+        this.selected = selected.clone();
+        for (int i = 0; i < key.length; i++) {
+            this.key[i] = key[i] < 0 ? NO_KEY : key[i];
+        }
+    }
+    
+    /**
+     * @param questionIndex Zero-based question index
+     * @param optionIndex Zero-based position of the option as presented, or {@link #UNANSWERED} to clear
+     */
+    public void select(int questionIndex, int optionIndex) {
+        if (optionIndex < UNANSWERED || optionIndex > Byte.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("Option " + optionIndex);
+        }
+        selected[questionIndex] = (byte) optionIndex;
+    }
+    
+    public void clear(int questionIndex) {
+        selected[questionIndex] = UNANSWERED;
+    }
+    
+    /**
+     * @param questionIndex Zero-based question index
+     * @return Position of the selected option as presented, or {@link #UNANSWERED}
+     */
+    public int getSelected(int questionIndex) {
+        return selected[questionIndex];
+    }
+    
+    /**
+     * @param questionIndex Zero-based question index
+     * @return Position of the correct option as presented, or -1 if none of the options is correct
+     */
+    public int getKey(int questionIndex) {
+        return key[questionIndex] < 0 ? -1 : key[questionIndex];
+    }
+    
+    public boolean isAnswered(int questionIndex) {
+        return selected[questionIndex] != UNANSWERED;
+    }
+    
+    public boolean isCorrect(int questionIndex) {
+        return selected[questionIndex] == key[questionIndex];
+    }
+    
+    public int getQuestionCount() {
+        return selected.length;
+    }
+    
+    public int getAnsweredCount() {
+        int answered = 0;
+        for (byte option : selected) {
+            if (option != UNANSWERED) {
+                answered++;
+            }
+        }
+        return answered;
+    }
+    
+    /**
+     * Counts correct answers
+     * @return Number of questions whose selection matches the key
+     */
+    public int score() {
+        int score = 0;
+        for (int i = 0; i < selected.length; i++) {
+            if (selected[i] == key[i]) {
+                score++;
+            }
+        }
+        return score;
+    }
+    
+    /**
+     * @return Copy of the selections, one byte per question
+     */
+    public byte[] getSelections() {
+        return selected.clone();
+    }
+    
+    /**
+     * Maps the selections to the response columns they are stored in, for {@link QuizAttempt}
+     * @param questions The questions the sheet was created for
+     * @return Stored response index per question, or {@link QuizAttempt#NO_RESPONSE}
+     */
+    public byte[] toStoredResponses(List<Question> questions) {
+        byte[] responses = new byte[selected.length];
+        for (int i = 0; i < selected.length; i++) {
+            responses[i] = (byte) (selected[i] == UNANSWERED ? QuizAttempt.NO_RESPONSE
+                                                             : questions.get(i).getResponseIndex(selected[i]));
+        }
+        return responses;
+    }
+}
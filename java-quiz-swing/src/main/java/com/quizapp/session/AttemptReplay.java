@@ -0,0 +1,166 @@
+package com.quizapp.session;
+
+import com.quizapp.dao.AttemptDAO;
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.Question;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizAttempt;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A stored attempt laid out again as its player saw it, for audits and disputes.
+ * <p>
+ * Attempts store the question ids in presentation order and the seed the option order was derived
+ * from, so the options are put back in the positions they were shown at without anything else having
+ * been stored. The text is the bank's current text: a question edited since the attempt shows its new
+ * wording, and a deleted one cannot be replayed. Attempts stored before seeds were have their options
+ * in stored order, and are not exact.
+ * <pre>
+ * java -cp java-quiz-swing-1.0.0.jar com.quizapp.session.AttemptReplay &lt;attempt id&gt;
+ * </pre>
+ */
+public class AttemptReplay {
+    
+    private final QuizAttempt attempt;
+    // In presentation order; null for questions no longer in the bank
+    private final List<Question> questions;
+    
+    /**
+     * @param attempt The stored attempt
+     * @param rows Stored rows of the attempt's questions, in any order
+     */
+    public AttemptReplay(QuizAttempt attempt, List<QuestionRow> rows) {
+        Map<Long, QuestionRow> rowsById = new HashMap<>();
+        for (QuestionRow row : rows) {
+            rowsById.put(row.getId(), row);
+        }
+        this.attempt = attempt;
+        this.questions = new ArrayList<>(attempt.getTotalQuestions());
+        for (int i = 0; i < attempt.getTotalQuestions(); i++) {
+            QuestionRow row = rowsById.get(attempt.getQuestionId(i));
+            questions.add(row != null ? new Question(row, attempt.getSeed()) : null);
+        }
+    }
+    
+    /**
+     * Reads an attempt and the questions it was made of
+     * @param attemptId Id of the attempt
+     * @return The replay, or null if there is no such attempt or the database cannot be read
+     */
+    public static AttemptReplay load(long attemptId) {
+        QuizAttempt attempt = new AttemptDAO().getAttempt(attemptId);
+        if (attempt == null) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(attempt.getTotalQuestions());
+        for (int i = 0; i < attempt.getTotalQuestions(); i++) {
+            ids.add(attempt.getQuestionId(i));
+        }
+        List<QuestionRow> rows = new QuestionDAO().getQuestionRowsById(ids);
+        return rows != null ? new AttemptReplay(attempt, rows) : null;
+    }
+    
+    public QuizAttempt getAttempt() {
+        return attempt;
+    }
+    
+    public int getQuestionCount() {
+        return questions.size();
+    }
+    
+    /**
+     * @param index Position of the question in the attempt
+     * @return The question with its options in presented order, or null if it is no longer in the bank
+     */
+    public Question getQuestion(int index) {
+        return questions.get(index);
+    }
+    
+    /**
+     * @param index Position of the question in the attempt
+     * @return Zero-based position of the selected option as presented, or {@link AnswerSheet#UNANSWERED}
+     *         if the question was left unanswered or is no longer in the bank
+     */
+    public int getSelectedOption(int index) {
+        Question question = questions.get(index);
+        int response = attempt.getSelectedResponse(index);
+        if (question == null || response == QuizAttempt.NO_RESPONSE) {
+            return AnswerSheet.UNANSWERED;
+        }
+        return question.getOptionIndex(response);
+    }
+    
+    /**
+     * @return true if every question was found and the option order is the one the player saw
+     */
+    public boolean isExact() {
+        return attempt.getSeed() != Question.NO_SEED && !questions.contains(null);
+    }
+    
+    /**
+     * Scores the attempt again from the replayed options, by position as the session did
+     * @return Number of questions whose selected option is the correct one
+     */
+    public int rescore() {
+        int score = 0;
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            int selected = getSelectedOption(i);
+            if (question != null && selected != AnswerSheet.UNANSWERED && selected == question.getCorrectOptionIndex()) {
+                score++;
+            }
+        }
+        return score;
+    }
+    
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: AttemptReplay <attempt id>");
+            System.exit(2);
+        }
+        long attemptId = Long.parseLong(args[0]);
+        
+        try {
+            AttemptReplay replay = load(attemptId);
+            if (replay == null) {
+                System.err.println("Cannot read attempt " + attemptId);
+                System.exit(1);
+            }
+            replay.print();
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+    
+    private void print() {
+        System.out.println("Attempt by " + attempt.getPlayer() + " in " + attempt.getCategory().getDisplayName()
+                           + ", seed " + Long.toHexString(attempt.getSeed()) + (isExact() ? "" : " (not exact)"));
+        for (int i = 0; i < questions.size(); i++) {
+            Question question = questions.get(i);
+            System.out.println();
+            if (question == null) {
+                System.out.println((i + 1) + ". Question " + attempt.getQuestionId(i) + " is no longer in the bank");
+                continue;
+            }
+            System.out.println((i + 1) + ". " + question.getQuestionText() + " [" + question.getId() + "]");
+            int selected = getSelectedOption(i);
+            int correct = question.getCorrectOptionIndex();
+            for (int option = 0; option < question.getOptionCount(); option++) {
+                System.out.println("   " + (option == selected ? '>' : ' ') + (char) ('A' + option) + ") "
+                                   + question.getOption(option) + (option == correct ? "  (correct)" : ""));
+            }
+            if (selected == AnswerSheet.UNANSWERED) {
+                System.out.println("    Unanswered");
+            }
+        }
+        int score = rescore();
+        System.out.println();
+        System.out.println("Stored score " + attempt.getScore() + ", rescored " + score + " of " + questions.size()
+                           + (score == attempt.getScore() ? "" : " - MISMATCH"));
+    }
+}
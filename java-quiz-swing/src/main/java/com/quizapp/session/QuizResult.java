@@ -0,0 +1,50 @@
+package com.quizapp.session;
+
+import com.quizapp.model.QuizCategory;
+
+/**
+ * Outcome of a submitted quiz session
+ */
+public class QuizResult {
+    
+    private final QuizCategory category;
+    private final int score;
+    private final int totalQuestions;
+    private final boolean timedOut;
+    private final long elapsedMillis;
+    
+    public QuizResult(QuizCategory category, int score, int totalQuestions, boolean timedOut, long elapsedMillis) {
+        this.category = category;
+        this.score = score;
+        this.totalQuestions = totalQuestions;
+        this.timedOut = timedOut;
+        this.elapsedMillis = elapsedMillis;
+    }
+    
+    public QuizCategory getCategory() {
+        return category;
+    }
+    
+    public int getScore() {
+        return score;
+    }
+    
+    public int getTotalQuestions() {
+        return totalQuestions;
+    }
+    
+    /**
+     * @return true if the session was submitted because its time ran out
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+    
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+    
+    public double getPercentage() {
+        return totalQuestions > 0 ? (double) score / totalQuestions * 100 : 0;
+    }
+}
@@ -0,0 +1,501 @@
+package com.quizapp.session;
+
+import com.quizapp.model.Question;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.QuizCategory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * UI-independent state of one quiz attempt: questions, answers, position, time limit and result.
+ * <p>
+ * A session only holds references to its questions plus one byte per answer, see {@link AnswerSheet},
+ * so many sessions can share the same question list. Sessions are not thread-safe; callers serving several threads must
+ * synchronize on the session.
+ */
+public class QuizSession {
+    
+    /** Default time allowance per question */
+    public static final int SECONDS_PER_QUESTION = 30;
+    
+    /** Time limit of each question, from -Dquiz.questionTimeLimitSeconds; 0 (the default) for none */
+    public static final int QUESTION_TIME_LIMIT_SECONDS = Integer.getInteger("quiz.questionTimeLimitSeconds", 0);
+    
+    /** Deadline of a limit that is not set or not running */
+    public static final long NO_DEADLINE = Long.MAX_VALUE;
+    
+    public enum State {
+        NOT_STARTED, IN_PROGRESS, SUBMITTED, TIMED_OUT
+    }
+    
+    /**
+     * Receives the changes of a started session as they happen, e.g. to journal them; called on the
+     * thread that made the change, after the session has been updated
+     */
+    public interface Listener {
+        
+        /**
+         * @param questionIndex Zero-based question index
+         * @param optionIndex Zero-based position of the option as presented, or {@link AnswerSheet#UNANSWERED}
+         */
+        void onAnswered(QuizSession session, int questionIndex, int optionIndex);
+        
+        /**
+         * Called when another question is shown, also when the session moves on because time ran out
+         */
+        void onNavigated(QuizSession session, int fromIndex, int toIndex);
+        
+        /**
+         * Called once when the session is submitted or times out
+         */
+        void onFinished(QuizSession session);
+    }
+    
+    private final QuizCategory category;
+    private final List<Question> questions;
+    private final AnswerSheet answers;
+    private final long[] timeSpentNanos;
+    private final int timeLimitSeconds;
+    private final int questionTimeLimitSeconds;
+    
+    private State state = State.NOT_STARTED;
+    private int currentIndex;
+    private long startedAtMillis;
+    // Wall-clock time of the end; not startedAtMillis plus the elapsed time, which leaves out time before a resume
+    private long finishedAtMillis;
+    private long startNanos;
+    private long endNanos;
+    // When the current question was shown, for per-question time spent
+    private long questionShownNanos;
+    private QuizResult result;
+    private String player = QuizAttempt.ANONYMOUS;
+    private Consumer<QuizAttempt> completionListener;
+    private Listener listener;
+    
+    /**
+     * Creates a session allowing {@link #SECONDS_PER_QUESTION} per question for the whole quiz,
+     * and {@link #QUESTION_TIME_LIMIT_SECONDS} for each question
+     * @param category The quiz category
+     * @param questions The questions in presentation order
+     */
+    public QuizSession(QuizCategory category, List<Question> questions) {
+        this(category, questions, questions.size() * SECONDS_PER_QUESTION, QUESTION_TIME_LIMIT_SECONDS);
+    }
+    
+    /**
+     * @param category The quiz category
+     * @param questions The questions in presentation order
+     * @param timeLimitSeconds Time allowed for the whole quiz, or 0 for no limit
+     */
+    public QuizSession(QuizCategory category, List<Question> questions, int timeLimitSeconds) {
+        this(category, questions, timeLimitSeconds, 0);
+    }
+    
+    /**
+     * @param category The quiz category
+     * @param questions The questions in presentation order
+     * @param timeLimitSeconds Time allowed for the whole quiz, or 0 for no limit
+     * @param questionTimeLimitSeconds Time allowed for each question, added up over all visits to it,
+     *                                 or 0 for no limit
+     */
+    public QuizSession(QuizCategory category, List<Question> questions, int timeLimitSeconds, int questionTimeLimitSeconds) {
+        if (questions == null || questions.isEmpty()) {
+            throw new IllegalArgumentException("A quiz session needs at least one question");
+        }
+        this.category = category;
+        this.questions = questions;
+        this.answers = new AnswerSheet(questions);
+        this.timeSpentNanos = new long[questions.size()];
+        this.timeLimitSeconds = timeLimitSeconds;
+        this.questionTimeLimitSeconds = questionTimeLimitSeconds;
+    }
+    
+    /**
+     * Starts the clock; calling it again has no effect
+     */
+    public void start() {
+        if (state == State.NOT_STARTED) {
+            startedAtMillis = System.currentTimeMillis();
+            startNanos = System.nanoTime();
+            questionShownNanos = startNanos;
+            state = State.IN_PROGRESS;
+        }
+    }
+    
+    /**
+     * Continues a session that was interrupted, e.g. by a crash, with the clock where it stood then;
+     * the time in between does not count. No listener is told about the restored state.
+     * @param startedAtMillis Wall-clock time the session was first started
+     * @param elapsedMillis Time the session had been running
+     * @param questionIndex Zero-based index of the question that was shown
+     * @param timeSpentMillis Time spent on each question, including the one shown
+     * @param selectedOptions Position of the selected option per question, or {@link AnswerSheet#UNANSWERED}
+     */
+    public void resume(long startedAtMillis, long elapsedMillis, int questionIndex, long[] timeSpentMillis,
+                       byte[] selectedOptions) {
+        if (state != State.NOT_STARTED) {
+            throw new IllegalStateException("Quiz session is " + state);
+        }
+        checkIndex(questionIndex);
+        if (timeSpentMillis.length != questions.size() || selectedOptions.length != questions.size()) {
+            throw new IllegalArgumentException("Expected the state of " + questions.size() + " questions");
+        }
+        for (int i = 0; i < questions.size(); i++) {
+            timeSpentNanos[i] = TimeUnit.MILLISECONDS.toNanos(timeSpentMillis[i]);
+            if (selectedOptions[i] != AnswerSheet.UNANSWERED) {
+                answers.select(i, selectedOptions[i]);
+            }
+        }
+        long now = System.nanoTime();
+        this.startedAtMillis = startedAtMillis;
+        startNanos = now - TimeUnit.MILLISECONDS.toNanos(elapsedMillis);
+        questionShownNanos = now;
+        currentIndex = questionIndex;
+        state = State.IN_PROGRESS;
+    }
+    
+    /**
+     * Records an answer, replacing any earlier answer to the same question
+     * @param questionIndex Zero-based question index
+     * @param optionIndex Zero-based position of the option as presented, or {@link AnswerSheet#UNANSWERED} to clear the answer
+     */
+    public void answer(int questionIndex, int optionIndex) {
+        requireInProgress();
+        checkIndex(questionIndex);
+        if (isQuestionExpired(questionIndex)) {
+            throw new IllegalStateException("Time is up for question " + (questionIndex + 1));
+        }
+        int optionCount = questions.get(questionIndex).getOptionCount();
+        if (optionIndex < AnswerSheet.UNANSWERED || optionIndex >= optionCount) {
+            throw new IndexOutOfBoundsException("Option " + optionIndex + " of " + optionCount);
+        }
+        answers.select(questionIndex, optionIndex);
+        if (listener != null) {
+            listener.onAnswered(this, questionIndex, optionIndex);
+        }
+    }
+    
+    /**
+     * Records an answer to the current question by option position
+     * @param optionIndex Zero-based position of the option as presented
+     */
+    public void selectOption(int optionIndex) {
+        answer(currentIndex, optionIndex);
+    }
+    
+    /**
+     * @param questionIndex Zero-based question index
+     * @return Zero-based position of the selected option as presented, or {@link AnswerSheet#UNANSWERED}
+     */
+    public int getAnswer(int questionIndex) {
+        checkIndex(questionIndex);
+        return answers.getSelected(questionIndex);
+    }
+    
+    /**
+     * @return The answers given so far; read-only for callers, answer through {@link #answer(int, int)}
+     */
+    public AnswerSheet getAnswerSheet() {
+        return answers;
+    }
+    
+    public boolean next() {
+        return goTo(currentIndex + 1);
+    }
+    
+    public boolean previous() {
+        return goTo(currentIndex - 1);
+    }
+    
+    /**
+     * Moves to a question
+     * @param questionIndex Zero-based question index
+     * @return false if the index is out of range
+     */
+    public boolean goTo(int questionIndex) {
+        if (questionIndex < 0 || questionIndex >= questions.size()) {
+            return false;
+        }
+        int fromIndex = currentIndex;
+        boolean navigated = state == State.IN_PROGRESS && questionIndex != fromIndex;
+        if (navigated) {
+            long now = System.nanoTime();
+            timeSpentNanos[fromIndex] += now - questionShownNanos;
+            questionShownNanos = now;
+        }
+        currentIndex = questionIndex;
+        if (navigated && listener != null) {
+            listener.onNavigated(this, fromIndex, questionIndex);
+        }
+        return true;
+    }
+    
+    /**
+     * Submits the session if its time limit has passed. If the current question's time limit has
+     * passed, moves on to the next question with time left, and submits the session if there is none.
+     * @return true if the session timed out now or earlier
+     */
+    public boolean checkTimeout() {
+        if (state == State.IN_PROGRESS && timeLimitSeconds > 0 && getRemainingSeconds() <= 0) {
+            finish(State.TIMED_OUT);
+        } else if (state == State.IN_PROGRESS) {
+            long questionDeadline = getQuestionDeadlineNanos();
+            if (questionDeadline != NO_DEADLINE && System.nanoTime() - questionDeadline >= 0) {
+                expireCurrentQuestion();
+            }
+        }
+        return state == State.TIMED_OUT;
+    }
+    
+    private void expireCurrentQuestion() {
+        long limitNanos = TimeUnit.SECONDS.toNanos(questionTimeLimitSeconds);
+        int count = questions.size();
+        for (int step = 1; step < count; step++) {
+            int candidate = (currentIndex + step) % count;
+            if (timeSpentNanos[candidate] < limitNanos) {
+                goTo(candidate);
+                return;
+            }
+        }
+        finish(State.TIMED_OUT);
+    }
+    
+    /**
+     * Ends the session and scores it; later calls return the same result
+     * @return The result of the session
+     */
+    public QuizResult submit() {
+        if (result == null) {
+            start();
+            finish(State.SUBMITTED);
+        }
+        return result;
+    }
+    
+    private void finish(State finalState) {
+        state = finalState;
+        endNanos = System.nanoTime();
+        finishedAtMillis = System.currentTimeMillis();
+        timeSpentNanos[currentIndex] += endNanos - questionShownNanos;
+        result = new QuizResult(category, answers.score(), questions.size(),
+                                finalState == State.TIMED_OUT, getElapsedMillis());
+        
+        if (listener != null) {
+            listener.onFinished(this);
+        }
+        if (completionListener != null) {
+            try {
+                completionListener.accept(toAttempt());
+            } catch (RuntimeException e) {
+                // Recording must never prevent the result from being shown
+                System.err.println("Error in quiz completion listener: " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Captures the finished session for persistence
+     * @return The attempt, or null if the session has not finished yet
+     */
+    public QuizAttempt toAttempt() {
+        if (result == null) {
+            return null;
+        }
+        int count = questions.size();
+        long[] questionIds = new long[count];
+        int[] timeSpentMillis = new int[count];
+        for (int i = 0; i < count; i++) {
+            questionIds[i] = questions.get(i).getId();
+            timeSpentMillis[i] = (int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toMillis(timeSpentNanos[i]));
+        }
+        return new QuizAttempt(player, category, startedAtMillis, finishedAtMillis,
+                               result.getElapsedMillis(), result.getScore(), result.isTimedOut(),
+                               questionIds, answers.toStoredResponses(questions), timeSpentMillis, getSeed());
+    }
+    
+    /**
+     * @return {@link System#nanoTime()} reading at which the quiz times out, or {@link #NO_DEADLINE}
+     *         if it has no time limit or is not in progress
+     */
+    public long getDeadlineNanos() {
+        if (state != State.IN_PROGRESS || timeLimitSeconds <= 0) {
+            return NO_DEADLINE;
+        }
+        return startNanos + TimeUnit.SECONDS.toNanos(timeLimitSeconds);
+    }
+    
+    /**
+     * @return {@link System#nanoTime()} reading at which the current question's time runs out, possibly
+     *         already passed; {@link #NO_DEADLINE} if questions have no time limit, the session is not in
+     *         progress, or the question's time had run out before it was shown
+     */
+    public long getQuestionDeadlineNanos() {
+        long limitNanos = TimeUnit.SECONDS.toNanos(questionTimeLimitSeconds);
+        if (state != State.IN_PROGRESS || limitNanos <= 0 || timeSpentNanos[currentIndex] >= limitNanos) {
+            return NO_DEADLINE;
+        }
+        return questionShownNanos + limitNanos - timeSpentNanos[currentIndex];
+    }
+    
+    /**
+     * @param questionIndex Zero-based question index
+     * @return true if the question has used up its time limit; it can be shown but not answered
+     */
+    public boolean isQuestionExpired(int questionIndex) {
+        checkIndex(questionIndex);
+        return questionTimeLimitSeconds > 0 && getTimeSpentNanos(questionIndex) >= TimeUnit.SECONDS.toNanos(questionTimeLimitSeconds);
+    }
+    
+    /**
+     * @return Whole seconds left of the current question's time limit, never negative;
+     *         {@link Integer#MAX_VALUE} if questions have no time limit
+     */
+    public int getQuestionRemainingSeconds() {
+        if (questionTimeLimitSeconds <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        long spentSeconds = TimeUnit.NANOSECONDS.toSeconds(getTimeSpentNanos(currentIndex));
+        return (int) Math.max(0, questionTimeLimitSeconds - spentSeconds);
+    }
+    
+    /**
+     * @param questionIndex Zero-based question index
+     * @return Time spent on the question over all visits, including the current one
+     */
+    public long getTimeSpentMillis(int questionIndex) {
+        checkIndex(questionIndex);
+        return TimeUnit.NANOSECONDS.toMillis(getTimeSpentNanos(questionIndex));
+    }
+    
+    private long getTimeSpentNanos(int questionIndex) {
+        if (state == State.IN_PROGRESS && questionIndex == currentIndex) {
+            return timeSpentNanos[questionIndex] + System.nanoTime() - questionShownNanos;
+        }
+        return timeSpentNanos[questionIndex];
+    }
+    
+    /**
+     * @return Whole seconds left before the time limit, never negative; the limit itself if not started
+     */
+    public int getRemainingSeconds() {
+        if (timeLimitSeconds <= 0) {
+            return Integer.MAX_VALUE;
+        }
+        long elapsedSeconds = TimeUnit.MILLISECONDS.toSeconds(getElapsedMillis());
+        return (int) Math.max(0, timeLimitSeconds - elapsedSeconds);
+    }
+    
+    /**
+     * @return Wall-clock time the session was started, or 0 if it has not been
+     */
+    public long getStartedAtMillis() {
+        return startedAtMillis;
+    }
+    
+    public long getElapsedMillis() {
+        if (state == State.NOT_STARTED) {
+            return 0;
+        }
+        long end = isFinished() ? endNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+    }
+    
+    private void requireInProgress() {
+        if (state != State.IN_PROGRESS) {
+            throw new IllegalStateException("Quiz session is " + state);
+        }
+    }
+    
+    private void checkIndex(int questionIndex) {
+        if (questionIndex < 0 || questionIndex >= questions.size()) {
+            throw new IndexOutOfBoundsException("Question " + questionIndex + " of " + questions.size());
+        }
+    }
+    
+    public QuizCategory getCategory() {
+        return category;
+    }
+    
+    public List<Question> getQuestions() {
+        return questions;
+    }
+    
+    /**
+     * @return Seed the question and option order was derived from, or {@link Question#NO_SEED}
+     */
+    public long getSeed() {
+        return questions.get(0).getSeed();
+    }
+    
+    public int getQuestionCount() {
+        return questions.size();
+    }
+    
+    public int getCurrentIndex() {
+        return currentIndex;
+    }
+    
+    public Question getCurrentQuestion() {
+        return questions.get(currentIndex);
+    }
+    
+    public boolean isFirstQuestion() {
+        return currentIndex == 0;
+    }
+    
+    public boolean isLastQuestion() {
+        return currentIndex == questions.size() - 1;
+    }
+    
+    public int getTimeLimitSeconds() {
+        return timeLimitSeconds;
+    }
+    
+    public int getQuestionTimeLimitSeconds() {
+        return questionTimeLimitSeconds;
+    }
+    
+    public State getState() {
+        return state;
+    }
+    
+    public boolean isFinished() {
+        return state == State.SUBMITTED || state == State.TIMED_OUT;
+    }
+    
+    public String getPlayer() {
+        return player;
+    }
+    
+    /**
+     * @param player Name the attempt is recorded under; blank names are stored as {@link QuizAttempt#ANONYMOUS}
+     */
+    public void setPlayer(String player) {
+        this.player = QuizAttempt.normalizePlayer(player);
+    }
+    
+    /**
+     * Sets the listener notified once when the session is submitted or times out
+     * @param listener Receives the finished attempt; called on the thread that ends the session
+     */
+    public void setCompletionListener(Consumer<QuizAttempt> listener) {
+        this.completionListener = listener;
+    }
+    
+    /**
+     * Sets the listener told about answers, navigation and the end of the session
+     * @param listener The listener, or null for none
+     */
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+    
+    /**
+     * @return The result once the session has been submitted or timed out, otherwise null
+     */
+    public QuizResult getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,154 @@
+package com.quizapp.session;
+
+import com.quizapp.util.HashedWheelTimer;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces the time limits of one {@link QuizSession} and reports its countdowns, using the shared
+ * {@link HashedWheelTimer} instead of a thread or a polling timer per session.
+ * <p>
+ * The timer wakes only when something changes: when the whole seconds left for the quiz or the current
+ * question go down while a listener is set, and at the deadlines otherwise. Every check runs through the
+ * executor given, which must confine access to the session: the Swing event queue for a session on screen,
+ * or an executor that locks the session. {@link #refresh()} must be called in that same context.
+ */
+public class SessionTimer {
+    
+    /**
+     * Receives countdown changes; called through the session's executor
+     */
+    public interface Listener {
+        
+        /**
+         * Called when the seconds left for the quiz or the current question have changed, when the
+         * session moved to another question because time ran out, and once when the session timed out
+         * @param session The session, already updated
+         */
+        void onTimeChanged(QuizSession session);
+    }
+    
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final QuizSession session;
+    private final Executor executor;
+    private final Listener listener;
+    private final HashedWheelTimer wheel;
+    private volatile HashedWheelTimer.Timeout timeout;
+    private volatile boolean cancelled;
+    // Last values reported to the listener
+    private int shownSeconds = -1;
+    private int shownQuestionSeconds = -1;
+    private int shownIndex = -1;
+    // Incremented on each arm, so a check queued by a timeout that was replaced does nothing
+    private int generation;
+    
+    /**
+     * @param session The session to watch; should be started before {@link #start()}
+     * @param executor Runs the checks with exclusive access to the session
+     * @param listener Receives countdown changes, or null to only enforce the limits
+     */
+    public SessionTimer(QuizSession session, Executor executor, Listener listener) {
+        this.session = session;
+        this.executor = executor;
+        this.listener = listener;
+        this.wheel = HashedWheelTimer.getDefault();
+    }
+    
+    /**
+     * Arms the timer; the first check runs through the executor right away
+     */
+    public void start() {
+        executor.execute(this::check);
+    }
+    
+    /**
+     * Checks the session now and re-arms the timer for its current deadlines, for example after it
+     * moved to another question. Must be called in the executor's context.
+     */
+    public void refresh() {
+        HashedWheelTimer.Timeout pending = timeout;
+        if (pending != null) {
+            pending.cancel();
+        }
+        generation++;
+        check();
+    }
+    
+    /**
+     * Stops watching the session; the listener is not called after this returns, if called in the executor's context
+     */
+    public void cancel() {
+        cancelled = true;
+        HashedWheelTimer.Timeout pending = timeout;
+        if (pending != null) {
+            pending.cancel();
+        }
+    }
+    
+    private void check() {
+        if (cancelled) {
+            return;
+        }
+        session.checkTimeout();
+        if (listener != null) {
+            int seconds = session.getRemainingSeconds();
+            int questionSeconds = session.getQuestionRemainingSeconds();
+            int index = session.getCurrentIndex();
+            if (seconds != shownSeconds || questionSeconds != shownQuestionSeconds || index != shownIndex
+                    || session.isFinished()) {
+                shownSeconds = seconds;
+                shownQuestionSeconds = questionSeconds;
+                shownIndex = index;
+                listener.onTimeChanged(session);
+            }
+        }
+        if (!session.isFinished() && !cancelled) {
+            arm();
+        }
+    }
+    
+    private void arm() {
+        long now = System.nanoTime();
+        long deadline = session.getDeadlineNanos();
+        long questionDeadline = session.getQuestionDeadlineNanos();
+        long next = earliest(deadline, questionDeadline);
+        if (listener != null) {
+            next = earliest(next, earliest(nextSecond(deadline, now), nextSecond(questionDeadline, now)));
+        }
+        int armed = ++generation;
+        if (next != QuizSession.NO_DEADLINE) {
+            timeout = wheel.schedule(() -> executor.execute(() -> {
+                if (armed == generation) {
+                    check();
+                }
+            }), next);
+        }
+    }
+    
+    /**
+     * @return When the whole seconds left before a deadline next go down, or {@link QuizSession#NO_DEADLINE}
+     */
+    private static long nextSecond(long deadline, long now) {
+        if (deadline == QuizSession.NO_DEADLINE) {
+            return QuizSession.NO_DEADLINE;
+        }
+        long remaining = deadline - now;
+        if (remaining <= 0) {
+            return deadline;
+        }
+        // The seconds shown are the remaining time rounded up, so they go down on each whole second before the deadline
+        return deadline - (remaining - 1) / SECOND_NANOS * SECOND_NANOS;
+    }
+    
+    private static long earliest(long a, long b) {
+        if (a == QuizSession.NO_DEADLINE) {
+            return b;
+        }
+        if (b == QuizSession.NO_DEADLINE) {
+            return a;
+        }
+        return a - b <= 0 ? a : b;
+    }
+}
@@ -0,0 +1,287 @@
+package com.quizapp.simulation;
+
+import com.quizapp.dao.AttemptDAO;
+import com.quizapp.dao.AttemptRecorder;
+import com.quizapp.dao.QuestionDAO;
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.database.PoolStatistics;
+import com.quizapp.metrics.Counter;
+import com.quizapp.metrics.LatencyHistogram;
+import com.quizapp.metrics.MetricsRegistry;
+import com.quizapp.model.Question;
+import com.quizapp.model.QuizAttempt;
+import com.quizapp.model.QuizCategory;
+import com.quizapp.session.QuizSession;
+import com.quizapp.util.VirtualThreads;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Simulates quiz takers against {@link QuestionDAO} and the database layer in one process, to see how
+ * the connection pool and SQLite hold up when many people start quizzes at the same moment, as at the
+ * start of an exam. Unlike {@link com.quizapp.server.LoadGenerator}, no server or HTTP is involved.
+ * <p>
+ * Each taker loads a quiz of a random category, thinks before every answer, submits and starts over
+ * until the run ends. Think times are drawn from an exponential distribution around the mean given. All
+ * takers start together unless a ramp-up is given. Attempts are stored through the shared
+ * {@link AttemptRecorder} as in the application, or with "direct" by every taker through
+ * {@link AttemptDAO}, which shows the write contention the recorder avoids.
+ * <p>
+ * Every quiz.simulation.reportSeconds (default 5) a line shows throughput, load latency, SQLITE_BUSY
+ * errors and the connections in use; the run ends with totals, latency percentiles and the pool and
+ * recorder counters. Attempts are really stored, so point -Dquiz.db.url at a copy of the database.
+ * <pre>
+ * java -cp java-quiz-swing-1.0.0.jar com.quizapp.simulation.QuizTakerSimulator [takers] [seconds] [think ms] [ramp-up s] [recorder|direct]
+ * </pre>
+ */
+public class QuizTakerSimulator {
+    
+    private static final long REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(Integer.getInteger("quiz.simulation.reportSeconds", 5));
+    
+    private static final int LOAD = 0;
+    private static final int SUBMIT = 1;
+    private static final String[] OPERATION_NAMES = {"load", "submit"};
+    
+    private final int takers;
+    private final int seconds;
+    private final long thinkMillis;
+    private final int rampUpSeconds;
+    private final boolean direct;
+    
+    private final QuestionDAO questionDAO = new QuestionDAO();
+    private final AttemptDAO attemptDAO = new AttemptDAO();
+    private final Counter busyErrors = MetricsRegistry.getDefault().counter("db.errors.busy");
+    private final Counter databaseErrors = MetricsRegistry.getDefault().counter("db.errors");
+    private final Counter connectionErrors = MetricsRegistry.getDefault().counter("db.connection.errors");
+    // Whole run and current report interval; not registered, so they do not mix with the application's metrics
+    private final LatencyHistogram[] latencies = {new LatencyHistogram("load"), new LatencyHistogram("submit")};
+    private final LatencyHistogram[] intervalLatencies = {new LatencyHistogram("load"), new LatencyHistogram("submit")};
+    private final AtomicInteger activeTakers = new AtomicInteger();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder loadErrors = new LongAdder();
+    private final LongAdder submitErrors = new LongAdder();
+    // Released when the run ends, waking takers that are thinking or waiting to start
+    private final CountDownLatch finished = new CountDownLatch(1);
+    
+    /**
+     * @param takers Number of simulated quiz takers
+     * @param seconds Length of the run
+     * @param thinkMillis Mean time a taker thinks before each answer
+     * @param rampUpSeconds Time over which the takers start, 0 to start them all at once
+     * @param direct Whether every taker stores its attempts itself instead of through the shared recorder
+     */
+    public QuizTakerSimulator(int takers, int seconds, long thinkMillis, int rampUpSeconds, boolean direct) {
+        if (takers < 1 || seconds < 1 || thinkMillis < 0 || rampUpSeconds < 0) {
+            throw new IllegalArgumentException("Takers and seconds must be positive, think time and ramp-up not negative");
+        }
+        this.takers = takers;
+        this.seconds = seconds;
+        this.thinkMillis = thinkMillis;
+        this.rampUpSeconds = rampUpSeconds;
+        this.direct = direct;
+    }
+    
+    public static void main(String[] args) throws InterruptedException {
+        int takers = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        long thinkMillis = args.length > 2 ? Long.parseLong(args[2]) : 3_000;
+        int rampUpSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        boolean direct = args.length > 4 && args[4].equals("direct");
+        
+        if (DatabaseConnection.initialize() == null) {
+            System.err.println("Cannot open the database");
+            System.exit(1);
+        }
+        try {
+            new QuizTakerSimulator(takers, seconds, thinkMillis, rampUpSeconds, direct).run();
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+    
+    /**
+     * Runs the simulation, printing a report line per interval and a summary at the end
+     */
+    public void run() throws InterruptedException {
+        System.out.printf("Simulating %d quiz takers for %d s, %d ms mean think time, %d s ramp-up, %s submits%n",
+                          takers, seconds, thinkMillis, rampUpSeconds, direct ? "direct" : "recorder");
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        
+        ExecutorService executor = VirtualThreads.isAvailable() ? VirtualThreads.newPerTaskExecutor() : null;
+        if (executor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(takers, runnable -> {
+                Thread thread = new Thread(runnable, "quiz-taker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        for (int i = 0; i < takers; i++) {
+            long startAt = start + TimeUnit.SECONDS.toNanos(rampUpSeconds) * i / takers;
+            String player = "taker-" + i;
+            executor.execute(() -> runTaker(player, startAt));
+        }
+        
+        System.out.printf("%6s %6s %9s %9s %9s %9s %10s %6s %6s %5s %8s %7s%n", "time s", "active", "started/s",
+                          "submits/s", "load p50", "load p99", "submit p99", "busy", "errors", "open", "borrowed", "waiting");
+        long nextReport = start + REPORT_INTERVAL_NANOS;
+        long lastReport = start;
+        long lastStarted = 0;
+        long lastSubmitted = 0;
+        long lastBusy = busyErrors.getCount();
+        long lastErrors = databaseErrors.getCount() + connectionErrors.getCount();
+        while (true) {
+            long now = System.nanoTime();
+            long wakeUp = Math.min(nextReport, deadline);
+            if (wakeUp - now > 0) {
+                TimeUnit.NANOSECONDS.sleep(wakeUp - now);
+                now = System.nanoTime();
+            }
+            
+            double interval = (now - lastReport) / 1_000_000_000.0;
+            long startedNow = started.sum();
+            long submittedNow = submitted.sum();
+            long busyNow = busyErrors.getCount();
+            long errorsNow = databaseErrors.getCount() + connectionErrors.getCount();
+            PoolStatistics pool = DatabaseConnection.getPoolStatistics();
+            System.out.printf("%6.0f %6d %9.1f %9.1f %9.2f %9.2f %10.2f %6d %6d %5d %8d %7d%n",
+                              (now - start) / 1_000_000_000.0, activeTakers.get(),
+                              (startedNow - lastStarted) / interval, (submittedNow - lastSubmitted) / interval,
+                              intervalLatencies[LOAD].getMedianMillis(), intervalLatencies[LOAD].get99thPercentileMillis(),
+                              intervalLatencies[SUBMIT].get99thPercentileMillis(), busyNow - lastBusy, errorsNow - lastErrors,
+                              pool != null ? pool.getOpenConnections() : 0, pool != null ? pool.getBorrowedConnections() : 0,
+                              pool != null ? pool.getWaitingThreads() : 0);
+            for (LatencyHistogram histogram : intervalLatencies) {
+                histogram.reset();
+            }
+            lastReport = now;
+            lastStarted = startedNow;
+            lastSubmitted = submittedNow;
+            lastBusy = busyNow;
+            lastErrors = errorsNow;
+            if (now - deadline >= 0) {
+                break;
+            }
+            nextReport += REPORT_INTERVAL_NANOS;
+        }
+        
+        // Thinking takers abandon their quiz; those waiting for the database finish the call first
+        finished.countDown();
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        if (!direct) {
+            AttemptRecorder.getDefault().shutdown(10_000);
+        }
+        report((System.nanoTime() - start) / 1_000_000_000.0);
+    }
+    
+    private void runTaker(String player, long startAt) {
+        try {
+            if (finished.await(startAt - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            activeTakers.incrementAndGet();
+            try {
+                while (finished.getCount() > 0) {
+                    takeQuiz(player);
+                }
+            } finally {
+                activeTakers.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            // The run is over
+        } catch (RuntimeException e) {
+            System.err.println("Quiz taker " + player + " failed: " + e);
+        }
+    }
+    
+    private void takeQuiz(String player) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        QuizCategory[] categories = QuizCategory.values();
+        QuizCategory category = categories[random.nextInt(categories.length)];
+        
+        long loadStart = System.nanoTime();
+        List<Question> questions = questionDAO.getQuestionsByCategory(category);
+        record(LOAD, loadStart);
+        if (questions == null || questions.isEmpty()) {
+            loadErrors.increment();
+            // Back off like a person retrying, instead of hammering a failing database
+            think(random);
+            return;
+        }
+        started.increment();
+        
+        QuizSession session = new QuizSession(category, questions);
+        session.setPlayer(player);
+        if (!direct) {
+            session.setCompletionListener(AttemptRecorder.getDefault()::record);
+        }
+        session.start();
+        for (int i = 0; i < questions.size(); i++) {
+            if (!think(random)) {
+                return; // Abandoned when the run ends
+            }
+            if (session.checkTimeout()) {
+                break;
+            }
+            session.goTo(i);
+            session.answer(i, random.nextInt(questions.get(i).getOptionCount()));
+        }
+        
+        long submitStart = System.nanoTime();
+        session.submit();
+        if (direct && !attemptDAO.insertAttempts(List.of(session.toAttempt()))) {
+            submitErrors.increment();
+        }
+        record(SUBMIT, submitStart);
+        submitted.increment();
+        if (session.getState() == QuizSession.State.TIMED_OUT) {
+            timedOut.increment();
+        }
+    }
+    
+    /**
+     * @return false if the run ended while thinking
+     */
+    private boolean think(ThreadLocalRandom random) throws InterruptedException {
+        // Exponential around the mean, capped so one taker does not stall for minutes
+        double millis = -thinkMillis * Math.log(1 - random.nextDouble());
+        return !finished.await((long) Math.min(millis, thinkMillis * 10.0), TimeUnit.MILLISECONDS);
+    }
+    
+    private void record(int operation, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        latencies[operation].record(elapsed);
+        intervalLatencies[operation].record(elapsed);
+    }
+    
+    private void report(double elapsedSeconds) {
+        System.out.printf("%nQuizzes started: %d, submitted: %d (%.1f/s), timed out: %d%n",
+                          started.sum(), submitted.sum(), submitted.sum() / elapsedSeconds, timedOut.sum());
+        System.out.printf("Load errors: %d, submit errors: %d, SQLITE_BUSY/LOCKED errors: %d, connection errors: %d%n",
+                          loadErrors.sum(), submitErrors.sum(), busyErrors.getCount(), connectionErrors.getCount());
+        System.out.printf("%-8s %10s %10s %10s %10s %10s%n", "request", "count", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (int operation = 0; operation < OPERATION_NAMES.length; operation++) {
+            LatencyHistogram histogram = latencies[operation];
+            System.out.printf("%-8s %10d %10.2f %10.2f %10.2f %10.2f%n", OPERATION_NAMES[operation], histogram.getCount(),
+                              histogram.getMedianMillis(), histogram.get90thPercentileMillis(),
+                              histogram.get99thPercentileMillis(), histogram.getMaxMillis());
+        }
+        System.out.println(DatabaseConnection.getPoolStatistics());
+        if (!direct) {
+            System.out.println(AttemptRecorder.getDefault().getStatistics());
+        }
+    }
+}
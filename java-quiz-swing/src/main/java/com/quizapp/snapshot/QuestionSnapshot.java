@@ -0,0 +1,214 @@
+package com.quizapp.snapshot;
+
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Read-only view of a question snapshot written by {@link SnapshotExporter}.
+ * <p>
+ * Opening maps the file and checks its header; nothing else is read until a question is asked for,
+ * and then only that question's record and strings are decoded. This lets the first quiz start
+ * before SQLite has even been loaded. A snapshot records the bank revision it was taken at, so
+ * callers can compare it with {@code QuestionDAO.getBankRevision()} and fall back to the database
+ * when it is stale. Instances are immutable and safe to share between threads.
+ */
+public class QuestionSnapshot {
+    
+    /** Snapshot file used when -Dquiz.snapshot.file is not set */
+    public static final String DEFAULT_FILE = "questions.snapshot";
+    
+    private final Path file;
+    private final ByteBuffer buffer;
+    private final long revision;
+    private final long createdAtMillis;
+    private final int questionCount;
+    private final int questionTableOffset;
+    private final int stringTableOffset;
+    // Range of question records per category, indexed by ordinal
+    private final int[] firstQuestion;
+    private final int[] categoryCount;
+    
+    private QuestionSnapshot(Path file, ByteBuffer buffer, int categoryEntries) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        this.revision = buffer.getLong(SnapshotFormat.REVISION_OFFSET);
+        this.createdAtMillis = buffer.getLong(SnapshotFormat.CREATED_AT_OFFSET);
+        this.questionCount = buffer.getInt(SnapshotFormat.QUESTION_COUNT_OFFSET);
+        this.questionTableOffset = (int) SnapshotFormat.questionTableOffset(categoryEntries);
+        this.stringTableOffset = (int) buffer.getLong(SnapshotFormat.STRING_TABLE_OFFSET);
+        
+        if (stringTableOffset != questionTableOffset + (long) questionCount * SnapshotFormat.QUESTION_RECORD_BYTES) {
+            throw new IOException("inconsistent question table size");
+        }
+        this.firstQuestion = new int[QuizCategory.values().length];
+        this.categoryCount = new int[QuizCategory.values().length];
+        for (int i = 0; i < categoryEntries; i++) {
+            int entry = SnapshotFormat.HEADER_BYTES + i * SnapshotFormat.CATEGORY_ENTRY_BYTES;
+            QuizCategory category;
+            try {
+                category = QuizCategory.fromId(buffer.getInt(entry));
+            } catch (IllegalArgumentException e) {
+                continue; // Category no longer offered
+            }
+            int first = buffer.getInt(entry + 4);
+            int count = buffer.getInt(entry + 8);
+            if (first < 0 || count < 0 || (long) first + count > questionCount) {
+                throw new IOException("category range out of bounds");
+            }
+            firstQuestion[category.ordinal()] = first;
+            categoryCount[category.ordinal()] = count;
+        }
+    }
+    
+    /**
+     * Maps a snapshot file
+     * @param file The snapshot file
+     * @return The snapshot, or null if the file is missing, truncated or not a snapshot of this format version
+     */
+    public static QuestionSnapshot open(Path file) {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < SnapshotFormat.HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("unexpected size " + size);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(SnapshotFormat.MAGIC_OFFSET) != SnapshotFormat.MAGIC) {
+                throw new IOException("not a question snapshot");
+            }
+            int version = buffer.getInt(SnapshotFormat.VERSION_OFFSET);
+            if (version != SnapshotFormat.VERSION) {
+                throw new IOException("format version " + version + ", expected " + SnapshotFormat.VERSION);
+            }
+            if (buffer.getLong(SnapshotFormat.FILE_LENGTH_OFFSET) != size) {
+                throw new IOException("truncated file");
+            }
+            return new QuestionSnapshot(file, buffer, buffer.getInt(SnapshotFormat.CATEGORY_COUNT_OFFSET));
+        } catch (IOException e) {
+            System.err.println("Ignoring question snapshot " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * @return The snapshot named by -Dquiz.snapshot.file (default {@value #DEFAULT_FILE}), mapped on first use,
+     *         or null if there is none
+     */
+    public static QuestionSnapshot getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    private static final class DefaultHolder {
+        static final QuestionSnapshot INSTANCE = open(Paths.get(System.getProperty("quiz.snapshot.file", DEFAULT_FILE)));
+    }
+    
+    /**
+     * Draws distinct questions of a category uniformly at random
+     * @param category The category to draw from
+     * @param count Number of questions wanted
+     * @return Up to count rows in bank order, fewer if the category is smaller
+     */
+    public List<QuestionRow> sampleQuestionRows(QuizCategory category, int count) {
+        int first = firstQuestion[category.ordinal()];
+        int available = categoryCount[category.ordinal()];
+        if (count >= available) {
+            return getQuestionRows(category);
+        }
+        
+        // Floyd's algorithm: count distinct indexes with count random numbers, no matter how large the category
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] chosen = new int[count];
+        int size = 0;
+        for (int j = available - count; j < available; j++) {
+            int candidate = random.nextInt(j + 1);
+            int value = contains(chosen, size, candidate) ? j : candidate;
+            chosen[size++] = value;
+        }
+        Arrays.sort(chosen);
+        
+        List<QuestionRow> rows = new ArrayList<>(count);
+        for (int index : chosen) {
+            rows.add(readQuestion(category, first + index));
+        }
+        return rows;
+    }
+    
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * @param category The category to read
+     * @return Every question of the category in bank order
+     */
+    public List<QuestionRow> getQuestionRows(QuizCategory category) {
+        int first = firstQuestion[category.ordinal()];
+        int count = categoryCount[category.ordinal()];
+        List<QuestionRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(readQuestion(category, first + i));
+        }
+        return rows;
+    }
+    
+    private QuestionRow readQuestion(QuizCategory category, int index) {
+        int record = questionTableOffset + index * SnapshotFormat.QUESTION_RECORD_BYTES;
+        String[] responses = new String[QuestionRow.RESPONSE_COUNT];
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = readString(buffer.getInt(record + 12 + i * Integer.BYTES));
+        }
+        return new QuestionRow(buffer.getLong(record), category, readString(buffer.getInt(record + 8)), responses);
+    }
+    
+    private String readString(int reference) {
+        int position = stringTableOffset + reference;
+        byte[] bytes = new byte[buffer.getInt(position)];
+        buffer.get(position + Integer.BYTES, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    
+    public Path getFile() {
+        return file;
+    }
+    
+    /**
+     * @return The bank revision the snapshot was taken at
+     */
+    public long getRevision() {
+        return revision;
+    }
+    
+    public long getCreatedAtMillis() {
+        return createdAtMillis;
+    }
+    
+    public int getQuestionCount() {
+        return questionCount;
+    }
+    
+    public int getQuestionCount(QuizCategory category) {
+        return categoryCount[category.ordinal()];
+    }
+}
@@ -0,0 +1,263 @@
+package com.quizapp.snapshot;
+
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.QuizCategory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles the question bank into a snapshot file that {@link QuestionSnapshot} can map at startup.
+ * <p>
+ * All rows are read in one transaction, so the snapshot matches the bank revision it records.
+ * The file is written next to the target and moved into place, so readers never see a partial file.
+ * <pre>
+ * java -cp java-quiz-swing-1.0.0.jar com.quizapp.snapshot.SnapshotExporter [questions.snapshot]
+ * </pre>
+ */
+public class SnapshotExporter {
+    
+    // Short strings such as "true" or "None of the above" repeat across questions and are stored once
+    private static final int MAX_SHARED_STRING_LENGTH = 64;
+    private static final int MAX_SHARED_STRINGS = 200_000;
+    
+    public static void main(String[] args) {
+        Path output = Paths.get(args.length > 0 ? args[0] : QuestionSnapshot.DEFAULT_FILE);
+        try {
+            long start = System.nanoTime();
+            QuestionSnapshot snapshot = new SnapshotExporter().export(output);
+            System.out.printf("Exported %d questions (bank revision %d) to %s: %,d bytes in %.0f ms%n",
+                              snapshot.getQuestionCount(), snapshot.getRevision(), output, Files.size(output),
+                              (System.nanoTime() - start) / 1_000_000.0);
+        } catch (IOException | SQLException e) {
+            System.err.println("Snapshot export failed: " + e.getMessage());
+            System.exit(1);
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+    
+    /**
+     * Writes a snapshot of the current question bank
+     * @param output The snapshot file, replaced if it exists
+     * @return The new snapshot, opened for reading
+     * @throws IOException if the file cannot be written or is larger than the format allows
+     * @throws SQLException if the bank cannot be read
+     */
+    public QuestionSnapshot export(Path output) throws IOException, SQLException {
+        Path absolute = output.toAbsolutePath();
+        Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+        
+        try (Connection connection = DatabaseConnection.getPool().borrow()) {
+            // A read transaction sees one consistent version of the bank for all three queries
+            connection.setAutoCommit(false);
+            try {
+                long revision = readRevision(connection);
+                int[] counts = countByCategory(connection);
+                writeSnapshot(connection, temporary, revision, counts);
+            } finally {
+                connection.rollback();
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        
+        QuestionSnapshot snapshot = QuestionSnapshot.open(absolute);
+        if (snapshot == null) {
+            throw new IOException("Written snapshot " + absolute + " cannot be read back");
+        }
+        return snapshot;
+    }
+    
+    private static long readRevision(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT revision FROM bank_revision WHERE id = 1")) {
+            if (!resultSet.next()) {
+                throw new SQLException("Bank revision missing");
+            }
+            return resultSet.getLong(1);
+        }
+    }
+    
+    /**
+     * @return Question count per category, indexed by {@link QuizCategory#ordinal()}
+     */
+    private static int[] countByCategory(Connection connection) throws SQLException {
+        int[] counts = new int[QuizCategory.values().length];
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT type, COUNT(*) FROM questions GROUP BY type")) {
+            while (resultSet.next()) {
+                QuizCategory category = toCategory(resultSet.getInt(1));
+                if (category != null) {
+                    counts[category.ordinal()] = resultSet.getInt(2);
+                }
+            }
+        }
+        return counts;
+    }
+    
+    private static void writeSnapshot(Connection connection, Path file, long revision, int[] counts)
+            throws IOException, SQLException {
+        QuizCategory[] categories = QuizCategory.values();
+        int questionCount = 0;
+        for (int count : counts) {
+            questionCount += count;
+        }
+        long stringTableOffset = SnapshotFormat.questionTableOffset(categories.length)
+            + (long) questionCount * SnapshotFormat.QUESTION_RECORD_BYTES;
+        if (stringTableOffset > Integer.MAX_VALUE) {
+            throw new IOException("Question bank too large for a snapshot");
+        }
+        
+        // Records are small enough to collect in memory; strings stream to the file as rows are read.
+        // Each category's records form one range, in category declaration order.
+        ByteBuffer records = ByteBuffer.allocate(questionCount * SnapshotFormat.QUESTION_RECORD_BYTES);
+        int[] first = new int[categories.length];
+        for (int i = 1; i < categories.length; i++) {
+            first[i] = first[i - 1] + counts[i - 1];
+        }
+        int[] written = new int[categories.length];
+        
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                                   StandardOpenOption.TRUNCATE_EXISTING)) {
+            StringTable strings = new StringTable(channel, stringTableOffset);
+            
+            String sql = "SELECT id, type, question, response1, response2, response3, response4 FROM questions ORDER BY type, id";
+            try (PreparedStatement statement = connection.prepareStatement(sql);
+                 ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    QuizCategory category = toCategory(resultSet.getInt(2));
+                    if (category == null) {
+                        continue;
+                    }
+                    int ordinal = category.ordinal();
+                    if (written[ordinal] == counts[ordinal]) {
+                        throw new SQLException("Questions changed while the snapshot was written");
+                    }
+                    int position = (first[ordinal] + written[ordinal]++) * SnapshotFormat.QUESTION_RECORD_BYTES;
+                    records.putLong(position, resultSet.getLong(1));
+                    for (int column = 3; column <= 7; column++) {
+                        records.putInt(position + 8 + (column - 3) * Integer.BYTES, strings.add(resultSet.getString(column)));
+                    }
+                }
+            }
+            if (!Arrays.equals(written, counts)) {
+                throw new SQLException("Questions changed while the snapshot was written");
+            }
+            long fileLength = strings.finish();
+            
+            ByteBuffer header = ByteBuffer.allocate((int) SnapshotFormat.questionTableOffset(categories.length));
+            header.putInt(SnapshotFormat.MAGIC)
+                .putInt(SnapshotFormat.VERSION)
+                .putLong(revision)
+                .putLong(System.currentTimeMillis())
+                .putInt(questionCount)
+                .putInt(categories.length)
+                .putLong(stringTableOffset)
+                .putLong(fileLength);
+            for (QuizCategory category : categories) {
+                header.putInt(category.getId()).putInt(first[category.ordinal()]).putInt(counts[category.ordinal()]);
+            }
+            
+            writeFully(channel, header.flip(), 0);
+            writeFully(channel, records, header.limit());
+            channel.force(true);
+        }
+    }
+    
+    private static QuizCategory toCategory(int id) {
+        try {
+            return QuizCategory.fromId(id);
+        } catch (IllegalArgumentException e) {
+            return null; // Category no longer offered
+        }
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+    
+    /**
+     * Appends length-prefixed UTF-8 strings to the string table region of the file
+     */
+    private static final class StringTable {
+        private final FileChannel channel;
+        private final long start;
+        private final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        private final Map<String, Integer> shared = new HashMap<>();
+        private long size;
+        
+        StringTable(FileChannel channel, long start) {
+            this.channel = channel;
+            this.start = start;
+        }
+        
+        /**
+         * @return Reference to the string: its offset within the string table
+         */
+        int add(String value) throws IOException {
+            boolean shareable = value.length() <= MAX_SHARED_STRING_LENGTH;
+            if (shareable) {
+                Integer existing = shared.get(value);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+            
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            // The reader maps the whole file as one buffer, which is limited to 2 GB
+            if (start + size + Integer.BYTES + bytes.length > Integer.MAX_VALUE) {
+                throw new IOException("Question bank too large for a snapshot");
+            }
+            int reference = (int) size;
+            if (buffer.remaining() < Integer.BYTES + bytes.length) {
+                flush();
+            }
+            if (buffer.remaining() < Integer.BYTES + bytes.length) {
+                // Longer than the buffer: write it directly
+                ByteBuffer large = ByteBuffer.allocate(Integer.BYTES + bytes.length).putInt(bytes.length).put(bytes);
+                writeFully(channel, large.flip(), start + size);
+            } else {
+                buffer.putInt(bytes.length).put(bytes);
+            }
+            size += Integer.BYTES + bytes.length;
+            
+            if (shareable && shared.size() < MAX_SHARED_STRINGS) {
+                shared.put(value, reference);
+            }
+            return reference;
+        }
+        
+        private void flush() throws IOException {
+            long position = start + size - buffer.position();
+            writeFully(channel, buffer.flip(), position);
+            buffer.clear();
+        }
+        
+        /**
+         * @return Length of the whole file once the table is written
+         */
+        long finish() throws IOException {
+            flush();
+            return start + size;
+        }
+    }
+}
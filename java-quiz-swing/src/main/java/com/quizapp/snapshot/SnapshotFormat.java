@@ -0,0 +1,42 @@
+package com.quizapp.snapshot;
+
+/**
+ * Layout of a question snapshot file. All numbers are big-endian.
+ * <pre>
+ * header      magic, format version, bank revision, created at, question count, category count,
+ *             string table offset, file length                                      (48 bytes)
+ * categories  per category: category id, first question index, question count      (12 bytes each)
+ * questions   per question in (category, id) order: id, question text reference,
+ *             4 response references, response 1 being the correct answer           (28 bytes each)
+ * strings     per distinct string: UTF-8 length, UTF-8 bytes; references are offsets into this table
+ * </pre>
+ */
+final class SnapshotFormat {
+    
+    static final int MAGIC = 0x515A4253; // "QZBS"
+    static final int VERSION = 1;
+    
+    static final int HEADER_BYTES = 48;
+    static final int CATEGORY_ENTRY_BYTES = 12;
+    static final int QUESTION_RECORD_BYTES = 28;
+    
+    // Header field offsets
+    static final int MAGIC_OFFSET = 0;
+    static final int VERSION_OFFSET = 4;
+    static final int REVISION_OFFSET = 8;
+    static final int CREATED_AT_OFFSET = 16;
+    static final int QUESTION_COUNT_OFFSET = 24;
+    static final int CATEGORY_COUNT_OFFSET = 28;
+    static final int STRING_TABLE_OFFSET = 32;
+    static final int FILE_LENGTH_OFFSET = 40;
+    
+    private SnapshotFormat() {
+    }
+    
+    /**
+     * @return Offset of the first question record
+     */
+    static long questionTableOffset(int categoryCount) {
+        return HEADER_BYTES + (long) categoryCount * CATEGORY_ENTRY_BYTES;
+    }
+}
@@ -1,53 +1,24 @@
 package com.quizapp.util;
 
-import java.security.SecureRandom;
-
 /**
- * Utility class for shuffling arrays using secure random
+ * Utility class for shuffling arrays using the default {@link ShuffleEngine}.
+ * Only ShuffleBenchmark calls it; quiz sessions lay out their questions from a seed in
+ * {@link com.quizapp.dao.QuestionDAO#createQuestions}.
  */
 public class ArrayShuffler {
     
-    private static final SecureRandom random = new SecureRandom();
-    
     /**
      * Shuffles the given array and returns a new shuffled array
      * @param input The array to shuffle
-     * @return A new shuffled array
+     * @return A new shuffled array, or null if the input is null
      */
     public static String[] shuffleArray(String[] input) {
-        if (input == null || input.length <= 1) {
-            return input.clone();
-        }
-        
-        int[] indices = generateRandomIndices(input.length);
-        String[] result = new String[input.length];
-        
-        for (int i = 0; i < input.length; i++) {
-            result[i] = input[indices[i]];
+        if (input == null) {
+            return null;
         }
         
+        String[] result = input.clone();
+        ShuffleEngine.getDefault().shuffle(result);
         return result;
     }
-    
-    /**
-     * Generates an array of unique random indices
-     * @param length The length of indices to generate
-     * @return Array of unique random indices
-     */
-    private static int[] generateRandomIndices(int length) {
-        int[] indices = new int[length];
-        boolean[] used = new boolean[length];
-        
-        for (int i = 0; i < length; i++) {
-            int randomIndex;
-            do {
-                randomIndex = random.nextInt(length);
-            } while (used[randomIndex]);
-            
-            indices[i] = randomIndex;
-            used[randomIndex] = true;
-        }
-        
-        return indices;
-    }
-}
\ No newline at end of file
+}
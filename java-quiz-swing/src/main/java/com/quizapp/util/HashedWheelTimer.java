@@ -0,0 +1,298 @@
+package com.quizapp.util;
+
+import com.quizapp.metrics.LatencyHistogram;
+import com.quizapp.metrics.MetricsRegistry;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Runs tasks at deadlines on a single thread, for any number of pending deadlines.
+ * <p>
+ * Deadlines are {@link System#nanoTime()} readings, so they do not move when the wall clock is changed.
+ * Pending tasks hang in a ring of buckets, one per tick; the thread advances one bucket per tick and runs
+ * the tasks whose deadline has passed, so scheduling and cancelling are O(1) however many tasks are
+ * pending. Tasks run up to one tick late. The thread sleeps while nothing is pending.
+ * <p>
+ * Tasks run on the timer thread and must return quickly, handing longer work to another executor.
+ */
+public class HashedWheelTimer {
+    
+    private static final long DEFAULT_TICK_MILLIS = Long.getLong("quiz.timer.tickMillis", 10);
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final LatencyHistogram LATENESS = MetricsRegistry.getDefault().latency("timer.lateness");
+    
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final String threadName;
+    // Handed from scheduling threads to the timer thread
+    private final Queue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final long startNanos = System.nanoTime();
+    private volatile Thread worker;
+    private volatile boolean stopped;
+    // Owned by the timer thread: ticks since startNanos whose bucket has been processed
+    private long tick;
+    
+    /**
+     * @param threadName Name of the timer thread
+     * @param tickMillis Resolution of the timer
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     */
+    public HashedWheelTimer(String threadName, long tickMillis, int wheelSize) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        this.threadName = threadName;
+        this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMillis);
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+    }
+    
+    /**
+     * @return The process-wide timer, ticking every quiz.timer.tickMillis milliseconds (default 10)
+     */
+    public static HashedWheelTimer getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+    
+    private static final class DefaultHolder {
+        static final HashedWheelTimer INSTANCE = new HashedWheelTimer("quiz-timer", DEFAULT_TICK_MILLIS, DEFAULT_WHEEL_SIZE);
+    }
+    
+    /**
+     * Schedules a task at a deadline; a deadline that has passed runs at the next tick
+     * @param task Runs once on the timer thread
+     * @param deadlineNanos {@link System#nanoTime()} reading at which to run the task
+     * @return Handle to cancel the task
+     */
+    public Timeout schedule(Runnable task, long deadlineNanos) {
+        if (stopped) {
+            throw new IllegalStateException("Timer " + threadName + " has been stopped");
+        }
+        Timeout timeout = new Timeout(this, task, deadlineNanos);
+        added.add(timeout);
+        // A ticking thread takes the task at its next tick; only an idle one needs waking
+        if (pending.getAndIncrement() == 0) {
+            startOrWake();
+        }
+        return timeout;
+    }
+    
+    /**
+     * Schedules a task after a delay
+     * @param task Runs once on the timer thread
+     * @param delay Time from now
+     * @param unit Unit of the delay
+     * @return Handle to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        return schedule(task, System.nanoTime() + unit.toNanos(delay));
+    }
+    
+    /**
+     * @return Number of tasks scheduled that have neither run nor been cancelled
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+    
+    /**
+     * Stops the timer thread; pending tasks are dropped without running
+     */
+    public void stop() {
+        stopped = true;
+        Thread thread = worker;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+    
+    private void startOrWake() {
+        Thread thread = worker;
+        if (thread == null) {
+            synchronized (this) {
+                thread = worker;
+                if (thread == null) {
+                    thread = new Thread(this::run, threadName);
+                    thread.setDaemon(true);
+                    worker = thread;
+                    thread.start();
+                    return;
+                }
+            }
+        }
+        LockSupport.unpark(thread);
+    }
+    
+    private void run() {
+        tick = currentTick(System.nanoTime());
+        while (!stopped) {
+            if (pending.get() == 0) {
+                removeCancelled();
+                // Nothing to wait for; schedule() unparks the thread, and a permit left by it makes park() return
+                LockSupport.park(this);
+                tick = Math.max(tick, currentTick(System.nanoTime()));
+                continue;
+            }
+            long tickDeadline = startNanos + (tick + 1) * tickNanos;
+            long now = System.nanoTime();
+            if (now < tickDeadline) {
+                LockSupport.parkNanos(this, tickDeadline - now);
+                // Woken early by a permit left from before going idle, or spuriously
+                continue;
+            }
+            removeCancelled();
+            transferAdded();
+            expire(wheel[(int) (tick & mask)], startNanos + (tick + 1) * tickNanos);
+            tick++;
+        }
+    }
+    
+    private long currentTick(long now) {
+        return (now - startNanos) / tickNanos;
+    }
+    
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            if (timeout.state.get() != Timeout.WAITING) {
+                continue;
+            }
+            // Tasks due now or in the past go into the bucket processed next
+            long dueTick = Math.max(tick, currentTick(timeout.deadlineNanos));
+            timeout.remainingRounds = (dueTick - tick) / wheel.length;
+            wheel[(int) (dueTick & mask)].add(timeout);
+        }
+    }
+    
+    private void removeCancelled() {
+        Timeout timeout;
+        while ((timeout = cancelled.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+    
+    private void expire(Bucket bucket, long tickEndNanos) {
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.remainingRounds <= 0 && timeout.deadlineNanos < tickEndNanos) {
+                bucket.remove(timeout);
+                if (timeout.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED)) {
+                    pending.decrementAndGet();
+                    LATENESS.recordSince(timeout.deadlineNanos);
+                    try {
+                        timeout.task.run();
+                    } catch (RuntimeException e) {
+                        System.err.println("Error in timer task: " + e);
+                    }
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+            timeout = next;
+        }
+    }
+    
+    /**
+     * A scheduled task
+     */
+    public static final class Timeout {
+        
+        private static final int WAITING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+        
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        private final long deadlineNanos;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        // Owned by the timer thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+        
+        private Timeout(HashedWheelTimer timer, Runnable task, long deadlineNanos) {
+            this.timer = timer;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+        
+        /**
+         * Prevents the task from running if it has not started yet
+         * @return false if the task already ran or was cancelled before
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            timer.pending.decrementAndGet();
+            // The timer thread unlinks it from its bucket at the next tick
+            timer.cancelled.add(this);
+            return true;
+        }
+        
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+        
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+        
+        public long getDeadlineNanos() {
+            return deadlineNanos;
+        }
+    }
+    
+    /**
+     * Doubly-linked list of the tasks due in one slot of the wheel, touched only by the timer thread
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+        
+        void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+        
+        void remove(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.quizapp.util;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Random number generators available to {@link ShuffleEngine}.
+ * Every source keeps one generator per thread so concurrent sessions never contend on a shared instance.
+ */
+public enum RandomSource {
+    
+    /** Cryptographically strong, one SecureRandom per thread */
+    SECURE {
+        private final ThreadLocal<SecureRandom> generators = ThreadLocal.withInitial(SecureRandom::new);
+        
+        @Override
+        public int nextInt(int bound) {
+            return generators.get().nextInt(bound);
+        }
+        
+        @Override
+        public long nextLong() {
+            return generators.get().nextLong();
+        }
+    },
+    
+    /** Fast statistical generator, one SplittableRandom per thread split from a common root */
+    SPLITTABLE {
+        private final SplittableRandom root = new SplittableRandom();
+        private final ThreadLocal<SplittableRandom> generators = ThreadLocal.withInitial(this::split);
+        
+        private SplittableRandom split() {
+            synchronized (root) {
+                return root.split();
+            }
+        }
+        
+        @Override
+        public int nextInt(int bound) {
+            return generators.get().nextInt(bound);
+        }
+        
+        @Override
+        public long nextLong() {
+            return generators.get().nextLong();
+        }
+    },
+    
+    /** The JDK's per-thread generator */
+    THREAD_LOCAL {
+        @Override
+        public int nextInt(int bound) {
+            return ThreadLocalRandom.current().nextInt(bound);
+        }
+        
+        @Override
+        public long nextLong() {
+            return ThreadLocalRandom.current().nextLong();
+        }
+    };
+    
+    /**
+     * @param bound Exclusive upper bound, must be positive
+     * @return A uniformly distributed value in [0, bound)
+     */
+    public abstract int nextInt(int bound);
+    
+    /**
+     * @return A uniformly distributed 64-bit value
+     */
+    public abstract long nextLong();
+    
+    /**
+     * Parses a source name case-insensitively
+     * @param name Source name such as "secure" or "splittable"
+     * @param fallback Source returned when the name is null or unknown
+     * @return The matching source
+     */
+    public static RandomSource fromName(String name, RandomSource fallback) {
+        if (name != null) {
+            for (RandomSource source : values()) {
+                if (source.name().equalsIgnoreCase(name.trim())) {
+                    return source;
+                }
+            }
+            System.err.println("Unknown random source '" + name + "', using " + fallback);
+        }
+        return fallback;
+    }
+}
@@ -0,0 +1,126 @@
+package com.quizapp.util;
+
+import java.util.SplittableRandom;
+
+/**
+ * Permutations computed from a seed whenever they are needed, instead of being drawn once and stored.
+ * <p>
+ * A quiz session draws one seed; the order of each question's options is derived from that seed and the
+ * question id, and the question order from the seed alone. Nothing but the seed has to be kept to show
+ * the quiz again exactly as it was shown, for example to audit a stored attempt.
+ * <p>
+ * Short permutations (up to {@link #MAX_LENGTH} elements) are read element by element from a 64-bit hash
+ * taken as a rank among all permutations of that length, without allocating. Longer ones are produced
+ * by a Fisher-Yates shuffle driven by a SplittableRandom seeded with the seed.
+ */
+public final class SeededPermutations {
+    
+    /** Longest permutation {@link #elementAt} and {@link #positionOf} handle: 20! still fits in a long */
+    public static final int MAX_LENGTH = 20;
+    
+    private static final long[] FACTORIALS = new long[MAX_LENGTH + 1];
+    
+    static {
+        FACTORIALS[0] = 1;
+        for (int i = 1; i <= MAX_LENGTH; i++) {
+            FACTORIALS[i] = FACTORIALS[i - 1] * i;
+        }
+    }
+    
+    private SeededPermutations() {
+    }
+    
+    /**
+     * Derives an independent hash per key, so every question of a session gets its own permutation
+     * @param seed Seed of the session
+     * @param key For example a question id
+     * @return A well-mixed 64-bit value (the SplitMix64 finalizer)
+     */
+    public static long hash(long seed, long key) {
+        long z = seed + key * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * @param hash Selects the permutation, e.g. from {@link #hash(long, long)}
+     * @param length Number of elements, at most {@link #MAX_LENGTH}
+     * @param position Zero-based position in the permutation
+     * @return The element of 0..length-1 at that position
+     */
+    public static int elementAt(long hash, int length, int position) {
+        checkLength(length);
+        if (position < 0 || position >= length) {
+            throw new IndexOutOfBoundsException("Position " + position + " of " + length);
+        }
+        long rank = Long.remainderUnsigned(hash, FACTORIALS[length]);
+        long used = 0;
+        for (int current = 0; ; current++) {
+            // The rank's factorial-base digits pick among the elements not placed yet
+            long weight = FACTORIALS[length - 1 - current];
+            int element = nthUnused(used, (int) (rank / weight));
+            if (current == position) {
+                return element;
+            }
+            rank %= weight;
+            used |= 1L << element;
+        }
+    }
+    
+    /**
+     * Inverse of {@link #elementAt}
+     * @param hash Selects the permutation
+     * @param length Number of elements, at most {@link #MAX_LENGTH}
+     * @param element An element of 0..length-1
+     * @return Zero-based position of the element in the permutation
+     */
+    public static int positionOf(long hash, int length, int element) {
+        checkLength(length);
+        if (element < 0 || element >= length) {
+            throw new IndexOutOfBoundsException("Element " + element + " of " + length);
+        }
+        long rank = Long.remainderUnsigned(hash, FACTORIALS[length]);
+        long used = 0;
+        for (int current = 0; ; current++) {
+            long weight = FACTORIALS[length - 1 - current];
+            int placed = nthUnused(used, (int) (rank / weight));
+            if (placed == element) {
+                return current;
+            }
+            rank %= weight;
+            used |= 1L << placed;
+        }
+    }
+    
+    /**
+     * @param seed Selects the permutation
+     * @param length Number of elements, any size
+     * @return A permutation of 0..length-1, the same for the same seed and length
+     */
+    public static int[] permutation(long seed, int length) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] indices = new int[length];
+        // Inside-out Fisher-Yates, as in ShuffleEngine.permutation
+        for (int i = 0; i < length; i++) {
+            int j = random.nextInt(i + 1);
+            indices[i] = indices[j];
+            indices[j] = i;
+        }
+        return indices;
+    }
+    
+    private static int nthUnused(long used, int n) {
+        for (int element = 0; ; element++) {
+            if ((used & (1L << element)) == 0 && n-- == 0) {
+                return element;
+            }
+        }
+    }
+    
+    private static void checkLength(int length) {
+        if (length < 1 || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Length must be between 1 and " + MAX_LENGTH + ": " + length);
+        }
+    }
+}
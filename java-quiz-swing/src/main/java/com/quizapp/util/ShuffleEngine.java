@@ -0,0 +1,132 @@
+package com.quizapp.util;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * In-place Fisher-Yates shuffling backed by a configurable {@link RandomSource}.
+ * Every shuffle is O(n) and draws exactly n - 1 random numbers.
+ */
+public class ShuffleEngine {
+    
+    private static final ShuffleEngine DEFAULT = new ShuffleEngine(
+        RandomSource.fromName(System.getProperty("quiz.shuffle.random"), RandomSource.SECURE)
+    );
+    
+    private final RandomSource randomSource;
+    
+    public ShuffleEngine(RandomSource randomSource) {
+        this.randomSource = randomSource;
+    }
+    
+    /**
+     * @return The engine configured with -Dquiz.shuffle.random (secure, splittable or thread_local)
+     */
+    public static ShuffleEngine getDefault() {
+        return DEFAULT;
+    }
+    
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+    
+    /**
+     * Shuffles an array in place
+     * @param array The array to shuffle
+     */
+    public <T> void shuffle(T[] array) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = randomSource.nextInt(i + 1);
+            T swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+    
+    /**
+     * Shuffles an int array in place
+     * @param array The array to shuffle
+     */
+    public void shuffle(int[] array) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = randomSource.nextInt(i + 1);
+            int swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+    
+    /**
+     * Shuffles a long array in place
+     * @param array The array to shuffle
+     */
+    public void shuffle(long[] array) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = randomSource.nextInt(i + 1);
+            long swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+    
+    /**
+     * Shuffles a byte array in place
+     * @param array The array to shuffle
+     */
+    public void shuffle(byte[] array) {
+        for (int i = array.length - 1; i > 0; i--) {
+            int j = randomSource.nextInt(i + 1);
+            byte swap = array[i];
+            array[i] = array[j];
+            array[j] = swap;
+        }
+    }
+    
+    /**
+     * Shuffles a list in place
+     * @param list A modifiable list; random-access lists are shuffled without copying
+     */
+    public <T> void shuffle(List<T> list) {
+        if (list instanceof RandomAccess) {
+            for (int i = list.size() - 1; i > 0; i--) {
+                int j = randomSource.nextInt(i + 1);
+                list.set(i, list.set(j, list.get(i)));
+            }
+            return;
+        }
+        
+        @SuppressWarnings("unchecked")
+        T[] elements = (T[]) list.toArray();
+        shuffle(elements);
+        for (int i = 0; i < elements.length; i++) {
+            list.set(i, elements[i]);
+        }
+    }
+    
+    /**
+     * Draws the seed of a quiz session, from which {@link SeededPermutations} derive its question and option order
+     * @return A random seed, never 0 (which marks attempts recorded without a seed)
+     */
+    public long newSeed() {
+        long seed;
+        do {
+            seed = randomSource.nextLong();
+        } while (seed == 0);
+        return seed;
+    }
+    
+    /**
+     * @param length Number of elements
+     * @return A random permutation of 0..length-1
+     */
+    public int[] permutation(int length) {
+        int[] indices = new int[length];
+        // Inside-out Fisher-Yates fills and shuffles in one pass
+        for (int i = 0; i < length; i++) {
+            int j = randomSource.nextInt(i + 1);
+            indices[i] = indices[j];
+            indices[j] = i;
+        }
+        return indices;
+    }
+}
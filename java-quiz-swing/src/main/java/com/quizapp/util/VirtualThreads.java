@@ -0,0 +1,49 @@
+package com.quizapp.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Access to virtual threads when running on a JDK that has them (21+).
+ * The application is compiled for Java 17, so the factory method is looked up reflectively.
+ */
+public final class VirtualThreads {
+    
+    private static final MethodHandle NEW_PER_TASK_EXECUTOR = lookupPerTaskExecutor();
+    
+    private VirtualThreads() {
+    }
+    
+    private static MethodHandle lookupPerTaskExecutor() {
+        try {
+            return MethodHandles.publicLookup().findStatic(
+                java.util.concurrent.Executors.class,
+                "newVirtualThreadPerTaskExecutor",
+                MethodType.methodType(ExecutorService.class)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+    
+    public static boolean isAvailable() {
+        return NEW_PER_TASK_EXECUTOR != null;
+    }
+    
+    /**
+     * @return An executor starting one virtual thread per task, or null if the JDK has no virtual threads
+     */
+    public static ExecutorService newPerTaskExecutor() {
+        if (NEW_PER_TASK_EXECUTOR == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) NEW_PER_TASK_EXECUTOR.invoke();
+        } catch (Throwable e) {
+            System.err.println("Unable to create virtual thread executor: " + e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+-- Question bank; response1 always holds the correct answer
+CREATE TABLE IF NOT EXISTS questions (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    type INTEGER NOT NULL,
+    question TEXT NOT NULL,
+    response1 TEXT NOT NULL,
+    response2 TEXT NOT NULL,
+    response3 TEXT NOT NULL,
+    response4 TEXT NOT NULL
+);
@@ -0,0 +1,2 @@
+-- Category lookups filter on type
+CREATE INDEX IF NOT EXISTS idx_questions_type ON questions (type);
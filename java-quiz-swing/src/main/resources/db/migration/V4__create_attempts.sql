@@ -0,0 +1,26 @@
+-- One row per finished quiz; times are epoch milliseconds
+CREATE TABLE IF NOT EXISTS attempts (
+    id INTEGER PRIMARY KEY AUTOINCREMENT,
+    category INTEGER NOT NULL,
+    score INTEGER NOT NULL,
+    total_questions INTEGER NOT NULL,
+    timed_out INTEGER NOT NULL DEFAULT 0,
+    started_at INTEGER NOT NULL,
+    submitted_at INTEGER NOT NULL,
+    duration_ms INTEGER NOT NULL
+);
+
+-- Answers of an attempt in presentation order; selected_response is the stored
+-- response column (0 = response1, the correct answer) or NULL if unanswered
+CREATE TABLE IF NOT EXISTS attempt_answers (
+    attempt_id INTEGER NOT NULL REFERENCES attempts (id) ON DELETE CASCADE,
+    position INTEGER NOT NULL,
+    question_id INTEGER NOT NULL,
+    selected_response INTEGER,
+    is_correct INTEGER NOT NULL,
+    time_spent_ms INTEGER NOT NULL,
+    PRIMARY KEY (attempt_id, position)
+) WITHOUT ROWID;
+
+CREATE INDEX IF NOT EXISTS idx_attempts_category ON attempts (category, submitted_at);
+CREATE INDEX IF NOT EXISTS idx_attempt_answers_question ON attempt_answers (question_id);
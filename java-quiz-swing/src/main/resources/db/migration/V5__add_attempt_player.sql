@@ -0,0 +1,4 @@
+-- Attempts recorded before players had names belong to the anonymous player
+ALTER TABLE attempts ADD COLUMN player TEXT NOT NULL DEFAULT 'Anonymous';
+
+CREATE INDEX IF NOT EXISTS idx_attempts_player ON attempts (player, category);
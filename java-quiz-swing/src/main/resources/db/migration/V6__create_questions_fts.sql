@@ -0,0 +1,37 @@
+-- Full-text index over question and response text. It stores no copy of the text
+-- (content='questions'); the triggers below keep it in step with the questions table.
+-- type is not indexed, only readable, so searches can be limited to one category.
+CREATE VIRTUAL TABLE IF NOT EXISTS questions_fts USING fts5(
+    question,
+    response1,
+    response2,
+    response3,
+    response4,
+    type UNINDEXED,
+    content='questions',
+    content_rowid='id',
+    tokenize='unicode61 remove_diacritics 2'
+);
+
+-- ORDER BY rank uses BM25 with question text weighing most, then the correct answer, then the distractors
+INSERT INTO questions_fts (questions_fts, rank) VALUES ('rank', 'bm25(4.0, 2.0, 1.0, 1.0, 1.0, 0.0)');
+
+-- Index questions stored before this migration
+INSERT INTO questions_fts (questions_fts) VALUES ('rebuild');
+
+CREATE TRIGGER IF NOT EXISTS questions_fts_insert AFTER INSERT ON questions BEGIN
+    INSERT INTO questions_fts (rowid, question, response1, response2, response3, response4, type)
+    VALUES (new.id, new.question, new.response1, new.response2, new.response3, new.response4, new.type);
+END;
+
+CREATE TRIGGER IF NOT EXISTS questions_fts_delete AFTER DELETE ON questions BEGIN
+    INSERT INTO questions_fts (questions_fts, rowid, question, response1, response2, response3, response4, type)
+    VALUES ('delete', old.id, old.question, old.response1, old.response2, old.response3, old.response4, old.type);
+END;
+
+CREATE TRIGGER IF NOT EXISTS questions_fts_update AFTER UPDATE OF type, question, response1, response2, response3, response4 ON questions BEGIN
+    INSERT INTO questions_fts (questions_fts, rowid, question, response1, response2, response3, response4, type)
+    VALUES ('delete', old.id, old.question, old.response1, old.response2, old.response3, old.response4, old.type);
+    INSERT INTO questions_fts (rowid, question, response1, response2, response3, response4, type)
+    VALUES (new.id, new.question, new.response1, new.response2, new.response3, new.response4, new.type);
+END;
@@ -0,0 +1,12 @@
+-- Random sort key for drawing quizzes without reading a whole category (see QuestionDAO.sampleQuestionRows).
+-- Keys are uniform over the 64-bit range, like Java's Random.nextLong().
+ALTER TABLE questions ADD COLUMN rand_key INTEGER;
+
+UPDATE questions SET rand_key = random();
+
+CREATE INDEX IF NOT EXISTS idx_questions_type_rand_key ON questions (type, rand_key);
+
+-- Writers that do not supply a key get one; the application's own inserts set it directly
+CREATE TRIGGER IF NOT EXISTS questions_rand_key AFTER INSERT ON questions WHEN new.rand_key IS NULL BEGIN
+    UPDATE questions SET rand_key = random() WHERE id = new.id;
+END;
@@ -0,0 +1,20 @@
+-- Counts changes to the questions table, so copies of the bank such as question snapshots can tell they are stale
+CREATE TABLE IF NOT EXISTS bank_revision (
+    id INTEGER PRIMARY KEY CHECK (id = 1),
+    revision INTEGER NOT NULL
+);
+
+INSERT OR IGNORE INTO bank_revision (id, revision) VALUES (1, 1);
+
+CREATE TRIGGER IF NOT EXISTS bank_revision_insert AFTER INSERT ON questions BEGIN
+    UPDATE bank_revision SET revision = revision + 1 WHERE id = 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS bank_revision_delete AFTER DELETE ON questions BEGIN
+    UPDATE bank_revision SET revision = revision + 1 WHERE id = 1;
+END;
+
+-- rand_key is not part of the bank's content, so refilling it does not count as a change
+CREATE TRIGGER IF NOT EXISTS bank_revision_update AFTER UPDATE OF type, question, response1, response2, response3, response4 ON questions BEGIN
+    UPDATE bank_revision SET revision = revision + 1 WHERE id = 1;
+END;
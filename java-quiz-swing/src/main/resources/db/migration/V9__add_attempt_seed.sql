@@ -0,0 +1,3 @@
+-- Seed the question and option order of the session was derived from, so an attempt can be laid out
+-- again exactly as it was presented; 0 for attempts stored before seeds were
+ALTER TABLE attempts ADD COLUMN seed INTEGER NOT NULL DEFAULT 0;
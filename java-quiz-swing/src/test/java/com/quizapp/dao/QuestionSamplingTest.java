@@ -0,0 +1,99 @@
+package com.quizapp.dao;
+
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionSamplingTest {
+    
+    private static final QuizCategory CATEGORY = QuizCategory.ADVANCED_JAVA;
+    private static final int QUESTIONS = 50;
+    
+    private final QuestionDAO questionDAO = new QuestionDAO();
+    
+    /**
+     * Fills the category with keys as skewed as they can get: all but one packed together just above 0, so
+     * the question after them and the first one take almost every draw while the keys stay as they are
+     */
+    @BeforeEach
+    void fillSkewedCategory() throws SQLException {
+        RandomKeyRefresher.getDefault().refresh();
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM questions WHERE type = ?");
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO questions (type, question, response1, response2, response3, response4, rand_key) "
+                     + "VALUES (?, ?, 'a', 'b', 'c', 'd', ?)")) {
+            delete.setInt(1, CATEGORY.getId());
+            delete.executeUpdate();
+            for (int i = 0; i < QUESTIONS; i++) {
+                insert.setInt(1, CATEGORY.getId());
+                insert.setString(2, "Sampling question " + i);
+                insert.setLong(3, i < QUESTIONS - 1 ? i + 1 : 1L << 62);
+                insert.executeUpdate();
+            }
+        }
+    }
+    
+    @Test
+    void drawsEveryQuestionEquallyOftenOnceDrawnQuestionsAreReKeyed() {
+        int draws = 20_000;
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int draw = 1; draw <= draws; draw++) {
+            List<QuestionRow> rows = questionDAO.sampleQuestionRows(CATEGORY, 1);
+            assertNotNull(rows);
+            assertEquals(1, rows.size());
+            counts.merge(rows.get(0).getId(), 1, Integer::sum);
+            // Stands in for the background job, which runs every quiz.sampling.rekeyMillis
+            if (draw % 10 == 0) {
+                assertTrue(RandomKeyRefresher.getDefault().refresh() >= 0);
+            }
+        }
+        
+        // With the keys left as they are, two questions would take about 75% and 25% of the draws. Questions
+        // keep a small gap until they or their neighbours are drawn, so counts even out more slowly than
+        // independent draws would; the bound leaves room for that
+        double expected = (double) draws / QUESTIONS;
+        assertEquals(QUESTIONS, counts.size(), "every question drawn");
+        for (Map.Entry<Long, Integer> count : counts.entrySet()) {
+            assertTrue(count.getValue() > expected * 0.6 && count.getValue() < expected * 1.4,
+                       "question " + count.getKey() + " drawn " + count.getValue() + " times, expected about " + expected);
+        }
+    }
+    
+    @Test
+    void drawsOnlyReadTheDatabase() throws SQLException {
+        long revision = questionDAO.getBankRevision();
+        int before = RandomKeyRefresher.getDefault().getPendingCount();
+        List<QuestionRow> rows = questionDAO.sampleQuestionRows(CATEGORY, 10);
+        assertNotNull(rows);
+        assertEquals(10, rows.size());
+        // The drawn questions wait for the background job; none of their keys changed yet
+        assertEquals(before + 10, RandomKeyRefresher.getDefault().getPendingCount());
+        assertEquals(revision, questionDAO.getBankRevision());
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement select = connection.prepareStatement(
+                 "SELECT COUNT(*) FROM questions WHERE type = ? AND (rand_key BETWEEN 1 AND ? OR rand_key = ?)")) {
+            select.setInt(1, CATEGORY.getId());
+            select.setLong(2, QUESTIONS - 1);
+            select.setLong(3, 1L << 62);
+            try (ResultSet resultSet = select.executeQuery()) {
+                resultSet.next();
+                assertEquals(QUESTIONS, resultSet.getInt(1));
+            }
+        }
+    }
+}
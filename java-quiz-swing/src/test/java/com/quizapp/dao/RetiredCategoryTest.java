@@ -0,0 +1,80 @@
+package com.quizapp.dao;
+
+import com.quizapp.database.DatabaseConnection;
+import com.quizapp.model.QuestionRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A row whose type no longer maps to a category, as left behind when a category is retired
+ */
+class RetiredCategoryTest {
+    
+    private static final int RETIRED_TYPE = 99;
+    
+    private final QuestionDAO questionDAO = new QuestionDAO();
+    private long retiredId;
+    
+    @BeforeEach
+    void insertRetiredQuestion() throws SQLException {
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement insert = connection.prepareStatement(
+                 "INSERT INTO questions (type, question, response1, response2, response3, response4, rand_key) "
+                     + "VALUES (?, 'Which applet method runs first zorbulent', 'init', 'start', 'paint', 'stop', random())",
+                 Statement.RETURN_GENERATED_KEYS)) {
+            insert.setInt(1, RETIRED_TYPE);
+            insert.executeUpdate();
+            try (ResultSet keys = insert.getGeneratedKeys()) {
+                keys.next();
+                retiredId = keys.getLong(1);
+            }
+        }
+    }
+    
+    @AfterEach
+    void deleteRetiredQuestion() throws SQLException {
+        try (Connection connection = DatabaseConnection.getPool().borrow();
+             PreparedStatement delete = connection.prepareStatement("DELETE FROM questions WHERE type = ?")) {
+            delete.setInt(1, RETIRED_TYPE);
+            delete.executeUpdate();
+        }
+    }
+    
+    @Test
+    void pagesOfAllCategoriesLeaveItOut() {
+        QuestionPageIndex index = questionDAO.buildPageIndex(null, 1_000_000);
+        assertNotNull(index);
+        List<QuestionRow> rows = questionDAO.getQuestionPage(null, 0, 1_000_000);
+        assertNotNull(rows);
+        assertEquals(index.getRowCount(), rows.size());
+        assertTrue(rows.stream().noneMatch(row -> row.getId() == retiredId));
+    }
+    
+    @Test
+    void searchesLeaveItOut() {
+        SearchPage page = questionDAO.searchQuestions("zorbulent", null, 0, 10);
+        assertNotNull(page);
+        assertTrue(page.getMatches().isEmpty());
+        assertFalse(page.hasMore());
+    }
+    
+    @Test
+    void readsByIdLeaveItOut() {
+        List<QuestionRow> rows = questionDAO.getQuestionRowsById(List.of(retiredId));
+        assertNotNull(rows);
+        assertTrue(rows.isEmpty());
+    }
+}
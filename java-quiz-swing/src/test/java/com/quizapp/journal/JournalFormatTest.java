@@ -0,0 +1,157 @@
+package com.quizapp.journal;
+
+import com.quizapp.model.QuizCategory;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JournalFormatTest {
+    
+    private static final long SESSION_ID = 0x0123456789ABCDEFL;
+    
+    private static InFlightSession session() {
+        return new InFlightSession(SESSION_ID, QuizCategory.ARRAYS_LOOPS, "Ada é", 42L, new long[] {7, 3, 11},
+                                   300, 30, 1_700_000_000_000L, 2_500L, 1,
+                                   new long[] {1_200, 1_300, 0}, new byte[] {2, -1, 0});
+    }
+    
+    private static List<JournalEvent> events() {
+        List<JournalEvent> events = new ArrayList<>();
+        events.add(JournalEvent.session(session()));
+        events.add(JournalEvent.answered(SESSION_ID, 3_000, 1, 3));
+        events.add(JournalEvent.answered(SESSION_ID, 3_100, 1, -1));
+        events.add(JournalEvent.navigated(SESSION_ID, 4_000, 1, 2, 2_800));
+        events.add(JournalEvent.elapsed(SESSION_ID, 9_000));
+        events.add(JournalEvent.ended(SESSION_ID, 9_500, JournalEvent.TIMED_OUT));
+        return events;
+    }
+    
+    /**
+     * @return A segment holding the events, flipped for reading
+     */
+    private static ByteBuffer segment(List<JournalEvent> events) {
+        int length = JournalFormat.HEADER_BYTES;
+        for (JournalEvent event : events) {
+            length += JournalFormat.recordLength(event);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        JournalFormat.writeHeader(buffer);
+        for (JournalEvent event : events) {
+            JournalFormat.write(buffer, event);
+        }
+        assertEquals(length, buffer.position(), "recordLength must match the bytes written");
+        return buffer.flip();
+    }
+    
+    private static List<JournalEvent> read(ByteBuffer segment, int[] valid) {
+        List<JournalEvent> events = new ArrayList<>();
+        valid[0] = JournalFormat.read(segment, events::add);
+        return events;
+    }
+    
+    @Test
+    void roundTripsEveryEventType() {
+        List<JournalEvent> written = events();
+        ByteBuffer segment = segment(written);
+        int[] valid = new int[1];
+        List<JournalEvent> read = read(segment, valid);
+        
+        assertEquals(segment.limit(), valid[0]);
+        assertEquals(written.size(), read.size());
+        for (int i = 0; i < written.size(); i++) {
+            JournalEvent expected = written.get(i);
+            JournalEvent actual = read.get(i);
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getSessionId(), actual.getSessionId());
+            assertEquals(expected.getElapsedMillis(), actual.getElapsedMillis());
+            if (expected.getType() != JournalEvent.SESSION) {
+                assertEquals(expected.getQuestionIndex(), actual.getQuestionIndex());
+                assertEquals(expected.getValue(), actual.getValue());
+                assertEquals(expected.getTimeSpentMillis(), actual.getTimeSpentMillis());
+            }
+        }
+        
+        InFlightSession expected = session();
+        InFlightSession actual = read.get(0).getSession();
+        assertEquals(expected.getCategory(), actual.getCategory());
+        assertEquals(expected.getPlayer(), actual.getPlayer());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getQuestionIds(), actual.getQuestionIds());
+        assertEquals(expected.getTimeLimitSeconds(), actual.getTimeLimitSeconds());
+        assertEquals(expected.getQuestionTimeLimitSeconds(), actual.getQuestionTimeLimitSeconds());
+        assertEquals(expected.getStartedAtMillis(), actual.getStartedAtMillis());
+        assertEquals(expected.getElapsedMillis(), actual.getElapsedMillis());
+        assertEquals(expected.getCurrentIndex(), actual.getCurrentIndex());
+        for (int i = 0; i < expected.getQuestionCount(); i++) {
+            assertEquals(expected.getTimeSpentMillis(i), actual.getTimeSpentMillis(i));
+            assertEquals(expected.getSelected(i), actual.getSelected(i));
+        }
+    }
+    
+    @Test
+    void readsOnlyWholeRecordsOfATruncatedSegment() {
+        List<JournalEvent> written = events();
+        ByteBuffer segment = segment(written);
+        int[] recordEnds = new int[written.size()];
+        int end = JournalFormat.HEADER_BYTES;
+        for (int i = 0; i < written.size(); i++) {
+            end += JournalFormat.recordLength(written.get(i));
+            recordEnds[i] = end;
+        }
+        
+        for (int length = 0; length <= segment.limit(); length++) {
+            int whole = 0;
+            while (whole < recordEnds.length && recordEnds[whole] <= length) {
+                whole++;
+            }
+            int[] valid = new int[1];
+            List<JournalEvent> read = read(segment.duplicate().limit(length), valid);
+            
+            assertEquals(whole, read.size(), "events read from " + length + " bytes");
+            int expectedValid = length < JournalFormat.HEADER_BYTES ? 0
+                : whole == 0 ? JournalFormat.HEADER_BYTES : recordEnds[whole - 1];
+            assertEquals(expectedValid, valid[0], "valid bytes of " + length);
+        }
+    }
+    
+    @Test
+    void stopsAtARecordWithABadChecksum() {
+        List<JournalEvent> written = events();
+        ByteBuffer segment = segment(written);
+        int secondEnd = JournalFormat.HEADER_BYTES + JournalFormat.recordLength(written.get(0))
+            + JournalFormat.recordLength(written.get(1));
+        // Last payload byte of the third record
+        int corrupt = secondEnd + JournalFormat.recordLength(written.get(2)) - 1;
+        segment.put(corrupt, (byte) (segment.get(corrupt) ^ 0x40));
+        
+        int[] valid = new int[1];
+        List<JournalEvent> read = read(segment, valid);
+        
+        assertEquals(2, read.size());
+        assertEquals(secondEnd, valid[0]);
+    }
+    
+    @Test
+    void rejectsAForeignHeader() {
+        ByteBuffer segment = segment(events());
+        segment.putInt(0, 0xCAFEBABE);
+        
+        int[] valid = new int[1];
+        assertEquals(0, read(segment, valid).size());
+        assertEquals(0, valid[0]);
+    }
+    
+    @Test
+    void namesSegmentsInWritingOrder() {
+        assertEquals("session-00000042.journal", JournalFormat.segmentName(42));
+        assertEquals(42, JournalFormat.segmentNumber(JournalFormat.segmentName(42)));
+        assertEquals(-1, JournalFormat.segmentNumber("session-x.journal"));
+        assertEquals(-1, JournalFormat.segmentNumber("journal.lock"));
+        assertArrayEquals(new byte[] {'Q', 'Z', 'J', 'L'}, ByteBuffer.allocate(4).putInt(JournalFormat.MAGIC).array());
+    }
+}
@@ -0,0 +1,188 @@
+package com.quizapp.journal;
+
+import com.quizapp.model.Question;
+import com.quizapp.model.QuestionRow;
+import com.quizapp.model.QuizCategory;
+import com.quizapp.session.QuizSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionJournalTest {
+    
+    private static final long SEED = 0x5EEDL;
+    
+    @TempDir
+    Path directory;
+    
+    private final List<SessionJournal> opened = new ArrayList<>();
+    
+    @AfterEach
+    void shutDown() {
+        for (SessionJournal journal : opened) {
+            journal.shutdown(5_000);
+        }
+    }
+    
+    private SessionJournal open() throws IOException {
+        // Forces every batch, so nothing written depends on the sync interval
+        SessionJournal journal = new SessionJournal(directory, 0, 1 << 20, 1_000);
+        opened.add(journal);
+        return journal;
+    }
+    
+    private SessionJournal reopen(SessionJournal journal) throws IOException {
+        assertTrue(journal.shutdown(5_000));
+        opened.remove(journal);
+        return open();
+    }
+    
+    private static List<QuestionRow> rows() {
+        List<QuestionRow> rows = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            rows.add(new QuestionRow(id, QuizCategory.JAVA_BASIC, "Question " + id,
+                                     new String[] {"right " + id, "wrong a" + id, "wrong b" + id, "wrong c" + id}));
+        }
+        return rows;
+    }
+    
+    private static QuizSession startSession(String player) {
+        List<Question> questions = new ArrayList<>();
+        for (QuestionRow row : rows()) {
+            questions.add(new Question(row, SEED));
+        }
+        QuizSession session = new QuizSession(QuizCategory.JAVA_BASIC, questions, 300, 0);
+        session.setPlayer(player);
+        session.start();
+        return session;
+    }
+    
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> JournalFormat.segmentNumber(file.getFileName().toString()) >= 0)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+    
+    @Test
+    void resumesASessionWhereItStood() throws IOException {
+        SessionJournal journal = open();
+        QuizSession session = startSession("ada");
+        journal.track(session);
+        session.answer(0, 2);
+        session.goTo(3);
+        session.answer(3, 1);
+        session.answer(0, 3);
+        
+        journal = reopen(journal);
+        List<InFlightSession> inFlight = journal.getInFlightSessions();
+        assertEquals(1, inFlight.size());
+        InFlightSession recovered = inFlight.get(0);
+        assertEquals("ada", recovered.getPlayer());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), recovered.getQuestionIds());
+        assertEquals(3, recovered.getCurrentIndex());
+        assertEquals(2, recovered.getAnsweredCount());
+        
+        QuizSession restored = recovered.restore(rows());
+        assertNotNull(restored);
+        assertEquals(QuizSession.State.IN_PROGRESS, restored.getState());
+        assertEquals(3, restored.getCurrentIndex());
+        for (int i = 0; i < session.getQuestionCount(); i++) {
+            assertEquals(session.getAnswer(i), restored.getAnswer(i));
+            assertArrayEquals(session.getQuestions().get(i).getOptions(), restored.getQuestions().get(i).getOptions());
+        }
+    }
+    
+    @Test
+    void forgetsSubmittedAndDiscardedSessions() throws IOException {
+        SessionJournal journal = open();
+        QuizSession submitted = startSession("submitted");
+        journal.track(submitted);
+        journal.track(startSession("discarded"));
+        submitted.answer(0, 0);
+        submitted.submit();
+        
+        journal = reopen(journal);
+        List<InFlightSession> inFlight = journal.getInFlightSessions();
+        assertEquals(1, inFlight.size());
+        assertEquals("discarded", inFlight.get(0).getPlayer());
+        journal.discard(inFlight.get(0));
+        assertTrue(journal.getInFlightSessions().isEmpty());
+        
+        journal = reopen(journal);
+        assertTrue(journal.getInFlightSessions().isEmpty());
+    }
+    
+    @Test
+    void replaysACompactionWhoseOlderSegmentsWereNotDeleted() throws IOException {
+        SessionJournal journal = open();
+        QuizSession session = startSession("ada");
+        journal.track(session);
+        session.answer(1, 2);
+        assertTrue(journal.shutdown(5_000));
+        opened.remove(journal);
+        
+        // A crash after the compacted segment was forced but before the older one was deleted
+        List<Path> segments = segments();
+        assertEquals(1, segments.size());
+        long number = JournalFormat.segmentNumber(segments.get(0).getFileName().toString());
+        Files.copy(segments.get(0), directory.resolve(JournalFormat.segmentName(number + 1)));
+        
+        journal = open();
+        List<InFlightSession> inFlight = journal.getInFlightSessions();
+        assertEquals(1, inFlight.size());
+        assertEquals(2, inFlight.get(0).getSelected(1));
+        
+        // Opening compacts: the journal is down to one segment with the same session
+        journal = reopen(journal);
+        assertEquals(1, segments().size());
+        assertEquals(1, journal.getInFlightSessions().size());
+        assertEquals(2, journal.getInFlightSessions().get(0).getSelected(1));
+    }
+    
+    @Test
+    void ignoresATornLastRecord() throws IOException {
+        SessionJournal journal = open();
+        QuizSession session = startSession("ada");
+        journal.track(session);
+        session.answer(4, 1);
+        assertTrue(journal.shutdown(5_000));
+        opened.remove(journal);
+        
+        Path segment = segments().get(segments().size() - 1);
+        byte[] contents = Files.readAllBytes(segment);
+        // The first bytes of a copy of the last record, as a crash during a write can leave them
+        int answeredLength = JournalFormat.recordLength(JournalEvent.answered(0, 0, 0, 0));
+        byte[] torn = new byte[answeredLength / 2];
+        System.arraycopy(contents, contents.length - answeredLength, torn, 0, torn.length);
+        Files.write(segment, torn, StandardOpenOption.APPEND);
+        
+        journal = open();
+        List<InFlightSession> inFlight = journal.getInFlightSessions();
+        assertEquals(1, inFlight.size());
+        assertEquals(1, inFlight.get(0).getSelected(4));
+        assertEquals(1, inFlight.get(0).getAnsweredCount());
+    }
+    
+    @Test
+    void refusesASecondOpenOfTheSameDirectory() throws IOException {
+        open();
+        assertThrows(IOException.class, this::open);
+    }
+}